@@ -119,8 +119,9 @@ public class AgentService {
                 3. For each task:
                    - Make it concrete and completable in 1-2 days
                    - Assign a realistic priority (P1 only if truly blocking)
-                   - Call add_task to create it
-                4. For tasks that have clear sub-steps, call add_subtask to add them
+                   - Call add_task to create it, passing any clear sub-steps
+                     in its "subtasks" field
+                4. Use add_subtask only to extend tasks that already exist
                 5. After creating all tasks, summarize what you created
 
                 Think step by step before creating tasks.
@@ -2,17 +2,17 @@ package com.workctl.agent;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
-import com.workctl.core.model.Task;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.model.TaskSummary;
 import com.workctl.core.service.TaskService;
+import com.workctl.core.storage.TaskFacetIndex;
+import com.workctl.core.storage.WorkLogReader;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ContextBuilder
@@ -58,43 +58,46 @@ public class ContextBuilder {
         // ── Task Summary ──────────────────────────────────────────────────
         sb.append("=== CURRENT TASK BOARD ===\n");
         try {
-            List<Task> tasks = taskService.getTasks(projectName);
+            // Counts and lists come from the task facet index; only this
+            // project's matching tasks are materialized, as header-only summaries
+            TaskFacetIndex.Filter inProject = TaskFacetIndex.project(projectName);
+            TaskFacetIndex.Filter notDone = TaskFacetIndex.status(TaskStatus.DONE).not();
 
-            long open = tasks.stream().filter(t -> t.getStatus() == TaskStatus.OPEN).count();
-            long inProgress = tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
-            long done = tasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+            int total = taskService.countTasks(inProject);
+            int open = taskService.countTasks(inProject.and(TaskFacetIndex.status(TaskStatus.OPEN)));
+            int inProgress = taskService.countTasks(inProject.and(TaskFacetIndex.status(TaskStatus.IN_PROGRESS)));
+            int done = total - open - inProgress;
 
-            sb.append("Total: ").append(tasks.size())
+            sb.append("Total: ").append(total)
               .append("  |  Open: ").append(open)
               .append("  |  In Progress: ").append(inProgress)
               .append("  |  Done: ").append(done).append("\n\n");
 
             // P1 tasks — always show these explicitly
-            List<Task> p1Tasks = tasks.stream()
-                    .filter(t -> t.getPriority() == 1 && t.getStatus() != TaskStatus.DONE)
-                    .collect(Collectors.toList());
+            List<TaskSummary> p1Tasks = taskService.findTaskSummaries(
+                            inProject.and(TaskFacetIndex.priority(1)).and(notDone))
+                    .getOrDefault(projectName, List.of());
 
             if (!p1Tasks.isEmpty()) {
                 sb.append("P1 (High Priority) Tasks:\n");
-                p1Tasks.forEach(t -> sb.append("  #").append(t.getId())
-                        .append(" [").append(t.getStatus()).append("] ")
-                        .append(t.getTitle()).append("\n"));
+                p1Tasks.forEach(t -> sb.append("  #").append(t.id())
+                        .append(" [").append(t.status()).append("] ")
+                        .append(t.title()).append("\n"));
                 sb.append("\n");
             }
 
             // Stagnant tasks — older than 7 days, not done
-            List<Task> stagnant = tasks.stream()
-                    .filter(t -> t.getStatus() != TaskStatus.DONE)
-                    .filter(t -> ChronoUnit.DAYS.between(t.getCreatedDate(), LocalDate.now()) > 7)
-                    .collect(Collectors.toList());
+            List<TaskSummary> stagnant = taskService.findTaskSummaries(
+                            inProject.and(notDone).and(TaskFacetIndex.created(null, LocalDate.now().minusDays(8))))
+                    .getOrDefault(projectName, List.of());
 
             if (!stagnant.isEmpty()) {
                 sb.append("⚠ Stagnant Tasks (7+ days old, not completed):\n");
                 stagnant.forEach(t -> {
-                    long days = ChronoUnit.DAYS.between(t.getCreatedDate(), LocalDate.now());
-                    sb.append("  #").append(t.getId())
-                      .append(" [P").append(t.getPriority()).append("] ")
-                      .append(t.getTitle())
+                    long days = ChronoUnit.DAYS.between(t.createdDate(), LocalDate.now());
+                    sb.append("  #").append(t.id())
+                      .append(" [P").append(t.priority()).append("] ")
+                      .append(t.title())
                       .append(" (").append(days).append(" days)\n");
                 });
                 sb.append("\n");
@@ -114,7 +117,7 @@ public class ContextBuilder {
                     .resolve("notes")
                     .resolve("work-log.md");
 
-            if (Files.exists(logFile)) {
+            if (WorkLogReader.of(logFile).exists()) {
                 String recentLogs = extractRecentLogs(logFile, 7);
                 sb.append(recentLogs.isBlank() ? "(No entries in the last 7 days)\n" : recentLogs);
             } else {
@@ -158,7 +161,7 @@ public class ContextBuilder {
     private String extractRecentLogs(Path logFile, int days) throws Exception {
 
         LocalDate cutoff = LocalDate.now().minusDays(days);
-        List<String> lines = Files.readAllLines(logFile);
+        List<String> lines = WorkLogReader.of(logFile).readLines(cutoff, LocalDate.MAX);
 
         StringBuilder sb = new StringBuilder();
         LocalDate currentDate = null;
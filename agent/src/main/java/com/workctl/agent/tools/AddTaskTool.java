@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workctl.core.service.TaskService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,7 +16,7 @@ import java.util.List;
  * Flow:
  *   User: "workctl ask myproject --act 'Build the weekly report feature'"
  *   Claude: reasons about the goal, calls add_task multiple times with subtasks
- *   Agent: calls TaskService.addTask() for each one
+ *   Agent: creates each task and its subtasks in one TaskService.batch()
  *   Claude: confirms what was created
  *
  * NOTE: This is a WRITE tool — it modifies tasks.md.
@@ -54,6 +55,11 @@ public class AddTaskTool implements AgentTool {
                       "type": "integer",
                       "enum": [1, 2, 3],
                       "description": "1=High, 2=Medium, 3=Low"
+                    },
+                    "subtasks": {
+                      "type": "array",
+                      "items": { "type": "string" },
+                      "description": "Optional short subtask titles, created together with the task."
                     }
                   },
                   "required": ["description", "priority"]
@@ -72,17 +78,22 @@ public class AddTaskTool implements AgentTool {
                 return "Error: task description cannot be empty.";
             }
 
-            taskService.addTask(projectName, description, List.of(), priority);
+            List<String> subtasks = new ArrayList<>();
+            for (JsonNode node : input.path("subtasks")) {
+                String title = node.asText("").trim();
+                if (!title.isBlank()) subtasks.add(title);
+            }
 
-            // Get the newly created task to confirm its ID
-            List<com.workctl.core.model.Task> tasks = taskService.getTasks(projectName);
-            int newId = tasks.stream()
-                    .mapToInt(com.workctl.core.model.Task::getId)
-                    .max()
-                    .orElse(-1);
+            // Task + subtasks in one write
+            int[] newId = {-1};
+            taskService.batch(projectName, tx -> {
+                newId[0] = tx.addTask(description, List.of(), priority);
+                subtasks.forEach(title -> tx.addSubtask(newId[0], title));
+            });
 
-            return "Task created successfully: #" + newId +
-                   " [P" + priority + "] " + description.split("\\R")[0];
+            return "Task created successfully: #" + newId[0] +
+                   " [P" + priority + "] " + description.split("\\R")[0] +
+                   (subtasks.isEmpty() ? "" : " (" + subtasks.size() + " subtask(s))");
 
         } catch (Exception e) {
             return "Error creating task: " + e.getMessage();
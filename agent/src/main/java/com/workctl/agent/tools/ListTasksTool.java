@@ -2,17 +2,22 @@ package com.workctl.agent.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.workctl.core.model.Task;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.model.TaskSummary;
 import com.workctl.core.service.TaskService;
+import com.workctl.core.storage.TaskFacetIndex;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Tool: list_tasks
  *
  * Lets the agent read all tasks for the current project, optionally
- * filtered by status. This is the agent's primary "eyes" on your task board.
+ * filtered by status, priority and tag — or the same across every project.
+ * This is the agent's primary "eyes" on your task board. Filters are
+ * answered by the task facet index, so only matching boards are read, and
+ * only their task header lines.
  *
  * Claude will call this when user asks things like:
  *   - "What tasks are stagnant?"
@@ -32,7 +37,8 @@ public class ListTasksTool implements AgentTool {
     @Override
     public String getDescription() {
         return "List all tasks for the current project. Optionally filter by status " +
-               "(OPEN, IN_PROGRESS, DONE). Returns task ID, title, priority, status, " +
+               "(OPEN, IN_PROGRESS, DONE), priority (1-3) and tag, or set all_projects " +
+               "to search every project. Returns task ID, title, priority, status, " +
                "and created date for each task. Use this to answer questions about " +
                "what tasks exist, their priorities, or their current state.";
     }
@@ -47,6 +53,18 @@ public class ListTasksTool implements AgentTool {
                       "type": "string",
                       "enum": ["ALL", "OPEN", "IN_PROGRESS", "DONE"],
                       "description": "Filter tasks by status. Use ALL to get everything."
+                    },
+                    "priority": {
+                      "type": "integer",
+                      "description": "Only tasks with this priority (1 = high, 2 = medium, 3 = low)."
+                    },
+                    "tag": {
+                      "type": "string",
+                      "description": "Only tasks with this tag."
+                    },
+                    "all_projects": {
+                      "type": "boolean",
+                      "description": "Search every project instead of only the current one."
                     }
                   },
                   "required": ["status_filter"]
@@ -59,41 +77,52 @@ public class ListTasksTool implements AgentTool {
         try {
             JsonNode input = mapper.readTree(inputJson);
             String filter = input.path("status_filter").asText("ALL");
+            boolean allProjects = input.path("all_projects").asBoolean(false);
 
-            List<Task> tasks = taskService.getTasks(projectName);
+            TaskFacetIndex.Filter query = allProjects
+                    ? TaskFacetIndex.all()
+                    : TaskFacetIndex.project(projectName);
+            if (!"ALL".equals(filter)) {
+                query = query.and(TaskFacetIndex.status(TaskStatus.valueOf(filter)));
+            }
+            if (input.hasNonNull("priority")) {
+                query = query.and(TaskFacetIndex.priority(input.get("priority").asInt()));
+            }
+            if (input.hasNonNull("tag") && !input.get("tag").asText().isBlank()) {
+                query = query.and(TaskFacetIndex.tag(input.get("tag").asText()));
+            }
 
-            // Apply filter
-            List<Task> filtered = tasks.stream()
-                    .filter(t -> {
-                        if ("ALL".equals(filter)) return true;
-                        return t.getStatus().name().equals(filter);
-                    })
-                    .toList();
+            Map<String, List<TaskSummary>> found = taskService.findTaskSummaries(query);
+            int total = found.values().stream().mapToInt(List::size).sum();
 
-            if (filtered.isEmpty()) {
+            if (total == 0) {
                 return "No tasks found" + (filter.equals("ALL") ? "" : " with status " + filter) + ".";
             }
 
             // Format as readable text for Claude to reason about
             StringBuilder sb = new StringBuilder();
-            sb.append("Found ").append(filtered.size()).append(" task(s):\n\n");
-
-            for (Task t : filtered) {
-                sb.append("Task #").append(t.getId()).append("\n");
-                sb.append("  Title:    ").append(t.getTitle()).append("\n");
-                sb.append("  Status:   ").append(t.getStatus()).append("\n");
-                sb.append("  Priority: P").append(t.getPriority()).append("\n");
-                sb.append("  Created:  ").append(t.getCreatedDate()).append("\n");
-
-                // Calculate how old this task is
-                long daysOld = java.time.temporal.ChronoUnit.DAYS.between(
-                        t.getCreatedDate(), java.time.LocalDate.now());
-                if (daysOld > 0 && t.getStatus() != TaskStatus.DONE) {
-                    sb.append("  Age:      ").append(daysOld).append(" days old");
-                    if (daysOld > 7) sb.append(" ⚠ STAGNANT");
+            sb.append("Found ").append(total).append(" task(s):\n\n");
+
+            for (Map.Entry<String, List<TaskSummary>> e : found.entrySet()) {
+                for (TaskSummary t : e.getValue()) {
+                    sb.append("Task #").append(t.id()).append("\n");
+                    if (allProjects) sb.append("  Project:  ").append(e.getKey()).append("\n");
+                    sb.append("  Title:    ").append(t.title()).append("\n");
+                    sb.append("  Status:   ").append(t.status()).append("\n");
+                    sb.append("  Priority: P").append(t.priority()).append("\n");
+                    sb.append("  Created:  ").append(t.createdDate()).append("\n");
+                    if (!t.tags().isEmpty()) sb.append("  Tags:     ").append(String.join(", ", t.tags())).append("\n");
+
+                    // Calculate how old this task is
+                    long daysOld = java.time.temporal.ChronoUnit.DAYS.between(
+                            t.createdDate(), java.time.LocalDate.now());
+                    if (daysOld > 0 && t.status() != TaskStatus.DONE) {
+                        sb.append("  Age:      ").append(daysOld).append(" days old");
+                        if (daysOld > 7) sb.append(" ⚠ STAGNANT");
+                        sb.append("\n");
+                    }
                     sb.append("\n");
                 }
-                sb.append("\n");
             }
 
             return sb.toString();
@@ -4,13 +4,19 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.core.model.SearchHit;
+import com.workctl.core.service.SearchService;
+import com.workctl.core.storage.SearchIndex;
+import com.workctl.core.storage.WorkLogReader;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Tool: search_logs
@@ -26,6 +32,7 @@ import java.util.List;
 public class SearchLogsTool implements AgentTool {
 
     private final ObjectMapper mapper = new ObjectMapper();
+    private final SearchService searchService = new SearchService();
 
     @Override
     public String getName() {
@@ -87,11 +94,28 @@ public class SearchLogsTool implements AgentTool {
                     .resolve("notes")
                     .resolve("work-log.md");
 
-            if (!Files.exists(logFile)) {
+            WorkLogReader log = WorkLogReader.of(logFile);
+            if (!log.exists()) {
                 return "No work log found for project: " + projectName;
             }
 
-            List<String> lines = Files.readAllLines(logFile);
+            // Only the blocks inside [fromDate, toDate] are read from disk — and
+            // with a keyword, only the days the search index says mention it
+            List<String> lines;
+            if (SearchIndex.tokenize(keyword).isEmpty()) {
+                // Blank, or only punctuation the index doesn't keep — filter every line
+                lines = log.readLines(fromDate, toDate);
+            } else {
+                Set<LocalDate> days = matchingDays(projectName, keyword);
+                Set<LocalDate> ordered = new LinkedHashSet<>();
+                for (LocalDate day : log.dates(fromDate, toDate)) {
+                    if (days.contains(day)) ordered.add(day);
+                }
+                lines = new ArrayList<>();
+                for (LocalDate day : ordered) {
+                    lines.addAll(log.readLines(day, day));
+                }
+            }
             List<String> results = new ArrayList<>();
 
             LocalDate currentDate = null;
@@ -151,4 +175,22 @@ public class SearchLogsTool implements AgentTool {
             return "Error searching logs: " + e.getMessage();
         }
     }
+
+    /** Log days of the project containing every word of the keyword (as a prefix). */
+    private Set<LocalDate> matchingDays(String projectName, String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String word : keyword.trim().split("\\s+")) {
+            query.append(word).append("* ");
+        }
+
+        Set<LocalDate> days = new HashSet<>();
+        for (SearchHit hit : searchService.search(query.toString(), projectName,
+                Set.of("log"), Integer.MAX_VALUE)) {
+            try {
+                days.add(LocalDate.parse(hit.ref()));
+            } catch (Exception ignored) {
+            }
+        }
+        return days;
+    }
 }
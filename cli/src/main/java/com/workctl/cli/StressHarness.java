@@ -0,0 +1,343 @@
+package com.workctl.cli;
+
+import com.workctl.config.AppConfig;
+import com.workctl.config.ConfigManager;
+import com.workctl.config.ConfigWriter;
+import com.workctl.core.model.FlowTimes;
+import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskStatus;
+import com.workctl.core.service.ProjectService;
+import com.workctl.core.service.TaskEventJournal;
+import com.workctl.core.service.TaskService;
+import com.workctl.core.storage.InsightsAggregator;
+import com.workctl.core.storage.TaskEventTable;
+import com.workctl.core.storage.WorkLogReader;
+import com.workctl.core.storage.WorkspaceManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Concurrency stress run for the per-project write path (ProjectLock,
+ * tasks.md retry loop, work-log appends).
+ *
+ * Several writers hammer each project at once — first as threads in this
+ * JVM, then as separate JVMs — for 1, 2 and 4 projects. Every op adds a
+ * task, starts it, completes every other one and appends a note. After
+ * each run the board and the log are checked for lost or duplicated
+ * updates, the insight totals kept up by the appends are compared with
+ * ones rebuilt from the log alone, and the per-project throughput is
+ * printed.
+ *
+ * Runs against a throwaway workspace under a temp user.home, never the
+ * real one:
+ *
+ *   ./gradlew :cli:stressTest
+ *   ./gradlew :cli:stressTest --args="--writers 8 --ops 100 --projects 1,4"
+ *
+ * Exits 1 if any check fails.
+ */
+public class StressHarness {
+
+    private static final String WORKER = "--worker";
+    private static final String TOTALS = "--totals";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(WORKER)) {
+            worker(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(TOTALS)) {
+            System.out.println(totals(Paths.get(ConfigManager.load().getWorkspace()), args[1]));
+            return;
+        }
+
+        int writers = 4, ops = 50;
+        int[] projectCounts = {1, 2, 4};
+        boolean keep = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--writers" -> writers = Integer.parseInt(args[++i]);
+                case "--ops" -> ops = Integer.parseInt(args[++i]);
+                case "--projects" -> projectCounts = Arrays.stream(args[++i].split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+                case "--keep" -> keep = true;
+                default -> {
+                    System.err.println("Usage: StressHarness [--writers N] [--ops N] [--projects 1,2,4] [--keep]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        // Before anything reads the config: ConfigManager resolves its path once
+        Path home = Files.createTempDirectory("workctl-stress");
+        System.setProperty("user.home", home.toString());
+        Path workspace = home.resolve("workspace");
+        initialize(home, workspace);
+
+        System.out.println("Workspace: " + workspace);
+        System.out.printf("%d writers per project, %d ops each (add, start, every other done, note)%n%n",
+                writers, ops);
+        System.out.printf("%-9s %-9s %9s %10s %12s %12s  %s%n",
+                "projects", "writers", "ops/proj", "seconds", "ops/s/proj", "ops/s total", "result");
+
+        boolean ok = true;
+        for (String mode : List.of("threads", "processes")) {
+            for (int projects : projectCounts) {
+                ok &= run(home, workspace, mode, projects, writers, ops);
+            }
+        }
+        // Worker JVMs keep their own journals; this one served the thread runs
+        System.out.println();
+        System.out.println("Journal (thread runs): " + TaskEventJournal.shared().metrics().summary());
+
+        if (!keep) delete(home);
+        if (!ok) System.exit(1);
+    }
+
+    private static void initialize(Path home, Path workspace) throws Exception {
+        Path configDir = home.resolve(".workctl");
+        Files.createDirectories(configDir);
+        WorkspaceManager.initializeWorkspace(workspace);
+
+        AppConfig config = new AppConfig();
+        config.setWorkspace(workspace.toString().replace("\\", "/"));
+        config.setDateFormat("yyyy-MM-dd");
+        config.setEditor("code");
+        ConfigWriter.write(configDir.resolve("config.yaml"), config);
+    }
+
+    // ================================================================
+    // RUN
+    // ================================================================
+
+    private static boolean run(Path home, Path workspace, String mode,
+                               int projects, int writers, int ops) throws Exception {
+
+        ProjectService projectService = new ProjectService();
+        List<String> names = new ArrayList<>();
+        for (int p = 0; p < projects; p++) {
+            String name = "stress-" + mode + "-" + projects + "-" + p;
+            projectService.createProject(workspace, name, "Stress run");
+            // Load the totals now, so every append below updates them incrementally
+            InsightsAggregator.forProject(workspace, name).current();
+            names.add(name);
+        }
+
+        long elapsed = mode.equals("threads")
+                ? runThreads(names, writers, ops)
+                : runProcesses(home, names, writers, ops);
+
+        List<String> failures = new ArrayList<>();
+        for (String name : names) failures.addAll(verify(home, workspace, name, writers, ops));
+
+        double seconds = elapsed / 1e9;
+        int perProject = writers * ops;
+        System.out.printf("%-9d %-9s %9d %10.2f %12.1f %12.1f  %s%n",
+                projects, writers + " " + (mode.equals("threads") ? "thr" : "jvm"), perProject, seconds,
+                perProject / seconds, perProject * projects / seconds,
+                failures.isEmpty() ? "OK" : "FAILED");
+        failures.forEach(f -> System.out.println("    " + f));
+        return failures.isEmpty();
+    }
+
+    /** Wall time for every writer of every project, as threads of this JVM. */
+    private static long runThreads(List<String> projects, int writers, int ops) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        for (String project : projects) {
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                Thread t = new Thread(() -> {
+                    try {
+                        writeOps(project, writer, ops);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }, "stress-" + project + "-" + w);
+                threads.add(t);
+            }
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread t : threads) t.join();
+        TaskEventJournal.shared().flush(60_000);
+        long elapsed = System.nanoTime() - start;
+
+        if (!errors.isEmpty()) throw new IllegalStateException("Writer failed", errors.get(0));
+        return elapsed;
+    }
+
+    /**
+     * Wall time for one JVM per writer. Each JVM reports how long its own
+     * ops took, so start-up is not counted; the run lasts as long as the
+     * slowest one.
+     */
+    private static long runProcesses(Path home, List<String> projects, int writers, int ops) throws Exception {
+        List<Process> processes = new ArrayList<>();
+        for (String project : projects) {
+            for (int w = 0; w < writers; w++) {
+                processes.add(start(home, WORKER, project, String.valueOf(w), String.valueOf(ops)));
+            }
+        }
+
+        long slowest = 0;
+        for (Process process : processes) {
+            String last = lastLine(process);
+            slowest = Math.max(slowest, Long.parseLong(last));
+        }
+        return slowest;
+    }
+
+    /** This class in a fresh JVM, sharing our temp user.home. */
+    private static Process start(Path home, String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Duser.home=" + home,
+                "-cp", System.getProperty("java.class.path"),
+                StressHarness.class.getName()));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+
+    private static String lastLine(Process process) throws Exception {
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (process.waitFor() != 0) throw new IllegalStateException("Child JVM failed:\n" + output);
+        return output.substring(output.lastIndexOf('\n') + 1);
+    }
+
+    /** Child JVM: {@code --worker <project> <writer> <ops>}; prints its elapsed nanos. */
+    private static void worker(String[] args) {
+        String project = args[1];
+        int writer = Integer.parseInt(args[2]), ops = Integer.parseInt(args[3]);
+
+        long start = System.nanoTime();
+        writeOps(project, writer, ops);
+        if (!TaskEventJournal.shared().flush(60_000)) throw new IllegalStateException("Journal did not drain");
+        System.out.println(System.nanoTime() - start);
+    }
+
+    private static void writeOps(String project, int writer, int ops) {
+        TaskService taskService = new TaskService();
+        ProjectService projectService = new ProjectService();
+
+        for (int k = 0; k < ops; k++) {
+            int[] id = new int[1];
+            int op = k;
+            taskService.batch(project, tx ->
+                    id[0] = tx.addTask(title(writer, op), List.of("stress", "w" + writer), 1 + op % 3));
+            taskService.startTask(project, id[0]);
+            if (k % 2 == 0) taskService.completeTask(project, id[0]);
+            projectService.addLogEntry(project, "stress-note " + title(writer, op), "notes", List.of("stress"));
+        }
+    }
+
+    private static String title(int writer, int op) {
+        return "w" + writer + "-" + op;
+    }
+
+    // ================================================================
+    // CHECKS
+    // ================================================================
+
+    /** Everything that went missing or twice into one project's board and log. */
+    private static List<String> verify(Path home, Path workspace, String project,
+                                       int writers, int ops) throws Exception {
+        List<String> failures = new ArrayList<>();
+        int total = writers * ops;
+        int done  = writers * ((ops + 1) / 2);
+
+        Set<String> expected = new HashSet<>();
+        for (int w = 0; w < writers; w++) {
+            for (int k = 0; k < ops; k++) expected.add(title(w, k));
+        }
+
+        // Board: every task once, distinct ids, final statuses
+        ConfigManager.invalidate();
+        List<Task> tasks = new TaskService().getTasks(project);
+        Set<String> titles = new HashSet<>();
+        Set<Integer> ids = new HashSet<>();
+        int doneTasks = 0, inProgress = 0;
+        for (Task t : tasks) {
+            if (!titles.add(t.getDescription())) failures.add(project + ": task listed twice: " + t.getDescription());
+            if (!ids.add(t.getId())) failures.add(project + ": id handed out twice: " + t.getId());
+            if (t.getStatus() == TaskStatus.DONE) doneTasks++;
+            if (t.getStatus() == TaskStatus.IN_PROGRESS) inProgress++;
+        }
+        Set<String> missing = new TreeSet<>(expected);
+        missing.removeAll(titles);
+        if (!missing.isEmpty()) failures.add(project + ": " + missing.size() + " tasks lost, e.g. " + missing.iterator().next());
+        check(failures, project, "DONE tasks", done, doneTasks);
+        check(failures, project, "IN_PROGRESS tasks", total - done, inProgress);
+
+        // Log: one event per transition, one line per note
+        Path logFile = workspace.resolve("01_Projects").resolve(project).resolve("notes").resolve(WorkLogReader.LOG_FILE);
+        WorkLogReader log = WorkLogReader.of(logFile);
+        TaskEventTable events = log.events();
+        int[] counts = new int[3];
+        byte[] codes = {events.actionCode("created"), events.actionCode("started"), events.actionCode("completed")};
+        for (int i = 0; i < events.size(); i++) {
+            for (int a = 0; a < codes.length; a++) {
+                if (events.action(i) == codes[a]) counts[a]++;
+            }
+        }
+        check(failures, project, "created events", total, counts[0]);
+        check(failures, project, "started events", total, counts[1]);
+        check(failures, project, "completed events", done, counts[2]);
+
+        Set<String> notes = new HashSet<>();
+        int noteLines = 0;
+        for (String line : log.readAll().split("\\R")) {
+            int at = line.indexOf("stress-note ");
+            if (at < 0) continue;
+            noteLines++;
+            notes.add(line.substring(at).split(" ")[1]);
+        }
+        check(failures, project, "note lines", total, noteLines);
+        check(failures, project, "distinct notes", total, notes.size());
+
+        // Insight totals: as kept up by the appends, then rebuilt from the log
+        // alone in a fresh JVM with the checkpoint and event sidecars gone
+        String incremental = totals(workspace, project);
+        try (DirectoryStream<Path> sidecars = Files.newDirectoryStream(logFile.getParent(),
+                "{" + InsightsAggregator.CHECKPOINT_FILE + ",.events.*}")) {
+            for (Path p : sidecars) Files.delete(p);
+        }
+        String rebuilt = lastLine(start(home, TOTALS, project));
+        if (!incremental.equals(rebuilt)) {
+            failures.add(project + ": rebuilt insight totals differ from incremental ones\n"
+                    + "      incremental " + incremental + "\n"
+                    + "      rebuilt     " + rebuilt);
+        }
+
+        return failures;
+    }
+
+    /** The project's insight totals on one line, for comparison. */
+    private static String totals(Path workspace, String project) throws IOException {
+        InsightsAggregator insights = InsightsAggregator.forProject(workspace, project).current();
+        FlowTimes flow = insights.flowTimes(LocalDate.MIN, LocalDate.MAX, null, null);
+        return "events=" + insights.createdEvents() + "/" + insights.completedEvents()
+                + " status=" + new TreeMap<>(insights.statusCounts())
+                + " days=" + new TreeMap<>(insights.dailyActivity())
+                + " tags=" + new TreeMap<>(insights.tagFrequency())
+                + " cycle=" + flow.cycle().encode()
+                + " lead=" + flow.lead().encode();
+    }
+
+    private static void check(List<String> failures, String project, String what, int expected, int actual) {
+        if (expected != actual) failures.add(project + ": " + what + " " + actual + ", expected " + expected);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.workctl.cli;
 
 import com.workctl.cli.commands.*;
 import com.workctl.cli.util.ConsolePrinter;
+import com.workctl.core.service.TaskArchiver;
+import com.workctl.core.service.TaskEventJournal;
 import picocli.AutoComplete;
 import picocli.CommandLine;
 
@@ -36,6 +38,14 @@ public class WorkctlCLI implements Runnable {
 
     public static void main(String[] args) {
         int exitCode = new CommandLine(new WorkctlCLI()).execute(args);
+
+        // Task archiving and work-log appends run in the background
+        TaskArchiver.shared().await(5000);
+        if (!TaskEventJournal.shared().flush(5000)) {
+            ConsolePrinter.warning("Some task events did not reach the work log — journal: "
+                    + TaskEventJournal.shared().metrics().summary());
+        }
+
         System.exit(exitCode);
     }
 
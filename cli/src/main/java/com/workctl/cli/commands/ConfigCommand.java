@@ -2,6 +2,7 @@ package com.workctl.cli.commands;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.config.PerformanceConfig;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Parameters;
 
@@ -39,6 +40,26 @@ public class ConfigCommand {
                     case "workspace" -> config.setWorkspace(value);
                     case "dateformat" -> config.setDateFormat(value);
                     case "anthropicapikey" -> config.setAnthropicApiKey(value);
+                    case "performance.taskboardcachesize" ->
+                            config.getPerformance().setTaskBoardCacheSize(Integer.parseInt(value));
+                    case "performance.sidecarindexes" ->
+                            config.getPerformance().setSidecarIndexes(Boolean.parseBoolean(value));
+                    case "performance.parserthreads" ->
+                            config.getPerformance().setParserThreads(Integer.parseInt(value));
+                    case "performance.journalqueuesize" ->
+                            config.getPerformance().setJournalQueueSize(Integer.parseInt(value));
+                    case "performance.journallingermillis" ->
+                            config.getPerformance().setJournalLingerMillis(Integer.parseInt(value));
+                    case "performance.segmentedworklogs" ->
+                            config.getPerformance().setSegmentedWorkLogs(Boolean.parseBoolean(value));
+                    case "performance.archivedoneafterdays" ->
+                            config.getPerformance().setArchiveDoneAfterDays(Integer.parseInt(value));
+                    case "performance.taskwal" ->
+                            config.getPerformance().setTaskWal(Boolean.parseBoolean(value));
+                    case "performance.taskwalcheckpoint" ->
+                            config.getPerformance().setTaskWalCheckpoint(Integer.parseInt(value));
+                    case "performance.portfoliothreads" ->
+                            config.getPerformance().setPortfolioThreads(Integer.parseInt(value));
                     default -> {
                         System.out.println("Unknown config key: " + key);
                         return;
@@ -76,6 +97,26 @@ public class ConfigCommand {
                     case "workspace" -> config.getWorkspace();
                     case "dateformat" -> config.getDateFormat();
                     case "anthropicapikey" -> config.getAnthropicApiKey();
+                    case "performance.taskboardcachesize" ->
+                            String.valueOf(config.getPerformance().getTaskBoardCacheSize());
+                    case "performance.sidecarindexes" ->
+                            String.valueOf(config.getPerformance().isSidecarIndexes());
+                    case "performance.parserthreads" ->
+                            String.valueOf(config.getPerformance().getParserThreads());
+                    case "performance.journalqueuesize" ->
+                            String.valueOf(config.getPerformance().getJournalQueueSize());
+                    case "performance.journallingermillis" ->
+                            String.valueOf(config.getPerformance().getJournalLingerMillis());
+                    case "performance.segmentedworklogs" ->
+                            String.valueOf(config.getPerformance().isSegmentedWorkLogs());
+                    case "performance.archivedoneafterdays" ->
+                            String.valueOf(config.getPerformance().getArchiveDoneAfterDays());
+                    case "performance.taskwal" ->
+                            String.valueOf(config.getPerformance().isTaskWal());
+                    case "performance.taskwalcheckpoint" ->
+                            String.valueOf(config.getPerformance().getTaskWalCheckpoint());
+                    case "performance.portfoliothreads" ->
+                            String.valueOf(config.getPerformance().getPortfolioThreads());
                     default -> {
                         System.out.println("Unknown config key: " + key);
                         yield null;
@@ -113,6 +154,18 @@ public class ConfigCommand {
                         (config.getAnthropicApiKey() != null && !config.getAnthropicApiKey().isBlank()
                                 ? "***configured***" : "NOT SET"));
 
+                PerformanceConfig perf = config.getPerformance();
+                System.out.println("performance.taskBoardCacheSize   = " + perf.getTaskBoardCacheSize());
+                System.out.println("performance.sidecarIndexes       = " + perf.isSidecarIndexes());
+                System.out.println("performance.parserThreads        = " + perf.getParserThreads());
+                System.out.println("performance.journalQueueSize     = " + perf.getJournalQueueSize());
+                System.out.println("performance.journalLingerMillis  = " + perf.getJournalLingerMillis());
+                System.out.println("performance.segmentedWorkLogs    = " + perf.isSegmentedWorkLogs());
+                System.out.println("performance.archiveDoneAfterDays = " + perf.getArchiveDoneAfterDays());
+                System.out.println("performance.taskWal              = " + perf.isTaskWal());
+                System.out.println("performance.taskWalCheckpoint    = " + perf.getTaskWalCheckpoint());
+                System.out.println("performance.portfolioThreads     = " + perf.getPortfolioThreads());
+
             } catch (Exception e) {
                 System.out.println("Failed to load config");
                 e.printStackTrace();
@@ -3,7 +3,9 @@ package com.workctl.cli.commands;
 import com.workctl.cli.util.ConsolePrinter;
 import com.workctl.cli.util.EditorUtil;
 import com.workctl.core.domain.WorkflowRun;
+import com.workctl.core.domain.WorkflowRunSummary;
 import com.workctl.core.domain.WorkflowTemplate;
+import com.workctl.core.domain.WorkflowTemplateSummary;
 import com.workctl.core.model.RunStatus;
 import com.workctl.core.model.StepStatus;
 import com.workctl.core.service.WorkflowService;
@@ -104,7 +106,7 @@ public class FlowCommand implements Runnable {
         @Override
         public void run() {
             try {
-                List<WorkflowTemplate> templates = workflowService.listTemplates();
+                List<WorkflowTemplateSummary> templates = workflowService.listTemplateSummaries();
                 if (templates.isEmpty()) {
                     ConsolePrinter.info("No templates found. Create one: workctl flow template new \"My Procedure\"");
                     return;
@@ -115,11 +117,11 @@ public class FlowCommand implements Runnable {
                 int[]    widths  = {12, 32, 6, 18, 12};
 
                 List<String[]> rows = templates.stream().map(t -> new String[]{
-                    t.getId().substring(0, 8),
-                    t.getName(),
-                    String.valueOf(t.getSteps().size()),
-                    t.getTagsString().isBlank() ? "—" : t.getTagsString(),
-                    t.getCreatedAt() != null ? t.getCreatedAt().toString() : "—"
+                    t.id().substring(0, 8),
+                    t.name(),
+                    String.valueOf(t.stepCount()),
+                    t.tagsString().isBlank() ? "—" : t.tagsString(),
+                    t.createdAt() != null ? t.createdAt().toString() : "—"
                 }).toList();
 
                 ConsolePrinter.table(headers, rows, widths);
@@ -281,9 +283,9 @@ public class FlowCommand implements Runnable {
         @Override
         public void run() {
             try {
-                List<WorkflowRun> runs = all
-                        ? workflowService.listAllRuns()
-                        : workflowService.listRuns(project);
+                List<WorkflowRunSummary> runs = all
+                        ? workflowService.listAllRunSummaries()
+                        : workflowService.listRunSummaries(project);
 
                 if (runs.isEmpty()) {
                     ConsolePrinter.info("No runs found.");
@@ -295,12 +297,12 @@ public class FlowCommand implements Runnable {
                 int[]    widths  = {12, 28, 14, 14, 10, 12};
 
                 List<String[]> rows = runs.stream().map(r -> new String[]{
-                    r.getId().substring(0, 8),
-                    r.getName(),
-                    r.getProjectId() != null ? r.getProjectId() : "global",
-                    runStatusBadge(r.getStatus()),
-                    r.getDoneStepCount() + "/" + r.getSteps().size(),
-                    r.getCreatedAt() != null ? r.getCreatedAt().toString() : "—"
+                    r.id().substring(0, 8),
+                    r.name(),
+                    r.projectId() != null ? r.projectId() : "global",
+                    runStatusBadge(r.status()),
+                    r.doneStepCount() + "/" + r.stepCount(),
+                    r.createdAt() != null ? r.createdAt().toString() : "—"
                 }).toList();
 
                 ConsolePrinter.table(headers, rows, widths);
@@ -525,45 +527,51 @@ public class FlowCommand implements Runnable {
     // ================================================================
 
     private static WorkflowTemplate resolveTemplate(String idOrPrefix) {
-        List<WorkflowTemplate> templates = workflowService.listTemplates();
+        List<WorkflowTemplateSummary> templates = workflowService.listTemplateSummaries();
 
         // Exact match first
-        WorkflowTemplate exact = templates.stream()
-                .filter(t -> t.getId().equals(idOrPrefix))
+        WorkflowTemplateSummary match = templates.stream()
+                .filter(t -> t.id().equals(idOrPrefix))
                 .findFirst().orElse(null);
-        if (exact != null) return exact;
 
         // Prefix match
-        List<WorkflowTemplate> matches = templates.stream()
-                .filter(t -> t.getId().startsWith(idOrPrefix))
-                .toList();
-        if (matches.size() == 1) return matches.get(0);
-        if (matches.size() > 1) {
-            ConsolePrinter.error("Ambiguous prefix '" + idOrPrefix + "' — matches " + matches.size() + " templates.");
-            return null;
+        if (match == null) {
+            List<WorkflowTemplateSummary> matches = templates.stream()
+                    .filter(t -> t.id().startsWith(idOrPrefix))
+                    .toList();
+            if (matches.size() > 1) {
+                ConsolePrinter.error("Ambiguous prefix '" + idOrPrefix + "' — matches " + matches.size() + " templates.");
+                return null;
+            }
+            if (matches.size() == 1) match = matches.get(0);
         }
-        ConsolePrinter.error("Template not found: " + idOrPrefix);
-        return null;
+
+        WorkflowTemplate template = match == null ? null : workflowService.loadTemplate(match.id()).orElse(null);
+        if (template == null) ConsolePrinter.error("Template not found: " + idOrPrefix);
+        return template;
     }
 
     private static WorkflowRun resolveRun(String idOrPrefix) {
-        List<WorkflowRun> runs = workflowService.listAllRuns();
+        List<WorkflowRunSummary> runs = workflowService.listAllRunSummaries();
 
-        WorkflowRun exact = runs.stream()
-                .filter(r -> r.getId().equals(idOrPrefix))
+        WorkflowRunSummary match = runs.stream()
+                .filter(r -> r.id().equals(idOrPrefix))
                 .findFirst().orElse(null);
-        if (exact != null) return exact;
-
-        List<WorkflowRun> matches = runs.stream()
-                .filter(r -> r.getId().startsWith(idOrPrefix))
-                .toList();
-        if (matches.size() == 1) return matches.get(0);
-        if (matches.size() > 1) {
-            ConsolePrinter.error("Ambiguous prefix '" + idOrPrefix + "' — matches " + matches.size() + " runs.");
-            return null;
+
+        if (match == null) {
+            List<WorkflowRunSummary> matches = runs.stream()
+                    .filter(r -> r.id().startsWith(idOrPrefix))
+                    .toList();
+            if (matches.size() > 1) {
+                ConsolePrinter.error("Ambiguous prefix '" + idOrPrefix + "' — matches " + matches.size() + " runs.");
+                return null;
+            }
+            if (matches.size() == 1) match = matches.get(0);
         }
-        ConsolePrinter.error("Run not found: " + idOrPrefix);
-        return null;
+
+        WorkflowRun run = match == null ? null : workflowService.loadRun(match.id()).orElse(null);
+        if (run == null) ConsolePrinter.error("Run not found: " + idOrPrefix);
+        return run;
     }
 
     private static String runStatusBadge(RunStatus s) {
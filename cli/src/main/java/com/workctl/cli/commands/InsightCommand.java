@@ -2,12 +2,16 @@ package com.workctl.cli.commands;
 
 import com.workctl.cli.util.CliSpinner;
 import com.workctl.cli.util.ConsolePrinter;
+import com.workctl.core.model.PortfolioInsights;
 import com.workctl.core.model.ProjectInsights;
+import com.workctl.core.service.PortfolioService;
 import com.workctl.core.service.StatsService;
 import picocli.CommandLine;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @CommandLine.Command(
@@ -16,14 +20,38 @@ import java.util.Map;
 )
 public class InsightCommand implements Runnable {
 
-    @CommandLine.Parameters(index = "0")
+    @CommandLine.Parameters(index = "0", arity = "0..1")
     private String projectName;
 
+    @CommandLine.Option(
+            names = {"--all"},
+            description = "Insights for every project, ranked by risk"
+    )
+    private boolean all;
+
     private final StatsService statsService = new StatsService();
 
     @Override
     public void run() {
 
+        if (all) {
+            CliSpinner spinner = new CliSpinner("Analyzing projects");
+            spinner.start();
+            PortfolioInsights portfolio;
+            try {
+                portfolio = new PortfolioService().insights();
+            } finally {
+                spinner.stop();
+            }
+            printPortfolio("Portfolio Insights", portfolio);
+            return;
+        }
+
+        if (projectName == null) {
+            ConsolePrinter.error("Give a project name or --all.");
+            return;
+        }
+
         CliSpinner spinner = new CliSpinner("Analyzing project");
         spinner.start();
         ProjectInsights insights;
@@ -98,4 +126,60 @@ public class InsightCommand implements Runnable {
             System.out.println("  " + date.format(fmt) + "  " + filled + empty + countStr);
         }
     }
+
+    /** Workspace totals followed by every project, riskiest first. Shared with stats --all. */
+    static void printPortfolio(String title, PortfolioInsights portfolio) {
+        ProjectInsights totals = portfolio.getTotals();
+
+        System.out.println();
+        ConsolePrinter.header(title + " — " + portfolio.getProjects().size() + " projects");
+        System.out.println();
+
+        ConsolePrinter.header("Task Overview");
+        System.out.println("  Total Tasks   " + totals.getTotalTasks());
+        System.out.println("  Open          " + totals.getOpenTasks());
+        System.out.println("  In Progress   " + totals.getInProgressTasks());
+        System.out.println("  Done          " + totals.getDoneTasks());
+        System.out.println();
+
+        ConsolePrinter.header("Performance");
+        System.out.println("  Completed this week   " + totals.getCompletedThisWeek());
+        int rateInt = (int) Math.round(totals.getCompletionRate());
+        System.out.println("  Completion rate       "
+                + ConsolePrinter.progressBar(rateInt, 100, 20)
+                + String.format("  (%.1f%%)", totals.getCompletionRate()));
+        int scoreInt = (int) Math.round(totals.getProductivityScore());
+        System.out.println("  Avg productivity      "
+                + ConsolePrinter.progressBar(scoreInt, 100, 20)
+                + String.format("  (%.1f / 100)", totals.getProductivityScore()));
+        System.out.println("  Stagnant (>7 days)    " + totals.getStagnantTasks());
+        System.out.println("  Most used tag         #" + totals.getMostUsedTag());
+        System.out.println();
+
+        ConsolePrinter.header("Projects by Risk");
+        List<String[]> rows = new ArrayList<>();
+        for (PortfolioInsights.ProjectEntry p : portfolio.getProjects()) {
+            String stagnantP1 = p.stagnantHighPriority() > 0
+                    ? "\u001B[31m" + p.stagnantHighPriority() + "\u001B[0m"
+                    : String.valueOf(p.stagnantHighPriority());
+            String velocity = p.insights().getCompletedThisWeek() + " / " + p.completedPrevWeek()
+                    + (p.velocityDrop() > 0 ? "  \u001B[33m▼" + p.velocityDrop() + "\u001B[0m" : "");
+            rows.add(new String[] {
+                    p.project(),
+                    stagnantP1,
+                    String.valueOf(p.insights().getStagnantTasks()),
+                    velocity,
+                    String.format("%.1f", p.insights().getCompletionRate()) + "%",
+                    String.format("%.1f", p.insights().getProductivityScore())
+            });
+        }
+        ConsolePrinter.table(
+                new String[] {"Project", "Stagnant P1", "Stagnant", "Done 7d / prev", "Rate", "Score"},
+                rows,
+                new int[] {28, 11, 8, 18, 7, 5});
+        System.out.println();
+
+        portfolio.getFailures().forEach((project, reason) ->
+                ConsolePrinter.warning(project + ": " + reason));
+    }
 }
@@ -18,14 +18,15 @@ import java.util.List;
         subcommands = {
                 ProjectCommand.CreateCommand.class,
                 ProjectCommand.ListCommand.class,
-                ProjectCommand.DeleteCommand.class
+                ProjectCommand.DeleteCommand.class,
+                ProjectCommand.MigrateLogCommand.class
         }
 )
 public class ProjectCommand implements Runnable {
 
     @Override
     public void run() {
-        ConsolePrinter.info("Use: workctl project <create|list|delete>");
+        ConsolePrinter.info("Use: workctl project <create|list|delete|migrate-log>");
     }
 
 
@@ -146,4 +147,53 @@ public class ProjectCommand implements Runnable {
         }
     }
 
+
+    @Command(
+            name = "migrate-log",
+            description = "Split work-log.md into one file per month under notes/work-log/"
+    )
+    public static class MigrateLogCommand implements Runnable {
+
+        @Parameters(index = "0", arity = "0..1", description = "Project name")
+        private String projectName;
+
+        @CommandLine.Option(
+                names = {"--all"},
+                description = "Migrate every project in the workspace"
+        )
+        private boolean all;
+
+        private final ProjectService projectService = new ProjectService();
+
+        @Override
+        public void run() {
+            try {
+                List<String> names;
+                if (all) {
+                    AppConfig config = ConfigManager.load();
+                    names = projectService.listProjects(Path.of(config.getWorkspace()))
+                            .stream().map(Project::getName).toList();
+                } else if (projectName != null) {
+                    names = List.of(projectName);
+                } else {
+                    ConsolePrinter.error("Give a project name or --all.");
+                    return;
+                }
+
+                for (String name : names) {
+                    int segments = projectService.migrateWorkLog(name);
+                    if (segments == 0) {
+                        ConsolePrinter.info(name + ": already segmented or no work-log.md");
+                    } else {
+                        ConsolePrinter.success(name + ": split into " + segments + " monthly segment(s)");
+                    }
+                }
+
+            } catch (Exception e) {
+                ConsolePrinter.error("Failed to migrate work log: "
+                        + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            }
+        }
+    }
+
 }
@@ -1,25 +1,60 @@
 package com.workctl.cli.commands;
 
-import com.workctl.core.service.ProjectService;
+import com.workctl.cli.util.ConsolePrinter;
+import com.workctl.core.model.SearchHit;
+import com.workctl.core.service.SearchService;
 import picocli.CommandLine;
 
+import java.util.List;
+import java.util.Set;
+
 @CommandLine.Command(
         name = "search",
-        description = "Search logs by keyword or tag"
+        description = "Search logs, tasks, commands, meetings, interviews and workflows"
 )
 public class SearchCommand implements Runnable {
 
-    @CommandLine.Parameters(index = "0", description = "Keyword or tag")
-    private String query;
+    @CommandLine.Parameters(index = "0", arity = "1..*",
+            description = "Keywords, \"exact phrase\", prefix* or #tag")
+    private List<String> query;
 
     @CommandLine.Option(names = "--tag",
             description = "Search by tag")
     private boolean searchByTag;
 
-    private final ProjectService projectService = new ProjectService();
+    @CommandLine.Option(names = {"-p", "--project"},
+            description = "Only this project's logs, tasks and runs")
+    private String project;
+
+    @CommandLine.Option(names = {"-k", "--kind"}, split = ",",
+            description = "Only these kinds: log, task, command, meeting, interview, template, run")
+    private Set<String> kinds;
+
+    @CommandLine.Option(names = {"-n", "--limit"}, defaultValue = "20",
+            description = "Maximum results (default: ${DEFAULT-VALUE})")
+    private int limit;
+
+    private final SearchService searchService = new SearchService();
 
     @Override
     public void run() {
-        projectService.search(query, searchByTag);
+        String text = String.join(" ", query);
+        if (searchByTag) {
+            text = text.startsWith("#") ? text : "#" + text;
+        }
+
+        List<SearchHit> hits = searchService.search(text, project, kinds, limit);
+        if (hits.isEmpty()) {
+            ConsolePrinter.info("No matches for: " + text);
+            return;
+        }
+
+        for (SearchHit hit : hits) {
+            String where = hit.project() != null ? "[" + hit.project() + "] " : "";
+            ConsolePrinter.plain(where + hit.kind() + " · " + hit.title());
+            for (String line : hit.lines()) {
+                ConsolePrinter.plain("    " + line);
+            }
+        }
     }
 }
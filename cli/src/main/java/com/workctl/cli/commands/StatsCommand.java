@@ -1,21 +1,233 @@
 package com.workctl.cli.commands;
 
+import com.workctl.cli.util.ConsolePrinter;
+import com.workctl.core.model.ActivityBucket;
+import com.workctl.core.model.DurationSketch;
+import com.workctl.core.model.FlowTimes;
+import com.workctl.core.service.PortfolioService;
 import com.workctl.core.service.StatsService;
 import picocli.CommandLine;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 @CommandLine.Command(
         name = "stats",
         description = "Generate analytics from task lifecycle events"
 )
 public class StatsCommand implements Runnable {
 
-    @CommandLine.Parameters(index = "0", description = "Project name")
+    @CommandLine.Parameters(index = "0", arity = "0..1", description = "Project name")
     private String projectName;
 
+    @CommandLine.Option(
+            names = {"--all"},
+            description = "Stats for every project with a work log, ranked by risk"
+    )
+    private boolean all;
+
+    @CommandLine.Option(
+            names = {"--range"},
+            description = "Event counts over a date range: yyyy-MM-dd..yyyy-MM-dd (end defaults to today)"
+    )
+    private String range;
+
+    @CommandLine.Option(
+            names = {"--by"},
+            description = "Bucket size for --range: day|week|month (default: week)"
+    )
+    private String by = "week";
+
+    @CommandLine.Option(
+            names = {"--tag"},
+            description = "With --range or --flow, count only events carrying this tag"
+    )
+    private String tag;
+
+    @CommandLine.Option(
+            names = {"--flow"},
+            description = "Cycle- and lead-time percentiles, over --range if given, else all time"
+    )
+    private boolean flow;
+
+    @CommandLine.Option(
+            names = {"--priority"},
+            description = "With --flow, only tasks of this priority (1-3)"
+    )
+    private Integer priority;
+
     private final StatsService statsService = new StatsService();
 
     @Override
     public void run() {
+        if (flow) {
+            printFlow();
+            return;
+        }
+
+        if (all) {
+            try {
+                InsightCommand.printPortfolio("Portfolio Stats", new PortfolioService().stats());
+            } catch (Exception e) {
+                ConsolePrinter.error("Failed to generate stats: " + e.getMessage());
+            }
+            return;
+        }
+
+        if (projectName == null) {
+            ConsolePrinter.error("Give a project name or --all.");
+            return;
+        }
+
+        if (range != null) {
+            printRange();
+            return;
+        }
+
         statsService.generate(projectName);
     }
+
+    private void printRange() {
+        ActivityBucket.Period period;
+        try {
+            period = ActivityBucket.Period.valueOf(by.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ConsolePrinter.error("Invalid --by value. Use day, week or month.");
+            return;
+        }
+
+        LocalDate[] window = parseRange();
+        if (window == null) return;
+        LocalDate from = window[0], to = window[1];
+
+        List<ActivityBucket> buckets;
+        try {
+            buckets = statsService.activity(projectName, period, from, to, tag);
+        } catch (Exception e) {
+            ConsolePrinter.error("Failed to generate stats: " + e.getMessage());
+            return;
+        }
+
+        System.out.println();
+        ConsolePrinter.header("Activity — " + projectName + (tag == null ? "" : " #" + tag));
+        System.out.println();
+
+        List<String[]> rows = new ArrayList<>();
+        int events = 0, created = 0, started = 0, completed = 0, reopened = 0;
+        for (ActivityBucket b : buckets) {
+            rows.add(new String[]{
+                    b.start().toString(),
+                    String.valueOf(b.events()),
+                    String.valueOf(b.created()),
+                    String.valueOf(b.started()),
+                    String.valueOf(b.completed()),
+                    String.valueOf(b.reopened())
+            });
+            events    += b.events();
+            created   += b.created();
+            started   += b.started();
+            completed += b.completed();
+            reopened  += b.reopened();
+        }
+        rows.add(new String[]{
+                "Total",
+                String.valueOf(events),
+                String.valueOf(created),
+                String.valueOf(started),
+                String.valueOf(completed),
+                String.valueOf(reopened)
+        });
+
+        ConsolePrinter.table(
+                new String[]{period.name().charAt(0) + period.name().substring(1).toLowerCase(Locale.ROOT),
+                        "Events", "Created", "Started", "Completed", "Reopened"},
+                rows,
+                new int[]{10, 6, 7, 7, 9, 8});
+        System.out.println();
+    }
+
+    private void printFlow() {
+        if (priority != null && tag != null) {
+            ConsolePrinter.error("Use --priority or --tag, not both.");
+            return;
+        }
+        if (priority != null && (priority < 1 || priority > 3)) {
+            ConsolePrinter.error("Priority must be 1, 2 or 3.");
+            return;
+        }
+        if (!all && projectName == null) {
+            ConsolePrinter.error("Give a project name or --all.");
+            return;
+        }
+
+        LocalDate from = LocalDate.MIN, to = LocalDate.MAX;
+        if (range != null) {
+            LocalDate[] window = parseRange();
+            if (window == null) return;
+            from = window[0];
+            to   = window[1];
+        }
+
+        FlowTimes times;
+        try {
+            times = all
+                    ? new PortfolioService().flowTimes(from, to, priority, tag)
+                    : statsService.flowTimes(projectName, from, to, priority, tag);
+        } catch (Exception e) {
+            ConsolePrinter.error("Failed to generate stats: " + e.getMessage());
+            return;
+        }
+
+        String scope = (all ? "all projects" : projectName)
+                + (priority != null ? " P" + priority : "")
+                + (tag != null ? " #" + tag : "");
+
+        System.out.println();
+        ConsolePrinter.header("Flow Times — " + scope);
+        if (range != null) ConsolePrinter.plain("  " + from + " to " + to);
+        System.out.println();
+
+        List<String[]> rows = new ArrayList<>();
+        rows.add(flowRow("Cycle time", times.cycle()));
+        rows.add(flowRow("Lead time", times.lead()));
+        ConsolePrinter.table(
+                new String[]{"Days", "Tasks", "Mean", "P50", "P85", "P95"},
+                rows,
+                new int[]{10, 6, 6, 5, 5, 5});
+        System.out.println();
+    }
+
+    private static String[] flowRow(String label, DurationSketch sketch) {
+        return new String[]{
+                label,
+                String.valueOf(sketch.count()),
+                String.format("%.1f", sketch.mean()),
+                String.valueOf(sketch.quantile(0.50)),
+                String.valueOf(sketch.quantile(0.85)),
+                String.valueOf(sketch.quantile(0.95))
+        };
+    }
+
+    /** --range as {from, to}, or null after printing why it is invalid. */
+    private LocalDate[] parseRange() {
+        LocalDate from, to;
+        try {
+            int sep = range.indexOf("..");
+            from = LocalDate.parse(sep < 0 ? range : range.substring(0, sep));
+            to   = sep < 0 || sep + 2 == range.length()
+                    ? LocalDate.now()
+                    : LocalDate.parse(range.substring(sep + 2));
+        } catch (DateTimeParseException e) {
+            ConsolePrinter.error("Invalid date format. Use yyyy-MM-dd..yyyy-MM-dd");
+            return null;
+        }
+        if (to.isBefore(from)) {
+            ConsolePrinter.error("Range end is before its start.");
+            return null;
+        }
+        return new LocalDate[]{from, to};
+    }
 }
@@ -3,9 +3,10 @@ package com.workctl.cli.commands;
 import com.workctl.cli.util.CliPrompt;
 import com.workctl.cli.util.ConsolePrinter;
 import com.workctl.cli.util.EditorUtil;
-import com.workctl.core.model.Task;
+import com.workctl.config.ConfigManager;
 import com.workctl.core.model.Task.SubTask;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.model.TaskSummary;
 import com.workctl.core.service.TaskService;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -30,6 +31,8 @@ import java.util.stream.Collectors;
                 TaskCommand.Done.class,
                 TaskCommand.Show.class,
                 TaskCommand.Delete.class,
+                TaskCommand.Archive.class,
+                TaskCommand.Compact.class,
                 TaskCommand.SubtaskGroup.class
         }
 )
@@ -81,22 +84,15 @@ public class TaskCommand {
 
                 String desc = resolveDescription();
 
-                taskService.addTask(projectName, desc, tags, priority);
-
-                // Attach any --subtask values to the newly created task
-                if (!subtaskTitles.isEmpty()) {
-                    List<Task> all = taskService.getTasks(projectName);
-                    all.stream()
-                            .max((a, b) -> Integer.compare(a.getId(), b.getId()))
-                            .ifPresent(newest -> {
-                                for (String title : subtaskTitles) {
-                                    if (title != null && !title.isBlank()) {
-                                        taskService.addSubtask(
-                                                projectName, newest.getId(), title.trim());
-                                    }
-                                }
-                            });
-                }
+                // Task + any --subtask values in one write
+                taskService.batch(projectName, tx -> {
+                    int id = tx.addTask(desc, tags, priority);
+                    for (String title : subtaskTitles) {
+                        if (title != null && !title.isBlank()) {
+                            tx.addSubtask(id, title.trim());
+                        }
+                    }
+                });
 
                 ConsolePrinter.success("Task added successfully.");
 
@@ -149,7 +145,7 @@ public class TaskCommand {
 
         @Override
         public void run() {
-            List<Task> tasks = taskService.getTasks(projectName);
+            List<TaskSummary> tasks = taskService.getTaskSummaries(projectName);
 
             if (tasks.isEmpty()) {
                 ConsolePrinter.info("No tasks found for project: " + projectName);
@@ -159,8 +155,8 @@ public class TaskCommand {
             int termWidth = terminalWidth();
             int titleWidth = Math.max(W_TITLE_MIN, termWidth - W_FIXED);
 
-            Map<TaskStatus, List<Task>> grouped = tasks.stream()
-                    .collect(Collectors.groupingBy(Task::getStatus));
+            Map<TaskStatus, List<TaskSummary>> grouped = tasks.stream()
+                    .collect(Collectors.groupingBy(TaskSummary::status));
 
             System.out.println();
             ConsolePrinter.table(
@@ -171,7 +167,7 @@ public class TaskCommand {
 
             boolean firstGroup = true;
             for (TaskStatus status : TaskStatus.values()) {
-                List<Task> group = grouped.getOrDefault(status, List.of());
+                List<TaskSummary> group = grouped.getOrDefault(status, List.of());
                 if (group.isEmpty()) continue;
 
                 if (!firstGroup) {
@@ -181,22 +177,22 @@ public class TaskCommand {
                 firstGroup = false;
 
                 group.stream()
-                        .sorted(Comparator.comparingInt(Task::getId))
+                        .sorted(Comparator.comparingInt(TaskSummary::id))
                         .forEach(t -> printRow(t, titleWidth));
             }
             System.out.println();
         }
 
-        private static void printRow(Task task, int titleWidth) {
-            String id      = "#" + task.getId();
-            String status  = ConsolePrinter.statusBadge(task.getStatus());
-            String pri     = ConsolePrinter.priorityBadge(task.getPriority());
-            String rawTitle = task.getTitle();
+        private static void printRow(TaskSummary task, int titleWidth) {
+            String id      = "#" + task.id();
+            String status  = ConsolePrinter.statusBadge(task.status());
+            String pri     = ConsolePrinter.priorityBadge(task.priority());
+            String rawTitle = task.title();
             String title   = rawTitle.length() > titleWidth
                     ? rawTitle.substring(0, titleWidth - 3) + "..."
                     : rawTitle;
             String subtasks = task.hasSubtasks()
-                    ? task.getDoneSubtaskCount() + "/" + task.getTotalSubtaskCount() + " \u2713"
+                    ? task.doneSubtaskCount() + "/" + task.subtaskCount() + " \u2713"
                     : "";
 
             System.out.println(
@@ -233,19 +229,21 @@ public class TaskCommand {
     // START
     // ======================
 
-    @Command(name = "start", description = "Move task to In Progress")
+    @Command(name = "start", description = "Move task(s) to In Progress")
     static class Start implements Runnable {
 
         @Parameters(index = "0", description = "Project name")
         private String projectName;
 
-        @Parameters(index = "1", description = "Task ID")
-        private int taskId;
+        @Parameters(index = "1..*", arity = "1..*", description = "Task ID(s)")
+        private List<Integer> taskIds;
 
         @Override
         public void run() {
-            taskService.startTask(projectName, taskId);
-            ConsolePrinter.success("Task moved to In Progress.");
+            taskService.batch(projectName, tx -> taskIds.forEach(tx::startTask));
+            ConsolePrinter.success(taskIds.size() == 1
+                    ? "Task moved to In Progress."
+                    : taskIds.size() + " tasks moved to In Progress.");
         }
     }
 
@@ -253,19 +251,21 @@ public class TaskCommand {
     // DONE
     // ======================
 
-    @Command(name = "done", description = "Mark task as Done")
+    @Command(name = "done", description = "Mark task(s) as Done")
     static class Done implements Runnable {
 
         @Parameters(index = "0", description = "Project name")
         private String projectName;
 
-        @Parameters(index = "1", description = "Task ID")
-        private int taskId;
+        @Parameters(index = "1..*", arity = "1..*", description = "Task ID(s)")
+        private List<Integer> taskIds;
 
         @Override
         public void run() {
-            taskService.completeTask(projectName, taskId);
-            ConsolePrinter.success("Task marked as Done.");
+            taskService.batch(projectName, tx -> taskIds.forEach(tx::completeTask));
+            ConsolePrinter.success(taskIds.size() == 1
+                    ? "Task marked as Done."
+                    : taskIds.size() + " tasks marked as Done.");
         }
     }
 
@@ -288,6 +288,7 @@ public class TaskCommand {
         public void run() {
 
             taskService.getTask(projectName, id)
+                    .or(() -> taskService.getArchivedTask(projectName, id))
                     .ifPresentOrElse(task -> {
 
                         System.out.println();
@@ -353,6 +354,65 @@ public class TaskCommand {
         }
     }
 
+    // ======================
+    // ARCHIVE
+    // ======================
+
+    @Command(name = "archive",
+            description = "Move DONE tasks completed more than N days ago to 99_Archive")
+    static class Archive implements Runnable {
+
+        @Parameters(index = "0", description = "Project name")
+        private String projectName;
+
+        @Option(names = "--days",
+                description = "Age in days (default: performance.archiveDoneAfterDays)")
+        private Integer days;
+
+        private final TaskService taskService = new TaskService();
+
+        @Override
+        public void run() {
+            int olderThan = days != null ? days : ConfigManager.performance().getArchiveDoneAfterDays();
+            if (olderThan <= 0) {
+                ConsolePrinter.error("Pass --days N or set performance.archiveDoneAfterDays.");
+                return;
+            }
+
+            int archived = taskService.archiveDoneTasks(projectName, olderThan);
+            if (archived == 0) {
+                ConsolePrinter.info("No DONE tasks older than " + olderThan + " days.");
+            } else {
+                ConsolePrinter.success("Archived " + archived + " task(s); "
+                        + taskService.countArchivedTasks(projectName) + " in the archive.");
+            }
+        }
+    }
+
+    // ======================
+    // COMPACT
+    // ======================
+
+    @Command(name = "compact",
+            description = "Fold the task write-ahead log (.tasks.wal) into tasks.md")
+    static class Compact implements Runnable {
+
+        @Parameters(index = "0", description = "Project name")
+        private String projectName;
+
+        private final TaskService taskService = new TaskService();
+
+        @Override
+        public void run() {
+            int folded = taskService.compactTasks(projectName);
+            if (folded == 0) {
+                ConsolePrinter.info("tasks.md is up to date.");
+            } else {
+                ConsolePrinter.success("Wrote " + folded + " logged change(s) to tasks.md.");
+            }
+        }
+    }
+
     // ============================================================
     // SUBTASK GROUP
     // ============================================================
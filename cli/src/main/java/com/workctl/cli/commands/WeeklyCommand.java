@@ -1,9 +1,20 @@
 package com.workctl.cli.commands;
 
+import com.workctl.cli.util.ConsolePrinter;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Parameters;
 import picocli.CommandLine.Option;
+import com.workctl.core.service.PortfolioService;
 import com.workctl.core.service.ProjectService;
+import com.workctl.core.service.WeeklyReportService;
+import com.workctl.core.model.WeeklyReportData;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 @Command(
         name = "weekly",
@@ -11,9 +22,12 @@ import com.workctl.core.service.ProjectService;
 )
 public class WeeklyCommand implements Runnable {
 
-    @Parameters(index = "0", description = "Project name")
+    @Parameters(index = "0", arity = "0..1", description = "Project name")
     private String projectName;
 
+    @Option(names = "--all", description = "Write the summary of every project")
+    private boolean all;
+
     @Option(names = "--from", description = "Start date (yyyy-MM-dd)")
     private String fromDate;
 
@@ -24,10 +38,33 @@ public class WeeklyCommand implements Runnable {
             description = "Filter by section: done|changes|commands")
     private String sectionFilter;
 
+    @Option(names = "--export",
+            description = "Write a weekly report per window from --from to --to into this text file")
+    private Path exportFile;
+
+    @Option(names = "--step",
+            description = "With --export, weeks per report window (default: 1)")
+    private int stepWeeks = 1;
+
     private final ProjectService projectService = new ProjectService();
 
     @Override
     public void run() {
+        if (all) {
+            writeAll();
+            return;
+        }
+
+        if (projectName == null) {
+            ConsolePrinter.error("Give a project name or --all.");
+            return;
+        }
+
+        if (exportFile != null) {
+            exportReports();
+            return;
+        }
+
         projectService.generateWeeklySummary(
                 projectName,
                 fromDate,
@@ -36,4 +73,69 @@ public class WeeklyCommand implements Runnable {
         );
     }
 
+    private void writeAll() {
+        List<PortfolioService.WeeklyResult> results;
+        try {
+            results = new PortfolioService().writeWeeklySummaries(fromDate, toDate, sectionFilter);
+        } catch (DateTimeParseException e) {
+            ConsolePrinter.error("Invalid date format. Use yyyy-MM-dd");
+            return;
+        } catch (Exception e) {
+            ConsolePrinter.error("Failed to generate weekly summaries: " + e.getMessage());
+            return;
+        }
+
+        int written = 0;
+        for (PortfolioService.WeeklyResult r : results) {
+            if (r.error() != null) {
+                ConsolePrinter.warning(r.project() + ": " + r.error());
+            } else if (r.written() == null) {
+                ConsolePrinter.info(r.project() + ": no work log");
+            } else {
+                ConsolePrinter.success(r.project() + ": saved to " + r.written().file());
+                written++;
+            }
+        }
+        System.out.println();
+        System.out.println("Wrote " + written + " of " + results.size() + " weekly summaries.");
+    }
+
+    private void exportReports() {
+        if (stepWeeks < 1) {
+            ConsolePrinter.error("--step must be at least 1.");
+            return;
+        }
+
+        LocalDate from, to;
+        try {
+            to   = toDate == null || toDate.isBlank() ? LocalDate.now() : LocalDate.parse(toDate);
+            from = fromDate == null || fromDate.isBlank() ? to.minusDays(6) : LocalDate.parse(fromDate);
+        } catch (DateTimeParseException e) {
+            ConsolePrinter.error("Invalid date format. Use yyyy-MM-dd");
+            return;
+        }
+        if (from.isAfter(to)) {
+            ConsolePrinter.error("--from date cannot be after --to date");
+            return;
+        }
+
+        WeeklyReportService reportService = new WeeklyReportService();
+        List<WeeklyReportData> reports =
+                reportService.generateReports(projectName, from, to, Period.ofWeeks(stepWeeks));
+
+        StringBuilder text = new StringBuilder();
+        for (WeeklyReportData report : reports) {
+            if (!text.isEmpty()) text.append('\n');
+            text.append(reportService.toPlainText(report));
+        }
+
+        try {
+            Files.writeString(exportFile, text);
+        } catch (Exception e) {
+            ConsolePrinter.error("Failed to write " + exportFile + ": " + e.getMessage());
+            return;
+        }
+        ConsolePrinter.success("Wrote " + reports.size() + " report" + (reports.size() == 1 ? "" : "s")
+                + " (" + from + " to " + to + ") to " + exportFile);
+    }
 }
@@ -10,18 +10,33 @@ package com.workctl.config;
  *   editor: "code"
  *   dateFormat: "yyyy-MM-dd"
  *   anthropicApiKey: "sk-ant-api03-..."
+ *   performance:            # optional, see PerformanceConfig
+ *     taskBoardCacheSize: 64
  */
 public class AppConfig {
     private String workspace;
     private String editor;
     private String dateFormat;
     private String anthropicApiKey; // NEW: for AI agent
+    private PerformanceConfig performance;
 
     public AppConfig() {
         this.workspace = System.getProperty("user.home") + "/Work";
         this.editor = "code";
         this.dateFormat = "yyyy-MM-dd";
         this.anthropicApiKey = "";
+        this.performance = new PerformanceConfig();
+    }
+
+    /** Independent copy — ConfigManager hands these out so callers can't edit the cached one. */
+    public AppConfig copy() {
+        AppConfig c = new AppConfig();
+        c.workspace = workspace;
+        c.editor = editor;
+        c.dateFormat = dateFormat;
+        c.anthropicApiKey = anthropicApiKey;
+        c.performance = getPerformance().copy();
+        return c;
     }
 
     public String getWorkspace() { return workspace; }
@@ -39,6 +54,12 @@ public class AppConfig {
         this.anthropicApiKey = anthropicApiKey;
     }
 
+    public PerformanceConfig getPerformance() {
+        if (performance == null) performance = new PerformanceConfig();
+        return performance;
+    }
+    public void setPerformance(PerformanceConfig performance) { this.performance = performance; }
+
     @Override
     public String toString() {
         return "AppConfig{" +
@@ -47,6 +68,7 @@ public class AppConfig {
                 ", dateFormat='" + dateFormat + '\'' +
                 ", anthropicApiKey='" +
                 (anthropicApiKey != null && !anthropicApiKey.isBlank() ? "***configured***" : "NOT SET") +
-                "'}";
+                "', performance=" + getPerformance() +
+                "}";
     }
 }
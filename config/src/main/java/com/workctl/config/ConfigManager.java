@@ -5,23 +5,52 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 
+/**
+ * Process-wide access to ~/.workctl/config.yaml.
+ *
+ * The parsed config is cached together with the file's size + mtime.
+ * Each load() costs one stat; the YAML is re-read only when the file
+ * changed (config set, another process, a manual edit). reload() forces
+ * a re-read. Callers get a copy, so edits before save() never leak into
+ * the cached instance.
+ */
 public class ConfigManager {
 
     private static final Path CONFIG_PATH =
             Paths.get(System.getProperty("user.home"), ".workctl", "config.yaml");
 
+    private record Cached(AppConfig config, long size, long modified) {}
+
+    private static volatile Cached cached;
+
     public static AppConfig load() {
         try {
-            if (!Files.exists(CONFIG_PATH)) {
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(CONFIG_PATH, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                cached = null;
                 throw new IllegalStateException(
                         "workctl is not initialized.\n" +
                                 "Run: workctl init --workspace <path>"
                 );
             }
-            return ConfigLoader.load(CONFIG_PATH);
+
+            long size     = attrs.size();
+            long modified = attrs.lastModifiedTime().toMillis();
+
+            Cached c = cached;
+            if (c == null || c.size() != size || c.modified() != modified) {
+                c = new Cached(ConfigLoader.load(CONFIG_PATH), size, modified);
+                cached = c;
+            }
+            return c.config().copy();
+
         } catch (IllegalStateException e) {
             throw e;
         } catch (Exception e) {
@@ -33,12 +62,37 @@ public class ConfigManager {
         }
     }
 
+    /** Drops the cached config and reads the file again. */
+    public static AppConfig reload() {
+        invalidate();
+        return load();
+    }
+
+    /** Forgets the cached config; the next load() re-reads the file. */
+    public static void invalidate() {
+        cached = null;
+    }
+
+    /**
+     * The performance section, or defaults if workctl isn't initialized or
+     * the config can't be read — tuning must never stop a command.
+     */
+    public static PerformanceConfig performance() {
+        try {
+            return load().getPerformance();
+        } catch (RuntimeException e) {
+            return new PerformanceConfig();
+        }
+    }
+
     public static void save(AppConfig config) throws IOException {
 
         Path configPath = getConfigPath();
 
         ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
         mapper.writeValue(configPath.toFile(), config);
+
+        invalidate();
     }
 
     public static Path getConfigPath() {
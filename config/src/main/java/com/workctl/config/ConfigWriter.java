@@ -18,10 +18,26 @@ public class ConfigWriter {
         data.put("editor", config.getEditor());
         data.put("anthropicApiKey", config.getAnthropicApiKey());
 
+        PerformanceConfig perf = config.getPerformance();
+        Map<String, Object> performance = new LinkedHashMap<>();
+        performance.put("taskBoardCacheSize", perf.getTaskBoardCacheSize());
+        performance.put("sidecarIndexes", perf.isSidecarIndexes());
+        performance.put("parserThreads", perf.getParserThreads());
+        performance.put("journalQueueSize", perf.getJournalQueueSize());
+        performance.put("journalLingerMillis", perf.getJournalLingerMillis());
+        performance.put("segmentedWorkLogs", perf.isSegmentedWorkLogs());
+        performance.put("archiveDoneAfterDays", perf.getArchiveDoneAfterDays());
+        performance.put("taskWal", perf.isTaskWal());
+        performance.put("taskWalCheckpoint", perf.getTaskWalCheckpoint());
+        performance.put("portfolioThreads", perf.getPortfolioThreads());
+        data.put("performance", performance);
+
         Yaml yaml = new Yaml();
 
         try (Writer writer = Files.newBufferedWriter(configPath)) {
             yaml.dump(data, writer);
         }
+
+        ConfigManager.invalidate();
     }
 }
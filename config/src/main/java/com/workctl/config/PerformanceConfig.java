@@ -0,0 +1,109 @@
+package com.workctl.config;
+
+/**
+ * Tuning knobs for workctl's caches, sidecar indexes and background
+ * threads. Lives under "performance:" in config.yaml; every field is
+ * optional and falls back to the default below.
+ *
+ *   performance:
+ *     taskBoardCacheSize: 64
+ *     sidecarIndexes: true
+ *     parserThreads: 0
+ *     journalQueueSize: 4096
+ *     journalLingerMillis: 20
+ *     segmentedWorkLogs: false
+ *     archiveDoneAfterDays: 0
+ *     taskWal: false
+ *     taskWalCheckpoint: 256
+ *     portfolioThreads: 0
+ *
+ * Most values are read once per process, so changes apply on the next
+ * CLI run or GUI start.
+ */
+public class PerformanceConfig {
+
+    private int taskBoardCacheSize;    // parsed tasks.md boards kept in memory
+    private boolean sidecarIndexes;    // persist .work-log.idx / .events.bin next to logs
+    private int parserThreads;         // work-log parser pool; 0 = shared fork-join pool
+    private int journalQueueSize;      // task events waiting for the log writer
+    private int journalLingerMillis;   // how long the log writer waits to group events
+    private boolean segmentedWorkLogs; // new projects log to notes/work-log/yyyy-MM.md
+    private int archiveDoneAfterDays;  // move older DONE tasks to 99_Archive; 0 = never
+    private boolean taskWal;           // log task changes to .tasks.wal, rewrite tasks.md at checkpoints
+    private int taskWalCheckpoint;     // logged operations that trigger a tasks.md rewrite
+    private int portfolioThreads;      // projects analyzed at once by --all commands; 0 = one per CPU
+
+    public PerformanceConfig() {
+        this.taskBoardCacheSize   = 64;
+        this.sidecarIndexes       = true;
+        this.parserThreads        = 0;
+        this.journalQueueSize     = 4096;
+        this.journalLingerMillis  = 20;
+        this.segmentedWorkLogs    = false;
+        this.archiveDoneAfterDays = 0;
+        this.taskWal              = false;
+        this.taskWalCheckpoint    = 256;
+        this.portfolioThreads     = 0;
+    }
+
+    public PerformanceConfig copy() {
+        PerformanceConfig c = new PerformanceConfig();
+        c.taskBoardCacheSize   = taskBoardCacheSize;
+        c.sidecarIndexes       = sidecarIndexes;
+        c.parserThreads        = parserThreads;
+        c.journalQueueSize     = journalQueueSize;
+        c.journalLingerMillis  = journalLingerMillis;
+        c.segmentedWorkLogs    = segmentedWorkLogs;
+        c.archiveDoneAfterDays = archiveDoneAfterDays;
+        c.taskWal              = taskWal;
+        c.taskWalCheckpoint    = taskWalCheckpoint;
+        c.portfolioThreads     = portfolioThreads;
+        return c;
+    }
+
+    public int getTaskBoardCacheSize() { return taskBoardCacheSize; }
+    public void setTaskBoardCacheSize(int taskBoardCacheSize) { this.taskBoardCacheSize = taskBoardCacheSize; }
+
+    public boolean isSidecarIndexes() { return sidecarIndexes; }
+    public void setSidecarIndexes(boolean sidecarIndexes) { this.sidecarIndexes = sidecarIndexes; }
+
+    public int getParserThreads() { return parserThreads; }
+    public void setParserThreads(int parserThreads) { this.parserThreads = parserThreads; }
+
+    public int getJournalQueueSize() { return journalQueueSize; }
+    public void setJournalQueueSize(int journalQueueSize) { this.journalQueueSize = journalQueueSize; }
+
+    public int getJournalLingerMillis() { return journalLingerMillis; }
+    public void setJournalLingerMillis(int journalLingerMillis) { this.journalLingerMillis = journalLingerMillis; }
+
+    public boolean isSegmentedWorkLogs() { return segmentedWorkLogs; }
+    public void setSegmentedWorkLogs(boolean segmentedWorkLogs) { this.segmentedWorkLogs = segmentedWorkLogs; }
+
+    public int getArchiveDoneAfterDays() { return archiveDoneAfterDays; }
+    public void setArchiveDoneAfterDays(int archiveDoneAfterDays) { this.archiveDoneAfterDays = archiveDoneAfterDays; }
+
+    public boolean isTaskWal() { return taskWal; }
+    public void setTaskWal(boolean taskWal) { this.taskWal = taskWal; }
+
+    public int getTaskWalCheckpoint() { return taskWalCheckpoint; }
+    public void setTaskWalCheckpoint(int taskWalCheckpoint) { this.taskWalCheckpoint = taskWalCheckpoint; }
+
+    public int getPortfolioThreads() { return portfolioThreads; }
+    public void setPortfolioThreads(int portfolioThreads) { this.portfolioThreads = portfolioThreads; }
+
+    @Override
+    public String toString() {
+        return "PerformanceConfig{" +
+                "taskBoardCacheSize=" + taskBoardCacheSize +
+                ", sidecarIndexes=" + sidecarIndexes +
+                ", parserThreads=" + parserThreads +
+                ", journalQueueSize=" + journalQueueSize +
+                ", journalLingerMillis=" + journalLingerMillis +
+                ", segmentedWorkLogs=" + segmentedWorkLogs +
+                ", archiveDoneAfterDays=" + archiveDoneAfterDays +
+                ", taskWal=" + taskWal +
+                ", taskWalCheckpoint=" + taskWalCheckpoint +
+                ", portfolioThreads=" + portfolioThreads +
+                '}';
+    }
+}
@@ -51,11 +51,13 @@ public class Interview {
             return "- [" + title + "](" + url + ")";
         }
 
+        private static final Pattern LINK = Pattern.compile("^- \\[([^\\]]*)]\\(([^)]+)\\)\\s*$");
+
         /** Parse a markdown link line: - [title](url). Returns null if no match. */
         public static ExperienceLink fromLine(String line) {
             if (line == null)
                 return null;
-            Matcher m = Pattern.compile("^- \\[([^\\]]*)]\\(([^)]+)\\)\\s*$").matcher(line.trim());
+            Matcher m = LINK.matcher(line.trim());
             if (!m.matches())
                 return null;
             return new ExperienceLink(m.group(1), m.group(2));
@@ -172,6 +174,9 @@ public class Interview {
             return lines;
         }
 
+        private static final Pattern ITEM      = Pattern.compile("^- \\[([ x])\\] (.+)$");
+        private static final Pattern HIDDEN_ID = Pattern.compile("(.*?)\\s*<!--\\s*id=([\\w-]+)\\s*-->$");
+
         /**
          * Parse a markdown item line like:
          * - [ ] Two Sum (important)
@@ -182,8 +187,7 @@ public class Interview {
         public static InterviewQuestion fromLine(String section, String line) {
             if (line == null)
                 return null;
-            Pattern p = Pattern.compile("^- \\[([ x])\\] (.+)$");
-            Matcher m = p.matcher(line.trim());
+            Matcher m = ITEM.matcher(line.trim());
             if (!m.matches())
                 return null;
 
@@ -198,8 +202,7 @@ public class Interview {
 
             // Extract hidden ID if present: <!-- id=... -->
             String id = null;
-            Pattern idPattern = Pattern.compile("(.*?)\\s*<!--\\s*id=([\\w-]+)\\s*-->$");
-            Matcher idMatcher = idPattern.matcher(rest);
+            Matcher idMatcher = HIDDEN_ID.matcher(rest);
             if (idMatcher.matches()) {
                 rest = idMatcher.group(1).trim();
                 id = idMatcher.group(2).trim();
@@ -0,0 +1,35 @@
+package com.workctl.core.domain;
+
+import com.workctl.core.model.InterviewResult;
+import com.workctl.core.model.InterviewRound;
+import com.workctl.core.model.InterviewStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-row view of an interview: the INTERVIEW_META header plus question
+ * and link counts, without notes, question texts or links.
+ *
+ * Load the full {@link Interview} with InterviewService.loadInterview
+ * when one is opened.
+ */
+public record InterviewSummary(String id,
+                               String company,
+                               String role,
+                               LocalDateTime dateTime,
+                               InterviewStatus status,
+                               InterviewRound round,
+                               InterviewResult result,
+                               String jobUrl,
+                               int questionCount,
+                               int doneQuestionCount,
+                               int importantQuestionCount,
+                               int experienceLinkCount) {
+
+    public static InterviewSummary of(Interview iv) {
+        return new InterviewSummary(iv.getId(), iv.getCompany(), iv.getRole(), iv.getDateTime(),
+                iv.getStatus(), iv.getRound(), iv.getResult(), iv.getJobUrl(),
+                iv.getTotalQuestionCount(), iv.getDoneQuestionCount(), iv.getImportantQuestionCount(),
+                iv.getExperienceLinks().size());
+    }
+}
@@ -63,6 +63,11 @@ public class Meeting {
             return sb.toString();
         }
 
+        private static final Pattern ITEM  = Pattern.compile("^- \\[([ x])\\] (.+)$");
+        private static final Pattern META  = Pattern.compile("\\s*\\(([^)]+)\\)\\s*$");
+        private static final Pattern OWNER = Pattern.compile("owner=([^\\s)]+)");
+        private static final Pattern DUE   = Pattern.compile("due=(\\d{4}-\\d{2}-\\d{2})");
+
         /**
          * Parse a line like:
          *   - [ ] Fix the bug (owner=Ajay due=2026-02-24)
@@ -71,8 +76,7 @@ public class Meeting {
          */
         public static ActionItem fromLine(String rawLine) {
             if (rawLine == null) return null;
-            Pattern p = Pattern.compile("^- \\[([ x])\\] (.+)$");
-            Matcher m = p.matcher(rawLine.trim());
+            Matcher m = ITEM.matcher(rawLine.trim());
             if (!m.matches()) return null;
 
             boolean done  = m.group(1).equals("x");
@@ -82,16 +86,15 @@ public class Meeting {
             LocalDate dueDate = null;
 
             // Extract optional trailing (owner=X due=DATE)
-            Pattern metaP = Pattern.compile("\\s*\\(([^)]+)\\)\\s*$");
-            Matcher metaM = metaP.matcher(rest);
+            Matcher metaM = META.matcher(rest);
             if (metaM.find()) {
                 String meta = metaM.group(1);
                 title = rest.substring(0, metaM.start()).trim();
 
-                Matcher ownerM = Pattern.compile("owner=([^\\s)]+)").matcher(meta);
+                Matcher ownerM = OWNER.matcher(meta);
                 if (ownerM.find()) owner = ownerM.group(1).trim();
 
-                Matcher dueM = Pattern.compile("due=(\\d{4}-\\d{2}-\\d{2})").matcher(meta);
+                Matcher dueM = DUE.matcher(meta);
                 if (dueM.find()) {
                     try { dueDate = LocalDate.parse(dueM.group(1)); } catch (Exception ignored) {}
                 }
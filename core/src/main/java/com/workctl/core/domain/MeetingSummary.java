@@ -0,0 +1,36 @@
+package com.workctl.core.domain;
+
+import com.workctl.core.model.MeetingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-row view of a meeting: its header plus the counts a meeting card
+ * shows, without the agenda, notes or action item texts.
+ *
+ * MeetingService builds these from the title and MEETING_META lines,
+ * reading the Attendees section and only counting the action items.
+ * Load the full {@link Meeting} with MeetingService.loadMeeting when one
+ * is opened.
+ */
+public record MeetingSummary(String id,
+                             String projectId,
+                             String title,
+                             LocalDateTime dateTime,
+                             MeetingStatus status,
+                             int attendeeCount,
+                             int actionItemCount,
+                             int doneActionItemCount) {
+
+    public static MeetingSummary of(Meeting m) {
+        return new MeetingSummary(m.getId(), m.getProjectId(), m.getTitle(), m.getDateTime(), m.getStatus(),
+                attendeeCount(m.getAttendees()),
+                m.getTotalActionItemCount(), m.getDoneActionItemCount());
+    }
+
+    /** Comma-separated names; 0 when the section is empty. */
+    public static int attendeeCount(String attendees) {
+        if (attendees == null || attendees.isBlank()) return 0;
+        return (int) attendees.chars().filter(c -> c == ',').count() + 1;
+    }
+}
@@ -42,11 +42,12 @@ public class WorkflowRun {
             return "    - " + (done ? "[x]" : "[ ]") + " " + title;
         }
 
+        private static final Pattern LINE = Pattern.compile("^    - \\[([ x])\\] (.+)$");
+
         /** Parses a line like "    - [ ] title" or "    - [x] title". Returns null on no match. */
         public static SubStep fromLine(String rawLine) {
             if (rawLine == null) return null;
-            Pattern p = Pattern.compile("^    - \\[([ x])\\] (.+)$");
-            Matcher m = p.matcher(rawLine);
+            Matcher m = LINE.matcher(rawLine);
             if (!m.matches()) return null;
             return new SubStep(m.group(2).trim(), m.group(1).equals("x"));
         }
@@ -167,6 +168,21 @@ public class WorkflowRun {
             return sb.toString();
         }
 
+        private static final Pattern STEP_META = Pattern.compile("<!-- STEP: id=([\\w-]+) status=(\\w+) -->");
+        private static final Pattern EXPECTED  = Pattern.compile("^\\*\\*Expected:\\*\\* (.+)$");
+        private static final Pattern ACTUAL    = Pattern.compile("^\\*\\*Actual:\\*\\* (.+)$");
+
+        /**
+         * The status a "<!-- STEP: id=... status=... -->" line gives its step,
+         * as fromSection reads it: TODO for an unknown status, null if the
+         * line is not step metadata.
+         */
+        public static StepStatus statusOf(String line) {
+            Matcher mm = STEP_META.matcher(line.trim());
+            if (!mm.find()) return null;
+            try { return StepStatus.valueOf(mm.group(2)); } catch (Exception e) { return StepStatus.TODO; }
+        }
+
         /**
          * Parses a RunStep from lines following a "## Step N: title" header.
          * The first line must be the <!-- STEP: ... --> metadata comment.
@@ -183,16 +199,12 @@ public class WorkflowRun {
             List<String>  codeBlocks = new ArrayList<>();
             List<SubStep> subSteps = new ArrayList<>();
 
-            Pattern stepMetaP  = Pattern.compile("<!-- STEP: id=([\\w-]+) status=(\\w+) -->");
-            Pattern expectedP  = Pattern.compile("^\\*\\*Expected:\\*\\* (.+)$");
-            Pattern actualP    = Pattern.compile("^\\*\\*Actual:\\*\\* (.+)$");
-
             boolean metaParsed = false;
 
             for (String line : lines) {
                 // Metadata comment (first line of section body)
                 if (!metaParsed) {
-                    Matcher mm = stepMetaP.matcher(line.trim());
+                    Matcher mm = STEP_META.matcher(line.trim());
                     if (mm.find()) {
                         step.setId(mm.group(1));
                         try { step.setStatus(StepStatus.valueOf(mm.group(2))); } catch (Exception ignored) {}
@@ -257,13 +269,13 @@ public class WorkflowRun {
                 }
 
                 // Expected / Actual result
-                Matcher expM = expectedP.matcher(line.trim());
+                Matcher expM = EXPECTED.matcher(line.trim());
                 if (expM.matches()) {
                     step.setExpectedResult(expM.group(1));
                     continue;
                 }
 
-                Matcher actM = actualP.matcher(line.trim());
+                Matcher actM = ACTUAL.matcher(line.trim());
                 if (actM.matches()) {
                     step.setActualResult(actM.group(1));
                     continue;
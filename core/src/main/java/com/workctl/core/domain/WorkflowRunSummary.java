@@ -0,0 +1,30 @@
+package com.workctl.core.domain;
+
+import com.workctl.core.model.RunStatus;
+
+import java.time.LocalDate;
+
+/**
+ * List-row view of a workflow run: the WORKFLOW_RUN header plus step
+ * counts, without the step bodies.
+ *
+ * Load the full {@link WorkflowRun} with WorkflowService.loadRun when one
+ * is selected.
+ */
+public record WorkflowRunSummary(String id,
+                                 String name,
+                                 String templateId,
+                                 String projectId,
+                                 RunStatus status,
+                                 LocalDate createdAt,
+                                 LocalDate completedAt,
+                                 int stepCount,
+                                 int doneStepCount,
+                                 int activeStepCount) {
+
+    public static WorkflowRunSummary of(WorkflowRun run) {
+        return new WorkflowRunSummary(run.getId(), run.getName(), run.getTemplateId(), run.getProjectId(),
+                run.getStatus(), run.getCreatedAt(), run.getCompletedAt(),
+                run.getSteps().size(), run.getDoneStepCount(), run.getActiveStepCount());
+    }
+}
@@ -0,0 +1,27 @@
+package com.workctl.core.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * List-row view of a workflow template: name, WORKFLOW_TEMPLATE header and
+ * step count, without the description or step bodies.
+ *
+ * Load the full {@link WorkflowTemplate} with WorkflowService.loadTemplate
+ * when its steps are needed.
+ */
+public record WorkflowTemplateSummary(String id,
+                                      String name,
+                                      LocalDate createdAt,
+                                      List<String> tags,
+                                      int stepCount) {
+
+    public static WorkflowTemplateSummary of(WorkflowTemplate t) {
+        return new WorkflowTemplateSummary(t.getId(), t.getName(), t.getCreatedAt(),
+                List.copyOf(t.getTags()), t.getSteps().size());
+    }
+
+    public String tagsString() {
+        return String.join(",", tags);
+    }
+}
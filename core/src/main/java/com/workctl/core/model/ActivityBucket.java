@@ -0,0 +1,41 @@
+package com.workctl.core.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Task event counts for one day, ISO week or month, starting on
+ * {@code start}. {@code events} counts every TASK_EVENT, including
+ * actions without a column of their own.
+ */
+public record ActivityBucket(
+        LocalDate start,
+        int events,
+        int created,
+        int started,
+        int completed,
+        int reopened
+) {
+
+    public enum Period {
+        DAY, WEEK, MONTH;
+
+        /** The start of the bucket containing {@code date}: the day, its Monday, or the 1st. */
+        public LocalDate floor(LocalDate date) {
+            return switch (this) {
+                case DAY   -> date;
+                case WEEK  -> date.with(DayOfWeek.MONDAY);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        /** The start of the bucket after the one starting on {@code start}. */
+        public LocalDate next(LocalDate start) {
+            return switch (this) {
+                case DAY   -> start.plusDays(1);
+                case WEEK  -> start.plusWeeks(1);
+                case MONTH -> start.plusMonths(1);
+            };
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.workctl.core.model;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over whole-day durations.
+ *
+ * Durations up to {@value #EXACT} days are counted exactly; longer ones
+ * fall in log-spaced buckets {@value #GAMMA}× wide, so a reported
+ * quantile is within 2.5% of the true one. Buckets stop at
+ * {@value #BUCKETS} (durations past ~100 years share the last one), so
+ * a sketch never outgrows a few hundred bytes however many values it
+ * holds, and two sketches merge by adding counts.
+ *
+ * Not thread-safe; owners synchronize.
+ */
+public final class DurationSketch {
+
+    private static final int EXACT   = 32;
+    private static final double GAMMA = 1.05;
+    private static final int BUCKETS = 200;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    /** Counts per bucket, grown only as far as the largest bucket used. */
+    private int[] counts = new int[0];
+    private long count;
+    private long sum;
+
+    public void add(int days) {
+        int bucket = bucketOf(Math.max(0, days));
+        if (bucket >= counts.length) counts = Arrays.copyOf(counts, bucket + 1);
+        counts[bucket]++;
+        count++;
+        sum += Math.max(0, days);
+    }
+
+    public void merge(DurationSketch other) {
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sum   += other.sum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Exact mean in days, or 0 if empty. */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /** The {@code q}-quantile (0-1) in days, or 0 if empty. */
+    public int quantile(double q) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return valueOf(i);
+        }
+        return valueOf(counts.length - 1);
+    }
+
+    private static int bucketOf(int days) {
+        if (days < EXACT) return days;
+        int bucket = EXACT + (int) (Math.log((double) days / EXACT) / LOG_GAMMA);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /** Midpoint (geometric) of the bucket's range. */
+    private static int valueOf(int bucket) {
+        if (bucket < EXACT) return bucket;
+        return (int) Math.round(EXACT * Math.pow(GAMMA, bucket - EXACT + 0.5));
+    }
+
+    // ── Text form ────────────────────────────────────────────────
+
+    /** "sum" then "bucket:count" pairs, comma-separated: {@code 412,3:2,7:5,40:1}. */
+    public String encode() {
+        StringBuilder sb = new StringBuilder().append(sum);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) sb.append(',').append(i).append(':').append(counts[i]);
+        }
+        return sb.toString();
+    }
+
+    /** Inverse of {@link #encode}; throws IllegalArgumentException if malformed. */
+    public static DurationSketch decode(String text) {
+        DurationSketch sketch = new DurationSketch();
+        String[] parts = text.split(",");
+        try {
+            sketch.sum = Long.parseLong(parts[0]);
+            for (int k = 1; k < parts.length; k++) {
+                int colon = parts[k].indexOf(':');
+                int bucket = Integer.parseInt(parts[k], 0, colon, 10);
+                int n      = Integer.parseInt(parts[k], colon + 1, parts[k].length(), 10);
+                if (bucket < 0 || bucket >= BUCKETS || n < 0) throw new IllegalArgumentException("Bad bucket");
+                if (bucket >= sketch.counts.length) sketch.counts = Arrays.copyOf(sketch.counts, bucket + 1);
+                sketch.counts[bucket] += n;
+                sketch.count += n;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Bad sketch: " + text, e);
+        }
+        return sketch;
+    }
+}
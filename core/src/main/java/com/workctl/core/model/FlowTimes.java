@@ -0,0 +1,19 @@
+package com.workctl.core.model;
+
+/**
+ * Cycle time (last start → completion) and lead time (creation →
+ * completion), in days, over the completions in some window. A
+ * completion with no logged start counts toward lead time only.
+ */
+public record FlowTimes(DurationSketch cycle, DurationSketch lead) {
+
+    public static FlowTimes empty() {
+        return new FlowTimes(new DurationSketch(), new DurationSketch());
+    }
+
+    /** Adds {@code other}'s completions into this one's sketches. */
+    public void merge(FlowTimes other) {
+        cycle.merge(other.cycle);
+        lead.merge(other.lead);
+    }
+}
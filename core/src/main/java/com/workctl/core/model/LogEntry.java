@@ -0,0 +1,9 @@
+package com.workctl.core.model;
+
+import java.time.LocalDate;
+
+/**
+ * A single "- ..." bullet from work-log.md, with the date block and
+ * "### Section" it sits under. Placeholder "-" lines are not entries.
+ */
+public record LogEntry(LocalDate date, String section, String text) {}
@@ -0,0 +1,53 @@
+package com.workctl.core.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Insights for every project in the workspace: the merged totals, and
+ * each project's own insights ranked riskiest first.
+ */
+public class PortfolioInsights {
+
+    /**
+     * One project's insights and the signals it is ranked by.
+     *
+     * @param stagnantHighPriority stagnant tasks with priority 1
+     * @param completedPrevWeek    completions in the 7 days before the current week
+     * @param velocityDrop         completedPrevWeek minus completedThisWeek, if positive
+     */
+    public record ProjectEntry(
+            String project,
+            ProjectInsights insights,
+            int stagnantHighPriority,
+            int completedPrevWeek,
+            int velocityDrop
+    ) {}
+
+    private final ProjectInsights totals;
+    private final List<ProjectEntry> projects;
+    private final Map<String, String> failures;
+
+    public PortfolioInsights(ProjectInsights totals,
+                             List<ProjectEntry> projects,
+                             Map<String, String> failures) {
+        this.totals = totals;
+        this.projects = projects;
+        this.failures = failures;
+    }
+
+    /** Workspace totals; the productivity score is the mean over projects with tasks. */
+    public ProjectInsights getTotals() {
+        return totals;
+    }
+
+    /** Riskiest first: stagnant P1s, then velocity drop, then stagnant tasks, then name. */
+    public List<ProjectEntry> getProjects() {
+        return projects;
+    }
+
+    /** Projects that could not be analyzed, with the reason. */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+}
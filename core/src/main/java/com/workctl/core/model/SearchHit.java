@@ -0,0 +1,20 @@
+package com.workctl.core.model;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * One ranked result from the workspace search index.
+ *
+ * kind is what was matched: "log" (one day of a work log), "task",
+ * "command", "meeting", "interview", "template" or "run". ref is the
+ * kind's own key — the date for a log day, the id for a task or meeting.
+ * lines holds the few lines of the document that contain query terms.
+ */
+public record SearchHit(String kind,
+                        String project,
+                        String title,
+                        String ref,
+                        Path file,
+                        double score,
+                        List<String> lines) {}
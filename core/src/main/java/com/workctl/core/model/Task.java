@@ -38,16 +38,21 @@ public class Task {
             return "    - " + (done ? "[x]" : "[ ]") + " " + title;
         }
 
+        private static final Pattern LINE = Pattern.compile("^    - \\[([ x])\\] (.+)$");
+
         /**
          * Parse a raw file line of the form "    - [ ] title" or "    - [x] title".
          * Returns null if the line is not a subtask line.
          */
         public static SubTask fromLine(String rawLine) {
-            Pattern p = Pattern.compile("^    - \\[([ x])\\] (.+)$");
-            Matcher m = p.matcher(rawLine);
+            Matcher m = LINE.matcher(rawLine);
             if (!m.matches()) return null;
             return new SubTask(m.group(2).trim(), m.group(1).equals("x"));
         }
+
+        public SubTask copy() {
+            return new SubTask(title, done);
+        }
     }
 
     // ===============================
@@ -188,22 +193,47 @@ public class Task {
         this.subtasks = subtasks != null ? subtasks : new ArrayList<>();
     }
 
+    /** Deep copy — tags and subtasks are cloned so the copy can be mutated freely. */
+    public Task copy() {
+        Task t = new Task(id, description, status,
+                tags == null ? new ArrayList<>() : new ArrayList<>(tags),
+                priority, createdDate);
+        t.updatedDate   = updatedDate;
+        t.completedDate = completedDate;
+        for (SubTask st : getSubtasks()) t.subtasks.add(st.copy());
+        return t;
+    }
+
     // ===============================
     // Derived Methods — ORIGINAL UNCHANGED
     // ===============================
 
     public String getTitle() {
+        return titleOf(description);
+    }
+
+    /** The title a task with this description shows: its first line, minus any metadata comment. */
+    public static String titleOf(String description) {
 
         if (description == null || description.isBlank()) {
             return "";
         }
 
-        String firstLine = description.split("\\R")[0];
+        // First line, cut where split("\\R") would cut it
+        int end = 0;
+        while (end < description.length()) {
+            char c = description.charAt(end);
+            if ((c >= '\n' && c <= '\r') || c == '\u0085' || c == '\u2028' || c == '\u2029') break;
+            end++;
+        }
+        String firstLine = description.substring(0, end);
 
         // Remove accidental metadata
-        firstLine = firstLine.replaceAll("<!--.*?-->", "").trim();
+        if (firstLine.contains("<!--")) {
+            firstLine = firstLine.replaceAll("<!--.*?-->", "");
+        }
 
-        return firstLine;
+        return firstLine.trim();
     }
 
 
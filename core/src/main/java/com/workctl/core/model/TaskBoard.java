@@ -0,0 +1,41 @@
+package com.workctl.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Parsed contents of a project's tasks.md: every task plus the NEXT_ID counter.
+ *
+ * Instances handed out by TaskService are private copies — mutating one
+ * never affects the cached board or other callers.
+ */
+public class TaskBoard {
+
+    private final List<Task> tasks;
+    private int nextId;
+
+    public TaskBoard(List<Task> tasks, int nextId) {
+        this.tasks  = tasks;
+        this.nextId = nextId;
+    }
+
+    public List<Task> getTasks() { return tasks; }
+    public int getNextId()       { return nextId; }
+
+    public void setNextId(int nextId) { this.nextId = nextId; }
+
+    /** Returns and advances NEXT_ID. */
+    public int allocateId() { return nextId++; }
+
+    public Optional<Task> find(int id) {
+        return tasks.stream().filter(t -> t.getId() == id).findFirst();
+    }
+
+    /** Deep copy — tasks and their subtasks are cloned. */
+    public TaskBoard copy() {
+        List<Task> copied = new ArrayList<>(tasks.size());
+        for (Task t : tasks) copied.add(t.copy());
+        return new TaskBoard(copied, nextId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.workctl.core.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One TASK_EVENT metadata block from work-log.md:
+ *
+ *   <!-- TASK_EVENT:
+ *        id=12
+ *        action=completed
+ *        previousStatus=IN_PROGRESS
+ *        status=DONE
+ *        date=2026-02-19
+ *        tags=backend,api
+ *        priority=1
+ *   -->
+ *
+ * Missing fields are null (tags: empty list). Blocks written before
+ * priority was recorded have none.
+ */
+public record TaskEvent(int taskId,
+                        String action,
+                        String previousStatus,
+                        String status,
+                        LocalDate date,
+                        List<String> tags,
+                        Integer priority) {
+
+    public boolean is(String action) {
+        return action.equals(this.action);
+    }
+}
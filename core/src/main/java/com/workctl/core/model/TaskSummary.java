@@ -0,0 +1,56 @@
+package com.workctl.core.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Header-only view of a task: what a board card, a listing or an agent
+ * summary shows, without the description body or the subtask list.
+ *
+ * TaskService builds these from the "N. [c] (Pd) title <!-- ... -->"
+ * header lines of tasks.md, only counting the subtask lines below them.
+ * Fetch the full {@link Task} with TaskService.getTask when a description
+ * or the subtasks themselves are needed.
+ */
+public record TaskSummary(int id,
+                          String title,
+                          TaskStatus status,
+                          int priority,
+                          LocalDate createdDate,
+                          LocalDate updatedDate,
+                          LocalDate completedDate,
+                          List<String> tags,
+                          int subtaskCount,
+                          int doneSubtaskCount) {
+
+    public static TaskSummary of(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(),
+                task.getCreatedDate(), task.getUpdatedDate(), task.getCompletedDate(),
+                task.getTags() == null ? List.of() : List.copyOf(task.getTags()),
+                task.getTotalSubtaskCount(), task.getDoneSubtaskCount());
+    }
+
+    /** Days since creation (always ≥ 0). */
+    public long daysOld() {
+        return createdDate != null ? ChronoUnit.DAYS.between(createdDate, LocalDate.now()) : 0;
+    }
+
+    public boolean hasSubtasks() {
+        return subtaskCount > 0;
+    }
+
+    public int openSubtaskCount() {
+        return subtaskCount - doneSubtaskCount;
+    }
+
+    public TaskSummary withCreatedDate(LocalDate date) {
+        return new TaskSummary(id, title, status, priority, date, updatedDate, completedDate,
+                tags, subtaskCount, doneSubtaskCount);
+    }
+
+    public TaskSummary withTags(List<String> tags) {
+        return new TaskSummary(id, title, status, priority, createdDate, updatedDate, completedDate,
+                List.copyOf(tags), subtaskCount, doneSubtaskCount);
+    }
+}
@@ -3,6 +3,7 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.CommandEntry;
+import com.workctl.core.storage.MarkdownLexer;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -65,37 +66,37 @@ public class CommandService {
 
         List<CommandEntry> commands = new ArrayList<>();
         try {
-            List<String> lines = Files.readAllLines(file);
-
             CommandEntry current = null;
             StringBuilder notes = new StringBuilder();
 
-            for (String line : lines) {
-                line = line.trim();
+            // Every rule below reads the trimmed line
+            MarkdownLexer lx = new MarkdownLexer(Files.readString(file));
+            while (lx.next()) {
+                int from = lx.textStart(), to = lx.textEnd();
 
-                if (line.startsWith("## ")) {
+                if (lx.textStartsWith("## ")) {
                     if (current != null) {
                         current.setNotes(notes.toString().trim());
                         commands.add(current);
                     }
                     current = new CommandEntry();
                     current.setCategory(category);
-                    current.setTitle(line.substring(3).trim());
+                    current.setTitle(lx.trimmed(from + 3, to));
                     notes = new StringBuilder();
                 } else if (current != null) {
-                    if (line.startsWith("`") && line.endsWith("`")) {
-                        current.setCommand(line.substring(1, line.length() - 1));
-                    } else if (line.startsWith("<!-- project=")) {
-                        String tag = line.replace("<!-- project=", "").replace("-->", "").trim();
+                    if (to - from >= 2 && lx.textStartsWith("`") && lx.textEndsWith("`")) {
+                        current.setCommand(lx.string(from + 1, to - 1));
+                    } else if (lx.textStartsWith("<!-- project=")) {
+                        String tag = lx.text().replace("<!-- project=", "").replace("-->", "").trim();
                         current.setProjectTag(tag);
-                    } else if (line.startsWith("<!-- id=")) {
-                        String id = line.replace("<!-- id=", "").replace("-->", "").trim();
+                    } else if (lx.textStartsWith("<!-- id=")) {
+                        String id = lx.text().replace("<!-- id=", "").replace("-->", "").trim();
                         current.setId(id);
-                    } else if (!line.isBlank()) {
-                        if (line.startsWith("> ")) {
-                            notes.append(line.substring(2)).append("\n");
+                    } else if (lx.token() != MarkdownLexer.Token.BLANK) {
+                        if (lx.textStartsWith("> ")) {
+                            lx.appendTo(notes, from + 2, to).append("\n");
                         } else {
-                            notes.append(line).append("\n");
+                            lx.appendTo(notes, from, to).append("\n");
                         }
                     }
                 }
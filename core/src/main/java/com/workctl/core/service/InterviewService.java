@@ -5,15 +5,18 @@ import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.Interview;
 import com.workctl.core.domain.Interview.ExperienceLink;
 import com.workctl.core.domain.Interview.InterviewQuestion;
+import com.workctl.core.domain.InterviewSummary;
 import com.workctl.core.model.InterviewResult;
 import com.workctl.core.model.InterviewRound;
+import com.workctl.core.storage.EntityLocator;
+import com.workctl.core.storage.MarkdownLexer;
+import com.workctl.core.storage.SummaryManifest;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.*;
 import java.util.stream.Collectors;
 
 /**
@@ -63,6 +66,7 @@ public class InterviewService {
                 file = buildInterviewFilePath(interview);
             }
             Files.writeString(file, formatInterview(interview));
+            EntityLocator.forWorkspace().record(EntityLocator.Kind.INTERVIEW, interview.getId(), file);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save interview", e);
         }
@@ -73,7 +77,7 @@ public class InterviewService {
             Path file = findInterviewFile(interviewId);
             if (file == null)
                 return Optional.empty();
-            return Optional.ofNullable(parseInterview(Files.readAllLines(file)));
+            return Optional.ofNullable(parseInterview(Files.readString(file)));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -90,7 +94,7 @@ public class InterviewService {
                                 && !p.getFileName().toString().equals("prep-topics.md"))
                         .forEach(p -> {
                             try {
-                                Interview iv = parseInterview(Files.readAllLines(p));
+                                Interview iv = parseInterview(Files.readString(p));
                                 if (iv != null)
                                     result.add(iv);
                             } catch (Exception ignored) {
@@ -106,11 +110,30 @@ public class InterviewService {
         }
     }
 
+    /**
+     * Summaries of all interviews, newest first, for list views and
+     * filters. Only files that changed since the last call are read; open
+     * an interview with {@link #loadInterview}.
+     */
+    public List<InterviewSummary> listInterviewSummaries() {
+        try {
+            List<InterviewSummary> result = new ArrayList<>(
+                    SummaryManifest.forFolder(getInterviewsDir(), SUMMARY_FORMAT).list());
+            result.sort(Comparator.comparing(
+                    iv -> iv.dateTime() != null ? iv.dateTime() : LocalDateTime.MIN,
+                    Comparator.reverseOrder()));
+            return result;
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
     public boolean deleteInterview(String interviewId) {
         try {
             Path file = findInterviewFile(interviewId);
             if (file != null) {
                 Files.deleteIfExists(file);
+                EntityLocator.forWorkspace().forget(EntityLocator.Kind.INTERVIEW, interviewId, file);
                 return true;
             }
         } catch (IOException ignored) {
@@ -183,8 +206,8 @@ public class InterviewService {
     // PARSING
     // ================================================================
 
-    private Interview parseInterview(List<String> lines) {
-        if (lines == null || lines.isEmpty())
+    private Interview parseInterview(CharSequence text) {
+        if (text == null || text.isEmpty())
             return null;
 
         Interview iv = null;
@@ -192,19 +215,31 @@ public class InterviewService {
         boolean inExperienceLinks = false;
         boolean inQuestions = false;
         InterviewQuestion lastQuestion = null;
+        StringBuilder notes = null; // non-null while inside ## Notes
 
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+
+            // ── Notes body: everything up to the next # line ─────────
+            if (notes != null) {
+                if (!lx.startsWith("#")) {
+                    if (lx.token() != MarkdownLexer.Token.BLANK)
+                        lx.appendTo(notes, lx.start(), lx.end()).append("\n");
+                    continue;
+                }
+                iv.setNotes(notes.toString().trim());
+                notes = null;
+            }
 
             // ── Title ──────────────────────────────────────────────────
-            if (line.startsWith("# ") && iv == null) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && iv == null) {
                 iv = new Interview("", "", LocalDateTime.now());
                 continue;
             }
 
             // ── META comment ──────────────────────────────────────────
-            if (line.contains("INTERVIEW_META:") && iv != null) {
-                parseMetaLine(line, iv);
+            if (iv != null && lx.indexOf("INTERVIEW_META:") >= 0) {
+                parseMetaLine(lx, iv);
                 continue;
             }
 
@@ -212,127 +247,238 @@ public class InterviewService {
                 continue;
 
             // ── Top-level section headings ─────────────────────────────
-            if (line.startsWith("## ")) {
-                String heading = line.substring(3).trim();
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
                 currentSection = null;
                 lastQuestion = null;
                 inExperienceLinks = false;
                 inQuestions = false;
 
-                if (heading.equals("Notes")) {
-                    StringBuilder notes = new StringBuilder();
-                    while (i + 1 < lines.size() && !lines.get(i + 1).startsWith("#")) {
-                        i++;
-                        if (!lines.get(i).isBlank())
-                            notes.append(lines.get(i)).append("\n");
-                    }
-                    iv.setNotes(notes.toString().trim());
+                if (lx.titleEquals("Notes")) {
+                    notes = new StringBuilder();
 
-                } else if (heading.equals("Experience Links")) {
+                } else if (lx.titleEquals("Experience Links")) {
                     inExperienceLinks = true;
 
-                } else if (heading.equals("Questions")) {
+                } else if (lx.titleEquals("Questions")) {
                     inQuestions = true;
                 }
                 continue;
             }
 
             // ── Experience Links items ────────────────────────────────
-            if (inExperienceLinks && line.trim().startsWith("- [")) {
-                ExperienceLink link = ExperienceLink.fromLine(line);
+            if (inExperienceLinks && lx.textStartsWith("- [")) {
+                ExperienceLink link = ExperienceLink.fromLine(lx.text());
                 if (link != null)
                     iv.getExperienceLinks().add(link);
                 continue;
             }
 
             // ── Questions sub-section headings ────────────────────────
-            if (inQuestions && line.startsWith("### ")) {
-                currentSection = line.substring(4).trim();
+            if (inQuestions && lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 3) {
+                currentSection = lx.content();
                 lastQuestion = null;
                 continue;
             }
 
             // ── Question items ────────────────────────────────────────
-            if (inQuestions && currentSection != null && line.trim().startsWith("- [")) {
-                lastQuestion = InterviewQuestion.fromLine(currentSection, line);
+            if (inQuestions && currentSection != null && lx.textStartsWith("- [")) {
+                lastQuestion = InterviewQuestion.fromLine(currentSection, lx.line());
                 if (lastQuestion != null)
                     iv.getQuestions().add(lastQuestion);
                 continue;
             }
 
             // ── Question url line ─────────────────────────────────────
-            if (inQuestions && lastQuestion != null && line.trim().startsWith("url: ")) {
-                lastQuestion.setUrl(line.trim().substring(5).trim());
+            if (inQuestions && lastQuestion != null && lx.textStartsWith("url: ")) {
+                lastQuestion.setUrl(lx.trimmed(lx.textStart() + 5, lx.textEnd()));
                 continue;
             }
 
             // ── Question notes line ───────────────────────────────────
-            if (inQuestions && lastQuestion != null && line.trim().startsWith("> ")) {
-                lastQuestion.setNotes(line.trim().substring(2).trim());
+            if (inQuestions && lastQuestion != null && lx.textStartsWith("> ")) {
+                lastQuestion.setNotes(lx.trimmed(lx.textStart() + 2, lx.textEnd()));
             }
         }
 
+        if (notes != null)
+            iv.setNotes(notes.toString().trim());
+
         return iv;
     }
 
-    private void parseMetaLine(String line, Interview iv) {
-        Matcher idM = Pattern.compile("id=([\\w-]+)").matcher(line);
-        Matcher companyM = Pattern.compile("company=([^\\s>]+)").matcher(line);
-        Matcher roleM = Pattern.compile("role=([^\\s>]+)").matcher(line);
-        Matcher dateM = Pattern.compile("date=([^\\s>]+)").matcher(line);
-        Matcher statusM = Pattern.compile("status=([A-Z]+)").matcher(line);
-        Matcher roundM = Pattern.compile("round=([A-Z_]+)").matcher(line);
-        Matcher resultM = Pattern.compile("result=([A-Z]+)").matcher(line);
-        Matcher jobUrlM = Pattern.compile("jobUrl=(\\S+)").matcher(line);
-        Matcher creatM = Pattern.compile("created=(\\d{4}-\\d{2}-\\d{2})").matcher(line);
-
-        if (idM.find())
-            iv.setId(idM.group(1));
-        if (companyM.find())
-            iv.setCompany(deslug(companyM.group(1)));
-        if (roleM.find())
-            iv.setRole(deslug(roleM.group(1)));
-        if (dateM.find()) {
+    private static void parseMetaLine(MarkdownLexer lx, Interview iv) {
+        String id = lx.value("id=", MarkdownLexer.Chars.WORD_OR_DASH);
+        String company = lx.value("company=", MarkdownLexer.Chars.ATTRIBUTE);
+        String role = lx.value("role=", MarkdownLexer.Chars.ATTRIBUTE);
+        String date = lx.value("date=", MarkdownLexer.Chars.ATTRIBUTE);
+        String status = lx.value("status=", MarkdownLexer.Chars.UPPER);
+        String round = lx.value("round=", MarkdownLexer.Chars.UPPER_OR_UNDERSCORE);
+        String result = lx.value("result=", MarkdownLexer.Chars.UPPER);
+        String jobUrl = lx.value("jobUrl=", MarkdownLexer.Chars.NON_SPACE);
+        int created = lx.findDate("created=", lx.start(), lx.end());
+
+        if (id != null)
+            iv.setId(id);
+        if (company != null)
+            iv.setCompany(deslug(company));
+        if (role != null)
+            iv.setRole(deslug(role));
+        if (date != null) {
             try {
-                String dStr = dateM.group(1);
-                if (dStr.contains("T"))
-                    iv.setDateTime(LocalDateTime.parse(dStr));
+                if (date.contains("T"))
+                    iv.setDateTime(LocalDateTime.parse(date));
                 else
-                    iv.setDateTime(LocalDate.parse(dStr).atStartOfDay());
+                    iv.setDateTime(LocalDate.parse(date).atStartOfDay());
             } catch (Exception ignored) {
             }
         }
-        if (statusM.find()) {
+        if (status != null) {
             try {
-                iv.setStatus(com.workctl.core.model.InterviewStatus.valueOf(statusM.group(1)));
+                iv.setStatus(com.workctl.core.model.InterviewStatus.valueOf(status));
             } catch (Exception ignored) {
             }
         }
-        if (roundM.find()) {
+        if (round != null) {
             try {
-                iv.setRound(InterviewRound.valueOf(roundM.group(1)));
+                iv.setRound(InterviewRound.valueOf(round));
             } catch (Exception ignored) {
             }
         }
-        if (resultM.find()) {
+        if (result != null) {
             try {
-                iv.setResult(InterviewResult.valueOf(resultM.group(1)));
+                iv.setResult(InterviewResult.valueOf(result));
             } catch (Exception ignored) {
             }
         }
-        if (jobUrlM.find()) {
-            String url = jobUrlM.group(1);
-            if (!url.startsWith("created="))
-                iv.setJobUrl(url);
+        if (jobUrl != null) {
+            if (!jobUrl.startsWith("created="))
+                iv.setJobUrl(jobUrl);
         }
-        if (creatM.find()) {
+        if (created >= 0) {
             try {
-                iv.setCreatedAt(LocalDate.parse(creatM.group(1)));
+                iv.setCreatedAt(lx.date(created));
             } catch (Exception ignored) {
             }
         }
     }
 
+    // ================================================================
+    // SUMMARIES
+    // ================================================================
+
+    /**
+     * parseInterview without the notes, question texts and links: the meta
+     * line is parsed as usual, questions and experience links are counted.
+     */
+    private static InterviewSummary parseSummary(CharSequence text) {
+        if (text == null || text.isEmpty())
+            return null;
+
+        Interview header = null;
+        String currentSection = null;
+        boolean inNotes = false;
+        boolean inExperienceLinks = false;
+        boolean inQuestions = false;
+        int questions = 0, done = 0, important = 0, links = 0;
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+
+            // Notes body runs up to the next # line
+            if (inNotes) {
+                if (!lx.startsWith("#"))
+                    continue;
+                inNotes = false;
+            }
+
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && header == null) {
+                header = new Interview("", "", LocalDateTime.now());
+                continue;
+            }
+
+            if (header != null && lx.indexOf("INTERVIEW_META:") >= 0) {
+                parseMetaLine(lx, header);
+                continue;
+            }
+
+            if (header == null)
+                continue;
+
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
+                currentSection = null;
+                inNotes = lx.titleEquals("Notes");
+                inExperienceLinks = lx.titleEquals("Experience Links");
+                inQuestions = lx.titleEquals("Questions");
+                continue;
+            }
+
+            if (inExperienceLinks && lx.textStartsWith("- [")) {
+                if (ExperienceLink.fromLine(lx.text()) != null)
+                    links++;
+                continue;
+            }
+
+            if (inQuestions && lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 3) {
+                currentSection = lx.content();
+                continue;
+            }
+
+            if (inQuestions && currentSection != null && lx.textStartsWith("- [")) {
+                InterviewQuestion q = InterviewQuestion.fromLine(currentSection, lx.line());
+                if (q != null) {
+                    questions++;
+                    if (q.isDone())
+                        done++;
+                    if (q.isImportant())
+                        important++;
+                }
+            }
+        }
+
+        if (header == null)
+            return null;
+        return new InterviewSummary(header.getId(), header.getCompany(), header.getRole(),
+                header.getDateTime(), header.getStatus(), header.getRound(), header.getResult(),
+                header.getJobUrl(), questions, done, important, links);
+    }
+
+    private static final SummaryManifest.Format<InterviewSummary> SUMMARY_FORMAT = new SummaryManifest.Format<>() {
+        @Override
+        public String kind() {
+            return "interview";
+        }
+
+        @Override
+        public boolean accepts(String fileName) {
+            return fileName.endsWith(".md") && !fileName.equals("prep-topics.md");
+        }
+
+        @Override
+        public InterviewSummary parse(CharSequence text) {
+            return parseSummary(text);
+        }
+
+        @Override
+        public List<String> fields(InterviewSummary iv) {
+            return Arrays.asList(iv.id(), iv.company(), iv.role(),
+                    SummaryManifest.field(iv.dateTime()), SummaryManifest.field(iv.status()),
+                    SummaryManifest.field(iv.round()), SummaryManifest.field(iv.result()), iv.jobUrl(),
+                    String.valueOf(iv.questionCount()), String.valueOf(iv.doneQuestionCount()),
+                    String.valueOf(iv.importantQuestionCount()), String.valueOf(iv.experienceLinkCount()));
+        }
+
+        @Override
+        public InterviewSummary read(List<String> f) {
+            return new InterviewSummary(f.get(0), f.get(1), f.get(2),
+                    SummaryManifest.dateTime(f.get(3)),
+                    SummaryManifest.constant(com.workctl.core.model.InterviewStatus.class, f.get(4)),
+                    SummaryManifest.constant(InterviewRound.class, f.get(5)),
+                    SummaryManifest.constant(InterviewResult.class, f.get(6)), f.get(7),
+                    Integer.parseInt(f.get(8)), Integer.parseInt(f.get(9)),
+                    Integer.parseInt(f.get(10)), Integer.parseInt(f.get(11)));
+        }
+    };
+
     // ================================================================
     // FILE UTILITIES
     // ================================================================
@@ -352,25 +498,11 @@ public class InterviewService {
         return getInterviewsDir().resolve(name);
     }
 
+    /** Looked up through the workspace locator; prep-topics.md has no meta, so it never matches. */
     private Path findInterviewFile(String interviewId) {
-        if (interviewId == null)
-            return null;
         try {
-            Path dir = getInterviewsDir();
-            try (var stream = Files.list(dir)) {
-                return stream
-                        .filter(p -> p.getFileName().toString().endsWith(".md")
-                                && !p.getFileName().toString().equals("prep-topics.md"))
-                        .filter(p -> {
-                            try {
-                                return Files.readString(p).contains("id=" + interviewId);
-                            } catch (Exception e) {
-                                return false;
-                            }
-                        })
-                        .findFirst()
-                        .orElse(null);
-            }
+            return EntityLocator.forWorkspace().locate(
+                    EntityLocator.Kind.INTERVIEW, interviewId, () -> List.of(getInterviewsDir()));
         } catch (IOException e) {
             return null;
         }
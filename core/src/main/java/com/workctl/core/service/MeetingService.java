@@ -3,7 +3,11 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.Meeting;
+import com.workctl.core.domain.MeetingSummary;
 import com.workctl.core.model.MeetingStatus;
+import com.workctl.core.storage.EntityLocator;
+import com.workctl.core.storage.MarkdownLexer;
+import com.workctl.core.storage.SummaryManifest;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -11,7 +15,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.regex.*;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +44,7 @@ public class MeetingService {
                 file = buildMeetingFilePath(meeting);
             }
             Files.writeString(file, formatMeeting(meeting));
+            EntityLocator.forWorkspace().record(EntityLocator.Kind.MEETING, meeting.getId(), file);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save meeting", e);
         }
@@ -55,7 +59,7 @@ public class MeetingService {
         try {
             Path file = findMeetingFile(meetingId);
             if (file == null) return Optional.empty();
-            return Optional.ofNullable(parseMeeting(Files.readAllLines(file)));
+            return Optional.ofNullable(parseMeeting(Files.readString(file)));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -71,7 +75,7 @@ public class MeetingService {
                     .filter(p -> p.getFileName().toString().endsWith(".md"))
                     .forEach(p -> {
                         try {
-                            Meeting m = parseMeeting(Files.readAllLines(p));
+                            Meeting m = parseMeeting(Files.readString(p));
                             if (m != null) result.add(m);
                         } catch (Exception ignored) {}
                     });
@@ -85,6 +89,24 @@ public class MeetingService {
         }
     }
 
+    /**
+     * Summaries of all meetings, newest first, for list views. Only files
+     * that changed since the last call are read; open a meeting with
+     * {@link #loadMeeting}.
+     */
+    public List<MeetingSummary> listMeetingSummaries() {
+        try {
+            List<MeetingSummary> result = new ArrayList<>(
+                    SummaryManifest.forFolder(getMeetingsDir(), SUMMARY_FORMAT).list());
+            result.sort(Comparator.comparing(
+                    MeetingSummary::dateTime,
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list meetings", e);
+        }
+    }
+
     /** Meetings linked to a specific project, sorted newest first. */
     public List<Meeting> listMeetingsByProject(String projectId) {
         if (projectId == null || projectId.isBlank()) return listAllMeetings();
@@ -109,6 +131,7 @@ public class MeetingService {
             Path file = findMeetingFile(meetingId);
             if (file == null) return false;
             Files.deleteIfExists(file);
+            EntityLocator.forWorkspace().forget(EntityLocator.Kind.MEETING, meetingId, file);
             return true;
         } catch (IOException e) {
             return false;
@@ -127,23 +150,12 @@ public class MeetingService {
     }
 
     /**
-     * Scan 03_Meetings/ for the file that contains id=<meetingId>.
-     * Returns null if not found.
+     * The file in 03_Meetings/ whose meta has id=<meetingId>, via the
+     * workspace locator. Returns null if not found.
      */
     private Path findMeetingFile(String meetingId) throws IOException {
-        Path dir = getMeetingsDir();
-        if (!Files.exists(dir)) return null;
-        try (var stream = Files.list(dir)) {
-            return stream
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .filter(p -> {
-                    try {
-                        return Files.readString(p).contains("id=" + meetingId);
-                    } catch (Exception e) { return false; }
-                })
-                .findFirst()
-                .orElse(null);
-        }
+        return EntityLocator.forWorkspace().locate(
+                EntityLocator.Kind.MEETING, meetingId, () -> List.of(getMeetingsDir()));
     }
 
     /**
@@ -225,8 +237,8 @@ public class MeetingService {
     // PARSING
     // ================================================================
 
-    private Meeting parseMeeting(List<String> lines) {
-        if (lines == null || lines.isEmpty()) return null;
+    private Meeting parseMeeting(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
 
         Meeting meeting  = null;
         String  section  = null;
@@ -235,80 +247,40 @@ public class MeetingService {
         StringBuilder notes     = new StringBuilder();
         List<Meeting.ActionItem> actionItems = new ArrayList<>();
 
-        Pattern metaPattern  = Pattern.compile("<!-- MEETING_META:([^>]+)-->");
-        Pattern idP       = Pattern.compile("id=([\\w-]+)");
-        Pattern projectP  = Pattern.compile("project=(\\S+)");
-        Pattern dateP     = Pattern.compile("date=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern timeP     = Pattern.compile("time=(\\d{2}:\\d{2})");
-        Pattern statusP   = Pattern.compile("status=(\\w+)");
-        Pattern createdP  = Pattern.compile("created=(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2})");
-
-        for (String line : lines) {
-
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
             // Title (first # heading)
-            if (line.startsWith("# ") && meeting == null) {
-                meeting = new Meeting(null, line.substring(2).trim(), LocalDateTime.now());
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && meeting == null) {
+                meeting = new Meeting(null, lx.content(), LocalDateTime.now());
                 continue;
             }
 
             // Metadata
-            Matcher metaM = metaPattern.matcher(line);
-            if (metaM.find() && meeting != null) {
-                String meta = metaM.group(1);
-
-                Matcher idM = idP.matcher(meta);
-                if (idM.find()) meeting.setId(idM.group(1));
-
-                Matcher projM = projectP.matcher(meta);
-                if (projM.find()) meeting.setProjectId(projM.group(1));
-
-                // Reconstruct dateTime from date + time fields
-                LocalDate    date   = null;
-                int          hour   = 0, minute = 0;
-                Matcher dateM = dateP.matcher(meta);
-                if (dateM.find()) {
-                    try { date = LocalDate.parse(dateM.group(1)); } catch (Exception ignored) {}
-                }
-                Matcher timeM = timeP.matcher(meta);
-                if (timeM.find()) {
-                    try {
-                        String[] parts = timeM.group(1).split(":");
-                        hour   = Integer.parseInt(parts[0]);
-                        minute = Integer.parseInt(parts[1]);
-                    } catch (Exception ignored) {}
-                }
-                if (date != null) meeting.setDateTime(date.atTime(hour, minute));
-
-                Matcher statusM = statusP.matcher(meta);
-                if (statusM.find()) {
-                    try { meeting.setStatus(MeetingStatus.valueOf(statusM.group(1))); }
-                    catch (Exception ignored) {}
-                }
-
-                Matcher createdM = createdP.matcher(meta);
-                if (createdM.find()) {
-                    try { meeting.setCreatedAt(LocalDateTime.parse(createdM.group(1))); }
-                    catch (Exception ignored) {}
-                }
+            int meta = lx.findComment("<!-- MEETING_META:", lx.start(), lx.end());
+            if (meta >= 0 && meeting != null) {
+                parseMeta(lx, meta, meeting);
                 continue;
             }
 
             // Section headers
-            if (line.startsWith("## ")) {
-                section = line.substring(3).trim();
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
+                section = lx.content();
                 continue;
             }
 
             if (section == null || meeting == null) continue;
 
             // Accumulate section content
+            boolean blank = lx.token() == MarkdownLexer.Token.BLANK;
             switch (section) {
-                case "Attendees"    -> { if (!line.isBlank()) attendees.append(line).append("\n"); }
-                case "Agenda"       -> { if (!line.isBlank()) agenda.append(line).append("\n"); }
-                case "Notes"        -> { if (!line.isBlank()) notes.append(line).append("\n"); }
+                case "Attendees"    -> { if (!blank) lx.appendTo(attendees, lx.start(), lx.end()).append("\n"); }
+                case "Agenda"       -> { if (!blank) lx.appendTo(agenda, lx.start(), lx.end()).append("\n"); }
+                case "Notes"        -> { if (!blank) lx.appendTo(notes, lx.start(), lx.end()).append("\n"); }
                 case "Action Items" -> {
-                    Meeting.ActionItem ai = Meeting.ActionItem.fromLine(line);
-                    if (ai != null) actionItems.add(ai);
+                    if (lx.token() == MarkdownLexer.Token.CHECKBOX) {
+                        Meeting.ActionItem ai = Meeting.ActionItem.fromLine(lx.text());
+                        if (ai != null) actionItems.add(ai);
+                    }
                 }
             }
         }
@@ -322,4 +294,114 @@ public class MeetingService {
 
         return meeting;
     }
+
+    /** Applies the fields of the MEETING_META comment starting at {@code meta}. */
+    private static void parseMeta(MarkdownLexer lx, int meta, Meeting meeting) {
+        int metaEnd = lx.commentEnd(meta, lx.end());
+
+        String id = lx.value("id=", MarkdownLexer.Chars.WORD_OR_DASH, meta, metaEnd);
+        if (id != null) meeting.setId(id);
+
+        String project = lx.value("project=", MarkdownLexer.Chars.NON_SPACE, meta, metaEnd);
+        if (project != null) meeting.setProjectId(project);
+
+        // Reconstruct dateTime from date + time fields
+        LocalDate    date   = null;
+        int          hour   = 0, minute = 0;
+        int d = lx.findDate("date=", meta, metaEnd);
+        if (d >= 0) {
+            try { date = lx.date(d); } catch (Exception ignored) {}
+        }
+        int t = lx.findTime("time=", meta, metaEnd);
+        if (t >= 0) {
+            hour   = lx.digits(t, 2);
+            minute = lx.digits(t + 3, 2);
+        }
+        if (date != null) meeting.setDateTime(date.atTime(hour, minute));
+
+        String status = lx.value("status=", MarkdownLexer.Chars.WORD, meta, metaEnd);
+        if (status != null) {
+            try { meeting.setStatus(MeetingStatus.valueOf(status)); }
+            catch (Exception ignored) {}
+        }
+
+        int created = lx.findDateTime("created=", meta, metaEnd);
+        if (created >= 0) {
+            try { meeting.setCreatedAt(lx.dateTime(created)); }
+            catch (Exception ignored) {}
+        }
+    }
+
+    // ================================================================
+    // SUMMARIES
+    // ================================================================
+
+    /**
+     * parseMeeting without the agenda, notes and action item texts: the
+     * title and meta line, the attendees (for their count) and the action
+     * item checkboxes, counted.
+     */
+    private static MeetingSummary parseSummary(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
+
+        Meeting header  = null;
+        String  section = null;
+        StringBuilder attendees = new StringBuilder();
+        int items = 0, done = 0;
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && header == null) {
+                header = new Meeting(null, lx.content(), LocalDateTime.now());
+                continue;
+            }
+
+            int meta = lx.findComment("<!-- MEETING_META:", lx.start(), lx.end());
+            if (meta >= 0 && header != null) {
+                parseMeta(lx, meta, header);
+                continue;
+            }
+
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
+                section = lx.content();
+                continue;
+            }
+
+            if (section == null || header == null) continue;
+
+            if (section.equals("Attendees")) {
+                if (lx.token() != MarkdownLexer.Token.BLANK) lx.appendTo(attendees, lx.start(), lx.end()).append("\n");
+            } else if (section.equals("Action Items") && lx.token() == MarkdownLexer.Token.CHECKBOX) {
+                Meeting.ActionItem ai = Meeting.ActionItem.fromLine(lx.text());
+                if (ai != null) {
+                    items++;
+                    if (ai.isDone()) done++;
+                }
+            }
+        }
+
+        if (header == null) return null;
+        return new MeetingSummary(header.getId(), header.getProjectId(), header.getTitle(),
+                header.getDateTime(), header.getStatus(),
+                MeetingSummary.attendeeCount(attendees.toString().trim()), items, done);
+    }
+
+    private static final SummaryManifest.Format<MeetingSummary> SUMMARY_FORMAT = new SummaryManifest.Format<>() {
+        @Override public String kind() { return "meeting"; }
+
+        @Override public MeetingSummary parse(CharSequence text) { return parseSummary(text); }
+
+        @Override public List<String> fields(MeetingSummary m) {
+            return Arrays.asList(m.id(), m.projectId(), m.title(),
+                    SummaryManifest.field(m.dateTime()), SummaryManifest.field(m.status()),
+                    String.valueOf(m.attendeeCount()),
+                    String.valueOf(m.actionItemCount()), String.valueOf(m.doneActionItemCount()));
+        }
+
+        @Override public MeetingSummary read(List<String> f) {
+            return new MeetingSummary(f.get(0), f.get(1), f.get(2),
+                    SummaryManifest.dateTime(f.get(3)), SummaryManifest.constant(MeetingStatus.class, f.get(4)),
+                    Integer.parseInt(f.get(5)), Integer.parseInt(f.get(6)), Integer.parseInt(f.get(7)));
+        }
+    };
 }
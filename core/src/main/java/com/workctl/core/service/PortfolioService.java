@@ -0,0 +1,287 @@
+package com.workctl.core.service;
+
+import com.workctl.config.AppConfig;
+import com.workctl.config.ConfigManager;
+import com.workctl.core.domain.Project;
+import com.workctl.core.model.FlowTimes;
+import com.workctl.core.model.PortfolioInsights;
+import com.workctl.core.model.ProjectInsights;
+import com.workctl.core.model.Task;
+import com.workctl.core.storage.InsightsAggregator;
+import com.workctl.core.storage.WorkLogReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workspace-wide versions of insight, stats and weekly.
+ *
+ * Every project in 01_Projects is analyzed on a bounded pool of
+ * performance.portfolioThreads workers (one per CPU by default), so a
+ * whole workspace costs one JVM and a few parallel passes instead of a
+ * command per project. Projects share no state, and each one's own
+ * aggregates and caches are already safe to use from several threads.
+ *
+ * A project that fails is reported with the reason; the others are
+ * still merged.
+ */
+public class PortfolioService {
+
+    private final ProjectService projectService = new ProjectService();
+    private final StatsService statsService = new StatsService();
+
+    /** Work done for one project on a pool thread. */
+    private interface ProjectJob<R> {
+        R run(String project) throws Exception;
+    }
+
+    /** A project's result, or why it has none. */
+    private record Outcome<R>(R value, Throwable error) {}
+
+    /** One project's weekly summary; both null when it has no work log. */
+    public record WeeklyResult(String project, ProjectService.WeeklySummaryFile written, String error) {}
+
+    /** The signals a project is ranked by, plus its tags for the merged top tag. */
+    private record Analysis(PortfolioInsights.ProjectEntry entry, Map<String, Integer> tags) {}
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    /** `insight` for every project: live boards plus logged events. */
+    public PortfolioInsights insights() {
+        return analyze(false);
+    }
+
+    /** `stats` for every project with a work log: logged events only. */
+    public PortfolioInsights stats() {
+        return analyze(true);
+    }
+
+    /**
+     * Cycle and lead times across every project, merged from each
+     * project's sketches. Projects that fail are left out.
+     */
+    public FlowTimes flowTimes(LocalDate from, LocalDate to, Integer priority, String tag) {
+
+        // Include task events still queued for the logs
+        TaskEventJournal.shared().flush(1000);
+
+        Path workspace = Paths.get(ConfigManager.load().getWorkspace());
+        Map<String, Outcome<FlowTimes>> outcomes = forEachProject(project -> {
+            Path logFile = workspace.resolve("01_Projects").resolve(project)
+                    .resolve("notes").resolve("work-log.md");
+            if (!WorkLogReader.of(logFile).exists()) return null;
+            return InsightsAggregator.forProject(workspace, project).current()
+                    .flowTimes(from, to, priority, tag);
+        });
+
+        FlowTimes merged = FlowTimes.empty();
+        for (Outcome<FlowTimes> outcome : outcomes.values()) {
+            if (outcome.value() != null) merged.merge(outcome.value());
+        }
+        return merged;
+    }
+
+    /**
+     * Writes every project's weekly summary for the --from/--to window,
+     * in parallel. Results are in project name order.
+     */
+    public List<WeeklyResult> writeWeeklySummaries(String from, String to, String sectionFilter) {
+
+        LocalDate[] range = ProjectService.weeklyRange(from, to);
+
+        // Checked once here rather than failing in every project
+        if (sectionFilter != null && !sectionFilter.isBlank()) {
+            ProjectService.mapSectionFilter(sectionFilter);
+        }
+
+        Map<String, Outcome<ProjectService.WeeklySummaryFile>> outcomes = forEachProject(project ->
+                projectService.writeWeeklySummary(project, range[0], range[1], sectionFilter));
+
+        List<WeeklyResult> results = new ArrayList<>(outcomes.size());
+        for (Map.Entry<String, Outcome<ProjectService.WeeklySummaryFile>> e : outcomes.entrySet()) {
+            Outcome<ProjectService.WeeklySummaryFile> outcome = e.getValue();
+            results.add(new WeeklyResult(e.getKey(), outcome.value(),
+                    outcome.error() == null ? null : reason(outcome.error())));
+        }
+        return results;
+    }
+
+    // ================================================================
+    // INSIGHTS
+    // ================================================================
+
+    private PortfolioInsights analyze(boolean fromLog) {
+
+        // Include task events still queued for the logs
+        TaskEventJournal.shared().flush(1000);
+
+        Path workspace = Paths.get(ConfigManager.load().getWorkspace());
+        LocalDate today = LocalDate.now();
+
+        Map<String, Outcome<Analysis>> outcomes = forEachProject(project ->
+                analyzeProject(workspace, project, fromLog, today));
+
+        List<PortfolioInsights.ProjectEntry> entries = new ArrayList<>();
+        Map<String, Integer> tags = new LinkedHashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Outcome<Analysis>> e : outcomes.entrySet()) {
+            Outcome<Analysis> outcome = e.getValue();
+            if (outcome.error() != null) {
+                failures.put(e.getKey(), reason(outcome.error()));
+                continue;
+            }
+            if (outcome.value() == null) continue;   // stats: no work log
+
+            entries.add(outcome.value().entry());
+            outcome.value().tags().forEach((tag, n) -> tags.merge(tag, n, Integer::sum));
+        }
+
+        entries.sort(Comparator
+                .comparingInt(PortfolioInsights.ProjectEntry::stagnantHighPriority).reversed()
+                .thenComparing(Comparator.comparingInt(PortfolioInsights.ProjectEntry::velocityDrop).reversed())
+                .thenComparing(Comparator.comparingLong(
+                        (PortfolioInsights.ProjectEntry p) -> p.insights().getStagnantTasks()).reversed())
+                .thenComparing(PortfolioInsights.ProjectEntry::project));
+
+        return new PortfolioInsights(merge(entries, tags), entries, failures);
+    }
+
+    private Analysis analyzeProject(Path workspace, String project,
+                                    boolean fromLog, LocalDate today) throws IOException {
+
+        ProjectInsights insights = fromLog
+                ? statsService.logStats(project)
+                : statsService.generateInsights(project);
+        if (insights == null) return null;
+
+        Path logFile = workspace.resolve("01_Projects").resolve(project)
+                .resolve("notes").resolve("work-log.md");
+        if (!WorkLogReader.of(logFile).exists()) {
+            return new Analysis(new PortfolioInsights.ProjectEntry(project, insights, 0, 0, 0), Map.of());
+        }
+
+        // Brought up to date by the insights above, so this is the in-memory fast path
+        InsightsAggregator aggregates = InsightsAggregator.forProject(workspace, project).current();
+
+        int stagnantHighPriority = 0;
+        for (Task task : new TaskService().getTasks(project)) {
+            if (task.getPriority() == 1
+                    && InsightsAggregator.isStagnant(task, aggregates.idleDays(task, today))) {
+                stagnantHighPriority++;
+            }
+        }
+
+        // completedThisWeek counts from today - 7; the week before ends the day earlier
+        int completedPrevWeek = aggregates.completedBetween(today.minusDays(14), today.minusDays(8));
+        int velocityDrop = Math.max(0, completedPrevWeek - insights.getCompletedThisWeek());
+
+        return new Analysis(
+                new PortfolioInsights.ProjectEntry(project, insights,
+                        stagnantHighPriority, completedPrevWeek, velocityDrop),
+                aggregates.tagFrequency());
+    }
+
+    /** Workspace totals: counts are summed, rate and top tag recomputed from the sums. */
+    private ProjectInsights merge(List<PortfolioInsights.ProjectEntry> entries, Map<String, Integer> tags) {
+
+        int total = 0, open = 0, inProgress = 0, done = 0, completedThisWeek = 0;
+        long stagnant = 0;
+        double scoreSum = 0;
+        int scored = 0;
+        Map<LocalDate, Integer> dailyActivity = new TreeMap<>();
+
+        for (PortfolioInsights.ProjectEntry entry : entries) {
+            ProjectInsights p = entry.insights();
+            total             += p.getTotalTasks();
+            open              += p.getOpenTasks();
+            inProgress        += p.getInProgressTasks();
+            done              += p.getDoneTasks();
+            completedThisWeek += p.getCompletedThisWeek();
+            stagnant          += p.getStagnantTasks();
+            p.getDailyActivity().forEach((day, n) -> dailyActivity.merge(day, n, Integer::sum));
+
+            // The score's stagnation penalty is absolute, so it is averaged rather than recomputed
+            if (p.getTotalTasks() > 0) {
+                scoreSum += p.getProductivityScore();
+                scored++;
+            }
+        }
+
+        return new ProjectInsights(
+                total,
+                open,
+                inProgress,
+                done,
+                completedThisWeek,
+                InsightsAggregator.completionRate(done, total),
+                InsightsAggregator.topTag(tags),
+                scored == 0 ? 0.0 : scoreSum / scored,
+                stagnant,
+                dailyActivity
+        );
+    }
+
+    // ================================================================
+    // FAN-OUT
+    // ================================================================
+
+    /** Runs {@code job} for every project on the pool; outcomes in project name order. */
+    private <R> Map<String, Outcome<R>> forEachProject(ProjectJob<R> job) {
+
+        AppConfig config = ConfigManager.load();
+        List<String> projects = projectService.listProjects(Paths.get(config.getWorkspace()))
+                .stream().map(Project::getName).toList();
+
+        Map<String, Outcome<R>> outcomes = new LinkedHashMap<>();
+        if (projects.isEmpty()) return outcomes;
+
+        int threads = config.getPerformance().getPortfolioThreads();
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        threads = Math.max(1, Math.min(threads, projects.size()));
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "workctl-portfolio-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<R>> futures = new ArrayList<>(projects.size());
+            for (String project : projects) {
+                futures.add(pool.submit(() -> job.run(project)));
+            }
+
+            for (int i = 0; i < projects.size(); i++) {
+                try {
+                    outcomes.put(projects.get(i), new Outcome<>(futures.get(i).get(), null));
+                } catch (ExecutionException e) {
+                    outcomes.put(projects.get(i), new Outcome<>(null, e.getCause()));
+                }
+            }
+            return outcomes;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while analyzing projects", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String reason(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -3,6 +3,7 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.PrepTopic;
+import com.workctl.core.storage.MarkdownLexer;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -36,7 +37,7 @@ public class PrepTopicService {
         try {
             Path file = getPrepTopicsFile();
             if (!Files.exists(file)) return new ArrayList<>();
-            return parse(Files.readAllLines(file));
+            return parse(Files.readString(file));
         } catch (IOException e) {
             return new ArrayList<>();
         }
@@ -115,39 +116,47 @@ public class PrepTopicService {
     // PARSING
     // ================================================================
 
-    private List<PrepTopic> parse(List<String> lines) {
+    private List<PrepTopic> parse(CharSequence text) {
         List<PrepTopic> result = new ArrayList<>();
         String currentCategory = "General";
         String currentSection  = null;
 
-        for (String line : lines) {
-            if (line.startsWith("## ")) {
-                currentCategory = line.substring(3).trim();
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
+                currentCategory = lx.content();
                 currentSection  = null;
                 continue;
             }
 
-            if (line.startsWith("### ")) {
-                currentSection = line.substring(4).trim();
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 3) {
+                currentSection = lx.content();
                 continue;
             }
 
-            if (line.trim().startsWith("- [")) {
-                boolean done = line.trim().startsWith("- [x]");
-                String rest  = line.trim().substring(5).trim();
+            if (lx.textStartsWith("- [") && lx.textEnd() - lx.textStart() >= 5) {
+                boolean done = lx.textStartsWith("- [x]");
+                int rest     = lx.trimStart(lx.textStart() + 5, lx.textEnd());
 
                 // Extract optional <!-- id=... -->
-                String id   = null;
-                String name = rest;
-                var idM = java.util.regex.Pattern
-                        .compile("<!--\\s*id=([\\w-]+)\\s*-->")
-                        .matcher(rest);
-                if (idM.find()) {
-                    id   = idM.group(1);
-                    name = rest.substring(0, idM.start()).trim();
+                String id      = null;
+                int    nameEnd = lx.textEnd();
+                for (int c = lx.indexOf("<!--", rest, lx.textEnd()); c >= 0 && id == null;
+                         c = lx.indexOf("<!--", c + 1, lx.textEnd())) {
+                    int key = lx.runEnd(c + 4, MarkdownLexer.Chars.SPACE);
+                    if (!lx.startsWithAt(key, "id=")) continue;
+                    int idEnd = lx.runEnd(key + 3, MarkdownLexer.Chars.WORD_OR_DASH);
+                    // "id=abc-->" — the run took the dashes of the closing "-->"
+                    if (!lx.startsWithAt(lx.runEnd(idEnd, MarkdownLexer.Chars.SPACE), "-->")) {
+                        idEnd = lx.startsWithAt(idEnd - 2, "-->") ? idEnd - 2 : -1;
+                    }
+                    if (idEnd > key + 3) {
+                        id      = lx.string(key + 3, idEnd);
+                        nameEnd = c;
+                    }
                 }
 
-                PrepTopic t = new PrepTopic(currentCategory, currentSection, name, done);
+                PrepTopic t = new PrepTopic(currentCategory, currentSection, lx.trimmed(rest, nameEnd), done);
                 if (id != null) t.setId(id);
                 result.add(t);
             }
@@ -3,12 +3,15 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.Project;
+import com.workctl.core.storage.WorkLogAppender;
+import com.workctl.core.storage.WorkLogReader;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -52,10 +55,19 @@ public class ProjectService {
                     """.formatted(name, description, LocalDate.now())
             );
 
+            // Segmented layout: the first month's file stands in for work-log.md
+            Path logFile = projectDir.resolve("notes/work-log.md");
+            String title = name + " – Work Log";
+            if (ConfigManager.performance().isSegmentedWorkLogs()) {
+                Files.createDirectories(logFile.resolveSibling(WorkLogReader.SEGMENT_DIR));
+                logFile = WorkLogReader.of(logFile).target(LocalDate.now());
+                title += " (" + YearMonth.now() + ")";
+            }
+
             Files.writeString(
-                    projectDir.resolve("notes/work-log.md"),
+                    logFile,
                     """
-                    # %s – Work Log
+                    # %s
 
                     ## %s
 
@@ -67,7 +79,7 @@ public class ProjectService {
 
                     ### Notes
                     -
-                    """.formatted(name, LocalDate.now())
+                    """.formatted(title, LocalDate.now())
             );
 
             return new Project(
@@ -145,54 +157,110 @@ public class ProjectService {
                     .resolve("notes")
                     .resolve("work-log.md");
 
-            if (!Files.exists(logFile)) {
+            if (!WorkLogReader.of(logFile).exists()) {
                 throw new IllegalStateException("work-log.md not found.");
             }
 
-            List<String> lines = Files.readAllLines(logFile);
-            String today = LocalDate.now().toString();
+            WorkLogAppender appender = WorkLogAppender.shared();
+            LocalDate today = LocalDate.now();
 
-            // 1️⃣ Ensure today's full structured block exists
-            int todayIndex = findDateBlock(lines, today);
-
-            if (todayIndex == -1) {
-                appendFullTemplate(lines, today);
-                todayIndex = findDateBlock(lines, today);
+            // 1️⃣ If no message → just ensure today's block exists
+            if (message == null || message.isBlank()) {
+                appender.append(logFile, today, null, null);
+                return;
             }
 
-            ensureAllSectionsExist(lines, todayIndex);
+            // 2️⃣ Insert entry into today's block (rewrites only the tail of the file)
+            appender.append(logFile, today, List.of(toInsert(message, section, tags)));
 
-            // 2️⃣ If no message → just ensure block exists
-            if (message == null || message.isBlank()) {
-                Files.write(logFile, lines);
-                return;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to update log", e);
+        }
+    }
+
+    /**
+     * Adds several entries to today's block in one write — used by
+     * TaskService batches so N task events cost one log append, not N.
+     * The log is forced to disk before this returns: it is the commit
+     * point of TaskEventJournal's group commit.
+     */
+    public void addLogEntries(String projectName, List<PendingLogEntry> entries) {
+
+        if (entries.isEmpty()) return;
+
+        try {
+            AppConfig config = ConfigManager.load();
+
+            Path logFile = Paths.get(config.getWorkspace())
+                    .resolve("01_Projects")
+                    .resolve(projectName)
+                    .resolve("notes")
+                    .resolve("work-log.md");
+
+            if (!WorkLogReader.of(logFile).exists()) {
+                throw new IllegalStateException("work-log.md not found.");
             }
 
-            // 3️⃣ Default section
-            if (section == null || section.isBlank()) {
-                section = "done";
+            List<WorkLogAppender.Insert> inserts = new ArrayList<>(entries.size());
+            for (PendingLogEntry e : entries) {
+                inserts.add(toInsert(e.message(), e.section(), e.tags()));
             }
 
-            String sectionHeader = mapSection(section);
+            LocalDate today = LocalDate.now();
+            WorkLogAppender.shared().append(logFile, today, inserts);
+            WorkLogAppender.shared().force(logFile, today);
 
-            // 4️⃣ Prepare tag string
-            String tagString = "";
-            if (tags != null && !tags.isEmpty()) {
-                tagString = tags.stream()
-                        .map(t -> "#" + t.toLowerCase())
-                        .collect(Collectors.joining(" ", " [", "]"));
-            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to update log", e);
+        }
+    }
+
+    /** An entry waiting to be written by {@link #addLogEntries}. */
+    public record PendingLogEntry(String message, String section, List<String> tags) {}
+
+    /**
+     * Splits the project's work-log.md into one file per month under
+     * notes/work-log/. Returns the number of segments written, or 0 if
+     * the log was already segmented.
+     */
+    public int migrateWorkLog(String projectName) {
+
+        try {
+            AppConfig config = ConfigManager.load();
+
+            Path projectDir = Paths.get(config.getWorkspace())
+                    .resolve("01_Projects")
+                    .resolve(projectName);
 
-            String entry = formatMultilineEntry(message, tagString);
+            if (!Files.exists(projectDir)) {
+                throw new IllegalStateException("Project not found: " + projectName);
+            }
 
-            // 5️⃣ Insert entry into correct section
-            insertIntoSection(lines, todayIndex, sectionHeader, entry);
+            // Task events still queued for the log go into the file being split
+            TaskEventJournal.shared().flush(1000);
 
-            Files.write(logFile, lines);
+            return WorkLogReader.of(projectDir.resolve("notes").resolve("work-log.md")).migrate();
 
         } catch (Exception e) {
-            throw new RuntimeException("Failed to update log", e);
+            throw new RuntimeException("Failed to migrate work log", e);
+        }
+    }
+
+    private WorkLogAppender.Insert toInsert(String message, String section, List<String> tags) {
+
+        // Default section
+        if (section == null || section.isBlank()) {
+            section = "done";
         }
+
+        String tagString = "";
+        if (tags != null && !tags.isEmpty()) {
+            tagString = tags.stream()
+                    .map(t -> "#" + t.toLowerCase())
+                    .collect(Collectors.joining(" ", " [", "]"));
+        }
+
+        return new WorkLogAppender.Insert(mapSection(section), formatMultilineEntry(message, tagString));
     }
 
     private String formatMultilineEntry(String message, String tagString) {
@@ -217,39 +285,6 @@ public class ProjectService {
     }
 
 
-    private int findDateBlock(List<String> lines, String date) {
-        for (int i = 0; i < lines.size(); i++) {
-            if (lines.get(i).trim().equals("## " + date)) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
-
-    private void appendFullTemplate(List<String> lines, String date) {
-
-        lines.add("");
-        lines.add("## " + date);
-        lines.add("");
-        lines.add("### Assigned");
-        lines.add("-");
-        lines.add("");
-        lines.add("### Done");
-        lines.add("-");
-        lines.add("");
-        lines.add("### Changes Suggested");
-        lines.add("-");
-        lines.add("");
-        lines.add("### Commands Used");
-        lines.add("-");
-        lines.add("");
-        lines.add("### Notes");
-        lines.add("-");
-        lines.add("");
-        lines.add("---");
-    }
-
     private String mapSection(String section) {
         return switch (section.toLowerCase()) {
             case "assigned" -> "### Assigned";
@@ -262,178 +297,127 @@ public class ProjectService {
     }
 
 
-    private void insertIntoSection(List<String> lines,
-                                   int todayIndex,
-                                   String sectionHeader,
-                                   String entry) {
-
-        for (int i = todayIndex; i < lines.size(); i++) {
-
-            // Stop if next date begins
-            if (i > todayIndex && lines.get(i).startsWith("## ")) {
-                break;
-            }
-
-            if (lines.get(i).trim().equals(sectionHeader)) {
-
-                int insertIndex = i + 1;
-
-                // Skip empty line if present
-                if (insertIndex < lines.size() && lines.get(insertIndex).isBlank()) {
-                    insertIndex++;
-                }
-
-                // If placeholder dash exists → replace it
-                if (insertIndex < lines.size() && lines.get(insertIndex).trim().equals("-")) {
-                    lines.set(insertIndex, entry);
-                } else {
-                    lines.add(insertIndex, entry);
-                }
-
-                return;
-            }
-        }
-
-        throw new IllegalStateException("Section not found: " + sectionHeader);
-    }
-
-    private void ensureAllSectionsExist(List<String> lines, int todayIndex) {
-
-        List<String> requiredSections = List.of(
-                "### Assigned",
-                "### Done",
-                "### Changes Suggested",
-                "### Commands Used",
-                "### Notes"
-        );
-
-        int insertPos = todayIndex + 1;
-
-        // Move to first section under date
-        while (insertPos < lines.size() && !lines.get(insertPos).startsWith("###")) {
-            insertPos++;
-        }
-
-        Set<String> existingSections = new HashSet<>();
-
-        for (int i = todayIndex; i < lines.size(); i++) {
-
-            if (i > todayIndex && lines.get(i).startsWith("## ")) {
-                break;
-            }
-
-            if (lines.get(i).startsWith("### ")) {
-                existingSections.add(lines.get(i).trim());
-            }
-        }
-
-        for (String section : requiredSections) {
-
-            if (!existingSections.contains(section)) {
-
-                lines.add(insertPos, "");
-                lines.add(insertPos + 1, section);
-                lines.add(insertPos + 2, "-");
-
-                insertPos += 3;
-            }
-        }
-    }
-
     public void generateWeeklySummary(String projectName,
                                       String from,
                                       String to,
                                       String sectionFilter) {
 
         try {
-            AppConfig config = ConfigManager.load();
-            Path workspace = Paths.get(config.getWorkspace());
+            LocalDate[] range = weeklyRange(from, to);
 
-            Path logFile = workspace
-                    .resolve("01_Projects")
-                    .resolve(projectName)
-                    .resolve("notes")
-                    .resolve("work-log.md");
+            WeeklySummaryFile written =
+                    writeWeeklySummary(projectName, range[0], range[1], sectionFilter);
 
-            if (!Files.exists(logFile)) {
+            if (written == null) {
                 System.out.println("No work log found for project: " + projectName);
                 return;
             }
 
-            // 🔹 Date Handling
-            LocalDate endDate;
-            LocalDate startDate;
+            // 🔹 Print to Console
+            System.out.println(written.summary());
 
-            if (to != null && !to.isBlank()) {
-                endDate = LocalDate.parse(to);
-            } else {
-                endDate = LocalDate.now();
-            }
+            System.out.println("\nSaved to: " + written.file());
 
-            if (from != null && !from.isBlank()) {
-                startDate = LocalDate.parse(from);
-            } else {
-                startDate = endDate.minusDays(6);
-            }
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date format. Use yyyy-MM-dd");
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate weekly summary", e);
+        }
+    }
 
-            if (startDate.isAfter(endDate)) {
-                throw new IllegalArgumentException("--from date cannot be after --to date");
-            }
+    /** A weekly summary and the file it was saved to. */
+    public record WeeklySummaryFile(String project, Path file, String summary) {}
+
+    /**
+     * Builds the project's summary for [startDate, endDate] and saves it
+     * next to its work log. Returns null if the project has no work log.
+     * Nothing is printed, so projects can be summarized in parallel.
+     */
+    public WeeklySummaryFile writeWeeklySummary(String projectName,
+                                                LocalDate startDate,
+                                                LocalDate endDate,
+                                                String sectionFilter) throws IOException {
+
+        AppConfig config = ConfigManager.load();
+        Path workspace = Paths.get(config.getWorkspace());
+
+        Path logFile = workspace
+                .resolve("01_Projects")
+                .resolve(projectName)
+                .resolve("notes")
+                .resolve("work-log.md");
+
+        WorkLogReader log = WorkLogReader.of(logFile);
+        if (!log.exists()) {
+            return null;
+        }
 
-            String content = Files.readString(logFile);
+        // Read only the date blocks inside the window
+        List<String> lines = log.readLines(startDate, endDate);
 
-            Map<String, List<String>> collected = new LinkedHashMap<>();
-            collected.put("Done", new ArrayList<>());
-            collected.put("Changes Suggested", new ArrayList<>());
-            collected.put("Commands Used", new ArrayList<>());
+        Map<String, List<String>> collected = new LinkedHashMap<>();
+        collected.put("Done", new ArrayList<>());
+        collected.put("Changes Suggested", new ArrayList<>());
+        collected.put("Commands Used", new ArrayList<>());
 
-            parseWeeklyData(content, startDate, endDate, collected);
+        parseWeeklyData(lines, startDate, endDate, collected);
 
-            if (sectionFilter != null && !sectionFilter.isBlank()) {
+        if (sectionFilter != null && !sectionFilter.isBlank()) {
 
-                String mapped = mapSectionFilter(sectionFilter);
+            String mapped = mapSectionFilter(sectionFilter);
 
-                Map<String, List<String>> filtered = new LinkedHashMap<>();
+            Map<String, List<String>> filtered = new LinkedHashMap<>();
+            filtered.put(mapped, collected.get(mapped));
 
-                if (collected.containsKey(mapped)) {
-                    filtered.put(mapped, collected.get(mapped));
-                } else {
-                    System.out.println("Invalid section filter.");
-                    return;
-                }
+            collected = filtered;
+        }
 
-                collected = filtered;
-            }
+        String summary = buildSummary(projectName, startDate, endDate, collected);
 
-            String summary = buildSummary(projectName, startDate, endDate, collected);
+        // 🔹 Save to File
+        String fileName = "weekly-summary-"
+                + startDate + "_to_" + endDate + ".md";
 
-            // 🔹 Print to Console
-            System.out.println(summary);
+        Path outputFile = logFile.getParent().resolve(fileName);
 
-            // 🔹 Save to File
-            String fileName = "weekly-summary-"
-                    + startDate + "_to_" + endDate + ".md";
+        Files.writeString(outputFile, summary);
 
-            Path outputFile = logFile.getParent().resolve(fileName);
+        return new WeeklySummaryFile(projectName, outputFile, summary);
+    }
 
-            Files.writeString(outputFile, summary);
+    /**
+     * The [start, end] window for --from/--to: both optional, ending
+     * today and starting six days before the end by default.
+     */
+    static LocalDate[] weeklyRange(String from, String to) {
 
-            System.out.println("\nSaved to: " + outputFile);
+        LocalDate endDate;
+        LocalDate startDate;
 
-        } catch (DateTimeParseException e) {
-            System.out.println("Invalid date format. Use yyyy-MM-dd");
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate weekly summary", e);
+        if (to != null && !to.isBlank()) {
+            endDate = LocalDate.parse(to);
+        } else {
+            endDate = LocalDate.now();
+        }
+
+        if (from != null && !from.isBlank()) {
+            startDate = LocalDate.parse(from);
+        } else {
+            startDate = endDate.minusDays(6);
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("--from date cannot be after --to date");
         }
+
+        return new LocalDate[] { startDate, endDate };
     }
 
-    private void parseWeeklyData(String content,
+    private void parseWeeklyData(List<String> lines,
                                  LocalDate start,
                                  LocalDate end,
                                  Map<String, List<String>> collected) {
 
-        String[] lines = content.split("\n");
-
         LocalDate currentDate = null;
         String currentSection = null;
 
@@ -473,7 +457,7 @@ public class ProjectService {
         }
     }
 
-    private String mapSectionFilter(String section) {
+    static String mapSectionFilter(String section) {
         return switch (section.toLowerCase()) {
             case "done" -> "Done";
             case "changes" -> "Changes Suggested";
@@ -513,58 +497,4 @@ public class ProjectService {
 
         return sb.toString();
     }
-
-    public void search(String query, boolean searchByTag) {
-
-        try {
-            AppConfig config = ConfigManager.load();
-            Path workspace = Paths.get(config.getWorkspace())
-                    .resolve("01_Projects");
-
-            if (!Files.exists(workspace)) {
-                System.out.println("Workspace not found.");
-                return;
-            }
-
-            Files.list(workspace)
-                    .filter(Files::isDirectory)
-                    .forEach(projectDir -> {
-
-                        Path logFile = projectDir
-                                .resolve("notes")
-                                .resolve("work-log.md");
-
-                        if (!Files.exists(logFile)) return;
-
-                        try {
-                            List<String> lines = Files.readAllLines(logFile);
-
-                            for (String line : lines) {
-
-                                if (searchByTag) {
-                                    if (line.contains("#" + query.toLowerCase())) {
-                                        printMatch(projectDir.getFileName().toString(), line);
-                                    }
-                                } else {
-                                    if (line.toLowerCase().contains(query.toLowerCase())) {
-                                        printMatch(projectDir.getFileName().toString(), line);
-                                    }
-                                }
-                            }
-
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    });
-
-        } catch (IOException e) {
-            throw new RuntimeException("Search failed", e);
-        }
-    }
-
-    private void printMatch(String project, String line) {
-        System.out.println("[" + project + "] " + line.trim());
-    }
-
-
 }
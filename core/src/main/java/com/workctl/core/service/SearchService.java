@@ -0,0 +1,152 @@
+package com.workctl.core.service;
+
+import com.workctl.config.AppConfig;
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.SearchHit;
+import com.workctl.core.storage.SearchIndex;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Ranked full-text search over the whole workspace — work logs, tasks,
+ * commands, meetings, interviews and workflows.
+ *
+ * Query syntax:
+ *   redis timeout      every word must appear (any order)
+ *   "cache miss"       words next to each other
+ *   redi*              any word starting with "redi"
+ *   #backend           the tag, not just the word
+ *
+ * Backed by {@link SearchIndex}; the first query after a change re-reads
+ * only the files that changed.
+ */
+public class SearchService {
+
+    private static final int SNIPPET_LINES = 3;
+
+    public List<SearchHit> search(String query, int limit) {
+        return search(query, null, null, limit);
+    }
+
+    /**
+     * @param project only this project's logs, tasks and runs (null = all)
+     * @param kinds   only these kinds, e.g. Set.of("log") (null = all)
+     */
+    public List<SearchHit> search(String query, String project, Set<String> kinds, int limit) {
+        List<SearchIndex.Clause> clauses = parse(query);
+        if (clauses.isEmpty()) return List.of();
+
+        try {
+            AppConfig config = ConfigManager.load();
+            List<SearchIndex.Hit> hits = SearchIndex.forWorkspace(Paths.get(config.getWorkspace()))
+                    .search(clauses, project, kinds, limit);
+
+            List<String> words = new ArrayList<>();
+            clauses.forEach(c -> words.addAll(c.terms()));
+
+            List<SearchHit> result = new ArrayList<>(hits.size());
+            for (SearchIndex.Hit h : hits) {
+                SearchIndex.Doc d = h.doc();
+                result.add(new SearchHit(d.kind(), d.project(), d.title(), d.ref(),
+                        d.file(), h.score(), snippet(readLines(d), words)));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Search failed", e);
+        }
+    }
+
+    /** Searches for one tag, with or without the leading '#'. */
+    public List<SearchHit> searchTag(String tag, int limit) {
+        String t = tag.startsWith("#") ? tag : "#" + tag;
+        return search(t, limit);
+    }
+
+    private static List<String> readLines(SearchIndex.Doc doc) {
+        try {
+            return List.of(SearchIndex.readText(doc).split("\r?\n"));
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    // ================================================================
+    // QUERY PARSING
+    // ================================================================
+
+    static List<SearchIndex.Clause> parse(String query) {
+        List<SearchIndex.Clause> clauses = new ArrayList<>();
+        if (query == null) return clauses;
+
+        int i = 0, n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            if (c == '"') {
+                int close = query.indexOf('"', i + 1);
+                if (close < 0) close = n;
+                addWords(clauses, SearchIndex.tokenize(query.substring(i + 1, close)));
+                i = close + 1;
+                continue;
+            }
+
+            int end = i;
+            while (end < n && !Character.isWhitespace(query.charAt(end))) end++;
+            String word = query.substring(i, end);
+            i = end;
+
+            List<String> tokens = SearchIndex.tokenize(word);
+            if (tokens.isEmpty()) continue;
+
+            if (word.startsWith("#") && tokens.size() == 1) {
+                clauses.add(new SearchIndex.Clause(List.of("#" + tokens.get(0)), word.endsWith("*")));
+            } else if (word.endsWith("*") && tokens.size() == 1) {
+                clauses.add(new SearchIndex.Clause(tokens, true));
+            } else {
+                // "foo-bar" or "v2.1" — the parts must stay together
+                addWords(clauses, tokens);
+            }
+        }
+        return clauses;
+    }
+
+    private static void addWords(List<SearchIndex.Clause> clauses, List<String> tokens) {
+        if (!tokens.isEmpty()) clauses.add(new SearchIndex.Clause(tokens, false));
+    }
+
+    /** Up to a few lines that contain a query word, comments and blanks skipped. */
+    private static List<String> snippet(List<String> lines, List<String> words) {
+        List<String> out = new ArrayList<>();
+        boolean inComment = false;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (inComment) {
+                if (trimmed.contains("-->")) inComment = false;
+                continue;
+            }
+            if (trimmed.startsWith("<!--")) {
+                inComment = !trimmed.contains("-->");
+                continue;
+            }
+            trimmed = trimmed.replaceAll("\\s*<!--.*?-->", "").trim();
+            if (trimmed.isEmpty()) continue;
+
+            String lower = trimmed.toLowerCase(Locale.ROOT);
+            for (String w : words) {
+                String plain = w.startsWith("#") ? w.substring(1) : w;
+                if (lower.contains(plain)) {
+                    out.add(trimmed);
+                    break;
+                }
+            }
+            if (out.size() == SNIPPET_LINES) break;
+        }
+        return out;
+    }
+}
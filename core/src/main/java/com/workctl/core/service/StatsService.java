@@ -2,83 +2,64 @@ package com.workctl.core.service;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.core.model.ActivityBucket;
+import com.workctl.core.model.FlowTimes;
 import com.workctl.core.model.ProjectInsights;
 import com.workctl.core.model.Task;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.storage.InsightsAggregator;
+import com.workctl.core.storage.WorkLogReader;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.regex.*;
-import java.util.stream.Collectors;
 
 public class StatsService {
 
-    private static final Pattern EVENT_PATTERN =
-            Pattern.compile("TASK_EVENT:(.*?)-->", Pattern.DOTALL);
-
-    private static final Pattern FIELD_PATTERN =
-            Pattern.compile("(\\w+)=(.+)");
-
     public void generate(String projectName) {
 
         try {
-            AppConfig config = ConfigManager.load();
+            // Include task events still queued for the log
+            TaskEventJournal.shared().flush(1000);
 
-            Path logFile = Paths.get(config.getWorkspace())
-                    .resolve("01_Projects")
-                    .resolve(projectName)
-                    .resolve("notes")
-                    .resolve("work-log.md");
-
-            if (!Files.exists(logFile)) {
+            if (logStats(projectName) == null) {
                 System.out.println("No logs found.");
-                return;
             }
 
-            String content = Files.readString(logFile);
-
-            List<Map<String, String>> events = parseEvents(content);
-
-            computeStats(events, projectName);
-
         } catch (Exception e) {
             System.out.println("Failed to generate stats.");
         }
     }
 
-    private List<Map<String, String>> parseEvents(String content) {
-
-        List<Map<String, String>> events = new ArrayList<>();
+    /**
+     * The `stats` numbers for one project, computed from its logged task
+     * events alone. Returns null if the project has no work log.
+     */
+    public ProjectInsights logStats(String projectName) throws IOException {
 
-        Matcher matcher = EVENT_PATTERN.matcher(content);
+        AppConfig config = ConfigManager.load();
 
-        while (matcher.find()) {
+        Path logFile = Paths.get(config.getWorkspace())
+                .resolve("01_Projects")
+                .resolve(projectName)
+                .resolve("notes")
+                .resolve("work-log.md");
 
-            String block = matcher.group(1);
-
-            Map<String, String> event = new HashMap<>();
-
-            Matcher fieldMatcher = FIELD_PATTERN.matcher(block);
-
-            while (fieldMatcher.find()) {
-                event.put(
-                        fieldMatcher.group(1).trim(),
-                        fieldMatcher.group(2).trim()
-                );
-            }
-
-            events.add(event);
+        WorkLogReader log = WorkLogReader.of(logFile);
+        if (!log.exists()) {
+            return null;
         }
 
-        return events;
+        return computeStats(aggregator(projectName), projectName);
     }
 
     public ProjectInsights generateInsights(String projectName) {
 
         try {
+            // Include task events still queued for the log
+            TaskEventJournal.shared().flush(1000);
+
             TaskService taskService = new TaskService();
             List<Task> tasks = taskService.getTasks(projectName);
 
@@ -90,18 +71,21 @@ public class StatsService {
                     .resolve("notes")
                     .resolve("work-log.md");
 
-            if (!Files.exists(logFile)) {
+            WorkLogReader log = WorkLogReader.of(logFile);
+            if (!log.exists()) {
                 return emptyInsights();
             }
 
-            String content = Files.readString(logFile);
-            List<Map<String, String>> events = parseEvents(content);
+            InsightsAggregator aggregates = aggregator(projectName);
 
             // =========================================
             // BASIC COUNTS
             // =========================================
 
-            int total = tasks.size();
+            // Archived tasks are all DONE
+            int archived = taskService.countArchivedTasks(projectName);
+
+            int total = tasks.size() + archived;
 
             int open = (int) tasks.stream()
                     .filter(t -> t.getStatus() == TaskStatus.OPEN)
@@ -113,91 +97,36 @@ public class StatsService {
 
             int done = (int) tasks.stream()
                     .filter(t -> t.getStatus() == TaskStatus.DONE)
-                    .count();
+                    .count() + archived;
 
-            double completionRate = total == 0
-                    ? 0
-                    : (done * 100.0 / total);
+            double completionRate = InsightsAggregator.completionRate(done, total);
 
             // =========================================
             // EVENT ANALYSIS
             // =========================================
 
-            Map<Integer, LocalDate> createdDates = new HashMap<>();
-            Map<Integer, LocalDate> completedDates = new HashMap<>();
-            Map<Integer, LocalDate> lastChangeMap = new HashMap<>();
-            Map<LocalDate, Integer> dailyActivity = new HashMap<>();
-
-            Map<String, Integer> tagFrequency = new HashMap<>();
-
             LocalDate now = LocalDate.now();
-            int completedThisWeek = 0;
-
-            for (Map<String, String> event : events) {
-
-                int id = Integer.parseInt(event.get("id"));
-                String action = event.get("action");
-                LocalDate date = LocalDate.parse(event.get("date"));
-
-                // last status change tracking
-                lastChangeMap.merge(id, date,
-                        (oldDate, newDate) ->
-                                newDate.isAfter(oldDate) ? newDate : oldDate);
 
-                // heatmap activity
-                dailyActivity.merge(date, 1, Integer::sum);
-
-                if ("created".equals(action)) {
-                    createdDates.put(id, date);
-                }
-
-                if ("completed".equals(action)) {
-                    completedDates.put(id, date);
-
-                    if (!date.isBefore(now.minusDays(7))) {
-                        completedThisWeek++;
-                    }
-                }
-
-                String tags = event.get("tags");
-                if (tags != null && !tags.isBlank()) {
-                    for (String tag : tags.split(",")) {
-                        tagFrequency.merge(tag.trim(), 1, Integer::sum);
-                    }
-                }
-            }
+            int completedThisWeek = aggregates.completedSince(now.minusDays(7));
 
             // =========================================
             // STAGNATION
             // =========================================
 
-            long stagnantTasks = lastChangeMap.entrySet().stream()
-                    .filter(e -> !completedDates.containsKey(e.getKey()))
-                    .filter(e -> ChronoUnit.DAYS.between(e.getValue(), now) > 7)
-                    .count();
+            long stagnantTasks = aggregates.stagnant(tasks, now);
 
             // =========================================
             // PRODUCTIVITY SCORING MODEL
             // =========================================
 
-            double weeklyVelocityScore = Math.min(completedThisWeek * 10.0, 100);
-            double stagnationPenalty = stagnantTasks * 5.0;
-
-            double productivityScore =
-                    (completionRate * 0.5) +
-                            (weeklyVelocityScore * 0.4) -
-                            stagnationPenalty;
-
-            productivityScore = Math.max(0, Math.min(100, productivityScore));
+            double productivityScore = InsightsAggregator.productivityScore(
+                    completionRate, completedThisWeek, stagnantTasks);
 
             // =========================================
             // TOP TAG
             // =========================================
 
-            String mostUsedTag = tagFrequency.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse("None");
+            String mostUsedTag = InsightsAggregator.topTag(aggregates.tagFrequency());
 
             // =========================================
             // RETURN OBJECT
@@ -213,7 +142,7 @@ public class StatsService {
                     mostUsedTag,
                     productivityScore,
                     stagnantTasks,
-                    dailyActivity
+                    aggregates.dailyActivity()
             );
 
         } catch (Exception e) {
@@ -233,226 +162,75 @@ public class StatsService {
         );
     }
 
-    private int calculateCompletedThisWeek(String projectName) {
-
-        LocalDate now = LocalDate.now();
-        LocalDate weekStart = now.minusDays(7);
-
-        // Parse work-log metadata TASK_EVENT blocks
-        // Count completed where date >= weekStart
-
-        return parseWeeklyCompletedCount(projectName, weekStart);
+    /**
+     * Task event counts per day, ISO week or month over [from, to], empty
+     * buckets included, read from the project's rollups. With a tag, only
+     * events carrying it are counted.
+     */
+    public List<ActivityBucket> activity(String projectName, ActivityBucket.Period period,
+                                         LocalDate from, LocalDate to, String tag) throws IOException {
+        // Include task events still queued for the log
+        TaskEventJournal.shared().flush(1000);
+
+        return aggregator(projectName).activity(period, from, to, tag);
     }
 
-    private String calculateMostUsedTag(List<Task> tasks) {
-
-        Map<String, Long> tagCount = tasks.stream()
-                .flatMap(t -> t.getTags().stream())
-                .collect(Collectors.groupingBy(
-                        tag -> tag,
-                        Collectors.counting()
-                ));
+    /**
+     * Cycle- and lead-time sketches for the project's completions dated
+     * within [from, to], optionally for one priority or one tag.
+     */
+    public FlowTimes flowTimes(String projectName, LocalDate from, LocalDate to,
+                               Integer priority, String tag) throws IOException {
+        // Include task events still queued for the log
+        TaskEventJournal.shared().flush(1000);
 
-        return tagCount.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("None");
+        return aggregator(projectName).flowTimes(from, to, priority, tag);
     }
 
-    private int parseWeeklyCompletedCount(String projectName, LocalDate weekStart) {
-
-        try {
-
-            AppConfig config = ConfigManager.load();
-
-            Path logFile = Paths.get(config.getWorkspace())
-                    .resolve("01_Projects")
-                    .resolve(projectName)
-                    .resolve("notes")
-                    .resolve("work-log.md");
-
-            if (!Files.exists(logFile)) {
-                return 0;
-            }
-
-            List<String> lines = Files.readAllLines(logFile);
-
-            int count = 0;
-
-            for (int i = 0; i < lines.size(); i++) {
-
-                String line = lines.get(i);
-
-                // Detect metadata block
-                if (line.contains("TASK_EVENT")) {
-
-                    String action = null;
-                    String dateStr = null;
-
-                    // Read next few lines inside metadata block
-                    for (int j = i; j < lines.size() && !lines.get(j).contains("-->"); j++) {
-
-                        String metaLine = lines.get(j).trim();
-
-                        if (metaLine.startsWith("action=")) {
-                            action = metaLine.replace("action=", "").trim();
-                        }
-
-                        if (metaLine.startsWith("date=")) {
-                            dateStr = metaLine.replace("date=", "").trim();
-                        }
-                    }
-
-                    if ("completed".equalsIgnoreCase(action) && dateStr != null) {
-
-                        LocalDate completedDate = LocalDate.parse(dateStr);
-
-                        if (!completedDate.isBefore(weekStart)) {
-                            count++;
-                        }
-                    }
-                }
-            }
-
-            return count;
-
-        } catch (Exception e) {
-            return 0;
-        }
+    /** The project's running event totals, brought up to date with its log. */
+    private InsightsAggregator aggregator(String projectName) throws IOException {
+        return InsightsAggregator.forProject(
+                Paths.get(ConfigManager.load().getWorkspace()), projectName).current();
     }
 
-    private ProjectInsights computeStats(List<Map<String, String>> events,
+    private ProjectInsights computeStats(InsightsAggregator aggregates,
                                          String projectName) {
 
-        Map<Integer, LocalDate> createdDates = new HashMap<>();
-        Map<Integer, LocalDate> completedDates = new HashMap<>();
-        Map<Integer, LocalDate> lastChangeMap = new HashMap<>();
-        Map<LocalDate, Integer> dailyActivity = new HashMap<>();
-
-        int created = 0;
-        int completed = 0;
-        int completedThisWeek = 0;
-
-        Map<String, Integer> tagFrequency = new HashMap<>();
-
         LocalDate now = LocalDate.now();
-        LocalDate weekStart = now.minusDays(7);
-
-        // =============================
-        // Parse events
-        // =============================
-        for (Map<String, String> event : events) {
-
-            int id = Integer.parseInt(event.get("id"));
-            String action = event.get("action");
-            LocalDate date = LocalDate.parse(event.get("date"));
-
-            // Track last status change
-            lastChangeMap.merge(id, date,
-                    (oldDate, newDate) ->
-                            newDate.isAfter(oldDate) ? newDate : oldDate);
 
-            // Track daily activity (for heatmap)
-            dailyActivity.merge(date, 1, Integer::sum);
-
-            if ("created".equals(action)) {
-                created++;
-                createdDates.put(id, date);
-            }
-
-            if ("completed".equals(action)) {
-                completed++;
-                completedDates.put(id, date);
-
-                if (!date.isBefore(weekStart)) {
-                    completedThisWeek++;
-                }
-            }
-
-            String tags = event.get("tags");
-            if (tags != null && !tags.isBlank()) {
-                for (String tag : tags.split(",")) {
-                    tagFrequency.merge(tag.trim(), 1, Integer::sum);
-                }
-            }
-        }
-
-        // =============================
-        // Duration Analysis
-        // =============================
-        List<Long> durations = new ArrayList<>();
-
-        for (Integer id : completedDates.keySet()) {
-            if (createdDates.containsKey(id)) {
-                long days = ChronoUnit.DAYS.between(
-                        createdDates.get(id),
-                        completedDates.get(id)
-                );
-                durations.add(days);
-            }
-        }
-
-        double avgDuration = durations.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0);
+        int created = aggregates.createdEvents();
+        int completed = aggregates.completedEvents();
+        int completedThisWeek = aggregates.completedSince(now.minusDays(7));
 
         // =============================
         // Stagnation Detection
         // =============================
-        long stagnant = 0;
-
-        for (Map.Entry<Integer, LocalDate> entry : lastChangeMap.entrySet()) {
-
-            Integer id = entry.getKey();
-            LocalDate lastChange = entry.getValue();
-
-            if (!completedDates.containsKey(id)) {
-
-                long daysIdle = ChronoUnit.DAYS.between(lastChange, now);
-
-                if (daysIdle > 7) {
-                    stagnant++;
-                }
-            }
-        }
+        long stagnant = aggregates.stagnant(new TaskService().getTasks(projectName), now);
 
         // =============================
         // Counts
         // =============================
         int openTasks = created - completed;
-        int inProgressTasks = 0; // Optional future improvement
+        int inProgressTasks = aggregates.statusCounts()
+                .getOrDefault(TaskStatus.IN_PROGRESS.name(), 0);
         int doneTasks = completed;
         int totalTasks = created;
 
         // =============================
         // Completion Rate
         // =============================
-        double completionRate = totalTasks == 0
-                ? 0
-                : (doneTasks * 100.0 / totalTasks);
+        double completionRate = InsightsAggregator.completionRate(doneTasks, totalTasks);
 
         // =============================
         // Intelligent Productivity Score
         // =============================
-        double weeklyVelocityScore = Math.min(completedThisWeek * 10, 100);
-        double stagnationPenalty = stagnant * 5;
-
-        double productivityScore =
-                (completionRate * 0.5) +
-                        (weeklyVelocityScore * 0.4) -
-                        (stagnationPenalty);
-
-        productivityScore =
-                Math.max(Math.min(productivityScore, 100), 0);
+        double productivityScore = InsightsAggregator.productivityScore(
+                completionRate, completedThisWeek, stagnant);
 
         // =============================
         // Top Tag
         // =============================
-        String topTag = tagFrequency.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("None");
+        String topTag = InsightsAggregator.topTag(aggregates.tagFrequency());
 
         // =============================
         // Return Insights Object
@@ -467,9 +245,7 @@ public class StatsService {
                 topTag,
                 productivityScore,
                 stagnant,
-                dailyActivity
+                aggregates.dailyActivity()
         );
     }
-
-
 }
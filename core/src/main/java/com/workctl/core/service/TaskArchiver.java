@@ -0,0 +1,81 @@
+package com.workctl.core.service;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.TaskBoard;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background policy that keeps tasks.md small by archiving cold DONE tasks.
+ *
+ * With performance.archiveDoneAfterDays set above 0, every committed board
+ * is checked for DONE tasks finished longer ago than that; if it has any, a
+ * run of {@link TaskService#archiveDoneTasks} is queued on a single daemon
+ * thread. The check is an in-memory scan of a board that was just written,
+ * so the policy costs nothing when there is nothing to archive and at most
+ * one queued run per project otherwise.
+ *
+ * The CLI calls {@link #await} before exiting so a started run is never
+ * cut short; an interrupted run is safe anyway (see archiveDoneTasks).
+ */
+public final class TaskArchiver {
+
+    private static final TaskArchiver SHARED = new TaskArchiver();
+
+    public static TaskArchiver shared() {
+        return SHARED;
+    }
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "workctl-task-archiver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Future<?> last;
+
+    private TaskArchiver() {}
+
+    /**
+     * Queues an archive run for {@code projectName} if the policy applies to
+     * {@code board}. The policy is read on every commit (a stat of
+     * config.yaml), so a long-running GUI follows changes to it.
+     */
+    void afterCommit(String projectName, TaskBoard board) {
+        int afterDays = ConfigManager.performance().getArchiveDoneAfterDays();
+        if (afterDays <= 0) return;
+        if (TaskService.coldTasks(board, LocalDate.now().minusDays(afterDays)).isEmpty()) return;
+        if (!pending.add(projectName)) return;
+
+        last = executor.submit(() -> {
+            pending.remove(projectName);
+            try {
+                new TaskService().archiveDoneTasks(projectName, afterDays);
+            } catch (Exception ignored) {
+                // Best-effort — the next commit tries again
+            }
+        });
+    }
+
+    /** Waits up to {@code timeoutMillis} for queued runs to finish. */
+    public void await(long timeoutMillis) {
+        Future<?> f = last;
+        if (f == null) return;
+        try {
+            // Single thread: the last submission finishes after every earlier one
+            f.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ignored) {
+            // Timed out or failed — nothing to wait for
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.workctl.core.service;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.config.PerformanceConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer for TASK_EVENT log entries.
+ *
+ * TaskService hands each committed batch of lifecycle entries to
+ * {@link #submit} and returns as soon as tasks.md is written — a GUI drag
+ * or a CLI status change no longer waits for the work-log append.
+ *
+ * A single daemon thread drains the bounded queue. After the first
+ * submission it lingers briefly for more (performance.journalQueueSize
+ * and journalLingerMillis in config.yaml), then writes everything it
+ * collected with one append per project (group commit), so a burst of
+ * status changes costs one log write instead of one each. Each append is
+ * forced to disk before the commit counts as written.
+ *
+ * Entries reach each project's log in the order they were submitted: if
+ * the queue is full the caller waits for room rather than writing ahead
+ * of older entries. {@link #flush} waits for everything submitted so far;
+ * the CLI calls it before exiting and a shutdown hook does the same for
+ * the GUI.
+ *
+ * An append that fails is retried a few times. If it still fails, its
+ * entries are lost: they are counted in {@link Metrics#failedEntries}, and
+ * the flush() that was waiting for them returns false.
+ *
+ * Never call submit() or flush() while holding a ProjectLock — the writer
+ * needs it.
+ */
+public final class TaskEventJournal {
+
+    private static final int  MAX_BATCH  = 256;
+    private static final int  WRITE_ATTEMPTS = 3;
+    private static final long RETRY_MS   = 50;
+    private static final int  MAX_LOST   = 1024;
+    private static final long SHUTDOWN_FLUSH_MS = 5000;
+
+    private static final TaskEventJournal SHARED = new TaskEventJournal();
+
+    public static TaskEventJournal shared() {
+        return SHARED;
+    }
+
+    /** Snapshot of the journal's counters. Latencies are per group commit. */
+    public record Metrics(int queueDepth,
+                          long submitted,
+                          long written,
+                          long fullQueueWaits,
+                          long failedEntries,
+                          long commits,
+                          long lastCommitMicros,
+                          long maxCommitMicros) {
+
+        /** One line for status output, e.g. "queue 0, 12 commits (last 1.8 ms, max 9.3 ms), 0 waits, 0 lost". */
+        public String summary() {
+            return String.format(Locale.ROOT, "queue %d, %d commits (last %.1f ms, max %.1f ms), %d waits, %d lost",
+                    queueDepth, commits, lastCommitMicros / 1000.0, maxCommitMicros / 1000.0,
+                    fullQueueWaits, failedEntries);
+        }
+    }
+
+    private record Submission(long seq, String projectName,
+                              List<ProjectService.PendingLogEntry> entries) {}
+
+    private final BlockingQueue<Submission> queue;
+    private final long lingerMillis;
+    private final ProjectService projectService = new ProjectService();
+
+    private final Object submitLock = new Object();
+    private final Object doneLock   = new Object();
+
+    private Thread writer;
+    private volatile long submittedSeq;   // written under submitLock
+    private long writtenSeq;              // guarded by doneLock
+    private final NavigableSet<Long> lostSeqs = new TreeSet<>();   // guarded by doneLock
+
+    private final AtomicLong fullQueueWaits = new AtomicLong();
+    private final AtomicLong failedEntries  = new AtomicLong();
+
+    // Written only by the writer thread
+    private volatile long commits;
+    private volatile long lastCommitMicros;
+    private volatile long maxCommitMicros;
+
+    private TaskEventJournal() {
+        PerformanceConfig perf = ConfigManager.performance();
+        this.queue        = new ArrayBlockingQueue<>(Math.max(16, perf.getJournalQueueSize()));
+        this.lingerMillis = Math.max(0, perf.getJournalLingerMillis());
+    }
+
+    /**
+     * Queues {@code entries} for the project's work log, waiting for room
+     * if the queue is full.
+     */
+    public void submit(String projectName, List<ProjectService.PendingLogEntry> entries) {
+
+        if (entries.isEmpty()) return;
+
+        synchronized (submitLock) {
+            ensureWriter();
+            // Sequence numbers follow queue order, so flush() can wait on one counter
+            Submission s = new Submission(submittedSeq + 1, projectName, List.copyOf(entries));
+            if (!queue.offer(s)) {
+                fullQueueWaits.incrementAndGet();
+                putUninterruptibly(s);
+            }
+            submittedSeq = s.seq();
+        }
+    }
+
+    /**
+     * Blocks until everything submitted before this call is in the log,
+     * or {@code timeoutMillis} passes. Returns true if fully flushed —
+     * false on timeout, or if any entry it waited for could not be written.
+     */
+    public boolean flush(long timeoutMillis) {
+
+        long target = submittedSeq;
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (doneLock) {
+            long from = writtenSeq;
+            while (writtenSeq < target) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) return false;
+                try {
+                    doneLock.wait(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            Long lost = lostSeqs.higher(from);
+            return lost == null || lost > target;
+        }
+    }
+
+    public Metrics metrics() {
+        long submitted = submittedSeq;
+        long written;
+        synchronized (doneLock) {
+            written = writtenSeq;
+        }
+        return new Metrics(queue.size(), submitted, written,
+                fullQueueWaits.get(), failedEntries.get(), commits, lastCommitMicros, maxCommitMicros);
+    }
+
+    // ================================================================
+    // WRITER
+    // ================================================================
+
+    private void ensureWriter() {
+        if (writer != null) return;
+
+        writer = new Thread(this::drain, "workctl-task-journal");
+        writer.setDaemon(true);  // won't prevent JVM shutdown — the hook flushes instead
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> flush(SHUTDOWN_FLUSH_MS), "workctl-task-journal-flush"));
+    }
+
+    /** The entries are already committed to tasks.md, so an interrupt must not lose them. */
+    private void putUninterruptibly(Submission s) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(s);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>();
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+
+                // Linger for followers so a burst becomes one commit
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < MAX_BATCH) {
+                    Submission next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Daemon thread — keep serving until the JVM exits
+            }
+
+            if (batch.isEmpty()) continue;
+
+            commit(batch);
+            markWritten(batch.get(batch.size() - 1).seq());
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Submission> batch) {
+
+        long start = System.nanoTime();
+
+        Map<String, List<ProjectService.PendingLogEntry>> byProject = new LinkedHashMap<>();
+        Map<String, Long> firstSeq = new HashMap<>();
+        for (Submission s : batch) {
+            byProject.computeIfAbsent(s.projectName(), k -> new ArrayList<>()).addAll(s.entries());
+            firstSeq.putIfAbsent(s.projectName(), s.seq());
+        }
+        byProject.forEach((project, entries) -> {
+            if (write(project, entries)) return;
+            failedEntries.addAndGet(entries.size());
+            // The batch is marked written as a whole, so its first lost seq is enough for flush()
+            synchronized (doneLock) {
+                lostSeqs.add(firstSeq.get(project));
+                if (lostSeqs.size() > MAX_LOST) lostSeqs.pollFirst();
+            }
+        });
+
+        long micros = (System.nanoTime() - start) / 1000;
+        commits++;
+        lastCommitMicros = micros;
+        if (micros > maxCommitMicros) maxCommitMicros = micros;
+    }
+
+    /** Appends with retries; false if every attempt failed. */
+    private boolean write(String projectName, List<ProjectService.PendingLogEntry> entries) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                projectService.addLogEntries(projectName, entries);
+                return true;
+            } catch (Exception e) {
+                // lifecycle must never break because of logging — counted, not thrown
+                if (attempt == WRITE_ATTEMPTS) return false;
+            }
+            try {
+                Thread.sleep(RETRY_MS * attempt);
+            } catch (InterruptedException e) {
+                // Daemon thread — keep serving until the JVM exits
+            }
+        }
+    }
+
+    private void markWritten(long seq) {
+        synchronized (doneLock) {
+            writtenSeq = seq;
+            doneLock.notifyAll();
+        }
+    }
+}
@@ -3,15 +3,29 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskBoard;
+import com.workctl.core.model.TaskEvent;
 import com.workctl.core.model.Task.SubTask;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.model.TaskSummary;
+import com.workctl.core.storage.FileStamp;
+import com.workctl.core.storage.InsightsAggregator;
+import com.workctl.core.storage.MarkdownLexer;
+import com.workctl.core.storage.ProjectLock;
+import com.workctl.core.storage.TaskArchive;
+import com.workctl.core.storage.TaskBoardCache;
+import com.workctl.core.storage.TaskCreatedIndex;
+import com.workctl.core.storage.TaskFacetIndex;
+import com.workctl.core.storage.TaskFileLayout;
+import com.workctl.core.storage.TaskWal;
+import com.workctl.core.storage.WorkLogParser;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.regex.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class TaskService {
@@ -23,84 +37,174 @@ public class TaskService {
                         List<String> tags,
                         int priority)
     {
-        modifyTasks(projectName, tasksData -> {
-
-            int nextId = tasksData.nextId;
+        batch(projectName, tx -> tx.addTask(description, tags, priority));
+    }
 
-            Task task = new Task(
-                    nextId,
-                    description,
-                    TaskStatus.OPEN,
-                    tags == null ? new ArrayList<>() : tags,
-                    priority,
-                    LocalDate.now()
-            );
+    public void startTask(String projectName, int id) {
+        batch(projectName, tx -> tx.startTask(id));
+    }
 
-            tasksData.tasks.add(task);
-            tasksData.nextId++;
+    public void completeTask(String projectName, int id) {
 
-            autoLog(projectName, task, "created", null);
+        batch(projectName, tx -> tx.completeTask(id));
 
-        });
     }
 
-    public void startTask(String projectName, int id) {
-        changeStatus(projectName, id, TaskStatus.IN_PROGRESS);
+    /**
+     * Applies several mutations against one loaded board: tasks.md is
+     * written once and their TASK_EVENT entries reach the work log in one
+     * append. Creating 50 tasks this way is two file writes, not 100.
+     *
+     * The batch is all-or-nothing — if {@code operations} throws, nothing
+     * is written. It runs under the project lock, so keep it to board
+     * edits (no prompts or network calls).
+     */
+    public void batch(String projectName, Consumer<TaskTransaction> operations) {
+        modifyTasks(projectName, data ->
+                operations.accept(new TaskTransaction(this, projectName, data)));
     }
 
-    public void completeTask(String projectName, int id) {
 
-        changeStatus(projectName, id, TaskStatus.DONE);
 
-    }
+    // ========================
+    // INTERNAL FILE ENGINE
+    // ========================
 
-    private void changeStatus(String projectName, int id, TaskStatus newStatus) {
+    /** Attempts before giving up on a tasks.md that keeps changing underneath us. */
+    private static final int MAX_WRITE_ATTEMPTS = 8;
 
-        modifyTasks(projectName, tasksData -> {
+    /** Log entries produced by the modifier running on this thread, written after commit. */
+    private static final ThreadLocal<List<ProjectService.PendingLogEntry>> PENDING_LOGS = new ThreadLocal<>();
 
-            Task task = tasksData.tasks.stream()
-                    .filter(t -> t.getId() == id)
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Task not found"));
+    /**
+     * Load → modify → write under the project's ProjectLock, so CLI, GUI
+     * and agent writers (in any process) take turns instead of overwriting
+     * each other or handing out the same NEXT_ID.
+     *
+     * The lock only coordinates workctl itself. Before writing, the board's
+     * stamp (size, mtime, CRC) is compared with tasks.md on disk; if an
+     * editor or sync tool changed the file meanwhile, the modifier is re-run
+     * on a fresh copy. autoLog output is held back until the write commits
+     * so a retried modifier never logs twice. Its events go into the
+     * project's TaskCreatedIndex while the lock is still held, then the
+     * entries are handed to the TaskEventJournal, which appends them to the
+     * work log in the background.
+     * The committed board is also shown to TaskArchiver, which moves cold
+     * DONE tasks out of tasks.md when the archive policy is enabled.
+     *
+     * With performance.taskWal the write itself is a TaskWal append; see
+     * {@link #commit}.
+     */
+    private void modifyTasks(String projectName, TaskModifier modifier) {
 
-            TaskStatus previousStatus = task.getStatus();
+        for (int attempt = 1; ; attempt++) {
 
-            task.setStatus(newStatus);
-            task.setUpdatedDate(LocalDate.now());
-            if (newStatus == TaskStatus.DONE) {
-                task.setCompletedDate(LocalDate.now());
-            } else if (previousStatus == TaskStatus.DONE) {
-                task.setCompletedDate(null); // clear when reopening
-            }
+            List<ProjectService.PendingLogEntry> logs = new ArrayList<>();
+            TaskBoard committed = null;
+
+            try {
+                Path tasksFile = getTaskFilePath(projectName);
+
+                committed = ProjectLock.with(tasksFile.getParent(), () -> {
 
-            if (newStatus == TaskStatus.IN_PROGRESS) {
-                String action = (previousStatus == TaskStatus.DONE) ? "reopened" : "started";
-                autoLog(projectName, task, action, previousStatus);
-            } else if (newStatus == TaskStatus.DONE) {
-                autoLog(projectName, task, "completed", previousStatus);
-            } else if (newStatus == TaskStatus.OPEN && previousStatus == TaskStatus.DONE) {
-                autoLog(projectName, task, "reopened", previousStatus);
+                    TaskBoardCache.Snapshot snapshot = loadSnapshot(projectName);
+
+                    List<ProjectService.PendingLogEntry> outer = PENDING_LOGS.get();
+                    PENDING_LOGS.set(logs);
+                    try {
+                        modifier.apply(snapshot.board());
+                    } finally {
+                        PENDING_LOGS.set(outer);
+                    }
+
+                    // With the WAL on, a stat stands in for re-reading all of tasks.md
+                    boolean useWal = ConfigManager.performance().isTaskWal();
+                    boolean unchanged = useWal
+                            ? snapshot.stamp().sameAttributes(tasksFile)
+                            : snapshot.stamp().equals(FileStamp.read(tasksFile));
+
+                    if (!unchanged) {
+                        // Changed outside workctl — force a re-read and try again
+                        TaskBoardCache.shared().invalidate(tasksFile);
+                        return null;
+                    }
+                    commit(projectName, tasksFile, snapshot.board(), useWal);
+                    recordCreated(projectName, logs);
+                    return snapshot.board();
+                });
+
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to update tasks", e);
             }
-            // IN_PROGRESS → OPEN: no log (minor reversion, not a meaningful lifecycle event)
-        });
-    }
 
+            if (committed != null) {
+                TaskEventJournal.shared().submit(projectName, logs);
+                TaskArchiver.shared().afterCommit(projectName, committed);
+                return;
+            }
 
+            if (attempt == MAX_WRITE_ATTEMPTS) {
+                throw new RuntimeException(
+                        "tasks.md for " + projectName + " kept changing during the update; try again");
+            }
+        }
+    }
 
-    // ========================
-    // INTERNAL FILE ENGINE
-    // ========================
+    /**
+     * Persists a board under the ProjectLock: straight to tasks.md, or with
+     * performance.taskWal as one .tasks.wal frame, rewriting tasks.md only
+     * once the log reaches performance.taskWalCheckpoint operations. A
+     * direct write also folds in any log left from when the WAL was on.
+     */
+    private void commit(String projectName, Path tasksFile, TaskBoard board, boolean useWal) throws IOException {
+        TaskWal wal = TaskWal.forTasks(tasksFile);
 
-    private void modifyTasks(String projectName, TaskModifier modifier) {
+        if (useWal && wal.append(board) < ConfigManager.performance().getTaskWalCheckpoint()) {
+            TaskFacetIndex.forWorkspace(Paths.get(ConfigManager.load().getWorkspace()))
+                    .update(projectName, tasksFile, board.getTasks());
+            return;
+        }
 
-        TasksData data = loadTasks(projectName);
+        // Checkpoint: tasks.md is written before the log goes, so a crash in between only replays it again
+        writeTasks(projectName, board);
+        if (useWal || wal.exists()) wal.reset();
+    }
 
-        modifier.apply(data);
+    /**
+     * Folds the project's .tasks.wal into tasks.md now instead of at the
+     * next checkpoint.
+     *
+     * @return operations that were in the log
+     */
+    public int compactTasks(String projectName) {
+        try {
+            Path tasksFile = getTaskFilePath(projectName);
+
+            return ProjectLock.with(tasksFile.getParent(), () -> {
+                TaskWal wal = TaskWal.forTasks(tasksFile);
+                if (!wal.exists()) return 0;
+
+                TaskBoard board = loadSnapshot(projectName).board();
+                int folded = wal.pendingOps();
+                writeTasks(projectName, board);
+                wal.reset();
+                return folded;
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compact tasks", e);
+        }
+    }
 
-        writeTasks(projectName, data);
+    /**
+     * Returns a private copy of the project's board. Parsing (and the
+     * created-date backfill) only happens when tasks.md changed on disk
+     * since the last load — see TaskBoardCache.
+     */
+    private TaskBoard loadTasks(String projectName) {
+        return loadSnapshot(projectName).board();
     }
 
-    private TasksData loadTasks(String projectName) {
+    private TaskBoardCache.Snapshot loadSnapshot(String projectName) {
 
         try {
             AppConfig config = ConfigManager.load();
@@ -114,18 +218,25 @@ public class TaskService {
                 initializeFile(tasksFile, projectName);
             }
 
-            List<String> lines = Files.readAllLines(tasksFile);
+            TaskBoardCache.Parser parser = content -> {
+                TaskBoard data = parseTasks(new String(content, StandardCharsets.UTF_8));
+                backfillCreated(projectName, data.getTasks());
+                return data;
+            };
 
-            TasksData data = parseTasks(lines);
-            backfillDatesFromLog(projectName, data.tasks);
-            return data;
+            // A log left over from a WAL-mode run is replayed even with the option off
+            TaskWal wal = TaskWal.forTasks(tasksFile);
+            if (ConfigManager.performance().isTaskWal() || wal.exists()) {
+                return wal.snapshot(() -> TaskBoardCache.shared().snapshot(tasksFile, parser));
+            }
+            return TaskBoardCache.shared().snapshot(tasksFile, parser);
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to load tasks", e);
         }
     }
 
-    private void writeTasks(String projectName, TasksData data) {
+    private void writeTasks(String projectName, TaskBoard data) {
 
         try {
             AppConfig config = ConfigManager.load();
@@ -135,44 +246,67 @@ public class TaskService {
                     .resolve("notes")
                     .resolve("tasks.md");
 
-            StringBuilder sb = new StringBuilder();
+            // Only the changed task blocks are rewritten when the file's layout allows it
+            TaskBoardCache cache = TaskBoardCache.shared();
+            TaskBoardCache.Snapshot onDisk = cache.peek(tasksFile);
+            byte[] content = onDisk == null ? null
+                    : TaskFileLayout.splice(tasksFile, onDisk, data, this::formatTask);
+            if (content == null) content = render(projectName, data);
+
+            cache.markDirty(tasksFile);
+            replaceAtomically(tasksFile, content);
+            cache.put(tasksFile, data, content);
+
+            TaskFacetIndex.forWorkspace(Paths.get(config.getWorkspace()))
+                    .update(projectName, tasksFile, data.getTasks());
 
-            sb.append("# Tasks – ").append(projectName).append("\n\n");
-            sb.append("<!-- NEXT_ID: ").append(data.nextId).append(" -->\n\n");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write tasks", e);
+        }
+    }
+
+    /** The whole of tasks.md, sections in status order and tasks by id. */
+    private byte[] render(String projectName, TaskBoard data) {
 
-            Map<TaskStatus, List<Task>> grouped = groupByStatus(data.tasks);
+        StringBuilder sb = new StringBuilder();
 
-            for (TaskStatus status : TaskStatus.values()) {
+        sb.append("# Tasks – ").append(projectName).append("\n\n");
+        sb.append("<!-- NEXT_ID: ").append(data.getNextId()).append(" -->\n\n");
 
-                sb.append("## ").append(statusLabel(status)).append("\n");
+        Map<TaskStatus, List<Task>> grouped = groupByStatus(data.getTasks());
 
-                grouped.getOrDefault(status, List.of())
-                        .stream()
-                        .sorted(Comparator.comparingInt(Task::getId))
-                        .forEach(t -> sb.append(formatTask(t)).append("\n"));
+        for (TaskStatus status : TaskStatus.values()) {
 
-                sb.append("\n");
-            }
+            sb.append("## ").append(statusLabel(status)).append("\n");
 
-            Files.writeString(tasksFile, sb.toString());
+            grouped.getOrDefault(status, List.of())
+                    .stream()
+                    .sorted(Comparator.comparingInt(Task::getId))
+                    .forEach(t -> sb.append(formatTask(t)).append("\n"));
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to write tasks", e);
+            sb.append("\n");
         }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private TasksData parseTasks(List<String> lines) {
+    /** Readers in other processes see either the old or the new file, never a torn one. */
+    private static void replaceAtomically(Path target, byte[] content) throws IOException {
+        Path tmp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        Files.write(tmp, content);
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private TaskBoard parseTasks(CharSequence text) {
 
         List<Task> tasks = new ArrayList<>();
         int nextId = 1;
         TaskStatus currentStatus = null;
 
-        Pattern nextIdPattern    = Pattern.compile("NEXT_ID: (\\d+)");
-        Pattern taskPattern      = Pattern.compile("(\\d+)\\. \\[(.)\\](?: \\(P(\\d)\\))? (.+)");
-        Pattern metaPattern      = Pattern.compile("created=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern updatedPattern   = Pattern.compile("updated=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern completedPattern = Pattern.compile("completed=(\\d{4}-\\d{2}-\\d{2})");
-
         Integer currentId = null;
         StringBuilder descriptionBuilder = null;
         TaskStatus currentTaskStatus = null;
@@ -183,21 +317,22 @@ public class TaskService {
         // NEW: accumulate subtasks per task
         List<SubTask> currentSubtasks = new ArrayList<>();
 
-        for (String line : lines) {
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
 
             // ======================
             // NEXT_ID
             // ======================
-            Matcher nextMatcher = nextIdPattern.matcher(line);
-            if (nextMatcher.find()) {
-                nextId = Integer.parseInt(nextMatcher.group(1));
+            int next = lx.find("NEXT_ID: ", MarkdownLexer.Chars.DIGIT, lx.start(), lx.end());
+            if (next >= 0) {
+                nextId = lx.parseInt(next, lx.runEnd(next, MarkdownLexer.Chars.DIGIT));
                 continue;
             }
 
             // ======================
             // SECTION HEADER
             // ======================
-            if (line.startsWith("## ")) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
                 // Save current task before switching sections
                 if (currentId != null) {
                     tasks.add(buildTask(currentId, descriptionBuilder,
@@ -209,22 +344,18 @@ public class TaskService {
                     currentUpdatedDate   = null;
                     currentCompletedDate = null;
                 }
-                String section = line.substring(3).trim();
-                currentStatus = switch (section) {
-                    case "Open" -> TaskStatus.OPEN;
-                    case "In Progress" -> TaskStatus.IN_PROGRESS;
-                    case "Done" -> TaskStatus.DONE;
-                    default -> currentStatus;
-                };
+                if (lx.titleEquals("Open")) currentStatus = TaskStatus.OPEN;
+                else if (lx.titleEquals("In Progress")) currentStatus = TaskStatus.IN_PROGRESS;
+                else if (lx.titleEquals("Done")) currentStatus = TaskStatus.DONE;
                 continue;
             }
 
             // ======================
             // TASK HEADER LINE
             // ======================
-            Matcher taskMatcher = taskPattern.matcher(line.trim());
+            int titleStart = currentStatus != null ? headerTitleStart(lx) : -1;
 
-            if (taskMatcher.matches() && currentStatus != null) {
+            if (titleStart >= 0) {
 
                 // Save previous task
                 if (currentId != null) {
@@ -237,29 +368,23 @@ public class TaskService {
                     currentCompletedDate = null;
                 }
 
-                currentId = Integer.parseInt(taskMatcher.group(1));
+                currentId = headerId(lx);
+                currentPriority = headerPriority(lx);
 
-                String priorityGroup = taskMatcher.group(3);
-                currentPriority = (priorityGroup != null)
-                        ? Integer.parseInt(priorityGroup)
-                        : 2;
-
-                // Raw group 4 includes the inline metadata comment; strip it for title.
-                String rawGroup4  = taskMatcher.group(4).trim();
-                String titlePart  = rawGroup4.replaceAll("\\s*<!--.*?-->\\s*$", "").trim();
-                descriptionBuilder = new StringBuilder(titlePart);
+                int rawStart = lx.trimStart(titleStart, lx.textEnd());
+                int rawEnd   = lx.textEnd();
+                int titleEnd = headerTitleEnd(lx, rawStart);
+                int trimmedStart = lx.trimStart(rawStart, titleEnd);
+                descriptionBuilder = lx.appendTo(new StringBuilder(),
+                        trimmedStart, lx.trimEnd(trimmedStart, titleEnd));
 
                 currentTaskStatus = currentStatus;
 
                 // Parse all three dates from the inline comment (e.g. <!-- created=... updated=... -->)
-                Matcher cm = metaPattern.matcher(rawGroup4);
-                currentCreatedDate   = cm.find() ? LocalDate.parse(cm.group(1)) : LocalDate.now();
-
-                Matcher um = updatedPattern.matcher(rawGroup4);
-                currentUpdatedDate   = um.find() ? LocalDate.parse(um.group(1)) : null;
-
-                Matcher dm = completedPattern.matcher(rawGroup4);
-                currentCompletedDate = dm.find() ? LocalDate.parse(dm.group(1)) : null;
+                LocalDate created    = lx.date("created=", rawStart, rawEnd);
+                currentCreatedDate   = created != null ? created : LocalDate.now();
+                currentUpdatedDate   = lx.date("updated=", rawStart, rawEnd);
+                currentCompletedDate = lx.date("completed=", rawStart, rawEnd);
 
                 continue;
             }
@@ -269,33 +394,28 @@ public class TaskService {
             // ======================
             // 4-SPACE INDENTED LINES
             // ======================
-            if (line.startsWith("    ")) {
+            if (lx.startsWith("    ")) {
 
                 // NEW: Check for subtask line first (    - [ ] or    - [x])
-                SubTask st = SubTask.fromLine(line);
-                if (st != null) {
-                    currentSubtasks.add(st);
+                if (isSubtaskLine(lx)) {
+                    int s = lx.start();
+                    currentSubtasks.add(new SubTask(lx.trimmed(s + 10, lx.end()), lx.charAt(s + 7) == 'x'));
                     continue;
                 }
 
-                String trimmed = line.trim();
-
                 // ---- Extract metadata ----
-                if (trimmed.startsWith("<!--")) {
+                if (lx.token() == MarkdownLexer.Token.METADATA) {
 
-                    Matcher metaMatcher = metaPattern.matcher(trimmed);
-
-                    if (metaMatcher.find()) {
-                        currentCreatedDate =
-                                LocalDate.parse(metaMatcher.group(1));
+                    LocalDate created = lx.date("created=", lx.textStart(), lx.textEnd());
+                    if (created != null) {
+                        currentCreatedDate = created;
                     }
 
                     continue; // Do NOT append metadata to description
                 }
 
                 // ---- Normal multiline ----
-                descriptionBuilder.append("\n")
-                        .append(trimmed);
+                lx.appendTo(descriptionBuilder.append("\n"), lx.textStart(), lx.textEnd());
             }
         }
 
@@ -309,7 +429,204 @@ public class TaskService {
                     currentCompletedDate, currentSubtasks));
         }
 
-        return new TasksData(tasks, nextId);
+        return new TaskBoard(tasks, nextId);
+    }
+
+    // ========================
+    // TASK LINE SHAPES
+    // ========================
+    // Shared by parseTasks, parseSummaries and readTaskBlock so all three
+    // agree on what a task header and a subtask line are.
+
+    /**
+     * Start of the title on a "N. [c] (Pd) title <!-- created=... -->"
+     * line (the priority being optional), or -1 if the line isn't a task
+     * header. Only meaningful inside a status section.
+     */
+    private static int headerTitleStart(MarkdownLexer lx) {
+        if (lx.token() != MarkdownLexer.Token.CHECKBOX || lx.number() < 0) return -1;
+
+        int p = lx.contentStart();
+        if (hasPriority(lx)) return p + 6;
+        if (lx.startsWithAt(p, " ") && p + 1 < lx.textEnd()) return p + 1;
+        return -1;
+    }
+
+    private static boolean hasPriority(MarkdownLexer lx) {
+        int p = lx.contentStart();
+        return p + 6 < lx.textEnd() && lx.startsWithAt(p, " (P") && lx.charAt(p + 3) >= '0'
+                && lx.charAt(p + 3) <= '9' && lx.startsWithAt(p + 4, ") ");
+    }
+
+    /** "N. [c]" — the number ends at the ".". */
+    private static int headerId(MarkdownLexer lx) {
+        return lx.parseInt(lx.textStart(), lx.contentStart() - 5);
+    }
+
+    private static int headerPriority(MarkdownLexer lx) {
+        return hasPriority(lx) ? lx.charAt(lx.contentStart() + 3) - '0' : 2;
+    }
+
+    /** The title runs up to the inline metadata comment, if the line ends with one. */
+    private static int headerTitleEnd(MarkdownLexer lx, int rawStart) {
+        int rawEnd  = lx.textEnd();
+        int comment = lx.indexOf("<!--", rawStart, rawEnd);
+        if (comment >= 0 && lx.textEndsWith("-->") && rawEnd - 3 >= comment + 4) {
+            return comment;
+        }
+        return rawEnd;
+    }
+
+    /** "    - [ ] title" or "    - [x] title" under a task. */
+    private static boolean isSubtaskLine(MarkdownLexer lx) {
+        int s = lx.start();
+        return s + 10 < lx.end() && lx.startsWithAt(s, "    - [")
+                && (lx.charAt(s + 7) == ' ' || lx.charAt(s + 7) == 'x') && lx.startsWithAt(s + 8, "] ");
+    }
+
+    /**
+     * Header-only pass over tasks.md for {@link #getTaskSummaries}: the
+     * lines parseTasks recognises, except that description lines are
+     * skipped and subtask lines only counted. The title comes from the
+     * description only when the header line has none.
+     */
+    private List<TaskSummary> parseSummaries(CharSequence text) {
+
+        List<TaskSummary> summaries = new ArrayList<>();
+        TaskStatus currentStatus = null;
+        SummaryScan current = null;
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+
+            if (lx.find("NEXT_ID: ", MarkdownLexer.Chars.DIGIT, lx.start(), lx.end()) >= 0) continue;
+
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2) {
+                if (current != null) summaries.add(current.build());
+                current = null;
+                if (lx.titleEquals("Open")) currentStatus = TaskStatus.OPEN;
+                else if (lx.titleEquals("In Progress")) currentStatus = TaskStatus.IN_PROGRESS;
+                else if (lx.titleEquals("Done")) currentStatus = TaskStatus.DONE;
+                continue;
+            }
+
+            int titleStart = currentStatus != null ? headerTitleStart(lx) : -1;
+
+            if (titleStart >= 0) {
+                if (current != null) summaries.add(current.build());
+
+                int rawStart = lx.trimStart(titleStart, lx.textEnd());
+                int rawEnd   = lx.textEnd();
+                int titleEnd = headerTitleEnd(lx, rawStart);
+                int trimmedStart = lx.trimStart(rawStart, titleEnd);
+
+                current = new SummaryScan(headerId(lx), currentStatus, headerPriority(lx));
+                current.title = lx.string(trimmedStart, lx.trimEnd(trimmedStart, titleEnd));
+                current.titleFound = !current.title.isEmpty();
+
+                LocalDate created = lx.date("created=", rawStart, rawEnd);
+                current.created   = created != null ? created : LocalDate.now();
+                current.updated   = lx.date("updated=", rawStart, rawEnd);
+                current.completed = lx.date("completed=", rawStart, rawEnd);
+                continue;
+            }
+
+            if (current == null || !lx.startsWith("    ")) continue;
+
+            if (isSubtaskLine(lx)) {
+                current.subtasks++;
+                if (lx.charAt(lx.start() + 7) == 'x') current.doneSubtasks++;
+                continue;
+            }
+
+            if (lx.token() == MarkdownLexer.Token.METADATA) {
+                LocalDate created = lx.date("created=", lx.textStart(), lx.textEnd());
+                if (created != null) current.created = created;
+                continue;
+            }
+
+            // A description line: only read when the header had no title
+            if (!current.titleFound && lx.textStart() < lx.textEnd()) {
+                current.title = lx.text();
+                current.titleFound = true;
+            }
+        }
+
+        if (current != null) summaries.add(current.build());
+        return summaries;
+    }
+
+    /** One task's header fields while parseSummaries walks its block. */
+    private static final class SummaryScan {
+        final int id;
+        final TaskStatus status;
+        final int priority;
+        String title;
+        boolean titleFound;
+        LocalDate created, updated, completed;
+        int subtasks, doneSubtasks;
+
+        SummaryScan(int id, TaskStatus status, int priority) {
+            this.id       = id;
+            this.status   = status;
+            this.priority = priority;
+        }
+
+        TaskSummary build() {
+            return new TaskSummary(id, Task.titleOf(title), status, priority,
+                    created, updated, completed, List.of(), subtasks, doneSubtasks);
+        }
+    }
+
+    /**
+     * Task {@code id} parsed from its own block of tasks.md, so opening one
+     * task's details doesn't parse every description on the board. Null
+     * when this shortcut doesn't apply: the board is already cached, the
+     * WAL holds changes tasks.md doesn't have yet, or the id isn't there.
+     */
+    private Task readTaskBlock(String projectName, int id) throws IOException {
+        Path tasksFile = getTaskFilePath(projectName);
+        if (!Files.exists(tasksFile)
+                || ConfigManager.performance().isTaskWal()
+                || TaskWal.forTasks(tasksFile).exists()
+                || TaskBoardCache.shared().peek(tasksFile) != null) {
+            return null;
+        }
+
+        String text = Files.readString(tasksFile);
+        String section = null;
+        String currentSection = null;
+        int start = -1;
+        int end = text.length();
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+            // parseTasks reads a NEXT_ID line as nothing else, so it can't end a block
+            if (lx.find("NEXT_ID: ", MarkdownLexer.Chars.DIGIT, lx.start(), lx.end()) >= 0) continue;
+
+            boolean heading = lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 2;
+            boolean header  = !heading && currentSection != null && headerTitleStart(lx) >= 0;
+
+            if (start >= 0 && (heading || header)) {
+                end = lx.start();
+                break;
+            }
+
+            if (heading) {
+                currentSection = lx.titleEquals("Open") ? "## Open"
+                        : lx.titleEquals("In Progress") ? "## In Progress"
+                        : lx.titleEquals("Done") ? "## Done"
+                        : currentSection;
+            } else if (header && headerId(lx) == id) {
+                start = lx.start();
+                section = currentSection;
+            }
+        }
+        if (start < 0) return null;
+
+        List<Task> tasks = parseTasks(section + "\n" + text.substring(start, end)).getTasks();
+        backfillCreated(projectName, tasks);
+        return tasks.isEmpty() ? null : tasks.get(0);
     }
 
     /** Helper to construct a Task and attach its subtask list */
@@ -333,79 +650,44 @@ public class TaskService {
 
 
     /**
-     * Reads the project's work-log.md and, for any task whose logged "created"
-     * date is earlier than the currently-stored createdDate, replaces the
-     * createdDate with the log value.  This repairs tasks that had their date
-     * overwritten by the old parse-default-to-today bug.
+     * Repairs two things tasks.md does not carry reliably, from the
+     * project's TaskCreatedIndex:
      *
-     * Runs on every load but is a fast, side-effect-free best-effort pass —
-     * it never throws and never writes to disk on its own.
+     *   - createdDate: when the logged "created" date is earlier than the
+     *     stored one, the log wins. This repairs tasks that had their date
+     *     overwritten by the old parse-default-to-today bug.
+     *   - tags: tasks.md has no tag syntax, so a task's tags are the union
+     *     of the tags= recorded on its TASK_EVENT entries.
+     *
+     * Runs whenever tasks.md is re-parsed (cache miss). The work log is only
+     * read the first time, to build the index; after that a load costs one
+     * read of the index, however long the log grows. Best-effort — it never
+     * throws and never breaks task loading.
      */
-    private void backfillDatesFromLog(String projectName, List<Task> tasks) {
+    private void backfillCreated(String projectName, List<Task> tasks) {
         try {
-            Path logFile = getLogFilePath(projectName);
-            if (!Files.exists(logFile)) return;
-
-            List<String> logLines = Files.readAllLines(logFile);
-
-            Pattern idPattern     = Pattern.compile("id=(\\d+)");
-            Pattern actionPattern = Pattern.compile("action=(\\w+)");
-            Pattern datePattern   = Pattern.compile("date=(\\d{4}-\\d{2}-\\d{2})");
-
-            // Collect earliest "created" date per task ID from all log events
-            Map<Integer, LocalDate> createdDates = new HashMap<>();
-
-            boolean   inEvent     = false;
-            Integer   eventId     = null;
-            String    eventAction = null;
-            LocalDate eventDate   = null;
-
-            for (String line : logLines) {
-
-                if (line.contains("TASK_EVENT:")) {
-                    inEvent = true;
-                    eventId = null; eventAction = null; eventDate = null;
-                    continue;
-                }
-
-                if (!inEvent) continue;
-
-                // End-of-block marker
-                if (line.trim().startsWith("-->")) {
-                    if ("created".equals(eventAction) && eventId != null && eventDate != null) {
-                        createdDates.merge(eventId, eventDate,
-                                (existing, candidate) -> candidate.isBefore(existing) ? candidate : existing);
-                    }
-                    inEvent = false;
-                    continue;
-                }
-
-                Matcher idM = idPattern.matcher(line);
-                if (idM.find()) eventId = Integer.parseInt(idM.group(1));
-
-                Matcher actM = actionPattern.matcher(line);
-                if (actM.find()) eventAction = actM.group(1);
-
-                Matcher dateM = datePattern.matcher(line);
-                if (dateM.find()) eventDate = LocalDate.parse(dateM.group(1));
-            }
-
-            // Apply: use log date whenever it is earlier than the stored createdDate
-            for (Task task : tasks) {
-                LocalDate logDate = createdDates.get(task.getId());
-                if (logDate != null) {
-                    LocalDate stored = task.getCreatedDate();
-                    if (stored == null || logDate.isBefore(stored)) {
-                        task.setCreatedDate(logDate);
-                    }
-                }
-            }
-
+            createdIndex(projectName).apply(tasks);
         } catch (Exception ignored) {
             // Backfill is best-effort — never break normal task loading
         }
     }
 
+    /** Feeds the TASK_EVENT blocks of committed log entries to the created-date index. */
+    private void recordCreated(String projectName, List<ProjectService.PendingLogEntry> logs) {
+        if (logs.isEmpty()) return;
+        try {
+            List<TaskEvent> events = new ArrayList<>();
+            for (ProjectService.PendingLogEntry e : logs) events.addAll(WorkLogParser.events(e.message()));
+            createdIndex(projectName).record(events);
+        } catch (Exception ignored) {
+            // The index is rebuilt from the log if it goes missing; never fail a commit over it
+        }
+    }
+
+    private TaskCreatedIndex createdIndex(String projectName) {
+        return TaskCreatedIndex.forProject(Paths.get(ConfigManager.load().getWorkspace()), projectName);
+    }
+
     private void initializeFile(Path file, String projectName) throws IOException {
 
         Files.createDirectories(file.getParent());
@@ -485,39 +767,140 @@ public class TaskService {
         };
     }
 
-    private static class TasksData {
-        List<Task> tasks;
-        int nextId;
+    // ========================
+    // ARCHIVE
+    // ========================
+
+    /**
+     * Moves DONE tasks finished more than {@code olderThanDays} ago out of
+     * tasks.md into a new segment of the project's TaskArchive.
+     * The segment is written before the tasks are removed, so an
+     * interrupted run leaves at worst a duplicate that the hot file shadows.
+     * Tasks already archived as they stand are left out of the segment, so
+     * a modifier re-run by modifyTasks (or a run after an interrupted one)
+     * never archives them twice.
+     *
+     * @return number of tasks archived
+     */
+    public int archiveDoneTasks(String projectName, int olderThanDays) {
+
+        LocalDate cutoff = LocalDate.now().minusDays(olderThanDays);
+        if (coldTasks(loadTasks(projectName), cutoff).isEmpty()) return 0;
 
-        TasksData(List<Task> tasks, int nextId) {
-            this.tasks = tasks;
-            this.nextId = nextId;
+        TaskArchive archive = archive(projectName);
+        int[] archived = {0};
+
+        modifyTasks(projectName, data -> {
+            List<Task> cold = coldTasks(data, cutoff);
+            archived[0] = cold.size();
+            if (cold.isEmpty()) return;
+
+            try {
+                List<TaskArchive.Entry> entries = new ArrayList<>();
+                for (Task t : cold) {
+                    TaskArchive.Entry entry = new TaskArchive.Entry(t.getId(), archiveDate(t), formatTask(t));
+                    if (archive.find(t.getId()).filter(entry::equals).isEmpty()) entries.add(entry);
+                }
+                if (!entries.isEmpty()) archive.write(entries);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write task archive", e);
+            }
+            Set<Integer> ids = cold.stream().map(Task::getId).collect(Collectors.toSet());
+            data.getTasks().removeIf(t -> ids.contains(t.getId()));
+        });
+
+        return archived[0];
+    }
+
+    /** Archived tasks whose completion date lies in [from, to]. */
+    public List<Task> getArchivedTasks(String projectName, LocalDate from, LocalDate to) {
+        try {
+            return fromArchive(projectName, archive(projectName).read(from, to));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read task archive", e);
         }
     }
 
+    /** Number of archived tasks, from segment footers alone when their id ranges don't overlap. */
+    public int countArchivedTasks(String projectName) {
+        try {
+            return archive(projectName).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    static List<Task> coldTasks(TaskBoard data, LocalDate cutoff) {
+        return data.getTasks().stream()
+                .filter(t -> t.getStatus() == TaskStatus.DONE)
+                .filter(t -> archiveDate(t).isBefore(cutoff))
+                .toList();
+    }
+
+    private static LocalDate archiveDate(Task t) {
+        if (t.getCompletedDate() != null) return t.getCompletedDate();
+        if (t.getUpdatedDate() != null) return t.getUpdatedDate();
+        return t.getCreatedDate();
+    }
+
+    private TaskArchive archive(String projectName) {
+        return TaskArchive.forProject(Paths.get(ConfigManager.load().getWorkspace()), projectName);
+    }
+
+    /** Archived entries are tasks.md lines; parse them as a Done section. */
+    private List<Task> fromArchive(String projectName, List<TaskArchive.Entry> entries) {
+        if (entries.isEmpty()) return List.of();
+
+        StringBuilder text = new StringBuilder("## Done\n");
+        for (TaskArchive.Entry e : entries) text.append(e.text()).append('\n');
+
+        List<Task> tasks = parseTasks(text).getTasks();
+        backfillCreated(projectName, tasks);
+        return tasks;
+    }
+
     private interface TaskModifier {
-        void apply(TasksData data);
+        void apply(TaskBoard data);
     }
 
+    /**
+     * The task with {@code id} on the project's board. Archived tasks are
+     * not returned — they can no longer be changed, so callers that check
+     * a task exists before changing it must not see them; use
+     * {@link #getArchivedTask} to display one.
+     */
     public Optional<Task> getTask(String projectName, int id) {
 
-        TasksData data = loadTasks(projectName);
+        try {
+            Task block = readTaskBlock(projectName, id);
+            if (block != null) return Optional.of(block);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load tasks", e);
+        }
+
+        return loadTasks(projectName).find(id);
+    }
 
-        return data.tasks.stream()
-                .filter(t -> t.getId() == id)
-                .findFirst();
+    /**
+     * The task with {@code id} from the project's archive, read-only.
+     * Only the one block that can hold the id is inflated.
+     */
+    public Optional<Task> getArchivedTask(String projectName, int id) {
+        try {
+            return archive(projectName).find(id)
+                    .flatMap(e -> fromArchive(projectName, List.of(e)).stream().findFirst());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read task archive", e);
+        }
     }
 
-    private void autoLog(String projectName,
-                         Task task,
-                         String action,
-                         TaskStatus previousStatus) {
+    void autoLog(String projectName,
+                 Task task,
+                 String action,
+                 TaskStatus previousStatus) {
 
         try {
 
-            ProjectService projectService = new ProjectService();
-            AppConfig config = ConfigManager.load();
-
             String title = task.getTitle();
 
             String message = switch (action) {
@@ -541,6 +924,7 @@ public class TaskService {
                  status=%s
                  date=%s
                  tags=%s
+                 priority=%d
             -->
             """.formatted(
                     task.getId(),
@@ -548,7 +932,8 @@ public class TaskService {
                     previousStatus == null ? "NONE" : previousStatus,
                     task.getStatus(),
                     LocalDate.now(),
-                    task.getTags() == null ? "" : String.join(",", task.getTags())
+                    task.getTags() == null ? "" : String.join(",", task.getTags()),
+                    task.getPriority()
             );
 
             String section = switch (action) {
@@ -557,21 +942,63 @@ public class TaskService {
                 default -> "done";
             };
 
-            projectService.addLogEntry(
-                    projectName,
+            ProjectService.PendingLogEntry entry = new ProjectService.PendingLogEntry(
                     message + "\n" + metadata,
                     section,
                     List.of("task", action)
             );
 
+            // Inside modifyTasks: wait until tasks.md is committed
+            List<ProjectService.PendingLogEntry> pending = PENDING_LOGS.get();
+            if (pending != null) {
+                pending.add(entry);
+            } else {
+                recordCreated(projectName, List.of(entry));
+                TaskEventJournal.shared().submit(projectName, List.of(entry));
+            }
+
         } catch (Exception ignored) {
             // lifecycle must never break because of logging
         }
     }
 
+
     public List<Task> getTasks(String projectName) {
-        TasksData data = loadTasks(projectName);
-        return data.tasks;
+        TaskBoard data = loadTasks(projectName);
+        return data.getTasks();
+    }
+
+    /**
+     * Header-only view of the project's tasks, for boards and listings.
+     * Reads only the task header lines of tasks.md and counts subtask
+     * lines, so descriptions are never materialized; use
+     * {@link #getTask} for the full task. A board that is already cached
+     * is projected instead of re-reading the file.
+     */
+    public List<TaskSummary> getTaskSummaries(String projectName) {
+
+        try {
+            Path tasksFile = getTaskFilePath(projectName);
+
+            // The WAL's replayed changes only exist on the full board
+            if (!Files.exists(tasksFile)
+                    || ConfigManager.performance().isTaskWal()
+                    || TaskWal.forTasks(tasksFile).exists()) {
+                return loadTasks(projectName).getTasks().stream().map(TaskSummary::of).toList();
+            }
+
+            return TaskBoardCache.shared().summaries(tasksFile, content -> {
+                List<TaskSummary> summaries = parseSummaries(new String(content, StandardCharsets.UTF_8));
+                try {
+                    return createdIndex(projectName).applySummaries(summaries);
+                } catch (Exception ignored) {
+                    return summaries; // Backfill is best-effort, as for full loads
+                }
+            });
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load tasks", e);
+        }
     }
 
 
@@ -588,10 +1015,9 @@ public class TaskService {
                 return List.of();
             }
 
-            List<String> lines = Files.readAllLines(tasksFile);
-            TasksData data = parseTasks(lines);
+            TaskBoard data = parseTasks(Files.readString(tasksFile));
 
-            return data.tasks;
+            return data.getTasks();
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to load tasks", e);
@@ -599,117 +1025,81 @@ public class TaskService {
     }
 
 
-    private Map<Integer, LocalDate> getLastStatusChangeMap(String projectName) {
-
-        Map<Integer, LocalDate> lastChangeMap = new HashMap<>();
-
-        try {
-            Path logFile = getLogFilePath(projectName);
-            if (!Files.exists(logFile)) return lastChangeMap;
-
-            List<String> lines = Files.readAllLines(logFile);
-
-            Pattern idPattern = Pattern.compile("id=(\\d+)");
-            Pattern datePattern = Pattern.compile("date=(\\d{4}-\\d{2}-\\d{2})");
-
-            Integer currentId = null;
-            LocalDate currentDate = null;
-
-            for (String line : lines) {
-
-                Matcher idMatcher = idPattern.matcher(line);
-                Matcher dateMatcher = datePattern.matcher(line);
-
-                if (idMatcher.find()) {
-                    currentId = Integer.parseInt(idMatcher.group(1));
-                }
-
-                if (dateMatcher.find()) {
-                    currentDate = LocalDate.parse(dateMatcher.group(1));
-                }
+    /**
+     * Tasks in any project that match {@code filter}, grouped by project
+     * (sorted by name) and ordered by id. The facet index answers which
+     * tasks match; only the boards of projects with a match are loaded.
+     *
+     *   findTasks(TaskFacetIndex.priority(1).and(TaskFacetIndex.tag("backend")))
+     */
+    public Map<String, List<Task>> findTasks(TaskFacetIndex.Filter filter) {
+
+        Map<String, List<Task>> result = new LinkedHashMap<>();
+        findIds(filter).forEach((project, wanted) -> {
+            List<Task> tasks = getTasks(project).stream()
+                    .filter(t -> wanted.contains(t.getId()))
+                    .sorted(Comparator.comparingInt(Task::getId))
+                    .toList();
+            if (!tasks.isEmpty()) result.put(project, tasks);
+        });
+        return result;
+    }
 
-                if (currentId != null && currentDate != null) {
+    /** {@link #findTasks} as header-only summaries — see {@link #getTaskSummaries}. */
+    public Map<String, List<TaskSummary>> findTaskSummaries(TaskFacetIndex.Filter filter) {
 
-                    lastChangeMap.merge(
-                            currentId,
-                            currentDate,
-                            (oldDate, newDate) -> newDate.isAfter(oldDate) ? newDate : oldDate
-                    );
+        Map<String, List<TaskSummary>> result = new LinkedHashMap<>();
+        findIds(filter).forEach((project, wanted) -> {
+            List<TaskSummary> tasks = getTaskSummaries(project).stream()
+                    .filter(t -> wanted.contains(t.id()))
+                    .sorted(Comparator.comparingInt(TaskSummary::id))
+                    .toList();
+            if (!tasks.isEmpty()) result.put(project, tasks);
+        });
+        return result;
+    }
 
-                    currentId = null;
-                    currentDate = null;
-                }
+    private Map<String, Set<Integer>> findIds(TaskFacetIndex.Filter filter) {
+        try {
+            Map<String, Set<Integer>> ids = new LinkedHashMap<>();
+            for (TaskFacetIndex.Ref ref : facetIndex().find(filter, this::getTasks)) {
+                ids.computeIfAbsent(ref.project(), k -> new HashSet<>()).add(ref.id());
             }
-
-        } catch (Exception e) {
-            e.printStackTrace();
+            return ids;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to query tasks", e);
         }
-
-        return lastChangeMap;
     }
 
-    private Path getLogFilePath(String projectName) throws IOException {
-
-        AppConfig config = ConfigManager.load();
+    /** Number of tasks in the workspace matching {@code filter}, without loading any board. */
+    public int countTasks(TaskFacetIndex.Filter filter) {
+        try {
+            return facetIndex().count(filter, this::getTasks);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to query tasks", e);
+        }
+    }
 
-        return Paths.get(config.getWorkspace())
-                .resolve("01_Projects")
-                .resolve(projectName)
-                .resolve("notes")
-                .resolve("work-log.md");
+    private TaskFacetIndex facetIndex() {
+        return TaskFacetIndex.forWorkspace(Paths.get(ConfigManager.load().getWorkspace()));
     }
 
 
     private long calculateStagnantTasks(String projectName) {
-
-        List<Task> tasks = getTasks(projectName);
-        Map<Integer, LocalDate> lastChangeMap = getLastStatusChangeMap(projectName);
-
-        LocalDate today = LocalDate.now();
-
-        return tasks.stream()
-                .filter(t -> t.getStatus() != TaskStatus.DONE)
-                .filter(t -> {
-                    LocalDate lastChange = lastChangeMap.get(t.getId());
-                    if (lastChange == null) return false;
-                    return ChronoUnit.DAYS.between(lastChange, today) > 7;
-                })
-                .count();
+        try {
+            return InsightsAggregator.forProject(Paths.get(ConfigManager.load().getWorkspace()), projectName)
+                    .current()
+                    .stagnant(getTasks(projectName), LocalDate.now());
+        } catch (IOException e) {
+            return 0;
+        }
     }
 
     public void updateStatus(String projectName,
                              int taskId,
                              TaskStatus newStatus) {
 
-        modifyTasks(projectName, data -> {
-
-            Task task = data.tasks.stream()
-                    .filter(t -> t.getId() == taskId)
-                    .findFirst()
-                    .orElseThrow();
-
-            if (task.getStatus() == newStatus) return;
-
-            TaskStatus previous = task.getStatus();
-
-            task.setStatus(newStatus);
-            task.setUpdatedDate(LocalDate.now());
-            if (newStatus == TaskStatus.DONE) {
-                task.setCompletedDate(LocalDate.now());
-            } else if (previous == TaskStatus.DONE) {
-                task.setCompletedDate(null); // clear when reopening
-            }
-
-            if (newStatus == TaskStatus.IN_PROGRESS) {
-                String action = (previous == TaskStatus.DONE) ? "reopened" : "started";
-                autoLog(projectName, task, action, previous);
-            } else if (newStatus == TaskStatus.DONE) {
-                autoLog(projectName, task, "completed", previous);
-            } else if (newStatus == TaskStatus.OPEN && previous == TaskStatus.DONE) {
-                autoLog(projectName, task, "reopened", previous);
-            }
-            // IN_PROGRESS → OPEN: no log (minor reversion, not a meaningful lifecycle event)
-        });
+        batch(projectName, tx -> tx.updateStatus(taskId, newStatus));
     }
 
 
@@ -728,39 +1118,19 @@ public class TaskService {
                                   int taskId,
                                   String newDescription) {
 
-        modifyTasks(projectName, data -> {
-            data.tasks.stream()
-                    .filter(t -> t.getId() == taskId)
-                    .findFirst()
-                    .ifPresent(t -> {
-                        t.setDescription(newDescription);
-                        t.setUpdatedDate(LocalDate.now());
-                    });
-        });
+        batch(projectName, tx -> tx.updateDescription(taskId, newDescription));
     }
 
     public void updatePriority(String projectName,
                                int taskId,
                                int newPriority) {
 
-        modifyTasks(projectName, data -> {
-            data.tasks.stream()
-                    .filter(t -> t.getId() == taskId)
-                    .findFirst()
-                    .ifPresent(t -> {
-                        t.setPriority(newPriority);
-                        t.setUpdatedDate(LocalDate.now());
-                    });
-        });
+        batch(projectName, tx -> tx.updatePriority(taskId, newPriority));
     }
 
     public void deleteTask(String projectName, int taskId) {
 
-        modifyTasks(projectName, data -> {
-
-            data.tasks.removeIf(t -> t.getId() == taskId);
-
-        });
+        batch(projectName, tx -> tx.deleteTask(taskId));
     }
 
     // ========================
@@ -771,33 +1141,14 @@ public class TaskService {
      * Append a new open subtask to an existing task.
      */
     public void addSubtask(String projectName, int taskId, String title) {
-        modifyTasks(projectName, data ->
-                data.tasks.stream()
-                        .filter(t -> t.getId() == taskId)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            t.getSubtasks().add(new SubTask(title, false));
-                            t.setUpdatedDate(LocalDate.now());
-                        })
-        );
+        batch(projectName, tx -> tx.addSubtask(taskId, title));
     }
 
     /**
      * Toggle done/not-done for a subtask by 0-based index.
      */
     public void toggleSubtask(String projectName, int taskId, int subtaskIndex) {
-        modifyTasks(projectName, data ->
-                data.tasks.stream()
-                        .filter(t -> t.getId() == taskId)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            List<SubTask> subs = t.getSubtasks();
-                            if (subtaskIndex >= 0 && subtaskIndex < subs.size()) {
-                                subs.get(subtaskIndex).setDone(!subs.get(subtaskIndex).isDone());
-                                t.setUpdatedDate(LocalDate.now());
-                            }
-                        })
-        );
+        batch(projectName, tx -> tx.toggleSubtask(taskId, subtaskIndex));
     }
 
     /**
@@ -805,15 +1156,7 @@ public class TaskService {
      * Called when the Add/Edit dialog is saved.
      */
     public void setSubtasks(String projectName, int taskId, List<SubTask> subtasks) {
-        modifyTasks(projectName, data ->
-                data.tasks.stream()
-                        .filter(t -> t.getId() == taskId)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            t.setSubtasks(new ArrayList<>(subtasks));
-                            t.setUpdatedDate(LocalDate.now());
-                        })
-        );
+        batch(projectName, tx -> tx.setSubtasks(taskId, subtasks));
     }
 
     /**
@@ -824,21 +1167,10 @@ public class TaskService {
      */
     public boolean deleteSubtask(String projectName, int taskId, int subtaskIndex) {
 
-        // Validate bounds BEFORE opening a write lock, so we can return false cleanly
-        Optional<Task> taskOpt = getTask(projectName, taskId);
-        if (taskOpt.isEmpty()) return false;
-        if (subtaskIndex < 0 || subtaskIndex >= taskOpt.get().getSubtasks().size()) return false;
-
-        modifyTasks(projectName, data ->
-                data.tasks.stream()
-                        .filter(t -> t.getId() == taskId)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            t.getSubtasks().remove(subtaskIndex);
-                            t.setUpdatedDate(LocalDate.now());
-                        })
-        );
-        return true;
+        // Checked against the board the batch loaded, so it is the answer for the write that happened
+        boolean[] deleted = new boolean[1];
+        batch(projectName, tx -> deleted[0] = tx.deleteSubtask(taskId, subtaskIndex));
+        return deleted[0];
     }
 
 }
\ No newline at end of file
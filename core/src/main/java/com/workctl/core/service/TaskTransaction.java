@@ -0,0 +1,194 @@
+package com.workctl.core.service;
+
+import com.workctl.core.model.Task;
+import com.workctl.core.model.Task.SubTask;
+import com.workctl.core.model.TaskBoard;
+import com.workctl.core.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mutations applied to one loaded task board inside
+ * {@link TaskService#batch}.
+ *
+ * Every TaskService mutator is a one-operation batch, so the rules here
+ * (dates, lifecycle logging) are the same whether a caller changes one
+ * task or fifty. The board is written once when the batch returns, and
+ * the TASK_EVENT entries produced along the way go to the work log in a
+ * single append.
+ *
+ *   taskService.batch("workctl", tx -> {
+ *       int id = tx.addTask("Write docs", List.of("docs"), 2);
+ *       tx.addSubtask(id, "README");
+ *       tx.completeTask(7);
+ *   });
+ */
+public final class TaskTransaction {
+
+    private final TaskService service;
+    private final String projectName;
+    private final TaskBoard board;
+
+    TaskTransaction(TaskService service, String projectName, TaskBoard board) {
+        this.service     = service;
+        this.projectName = projectName;
+        this.board       = board;
+    }
+
+    // ========================
+    // READ
+    // ========================
+
+    /** The board as modified so far in this batch. */
+    public List<Task> getTasks() {
+        return board.getTasks();
+    }
+
+    public Optional<Task> getTask(int id) {
+        return board.find(id);
+    }
+
+    // ========================
+    // TASKS
+    // ========================
+
+    /** Creates an OPEN task and returns its id. */
+    public int addTask(String description, List<String> tags, int priority) {
+
+        int nextId = board.allocateId();
+
+        Task task = new Task(
+                nextId,
+                description,
+                TaskStatus.OPEN,
+                tags == null ? new ArrayList<>() : tags,
+                priority,
+                LocalDate.now()
+        );
+
+        board.getTasks().add(task);
+
+        service.autoLog(projectName, task, "created", null);
+
+        return nextId;
+    }
+
+    public void startTask(int id) {
+        changeStatus(id, TaskStatus.IN_PROGRESS);
+    }
+
+    public void completeTask(int id) {
+        changeStatus(id, TaskStatus.DONE);
+    }
+
+    /** Like start/complete, but a no-op when the task already has {@code newStatus}. */
+    public void updateStatus(int taskId, TaskStatus newStatus) {
+
+        Task task = board.find(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        if (task.getStatus() == newStatus) return;
+
+        applyStatus(task, newStatus);
+    }
+
+    public void updateDescription(int taskId, String newDescription) {
+        board.find(taskId).ifPresent(t -> {
+            t.setDescription(newDescription);
+            t.setUpdatedDate(LocalDate.now());
+        });
+    }
+
+    public void updatePriority(int taskId, int newPriority) {
+        board.find(taskId).ifPresent(t -> {
+            t.setPriority(newPriority);
+            t.setUpdatedDate(LocalDate.now());
+        });
+    }
+
+    public void deleteTask(int taskId) {
+        board.getTasks().removeIf(t -> t.getId() == taskId);
+    }
+
+    // ========================
+    // SUBTASKS
+    // ========================
+
+    public void addSubtask(int taskId, String title) {
+        board.find(taskId).ifPresent(t -> {
+            t.getSubtasks().add(new SubTask(title, false));
+            t.setUpdatedDate(LocalDate.now());
+        });
+    }
+
+    /** Toggle done/not-done for a subtask by 0-based index. */
+    public void toggleSubtask(int taskId, int subtaskIndex) {
+        board.find(taskId).ifPresent(t -> {
+            List<SubTask> subs = t.getSubtasks();
+            if (subtaskIndex >= 0 && subtaskIndex < subs.size()) {
+                subs.get(subtaskIndex).setDone(!subs.get(subtaskIndex).isDone());
+                t.setUpdatedDate(LocalDate.now());
+            }
+        });
+    }
+
+    /** Replace the entire subtask list for a task. */
+    public void setSubtasks(int taskId, List<SubTask> subtasks) {
+        board.find(taskId).ifPresent(t -> {
+            t.setSubtasks(new ArrayList<>(subtasks));
+            t.setUpdatedDate(LocalDate.now());
+        });
+    }
+
+    /** Delete a subtask by 0-based index. Returns false if the task or index doesn't exist. */
+    public boolean deleteSubtask(int taskId, int subtaskIndex) {
+
+        Optional<Task> task = board.find(taskId);
+        if (task.isEmpty()) return false;
+
+        List<SubTask> subs = task.get().getSubtasks();
+        if (subtaskIndex < 0 || subtaskIndex >= subs.size()) return false;
+
+        subs.remove(subtaskIndex);
+        task.get().setUpdatedDate(LocalDate.now());
+        return true;
+    }
+
+    // ========================
+    // INTERNAL
+    // ========================
+
+    private void changeStatus(int id, TaskStatus newStatus) {
+
+        Task task = board.find(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        applyStatus(task, newStatus);
+    }
+
+    private void applyStatus(Task task, TaskStatus newStatus) {
+
+        TaskStatus previousStatus = task.getStatus();
+
+        task.setStatus(newStatus);
+        task.setUpdatedDate(LocalDate.now());
+        if (newStatus == TaskStatus.DONE) {
+            task.setCompletedDate(LocalDate.now());
+        } else if (previousStatus == TaskStatus.DONE) {
+            task.setCompletedDate(null); // clear when reopening
+        }
+
+        if (newStatus == TaskStatus.IN_PROGRESS) {
+            String action = (previousStatus == TaskStatus.DONE) ? "reopened" : "started";
+            service.autoLog(projectName, task, action, previousStatus);
+        } else if (newStatus == TaskStatus.DONE) {
+            service.autoLog(projectName, task, "completed", previousStatus);
+        } else if (newStatus == TaskStatus.OPEN && previousStatus == TaskStatus.DONE) {
+            service.autoLog(projectName, task, "reopened", previousStatus);
+        }
+        // IN_PROGRESS → OPEN: no log (minor reversion, not a meaningful lifecycle event)
+    }
+}
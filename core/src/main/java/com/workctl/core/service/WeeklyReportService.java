@@ -2,20 +2,26 @@ package com.workctl.core.service;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.core.model.ActivityBucket;
 import com.workctl.core.model.Task;
 import com.workctl.core.model.TaskStatus;
 import com.workctl.core.model.WeeklyReportData;
 import com.workctl.core.model.WeeklyReportData.StagnantEntry;
+import com.workctl.core.storage.InsightsAggregator;
+import com.workctl.core.storage.WorkLogReader;
 
 import java.nio.file.*;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.regex.*;
 import java.util.stream.Collectors;
 
 /**
- * Produces a WeeklyReportData for any arbitrary week range.
+ * Produces a WeeklyReportData for any arbitrary week range, or one per
+ * window across a longer range.
  *
  * Intelligence is entirely rule-based (no AI):
  *  - Parses TASK_EVENT HTML comment blocks from work-log.md for exact dates
@@ -24,31 +30,89 @@ import java.util.stream.Collectors;
  */
 public class WeeklyReportService {
 
-    private static final Pattern EVENT_PATTERN =
-            Pattern.compile("<!--\\s*TASK_EVENT:(.*?)-->", Pattern.DOTALL);
-    private static final Pattern FIELD_PATTERN  =
-            Pattern.compile("(\\w+)=(.+)");
+    // Work logs head each day with "## yyyy-MM-dd"; "# " is the older form
     private static final Pattern DATE_HEADER    =
-            Pattern.compile("^# (\\d{4}-\\d{2}-\\d{2})\\s*$");
+            Pattern.compile("^##? (\\d{4}-\\d{2}-\\d{2})\\s*$");
+
+    private static final DateTimeFormatter DATE_FMT =
+            DateTimeFormatter.ofPattern("MMM d, yyyy");
+
+    /** Weeks before the report week averaged for the trend insight. */
+    private static final int TREND_WEEKS = 4;
 
     // ── Public API ────────────────────────────────────────────────
 
     public WeeklyReportData generateReport(String projectName,
                                            LocalDate weekStart,
                                            LocalDate weekEnd) {
+        return generateReports(projectName,
+                Collections.singletonList(new LocalDate[]{weekStart, weekEnd})).get(0);
+    }
+
+    /**
+     * Reports for consecutive windows of length {@code step} from
+     * {@code from}; the last one is cut short at {@code to}. The board,
+     * archive, event aggregates and log are each read once for the whole
+     * range, so 52 weekly reports cost about as much as one.
+     */
+    public List<WeeklyReportData> generateReports(String projectName,
+                                                  LocalDate from,
+                                                  LocalDate to,
+                                                  Period step) {
+        if (step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("Report step must be positive: " + step);
+        }
+
+        List<LocalDate[]> windows = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = start.plus(step)) {
+            LocalDate end = start.plus(step).minusDays(1);
+            windows.add(new LocalDate[]{start, end.isAfter(to) ? to : end});
+        }
+        return generateReports(projectName, windows);
+    }
+
+    private List<WeeklyReportData> generateReports(String projectName, List<LocalDate[]> windows) {
+        List<WeeklyReportData> reports = new ArrayList<>(windows.size());
+        if (windows.isEmpty()) return reports;
+
         try {
-            return buildReport(projectName, weekStart, weekEnd);
+            // Include task events still queued for the log
+            TaskEventJournal.shared().flush(1000);
+
+            ProjectSnapshot snapshot = loadSnapshot(projectName,
+                    windows.get(0)[0], windows.get(windows.size() - 1)[1]);
+            for (LocalDate[] w : windows) {
+                reports.add(buildReport(snapshot, w[0], w[1]));
+            }
         } catch (Exception e) {
-            return emptyReport(projectName, weekStart, weekEnd,
-                    "Error generating report: " + e.getMessage());
+            reports.clear();
+            for (LocalDate[] w : windows) {
+                reports.add(emptyReport(projectName, w[0], w[1],
+                        "Error generating report: " + e.getMessage()));
+            }
         }
+        return reports;
     }
 
     // ── Report construction ───────────────────────────────────────
 
-    private WeeklyReportData buildReport(String projectName,
-                                         LocalDate weekStart,
-                                         LocalDate weekEnd) throws Exception {
+    /** Everything the reports share, read once per call whatever the number of windows. */
+    private record ProjectSnapshot(String projectName,
+                                   List<Task> allTasks,
+                                   Map<Integer, Task> byId,
+                                   InsightsAggregator aggregates,
+                                   Map<String, Integer> allTagFreq,
+                                   List<Task> inProgressTasks,
+                                   List<StagnantEntry> stagnantTasks,
+                                   int openCount,
+                                   int totalTasks,
+                                   double compRate,
+                                   LocalDate today,
+                                   TreeMap<LocalDate, List<String>> highlightsByDay) {}
+
+    private ProjectSnapshot loadSnapshot(String projectName,
+                                         LocalDate from,
+                                         LocalDate to) throws Exception {
 
         TaskService taskService = new TaskService();
         List<Task> allTasks = taskService.getTasks(projectName);
@@ -59,72 +123,88 @@ public class WeeklyReportService {
                 .resolve("01_Projects").resolve(projectName)
                 .resolve("notes").resolve("work-log.md");
 
-        String logContent = Files.exists(logFile) ? Files.readString(logFile) : "";
-        List<Map<String, String>> events = parseEvents(logContent);
-
-        // ── Build event maps ──────────────────────────────────────
-        Map<Integer, LocalDate> createdByEvent   = new HashMap<>();
-        Map<Integer, LocalDate> completedByEvent = new HashMap<>();
-        Map<Integer, LocalDate> lastChangeMap    = new HashMap<>();
-
-        Map<String, Integer> weekTagFreq = new LinkedHashMap<>();  // tags in week range
-        Map<String, Integer> allTagFreq  = new LinkedHashMap<>();  // all-time tag freq
-
-        LocalDate prevWeekStart = weekStart.minusWeeks(1);
-        LocalDate prevWeekEnd   = weekEnd.minusWeeks(1);
-        int prevWeekCompleted   = 0;
-
-        for (Map<String, String> ev : events) {
-            try {
-                int       id     = Integer.parseInt(ev.get("id").trim());
-                String    action = ev.getOrDefault("action", "").trim();
-                LocalDate date   = LocalDate.parse(ev.get("date").trim());
-
-                lastChangeMap.merge(id, date, (a, b) -> a.isAfter(b) ? a : b);
-
-                if ("created".equals(action))   createdByEvent.put(id, date);
-                if ("completed".equals(action)) {
-                    completedByEvent.put(id, date);
-                    if (!date.isBefore(prevWeekStart) && !date.isAfter(prevWeekEnd))
-                        prevWeekCompleted++;
-                }
-
-                String rawTags = ev.getOrDefault("tags", "");
-                if (!rawTags.isBlank()) {
-                    boolean inWeek = !date.isBefore(weekStart) && !date.isAfter(weekEnd);
-                    for (String t : rawTags.split(",")) {
-                        String tag = t.trim();
-                        if (!tag.isEmpty()) {
-                            allTagFreq.merge(tag, 1, Integer::sum);
-                            if (inWeek) weekTagFreq.merge(tag, 1, Integer::sum);
-                        }
-                    }
-                }
-            } catch (Exception ignored) { /* skip malformed events */ }
+        WorkLogReader log = WorkLogReader.of(logFile);
+        InsightsAggregator aggregates = InsightsAggregator.forProject(
+                Paths.get(config.getWorkspace()), projectName).current();
+
+        // ── Task look-up map ──────────────────────────────────────
+        Map<Integer, Task> byId = allTasks.stream()
+                .collect(Collectors.toMap(Task::getId, t -> t, (a, b) -> a));
+
+        // Archived tasks were completed on or after their creation date, so
+        // any that belong to a window were completed no earlier than its start
+        for (Task t : taskService.getArchivedTasks(projectName, from, LocalDate.MAX)) {
+            byId.putIfAbsent(t.getId(), t);
         }
 
+        List<Task> inProgressTasks = allTasks.stream()
+                .filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS)
+                .sorted(Comparator.comparingInt(Task::getPriority))
+                .collect(Collectors.toList());
+
+        // ── Stagnant tasks ────────────────────────────────────────
+        LocalDate today = LocalDate.now();
+        List<StagnantEntry> stagnantTasks = allTasks.stream()
+                .map(t -> new StagnantEntry(t, aggregates.idleDays(t, today)))
+                .filter(e -> InsightsAggregator.isStagnant(e.task(), e.daysIdle()))
+                .sorted(Comparator.comparingLong(StagnantEntry::daysIdle).reversed())
+                .collect(Collectors.toList());
+
+        // ── Aggregate counts ──────────────────────────────────────
+        int openCount   = (int) allTasks.stream().filter(t -> t.getStatus() == TaskStatus.OPEN).count();
+        int archived    = taskService.countArchivedTasks(projectName);
+        int totalTasks  = allTasks.size() + archived;
+        int totalDone   = (int) allTasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count() + archived;
+        double compRate = InsightsAggregator.completionRate(totalDone, totalTasks);
+
+        // ── Log highlights, one read for the whole range ──────────
+        List<String> lines = log.exists()
+                ? log.readLines(from, to)
+                : List.of();
+
+        return new ProjectSnapshot(projectName, allTasks, byId, aggregates,
+                aggregates.tagFrequency(), inProgressTasks, stagnantTasks,
+                openCount, totalTasks, compRate, today, highlightsByDay(lines));
+    }
+
+    private WeeklyReportData buildReport(ProjectSnapshot snap,
+                                         LocalDate weekStart,
+                                         LocalDate weekEnd) {
+
+        InsightsAggregator aggregates = snap.aggregates();
+
+        // ── Event aggregates ──────────────────────────────────────
+        Map<String, Integer> weekTagFreq = aggregates.tagFrequency(weekStart, weekEnd);
+        Map<String, Integer> allTagFreq  = snap.allTagFreq();
+
+        // ── Trend: completions in the weeks before this one ───────
+        int prevWeekCompleted;
+        int trendCompleted;
+        if (isIsoWeek(weekStart, weekEnd)) {
+            // One weekly rollup lookup per week
+            List<ActivityBucket> prior = aggregates.activity(ActivityBucket.Period.WEEK,
+                    weekStart.minusWeeks(TREND_WEEKS), weekStart.minusDays(1), null);
+            prevWeekCompleted = prior.get(prior.size() - 1).completed();
+            trendCompleted = prior.stream().mapToInt(ActivityBucket::completed).sum();
+        } else {
+            prevWeekCompleted = aggregates.completedBetween(
+                    weekStart.minusWeeks(1), weekEnd.minusWeeks(1));
+            trendCompleted = aggregates.completedBetween(
+                    weekStart.minusWeeks(TREND_WEEKS), weekStart.minusDays(1));
+        }
+        double trendAverage = trendCompleted / (double) TREND_WEEKS;
+
         // ── IDs for this week ─────────────────────────────────────
-        Set<Integer> completedInWeek = completedByEvent.entrySet().stream()
-                .filter(e -> inRange(e.getValue(), weekStart, weekEnd))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-
-        Set<Integer> createdInWeek = new HashSet<>(
-                createdByEvent.entrySet().stream()
-                        .filter(e -> inRange(e.getValue(), weekStart, weekEnd))
-                        .map(Map.Entry::getKey)
-                        .collect(Collectors.toSet())
-        );
+        Set<Integer> completedInWeek = aggregates.completedIn(weekStart, weekEnd);
+        Set<Integer> createdInWeek   = aggregates.createdIn(weekStart, weekEnd);
 
         // Also use task.getCreatedDate() as fallback for projects with sparse logs
-        allTasks.stream()
+        snap.allTasks().stream()
                 .filter(t -> t.getCreatedDate() != null)
                 .filter(t -> inRange(t.getCreatedDate(), weekStart, weekEnd))
                 .forEach(t -> createdInWeek.add(t.getId()));
 
-        // ── Task look-up map ──────────────────────────────────────
-        Map<Integer, Task> byId = allTasks.stream()
-                .collect(Collectors.toMap(Task::getId, t -> t, (a, b) -> a));
+        Map<Integer, Task> byId = snap.byId();
 
         // ── Build task lists ──────────────────────────────────────
         List<Task> completedTasks = completedInWeek.stream()
@@ -141,34 +221,12 @@ public class WeeklyReportService {
                 .sorted(Comparator.comparingInt(Task::getPriority))
                 .collect(Collectors.toList());
 
-        List<Task> inProgressTasks = allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS)
-                .sorted(Comparator.comparingInt(Task::getPriority))
-                .collect(Collectors.toList());
+        List<Task> inProgressTasks = snap.inProgressTasks();
+        List<StagnantEntry> stagnantTasks = snap.stagnantTasks();
 
-        // ── Stagnant tasks ────────────────────────────────────────
-        LocalDate today = LocalDate.now();
-        List<StagnantEntry> stagnantTasks = allTasks.stream()
-                .filter(t -> t.getStatus() != TaskStatus.DONE)
-                .map(t -> {
-                    LocalDate fallback  = t.getCreatedDate() != null ? t.getCreatedDate() : today;
-                    LocalDate lastChange = lastChangeMap.getOrDefault(t.getId(), fallback);
-                    long daysIdle = ChronoUnit.DAYS.between(lastChange, today);
-                    return new StagnantEntry(t, daysIdle);
-                })
-                .filter(e -> e.daysIdle() > 7)
-                .sorted(Comparator.comparingLong(StagnantEntry::daysIdle).reversed())
-                .collect(Collectors.toList());
-
-        // ── Aggregate counts ──────────────────────────────────────
-        int openCount   = (int) allTasks.stream().filter(t -> t.getStatus() == TaskStatus.OPEN).count();
-        int totalDone   = (int) allTasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
-        double compRate = allTasks.isEmpty() ? 0.0 : (totalDone * 100.0 / allTasks.size());
-
-        double velScore   = Math.min(completedTasks.size() * 10.0, 100);
-        double stagPenalty= stagnantTasks.size() * 5.0;
-        double prodScore  = Math.max(0, Math.min(100,
-                (compRate * 0.5) + (velScore * 0.4) - stagPenalty));
+        double compRate  = snap.compRate();
+        double prodScore = InsightsAggregator.productivityScore(
+                compRate, completedTasks.size(), stagnantTasks.size());
 
         // ── Sorted tag activity (this week, else fall back to all-time) ──
         Map<String, Integer> tagActivity = (weekTagFreq.isEmpty() ? allTagFreq : weekTagFreq)
@@ -180,7 +238,7 @@ public class WeeklyReportService {
                         (a, b) -> a, LinkedHashMap::new));
 
         // ── Log highlights ────────────────────────────────────────
-        List<String> logHighlights = extractLogHighlights(logContent, weekStart, weekEnd);
+        List<String> logHighlights = logHighlights(snap.highlightsByDay(), weekStart, weekEnd);
 
         // ── Intelligence layer (rule-based) ───────────────────────
         String velocityLabel = velocityLabel(completedTasks.size());
@@ -189,19 +247,123 @@ public class WeeklyReportService {
                 stagnantTasks.size(), velocityLabel);
         List<String> insights = buildInsights(
                 completedTasks.size(), newTasks.size(), stagnantTasks.size(),
-                topTag(weekTagFreq.isEmpty() ? allTagFreq : weekTagFreq),
-                prevWeekCompleted, compRate, allTasks.size(),
+                InsightsAggregator.topTag(weekTagFreq.isEmpty() ? allTagFreq : weekTagFreq),
+                prevWeekCompleted, trendAverage, compRate, snap.totalTasks(),
                 completedTasks);
 
         return new WeeklyReportData(
-                projectName, weekStart, weekEnd, today,
-                completedTasks.size(), inProgressTasks.size(), openCount, newTasks.size(),
+                snap.projectName(), weekStart, weekEnd, snap.today(),
+                completedTasks.size(), inProgressTasks.size(), snap.openCount(), newTasks.size(),
                 compRate, prodScore,
                 velocityLabel, headline, insights,
                 completedTasks, inProgressTasks, newTasks, stagnantTasks,
                 tagActivity, logHighlights);
     }
 
+    // ── Plain-text rendering ──────────────────────────────────────
+
+    /** The report as plain text — the GUI's "Export TXT" and `weekly --export`. */
+    public String toPlainText(WeeklyReportData d) {
+        StringBuilder sb = new StringBuilder();
+        String divider = "═".repeat(56);
+        String thin    = "─".repeat(56);
+
+        sb.append(divider).append('\n');
+        sb.append("  WEEKLY REPORT\n");
+        sb.append(divider).append('\n');
+        sb.append("  Project  : ").append(d.getProjectName()).append('\n');
+        sb.append("  Week     : ")
+          .append(d.getWeekStart().format(DATE_FMT)).append(" – ")
+          .append(d.getWeekEnd().format(DATE_FMT)).append('\n');
+        sb.append("  Generated: ").append(d.getGeneratedDate().format(DATE_FMT)).append('\n');
+        sb.append(divider).append('\n').append('\n');
+
+        // Summary line
+        sb.append("  ").append(d.getHeadline()).append('\n').append('\n');
+
+        // Metrics table
+        sb.append("  METRICS\n").append("  ").append(thin).append('\n');
+        sb.append(String.format("  %-22s %d%n", "Completed this week:", d.getCompletedThisWeek()));
+        sb.append(String.format("  %-22s %d%n", "In Progress:",         d.getInProgressCount()));
+        sb.append(String.format("  %-22s %d%n", "Open:",                d.getOpenCount()));
+        sb.append(String.format("  %-22s %d%n", "Added this week:",     d.getNewTasksThisWeek()));
+        sb.append(String.format("  %-22s %.0f%%%n","Completion rate:",    d.getCompletionRate()));
+        sb.append(String.format("  %-22s %.0f / 100%n","Productivity score:", d.getProductivityScore()));
+        sb.append('\n');
+
+        // Insights
+        sb.append("  OBSERVATIONS\n").append("  ").append(thin).append('\n');
+        d.getInsights().forEach(i -> sb.append("  → ").append(i).append('\n'));
+        sb.append('\n');
+
+        // Completed tasks
+        sb.append("  COMPLETED THIS WEEK (").append(d.getCompletedThisWeek()).append(")\n");
+        sb.append("  ").append(thin).append('\n');
+        if (d.getCompletedTasks().isEmpty()) {
+            sb.append("  (none)\n");
+        } else {
+            d.getCompletedTasks().forEach(t ->
+                sb.append("  [x] [P").append(t.getPriority()).append("] ").append(t.getTitle()).append('\n'));
+        }
+        sb.append('\n');
+
+        // In Progress
+        sb.append("  IN PROGRESS (").append(d.getInProgressCount()).append(")\n");
+        sb.append("  ").append(thin).append('\n');
+        if (d.getInProgressTasks().isEmpty()) {
+            sb.append("  (none)\n");
+        } else {
+            d.getInProgressTasks().forEach(t -> {
+                sb.append("  [~] [P").append(t.getPriority()).append("] ").append(t.getTitle());
+                if (t.hasSubtasks())
+                    sb.append("  (").append(t.getDoneSubtaskCount()).append('/').append(t.getTotalSubtaskCount()).append(" subtasks)");
+                sb.append('\n');
+            });
+        }
+        sb.append('\n');
+
+        // Newly added
+        if (!d.getNewTasks().isEmpty()) {
+            sb.append("  NEWLY ADDED (").append(d.getNewTasksThisWeek()).append(")\n");
+            sb.append("  ").append(thin).append('\n');
+            d.getNewTasks().forEach(t ->
+                sb.append("  [ ] [P").append(t.getPriority()).append("] ").append(t.getTitle()).append('\n'));
+            sb.append('\n');
+        }
+
+        // Stagnant
+        if (!d.getStagnantTasks().isEmpty()) {
+            sb.append("  NEEDS ATTENTION — STAGNANT (").append(d.getStagnantTasks().size()).append(")\n");
+            sb.append("  ").append(thin).append('\n');
+            d.getStagnantTasks().forEach(e ->
+                sb.append("  [!] [P").append(e.task().getPriority()).append("] ")
+                  .append(e.task().getTitle())
+                  .append("  (").append(e.daysIdle()).append("d idle)\n"));
+            sb.append('\n');
+        }
+
+        // Tag activity
+        if (!d.getTagActivity().isEmpty()) {
+            sb.append("  TAG ACTIVITY\n").append("  ").append(thin).append('\n');
+            d.getTagActivity().forEach((tag, count) ->
+                sb.append(String.format("  #%-20s %d%n", tag, count)));
+            sb.append('\n');
+        }
+
+        // Log highlights
+        if (!d.getLogHighlights().isEmpty()) {
+            sb.append("  WORK LOG HIGHLIGHTS\n").append("  ").append(thin).append('\n');
+            d.getLogHighlights().forEach(line -> sb.append("  ").append(line).append('\n'));
+            sb.append('\n');
+        }
+
+        sb.append(divider).append('\n');
+        sb.append("  Generated by workctl\n");
+        sb.append(divider).append('\n');
+
+        return sb.toString();
+    }
+
     // ── Intelligence rules ────────────────────────────────────────
 
     private String velocityLabel(int completed) {
@@ -228,7 +390,7 @@ public class WeeklyReportService {
 
     private List<String> buildInsights(int completed, int newThisWeek, long stagnant,
                                         String topTag, int prevWeekCompleted,
-                                        double completionRate, int totalTasks,
+                                        double trendAverage, double completionRate, int totalTasks,
                                         List<Task> completedTasks) {
         List<String> insights = new ArrayList<>();
 
@@ -243,6 +405,15 @@ public class WeeklyReportService {
             insights.add("First completions this week — getting traction");
         }
 
+        // Against the longer trend
+        if (trendAverage > 0) {
+            String avg = String.format("%.1f", trendAverage);
+            if (completed >= trendAverage * 1.5)
+                insights.add("Above the " + TREND_WEEKS + "-week average of " + avg + " completions/week");
+            else if (completed <= trendAverage * 0.5)
+                insights.add("Below the " + TREND_WEEKS + "-week average of " + avg + " completions/week");
+        }
+
         // Backlog balance
         if (newThisWeek > completed + 2)
             insights.add("Backlog is growing — more tasks added than completed");
@@ -274,36 +445,28 @@ public class WeeklyReportService {
         return insights;
     }
 
-    private String topTag(Map<String, Integer> freq) {
-        return freq.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("None");
-    }
-
     // ── Log highlight extraction ──────────────────────────────────
 
     /**
-     * Extracts plain (non-event) text lines from work-log.md sections
-     * whose date header falls within [weekStart, weekEnd].
+     * Plain (non-event) text lines from work-log.md, grouped by the date
+     * header of the section they sit in — one pass however many windows
+     * the lines will be split into.
      */
-    private List<String> extractLogHighlights(String content, LocalDate weekStart, LocalDate weekEnd) {
-        List<String> highlights = new ArrayList<>();
-        if (content.isBlank()) return highlights;
+    private TreeMap<LocalDate, List<String>> highlightsByDay(List<String> lines) {
+        TreeMap<LocalDate, List<String>> byDay = new TreeMap<>();
 
-        boolean inWeekSection = false;
-        boolean inEventBlock  = false;
+        List<String> current = null;
+        boolean inEventBlock = false;
 
-        for (String rawLine : content.split("\\R")) {
+        for (String rawLine : lines) {
             String line = rawLine.stripTrailing();
 
             // Date header
             Matcher dm = DATE_HEADER.matcher(line);
             if (dm.matches()) {
                 try {
-                    LocalDate d = LocalDate.parse(dm.group(1));
-                    inWeekSection = inRange(d, weekStart, weekEnd);
-                } catch (Exception ignored) { inWeekSection = false; }
+                    current = byDay.computeIfAbsent(LocalDate.parse(dm.group(1)), d -> new ArrayList<>());
+                } catch (Exception ignored) { current = null; }
                 continue;
             }
 
@@ -317,14 +480,25 @@ public class WeeklyReportService {
             }
 
             // Collect meaningful content lines
-            if (inWeekSection && !line.isBlank()
+            if (current != null && !line.isBlank()
                     && !line.startsWith("##")
                     && !line.startsWith("#")) {
                 String trimmed = line.strip();
                 if (!trimmed.isEmpty())
-                    highlights.add(trimmed);
+                    current.add(trimmed);
             }
         }
+        return byDay;
+    }
+
+    /** The 12 most recent highlight lines dated within [weekStart, weekEnd]. */
+    private List<String> logHighlights(TreeMap<LocalDate, List<String>> byDay,
+                                       LocalDate weekStart, LocalDate weekEnd) {
+        List<String> highlights = new ArrayList<>();
+        if (weekEnd.isBefore(weekStart)) return highlights;
+        for (List<String> day : byDay.subMap(weekStart, true, weekEnd, true).values()) {
+            highlights.addAll(day);
+        }
 
         // Return at most the 12 most recent lines
         int from = Math.max(0, highlights.size() - 12);
@@ -333,18 +507,9 @@ public class WeeklyReportService {
 
     // ── Parsing helpers ───────────────────────────────────────────
 
-    private List<Map<String, String>> parseEvents(String content) {
-        List<Map<String, String>> events = new ArrayList<>();
-        Matcher m = EVENT_PATTERN.matcher(content);
-        while (m.find()) {
-            Map<String, String> ev = new HashMap<>();
-            Matcher fm = FIELD_PATTERN.matcher(m.group(1));
-            while (fm.find())
-                ev.put(fm.group(1).trim(), fm.group(2).trim());
-            if (ev.containsKey("id") && ev.containsKey("date"))
-                events.add(ev);
-        }
-        return events;
+    /** Whether [start, end] is exactly one Monday-to-Sunday week. */
+    private boolean isIsoWeek(LocalDate start, LocalDate end) {
+        return start.getDayOfWeek() == DayOfWeek.MONDAY && end.equals(start.plusDays(6));
     }
 
     private boolean inRange(LocalDate d, LocalDate start, LocalDate end) {
@@ -3,15 +3,19 @@ package com.workctl.core.service;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.WorkflowRun;
+import com.workctl.core.domain.WorkflowRunSummary;
 import com.workctl.core.domain.WorkflowTemplate;
+import com.workctl.core.domain.WorkflowTemplateSummary;
 import com.workctl.core.model.RunStatus;
 import com.workctl.core.model.StepStatus;
+import com.workctl.core.storage.EntityLocator;
+import com.workctl.core.storage.MarkdownLexer;
+import com.workctl.core.storage.SummaryManifest;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.regex.*;
 import java.util.stream.Collectors;
 
 /**
@@ -21,7 +25,7 @@ import java.util.stream.Collectors;
  * Global runs: <workspace>/06_Workflows/runs/YYYY-MM-DD-{slug}.md
  * Project runs: <workspace>/01_Projects/{project}/workflows/YYYY-MM-DD-{slug}.md
  *
- * Pattern mirrors MeetingService: each entity is one .md file; find by scanning for id= substring.
+ * Pattern mirrors MeetingService: each entity is one .md file, found by id through EntityLocator.
  */
 public class WorkflowService {
 
@@ -42,6 +46,7 @@ public class WorkflowService {
                 file = buildTemplateFilePath(template);
             }
             Files.writeString(file, formatTemplate(template));
+            EntityLocator.forWorkspace().record(EntityLocator.Kind.TEMPLATE, template.getId(), file);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save workflow template", e);
         }
@@ -51,7 +56,7 @@ public class WorkflowService {
         try {
             Path file = findTemplateFile(templateId);
             if (file == null) return Optional.empty();
-            return Optional.ofNullable(parseTemplate(Files.readAllLines(file)));
+            return Optional.ofNullable(parseTemplate(Files.readString(file)));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -66,7 +71,7 @@ public class WorkflowService {
                     .filter(p -> p.getFileName().toString().endsWith(".md"))
                     .forEach(p -> {
                         try {
-                            WorkflowTemplate t = parseTemplate(Files.readAllLines(p));
+                            WorkflowTemplate t = parseTemplate(Files.readString(p));
                             if (t != null) result.add(t);
                         } catch (Exception ignored) {}
                     });
@@ -79,11 +84,29 @@ public class WorkflowService {
         }
     }
 
+    /**
+     * Template summaries, newest first, for pickers and filters. Only files
+     * that changed since the last call are read; use {@link #loadTemplate}
+     * for the steps.
+     */
+    public List<WorkflowTemplateSummary> listTemplateSummaries() {
+        try {
+            List<WorkflowTemplateSummary> result = new ArrayList<>(
+                    SummaryManifest.forFolder(getTemplatesDir(), TEMPLATE_FORMAT).list());
+            result.sort(Comparator.comparing(WorkflowTemplateSummary::createdAt,
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list workflow templates", e);
+        }
+    }
+
     public boolean deleteTemplate(String templateId) {
         try {
             Path file = findTemplateFile(templateId);
             if (file == null) return false;
             Files.deleteIfExists(file);
+            EntityLocator.forWorkspace().forget(EntityLocator.Kind.TEMPLATE, templateId, file);
             return true;
         } catch (IOException e) {
             return false;
@@ -212,6 +235,7 @@ public class WorkflowService {
                 file = buildRunFilePath(run);
             }
             Files.writeString(file, formatRun(run));
+            EntityLocator.forWorkspace().record(EntityLocator.Kind.RUN, run.getId(), file);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save workflow run", e);
         }
@@ -221,7 +245,7 @@ public class WorkflowService {
         try {
             Path file = findRunFile(runId);
             if (file == null) return Optional.empty();
-            return Optional.ofNullable(parseRun(Files.readAllLines(file)));
+            return Optional.ofNullable(parseRun(Files.readString(file)));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -278,11 +302,48 @@ public class WorkflowService {
         }
     }
 
+    /** Run summaries scoped like {@link #listRuns}: null = global runs only. */
+    public List<WorkflowRunSummary> listRunSummaries(String projectId) {
+        try {
+            List<WorkflowRunSummary> result = new ArrayList<>();
+            if (projectId == null || projectId.isBlank()) {
+                collectRunSummaries(getGlobalRunsDir(), result);
+            } else {
+                collectRunSummaries(getProjectRunsDir(projectId), result);
+            }
+            result.sort(Comparator.comparing(WorkflowRunSummary::createdAt,
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list workflow runs", e);
+        }
+    }
+
+    /**
+     * Summaries of all runs — global and every project's — for list views.
+     * Only run files that changed since the last call are read; open a run
+     * with {@link #loadRun}.
+     */
+    public List<WorkflowRunSummary> listAllRunSummaries() {
+        try {
+            List<WorkflowRunSummary> result = new ArrayList<>();
+            for (Path dir : runDirs()) {
+                collectRunSummaries(dir, result);
+            }
+            result.sort(Comparator.comparing(WorkflowRunSummary::createdAt,
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list all workflow runs", e);
+        }
+    }
+
     public boolean deleteRun(String runId) {
         try {
             Path file = findRunFile(runId);
             if (file == null) return false;
             Files.deleteIfExists(file);
+            EntityLocator.forWorkspace().forget(EntityLocator.Kind.RUN, runId, file);
             return true;
         } catch (IOException e) {
             return false;
@@ -492,57 +553,31 @@ public class WorkflowService {
     // ================================================================
 
     private Path findTemplateFile(String templateId) throws IOException {
-        Path dir = getTemplatesDir();
-        if (!Files.exists(dir)) return null;
-        try (var stream = Files.list(dir)) {
-            return stream
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .filter(p -> {
-                    try { return Files.readString(p).contains("id=" + templateId); }
-                    catch (Exception e) { return false; }
-                })
-                .findFirst()
-                .orElse(null);
-        }
+        return EntityLocator.forWorkspace().locate(
+                EntityLocator.Kind.TEMPLATE, templateId, () -> List.of(getTemplatesDir()));
     }
 
     /**
-     * Searches global runs dir first, then all project workflows dirs.
+     * Looked up through the workspace locator; a miss walks the global runs
+     * dir and every project's workflows dir.
      */
     private Path findRunFile(String runId) throws IOException {
-        // Check global runs
-        Path globalDir = getGlobalRunsDir();
-        Path found = findInDir(globalDir, runId);
-        if (found != null) return found;
+        return EntityLocator.forWorkspace().locate(EntityLocator.Kind.RUN, runId, this::runDirs);
+    }
+
+    private List<Path> runDirs() throws IOException {
+        List<Path> dirs = new ArrayList<>();
+        dirs.add(getGlobalRunsDir());
 
-        // Check all project workflows dirs
         AppConfig config = ConfigManager.load();
         Path projectsDir = Paths.get(config.getWorkspace()).resolve("01_Projects");
-        if (!Files.isDirectory(projectsDir)) return null;
-        try (var stream = Files.list(projectsDir)) {
-            for (Path projDir : stream.filter(Files::isDirectory).toList()) {
-                Path workflowsDir = projDir.resolve("workflows");
-                found = findInDir(workflowsDir, runId);
-                if (found != null) return found;
+        if (Files.isDirectory(projectsDir)) {
+            try (var stream = Files.list(projectsDir)) {
+                stream.filter(Files::isDirectory)
+                      .forEach(projDir -> dirs.add(projDir.resolve("workflows")));
             }
         }
-        return null;
-    }
-
-    private Path findInDir(Path dir, String id) {
-        if (!Files.isDirectory(dir)) return null;
-        try (var stream = Files.list(dir)) {
-            return stream
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .filter(p -> {
-                    try { return Files.readString(p).contains("id=" + id); }
-                    catch (Exception e) { return false; }
-                })
-                .findFirst()
-                .orElse(null);
-        } catch (Exception e) {
-            return null;
-        }
+        return dirs;
     }
 
     private void collectRunsFromDir(Path dir, List<WorkflowRun> result) throws IOException {
@@ -552,13 +587,18 @@ public class WorkflowService {
                 .filter(p -> p.getFileName().toString().endsWith(".md"))
                 .forEach(p -> {
                     try {
-                        WorkflowRun r = parseRun(Files.readAllLines(p));
+                        WorkflowRun r = parseRun(Files.readString(p));
                         if (r != null) result.add(r);
                     } catch (Exception ignored) {}
                 });
         }
     }
 
+    private void collectRunSummaries(Path dir, List<WorkflowRunSummary> result) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        result.addAll(SummaryManifest.forFolder(dir, RUN_FORMAT).list());
+    }
+
     // ================================================================
     // FILE I/O — PATH BUILDING
     // ================================================================
@@ -630,94 +670,90 @@ public class WorkflowService {
     // PARSING — TEMPLATE
     // ================================================================
 
-    private WorkflowTemplate parseTemplate(List<String> lines) {
-        if (lines == null || lines.isEmpty()) return null;
+    private WorkflowTemplate parseTemplate(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
 
         WorkflowTemplate template = null;
         StringBuilder description = new StringBuilder();
         boolean metaParsed = false;
 
-        // Collect step sections: list of (title, lines)
-        List<String[]> stepSections = new ArrayList<>();  // [0]=title, [1..]=content lines (joined)
+        // Steps are parsed as soon as the next step header (or the end) closes them
+        List<WorkflowTemplate.TemplateStep> steps = new ArrayList<>();
         String currentStepTitle = null;
         List<String> currentStepLines = new ArrayList<>();
 
-        Pattern metaP  = Pattern.compile("<!-- WORKFLOW_TEMPLATE:([^>]+)-->");
-        Pattern idP    = Pattern.compile("id=([\\w-]+)");
-        Pattern dateP  = Pattern.compile("created=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern tagsP  = Pattern.compile("tags=([^\\s>]+)");
-        Pattern stepP  = Pattern.compile("^## Step \\d+: (.+)$");
-
-        for (String line : lines) {
-
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
             // Title
-            if (line.startsWith("# ") && template == null) {
-                template = new WorkflowTemplate(line.substring(2).trim(), null, null);
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && template == null) {
+                template = new WorkflowTemplate(lx.content(), null, null);
                 continue;
             }
 
             // Metadata comment
-            Matcher metaM = metaP.matcher(line);
-            if (metaM.find() && template != null && !metaParsed) {
-                String meta = metaM.group(1);
-                Matcher idM = idP.matcher(meta);
-                if (idM.find()) template.setId(idM.group(1));
-                Matcher dateM = dateP.matcher(meta);
-                if (dateM.find()) {
-                    try { template.setCreatedAt(LocalDate.parse(dateM.group(1))); } catch (Exception ignored) {}
-                }
-                Matcher tagsM = tagsP.matcher(meta);
-                if (tagsM.find()) template.setTagsFromString(tagsM.group(1));
+            int meta = template != null && !metaParsed
+                    ? lx.findComment("<!-- WORKFLOW_TEMPLATE:", lx.start(), lx.end()) : -1;
+            if (meta >= 0) {
+                parseTemplateMeta(lx, meta, template);
                 metaParsed = true;
                 continue;
             }
 
             // Step header
-            Matcher stepM = stepP.matcher(line);
-            if (stepM.matches()) {
+            int stepTitle = stepTitleStart(lx);
+            if (stepTitle >= 0) {
                 // Save previous step
                 if (currentStepTitle != null) {
-                    stepSections.add(buildStepEntry(currentStepTitle, currentStepLines));
+                    steps.add(WorkflowTemplate.TemplateStep.fromSection(currentStepTitle, currentStepLines));
                 }
-                currentStepTitle = stepM.group(1).trim();
+                currentStepTitle = lx.trimmed(stepTitle, lx.end());
                 currentStepLines = new ArrayList<>();
                 continue;
             }
 
             if (currentStepTitle != null) {
-                currentStepLines.add(line);
-            } else if (template != null && metaParsed && !line.isBlank()) {
-                description.append(line).append("\n");
+                currentStepLines.add(lx.line());
+            } else if (template != null && metaParsed && lx.token() != MarkdownLexer.Token.BLANK) {
+                lx.appendTo(description, lx.start(), lx.end()).append("\n");
             }
         }
 
         // Save last step
         if (currentStepTitle != null) {
-            stepSections.add(buildStepEntry(currentStepTitle, currentStepLines));
+            steps.add(WorkflowTemplate.TemplateStep.fromSection(currentStepTitle, currentStepLines));
         }
 
         if (template != null) {
             String desc = description.toString().trim();
             if (!desc.isBlank()) template.setDescription(desc);
-
-            List<WorkflowTemplate.TemplateStep> steps = new ArrayList<>();
-            for (String[] entry : stepSections) {
-                List<String> sLines = Arrays.asList(entry).subList(1, entry.length);
-                steps.add(WorkflowTemplate.TemplateStep.fromSection(entry[0], sLines));
-            }
             template.setSteps(steps);
         }
 
         return template;
     }
 
-    private String[] buildStepEntry(String title, List<String> contentLines) {
-        String[] entry = new String[1 + contentLines.size()];
-        entry[0] = title;
-        for (int i = 0; i < contentLines.size(); i++) {
-            entry[i + 1] = contentLines.get(i);
+    /** Applies the fields of the WORKFLOW_TEMPLATE comment starting at {@code meta}. */
+    private static void parseTemplateMeta(MarkdownLexer lx, int meta, WorkflowTemplate template) {
+        int metaEnd = lx.commentEnd(meta, lx.end());
+        String id = lx.value("id=", MarkdownLexer.Chars.WORD_OR_DASH, meta, metaEnd);
+        if (id != null) template.setId(id);
+        int created = lx.findDate("created=", meta, metaEnd);
+        if (created >= 0) {
+            try { template.setCreatedAt(lx.date(created)); } catch (Exception ignored) {}
         }
-        return entry;
+        String tags = lx.value("tags=", MarkdownLexer.Chars.ATTRIBUTE, meta, metaEnd);
+        if (tags != null) template.setTagsFromString(tags);
+    }
+
+    /** Start of the title in a "## Step N: title" line, or -1. */
+    private static int stepTitleStart(MarkdownLexer lx) {
+        if (lx.token() != MarkdownLexer.Token.HEADING || lx.level() != 2) return -1;
+        int i = lx.start() + 3;
+        if (!lx.startsWithAt(i, "Step ")) return -1;
+        int digits = i + 5;
+        int colon = lx.runEnd(digits, MarkdownLexer.Chars.DIGIT);
+        if (colon == digits || !lx.startsWithAt(colon, ": ") || colon + 2 >= lx.end()) return -1;
+        return colon + 2;
     }
 
     // ================================================================
@@ -751,88 +787,214 @@ public class WorkflowService {
     // PARSING — RUN
     // ================================================================
 
-    private WorkflowRun parseRun(List<String> lines) {
-        if (lines == null || lines.isEmpty()) return null;
+    private WorkflowRun parseRun(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
 
         WorkflowRun run = null;
         boolean metaParsed = false;
 
-        List<String[]> stepSections = new ArrayList<>();
+        List<WorkflowRun.RunStep> steps = new ArrayList<>();
         String currentStepTitle = null;
         List<String> currentStepLines = new ArrayList<>();
 
-        Pattern metaP       = Pattern.compile("<!-- WORKFLOW_RUN:([^>]+)-->");
-        Pattern idP         = Pattern.compile("id=([\\w-]+)");
-        Pattern templateIdP = Pattern.compile("templateId=([\\w-]+)");
-        Pattern projectP    = Pattern.compile("project=(\\S+)");
-        Pattern statusP     = Pattern.compile("status=(\\w+)");
-        Pattern createdP    = Pattern.compile("created=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern completedP  = Pattern.compile("completed=(\\d{4}-\\d{2}-\\d{2})");
-        Pattern stepP       = Pattern.compile("^## Step \\d+: (.+)$");
-
-        for (String line : lines) {
-
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
             // Title
-            if (line.startsWith("# ") && run == null) {
-                run = new WorkflowRun(line.substring(2).trim(), null, null);
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && run == null) {
+                run = new WorkflowRun(lx.content(), null, null);
                 continue;
             }
 
             // Metadata
-            Matcher metaM = metaP.matcher(line);
-            if (metaM.find() && run != null && !metaParsed) {
-                String meta = metaM.group(1);
-                Matcher idM = idP.matcher(meta);
-                if (idM.find()) run.setId(idM.group(1));
-                Matcher tplM = templateIdP.matcher(meta);
-                if (tplM.find()) run.setTemplateId(tplM.group(1));
-                Matcher projM = projectP.matcher(meta);
-                if (projM.find()) run.setProjectId(projM.group(1));
-                Matcher statusM = statusP.matcher(meta);
-                if (statusM.find()) {
-                    try { run.setStatus(RunStatus.valueOf(statusM.group(1))); } catch (Exception ignored) {}
-                }
-                Matcher createdM = createdP.matcher(meta);
-                if (createdM.find()) {
-                    try { run.setCreatedAt(LocalDate.parse(createdM.group(1))); } catch (Exception ignored) {}
-                }
-                Matcher completedM = completedP.matcher(meta);
-                if (completedM.find()) {
-                    try { run.setCompletedAt(LocalDate.parse(completedM.group(1))); } catch (Exception ignored) {}
-                }
+            int meta = run != null && !metaParsed
+                    ? lx.findComment("<!-- WORKFLOW_RUN:", lx.start(), lx.end()) : -1;
+            if (meta >= 0) {
+                parseRunMeta(lx, meta, run);
                 metaParsed = true;
                 continue;
             }
 
             // Step header
-            Matcher stepM = stepP.matcher(line);
-            if (stepM.matches()) {
+            int stepTitle = stepTitleStart(lx);
+            if (stepTitle >= 0) {
                 if (currentStepTitle != null) {
-                    stepSections.add(buildStepEntry(currentStepTitle, currentStepLines));
+                    steps.add(WorkflowRun.RunStep.fromSection(currentStepTitle, currentStepLines));
                 }
-                currentStepTitle = stepM.group(1).trim();
+                currentStepTitle = lx.trimmed(stepTitle, lx.end());
                 currentStepLines = new ArrayList<>();
                 continue;
             }
 
             if (currentStepTitle != null) {
-                currentStepLines.add(line);
+                currentStepLines.add(lx.line());
             }
         }
 
         if (currentStepTitle != null) {
-            stepSections.add(buildStepEntry(currentStepTitle, currentStepLines));
+            steps.add(WorkflowRun.RunStep.fromSection(currentStepTitle, currentStepLines));
         }
 
         if (run != null) {
-            List<WorkflowRun.RunStep> steps = new ArrayList<>();
-            for (String[] entry : stepSections) {
-                List<String> sLines = Arrays.asList(entry).subList(1, entry.length);
-                steps.add(WorkflowRun.RunStep.fromSection(entry[0], sLines));
-            }
             run.setSteps(steps);
         }
 
         return run;
     }
+
+    /** Applies the fields of the WORKFLOW_RUN comment starting at {@code meta}. */
+    private static void parseRunMeta(MarkdownLexer lx, int meta, WorkflowRun run) {
+        int metaEnd = lx.commentEnd(meta, lx.end());
+        String id = lx.value("id=", MarkdownLexer.Chars.WORD_OR_DASH, meta, metaEnd);
+        if (id != null) run.setId(id);
+        String templateId = lx.value("templateId=", MarkdownLexer.Chars.WORD_OR_DASH, meta, metaEnd);
+        if (templateId != null) run.setTemplateId(templateId);
+        String project = lx.value("project=", MarkdownLexer.Chars.NON_SPACE, meta, metaEnd);
+        if (project != null) run.setProjectId(project);
+        String status = lx.value("status=", MarkdownLexer.Chars.WORD, meta, metaEnd);
+        if (status != null) {
+            try { run.setStatus(RunStatus.valueOf(status)); } catch (Exception ignored) {}
+        }
+        int created = lx.findDate("created=", meta, metaEnd);
+        if (created >= 0) {
+            try { run.setCreatedAt(lx.date(created)); } catch (Exception ignored) {}
+        }
+        int completed = lx.findDate("completed=", meta, metaEnd);
+        if (completed >= 0) {
+            try { run.setCompletedAt(lx.date(completed)); } catch (Exception ignored) {}
+        }
+    }
+
+    // ================================================================
+    // SUMMARIES
+    // ================================================================
+
+    /** parseTemplate without the description and step bodies: steps are only counted. */
+    private static WorkflowTemplateSummary parseTemplateSummary(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
+
+        WorkflowTemplate header = null;
+        boolean metaParsed = false;
+        int steps = 0;
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && header == null) {
+                header = new WorkflowTemplate(lx.content(), null, null);
+                continue;
+            }
+
+            int meta = header != null && !metaParsed
+                    ? lx.findComment("<!-- WORKFLOW_TEMPLATE:", lx.start(), lx.end()) : -1;
+            if (meta >= 0) {
+                parseTemplateMeta(lx, meta, header);
+                metaParsed = true;
+                continue;
+            }
+
+            if (stepTitleStart(lx) >= 0) steps++;
+        }
+
+        if (header == null) return null;
+        return new WorkflowTemplateSummary(header.getId(), header.getName(), header.getCreatedAt(),
+                List.copyOf(header.getTags()), steps);
+    }
+
+    /**
+     * parseRun without the step bodies: each step's status is read from its
+     * STEP comment and counted.
+     */
+    private static WorkflowRunSummary parseRunSummary(CharSequence text) {
+        if (text == null || text.isEmpty()) return null;
+
+        WorkflowRun header = null;
+        boolean metaParsed = false;
+        int steps = 0, done = 0, active = 0;
+
+        StepStatus stepStatus = null;   // null outside a step
+        boolean stepMetaParsed = false;
+
+        MarkdownLexer lx = new MarkdownLexer(text);
+        while (lx.next()) {
+            if (lx.token() == MarkdownLexer.Token.HEADING && lx.level() == 1 && header == null) {
+                header = new WorkflowRun(lx.content(), null, null);
+                continue;
+            }
+
+            int meta = header != null && !metaParsed
+                    ? lx.findComment("<!-- WORKFLOW_RUN:", lx.start(), lx.end()) : -1;
+            if (meta >= 0) {
+                parseRunMeta(lx, meta, header);
+                metaParsed = true;
+                continue;
+            }
+
+            if (stepTitleStart(lx) >= 0) {
+                if (stepStatus != null) {
+                    steps++;
+                    if (stepStatus == StepStatus.DONE)    done++;
+                    if (stepStatus != StepStatus.SKIPPED) active++;
+                }
+                stepStatus = StepStatus.TODO;
+                stepMetaParsed = false;
+                continue;
+            }
+
+            if (stepStatus != null && !stepMetaParsed && lx.indexOf("<!-- STEP: id=") >= 0) {
+                StepStatus status = WorkflowRun.RunStep.statusOf(lx.line());
+                if (status != null) {
+                    stepStatus = status;
+                    stepMetaParsed = true;
+                }
+            }
+        }
+        if (stepStatus != null) {
+            steps++;
+            if (stepStatus == StepStatus.DONE)    done++;
+            if (stepStatus != StepStatus.SKIPPED) active++;
+        }
+
+        if (header == null) return null;
+        return new WorkflowRunSummary(header.getId(), header.getName(), header.getTemplateId(),
+                header.getProjectId(), header.getStatus(), header.getCreatedAt(), header.getCompletedAt(),
+                steps, done, active);
+    }
+
+    private static final SummaryManifest.Format<WorkflowTemplateSummary> TEMPLATE_FORMAT = new SummaryManifest.Format<>() {
+        @Override public String kind() { return "template"; }
+
+        @Override public WorkflowTemplateSummary parse(CharSequence text) { return parseTemplateSummary(text); }
+
+        @Override public List<String> fields(WorkflowTemplateSummary t) {
+            List<String> f = new ArrayList<>(Arrays.asList(t.id(), t.name(),
+                    SummaryManifest.field(t.createdAt()), String.valueOf(t.stepCount())));
+            f.addAll(t.tags());
+            return f;
+        }
+
+        @Override public WorkflowTemplateSummary read(List<String> f) {
+            return new WorkflowTemplateSummary(f.get(0), f.get(1), SummaryManifest.date(f.get(2)),
+                    List.copyOf(f.subList(4, f.size())), Integer.parseInt(f.get(3)));
+        }
+    };
+
+    private static final SummaryManifest.Format<WorkflowRunSummary> RUN_FORMAT = new SummaryManifest.Format<>() {
+        @Override public String kind() { return "run"; }
+
+        @Override public WorkflowRunSummary parse(CharSequence text) { return parseRunSummary(text); }
+
+        @Override public List<String> fields(WorkflowRunSummary r) {
+            return Arrays.asList(r.id(), r.name(), r.templateId(), r.projectId(),
+                    SummaryManifest.field(r.status()),
+                    SummaryManifest.field(r.createdAt()), SummaryManifest.field(r.completedAt()),
+                    String.valueOf(r.stepCount()), String.valueOf(r.doneStepCount()),
+                    String.valueOf(r.activeStepCount()));
+        }
+
+        @Override public WorkflowRunSummary read(List<String> f) {
+            return new WorkflowRunSummary(f.get(0), f.get(1), f.get(2), f.get(3),
+                    SummaryManifest.constant(RunStatus.class, f.get(4)),
+                    SummaryManifest.date(f.get(5)), SummaryManifest.date(f.get(6)),
+                    Integer.parseInt(f.get(7)), Integer.parseInt(f.get(8)), Integer.parseInt(f.get(9)));
+        }
+    };
 }
@@ -0,0 +1,358 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Workspace-wide map from entity id to the markdown file that holds it,
+ * for meetings, interviews, workflow templates and workflow runs.
+ *
+ * Stored as an append-only text file at <workspace>/.workctl/locator.idx:
+ *
+ *   ENTITY_LOCATOR 1
+ *   + meeting 6f1c2a 03_Meetings/2026-10-17-0930-standup.md
+ *   + run 91be07 01_Projects/workctl/workflows/2026-10-17-release.md
+ *   - meeting 6f1c2a
+ *
+ * Paths are relative to the workspace. Services record a file on save
+ * and forget it on delete. Each record is one appended line, so other
+ * workctl processes see it the next time they miss.
+ *
+ * A hit costs one file open: the file's meta comment is read to confirm
+ * it still holds the id. On a miss, or when a file was renamed, removed
+ * or edited outside workctl, the locator walks the kind's directories
+ * once, reading only each file's header. It then rewrites the index from
+ * what it found. If the directories are unchanged since the last walk,
+ * the miss is answered without walking them again.
+ *
+ * With performance.sidecarIndexes=false the map is kept in memory only.
+ */
+public final class EntityLocator {
+
+    public enum Kind {
+        MEETING("meeting", "MEETING_META"),
+        INTERVIEW("interview", "INTERVIEW_META"),
+        TEMPLATE("template", "WORKFLOW_TEMPLATE"),
+        RUN("run", "WORKFLOW_RUN");
+
+        private final String key;
+        private final Pattern idPattern;
+
+        Kind(String key, String marker) {
+            this.key       = key;
+            this.idPattern = Pattern.compile("<!-- " + marker + ": id=([\\w-]+)");
+        }
+
+        static Kind fromKey(String key) {
+            for (Kind k : values()) {
+                if (k.key.equals(key)) return k;
+            }
+            return null;
+        }
+    }
+
+    /** The directories that may hold a kind's files. Only called when walking. */
+    @FunctionalInterface
+    public interface Directories {
+        List<Path> list() throws IOException;
+    }
+
+    private static final String MAGIC      = "ENTITY_LOCATOR 1";
+    private static final String INDEX_DIR  = ".workctl";
+    private static final String INDEX_FILE = "locator.idx";
+
+    /** The meta comment sits in the first few lines; never read further than this. */
+    private static final int HEADER_LINES = 12;
+
+    private static final Map<Path, EntityLocator> LOCATORS = new ConcurrentHashMap<>();
+
+    private final Path workspace;
+    private final Path indexFile;
+    private final boolean persistent;
+
+    // Guarded by this
+    private final Map<Kind, Map<String, Path>> entries = new EnumMap<>(Kind.class);
+    private final Map<Kind, Map<Path, FileTime>> walkedDirs = new EnumMap<>(Kind.class);
+    private boolean loaded;
+    private FileStamp loadedStamp = FileStamp.MISSING;
+    private int lines;            // lines in the index file, to know when to compact
+
+    private EntityLocator(Path workspace, boolean persistent) {
+        this.workspace  = workspace;
+        this.indexFile  = workspace.resolve(INDEX_DIR).resolve(INDEX_FILE);
+        this.persistent = persistent;
+        for (Kind k : Kind.values()) entries.put(k, new HashMap<>());
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    /** The locator for the configured workspace. */
+    public static EntityLocator forWorkspace() {
+        return forWorkspace(Paths.get(ConfigManager.load().getWorkspace()));
+    }
+
+    public static EntityLocator forWorkspace(Path workspace) {
+        Path key = workspace.toAbsolutePath().normalize();
+        return LOCATORS.computeIfAbsent(key,
+                k -> new EntityLocator(k, ConfigManager.performance().isSidecarIndexes()));
+    }
+
+    /**
+     * Returns the file holding {@code id}, or null if none of the kind's
+     * directories has it.
+     */
+    public synchronized Path locate(Kind kind, String id, Directories dirs) throws IOException {
+        if (id == null || id.isBlank()) return null;
+
+        Path hit = verified(kind, id);
+        if (hit != null) return hit;
+
+        // Another process may have recorded it since we last looked
+        if (reloadIfChanged()) {
+            hit = verified(kind, id);
+            if (hit != null) return hit;
+        }
+
+        if (unchangedSinceWalk(kind, dirs)) return null;
+
+        walk(kind, dirs);
+        return verified(kind, id);
+    }
+
+    /** Remembers that {@code file} now holds {@code id}. Called after a save. */
+    public synchronized void record(Kind kind, String id, Path file) {
+        if (id == null) return;
+        Path abs = file.toAbsolutePath().normalize();
+        if (abs.equals(entries.get(kind).get(id))) return;
+
+        entries.get(kind).put(id, abs);
+        touchWalked(kind, abs.getParent());
+        appendLine("+ " + kind.key + " " + id + " " + relative(abs));
+    }
+
+    /** Drops {@code id}. Called after a delete. */
+    public synchronized void forget(Kind kind, String id, Path file) {
+        if (id == null) return;
+        if (entries.get(kind).remove(id) == null) return;
+
+        if (file != null) touchWalked(kind, file.toAbsolutePath().normalize().getParent());
+        appendLine("- " + kind.key + " " + id);
+    }
+
+    // ================================================================
+    // LOOKUP
+    // ================================================================
+
+    private Path verified(Kind kind, String id) throws IOException {
+        if (!loaded) {
+            loaded = true;
+            reloadIfChanged();
+        }
+
+        Path file = entries.get(kind).get(id);
+        if (file == null) return null;
+
+        if (Files.isRegularFile(file) && id.equals(readId(kind, file))) return file;
+
+        // Moved, deleted or rewritten by hand — the walk will find it again
+        entries.get(kind).remove(id);
+        return null;
+    }
+
+    /** True when every directory we walked last time still has the same mtime. */
+    private boolean unchangedSinceWalk(Kind kind, Directories dirs) throws IOException {
+        Map<Path, FileTime> walked = walkedDirs.get(kind);
+        if (walked == null) return false;
+
+        List<Path> current = normalized(dirs.list());
+        if (!walked.keySet().equals(new HashSet<>(current))) return false;
+
+        for (Path dir : current) {
+            if (!Objects.equals(walked.get(dir), mtime(dir))) return false;
+        }
+        return true;
+    }
+
+    private void walk(Kind kind, Directories dirs) throws IOException {
+        Map<String, Path> found = new HashMap<>();
+        Map<Path, FileTime> stamps = new HashMap<>();
+
+        for (Path dir : normalized(dirs.list())) {
+            stamps.put(dir, mtime(dir));
+            if (!Files.isDirectory(dir)) continue;
+
+            try (var stream = Files.list(dir)) {
+                for (Path p : stream.filter(f -> f.getFileName().toString().endsWith(".md")).toList()) {
+                    String id = readId(kind, p);
+                    if (id != null) found.putIfAbsent(id, p);
+                }
+            }
+        }
+
+        entries.put(kind, found);
+        walkedDirs.put(kind, stamps);
+        rewrite();
+    }
+
+    private void touchWalked(Kind kind, Path dir) {
+        Map<Path, FileTime> walked = walkedDirs.get(kind);
+        if (walked != null && walked.containsKey(dir)) walked.put(dir, mtime(dir));
+    }
+
+    /** The id from the file's meta comment, reading only its first lines. */
+    private static String readId(Kind kind, Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            for (int i = 0; i < HEADER_LINES && (line = reader.readLine()) != null; i++) {
+                Matcher m = kind.idPattern.matcher(line);
+                if (m.find()) return m.group(1);
+            }
+        } catch (IOException ignored) {
+            // unreadable — treat as not ours
+        }
+        return null;
+    }
+
+    // ================================================================
+    // PERSISTENCE
+    // ================================================================
+
+    /** Re-reads the index file if it changed on disk. Returns true if it did. */
+    private boolean reloadIfChanged() {
+        if (!persistent) return false;
+        try {
+            if (loadedStamp.sameAttributes(indexFile)) return false;
+
+            if (!Files.exists(indexFile)) {
+                loadedStamp = FileStamp.MISSING;
+                return false;
+            }
+
+            byte[] bytes = Files.readAllBytes(indexFile);
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            if (!text.startsWith(MAGIC)) return false;
+
+            for (Kind k : Kind.values()) entries.put(k, new HashMap<>());
+            lines = 0;
+            for (String line : text.split("\n")) {
+                apply(line);
+                lines++;
+            }
+            loadedStamp = FileStamp.of(indexFile, bytes);
+
+            // Mostly superseded lines — start over from the live map
+            if (lines > 64 && lines > 2 * liveCount()) rewrite();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void apply(String line) {
+        String[] parts = line.split(" ", 4);
+        if (parts.length < 3) return;
+
+        Kind kind = Kind.fromKey(parts[1]);
+        if (kind == null) return;
+
+        if (parts[0].equals("+") && parts.length == 4) {
+            entries.get(kind).put(parts[2], workspace.resolve(parts[3]).normalize());
+        } else if (parts[0].equals("-")) {
+            entries.get(kind).remove(parts[2]);
+        }
+    }
+
+    private void appendLine(String line) {
+        if (!persistent) return;
+        try {
+            // Our own line shouldn't force a reload — unless someone else wrote first
+            boolean current = loadedStamp.sameAttributes(indexFile);
+            if (!Files.exists(indexFile)) {
+                rewrite();
+                return;
+            }
+            Files.writeString(indexFile, line + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+            lines++;
+            if (current) {
+                loadedStamp = new FileStamp(Files.size(indexFile),
+                        Files.getLastModifiedTime(indexFile).toMillis(), 0);
+            }
+        } catch (IOException ignored) {
+            // best-effort — a lost line is found again by the next walk
+        }
+    }
+
+    /** Writes the whole map, replacing the index atomically. */
+    private void rewrite() {
+        if (!persistent) return;
+        try {
+            StringBuilder sb = new StringBuilder(MAGIC).append('\n');
+            int count = 1;
+            for (Map.Entry<Kind, Map<String, Path>> e : entries.entrySet()) {
+                for (Map.Entry<String, Path> entry : e.getValue().entrySet()) {
+                    sb.append("+ ").append(e.getKey().key).append(' ')
+                      .append(entry.getKey()).append(' ')
+                      .append(relative(entry.getValue())).append('\n');
+                    count++;
+                }
+            }
+
+            Files.createDirectories(indexFile.getParent());
+            Path tmp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            Files.write(tmp, bytes);
+            try {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            lines       = count;
+            loadedStamp = FileStamp.of(indexFile, bytes);
+        } catch (IOException ignored) {
+            // best-effort — the files themselves are the source of truth
+        }
+    }
+
+    // ================================================================
+    // HELPERS
+    // ================================================================
+
+    private int liveCount() {
+        int n = 0;
+        for (Map<String, Path> m : entries.values()) n += m.size();
+        return n;
+    }
+
+    private String relative(Path abs) {
+        String rel = abs.startsWith(workspace) ? workspace.relativize(abs).toString() : abs.toString();
+        return rel.replace('\\', '/');
+    }
+
+    private static List<Path> normalized(List<Path> dirs) {
+        List<Path> out = new ArrayList<>(dirs.size());
+        for (Path d : dirs) out.add(d.toAbsolutePath().normalize());
+        return out;
+    }
+
+    private static FileTime mtime(Path dir) {
+        try {
+            return Files.isDirectory(dir) ? Files.getLastModifiedTime(dir) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
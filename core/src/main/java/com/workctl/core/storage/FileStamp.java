@@ -0,0 +1,51 @@
+package com.workctl.core.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+/**
+ * Identity of a file's content at a point in time: size, last-modified
+ * time and a CRC32 of the bytes.
+ *
+ * Size + mtime is the cheap check (one stat call). The checksum is only
+ * consulted when those differ, so a touched-but-unchanged file (git
+ * checkout, editor save without edits) does not force a re-parse.
+ */
+public record FileStamp(long size, long lastModified, long checksum) {
+
+    /** Stamp for a file that does not exist. Never matches a real file. */
+    public static final FileStamp MISSING = new FileStamp(-1, -1, 0);
+
+    /** Stamp for bytes that were just read from (or written to) {@code file}. */
+    public static FileStamp of(Path file, byte[] content) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis(), checksum(content));
+    }
+
+    /** Reads the whole file to compute its stamp. */
+    public static FileStamp read(Path file) throws IOException {
+        if (!Files.exists(file)) return MISSING;
+        return of(file, Files.readAllBytes(file));
+    }
+
+    public static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /** True when size and mtime on disk still equal this stamp (no read). */
+    public boolean sameAttributes(Path file) throws IOException {
+        if (!Files.exists(file)) return this == MISSING;
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return attrs.size() == size && attrs.lastModifiedTime().toMillis() == lastModified;
+    }
+
+    /** True when {@code content} is byte-identical (by size and CRC) to the stamped content. */
+    public boolean sameContent(byte[] content) {
+        return content.length == size && checksum(content) == checksum;
+    }
+}
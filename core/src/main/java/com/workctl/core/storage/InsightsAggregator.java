@@ -0,0 +1,975 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.ActivityBucket;
+import com.workctl.core.model.DurationSketch;
+import com.workctl.core.model.FlowTimes;
+import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskEvent;
+import com.workctl.core.model.TaskStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Running totals over a project's TASK_EVENT history — everything the
+ * insight views need, so opening them never replays the log:
+ *
+ *   - "created" / "completed" event counts
+ *   - per task: latest created, started and completed day, last event
+ *     day, priority, latest status (see {@link #apply})
+ *   - per day, ISO week and month: events, and created / started /
+ *     completed / reopened counts — overall and per tag
+ *   - all-time tag frequencies (first-seen order)
+ *   - per completion day and month: cycle- and lead-time sketches
+ *     (see DurationSketch) — overall, per priority and per tag
+ *
+ * Every WorkLogAppender write calls {@link #recordAppend}, which applies
+ * the entry's events in O(1) each — but only if the totals reflected the
+ * log file's size + mtime before the write, as with TaskEventStore. Any
+ * other change to the log leaves the stamps stale and the next
+ * {@link #current} rebuilds from TaskEventStore's table.
+ *
+ * notes/.insights.ckpt — a checksummed snapshot, then the events applied
+ * since, each batch followed by the log stamp it leads to:
+ *
+ *   INSIGHTS_CHECKPOINT 4 <snapshot lines> <snapshot bytes> <crc32>
+ *   C	120	87                          created / completed events
+ *   K	12	20500	20510	20510	20506	1	DONE	20510	3
+ *                                       task, created, completed, last day,
+ *                                       started, priority (0 unknown), status,
+ *                                       status day, status rank
+ *   D	20510	4	1	1	1	0               day, events, created, started, completed, reopened
+ *   T	backend	31                       tag, count
+ *   G	20510	backend	2	1	0	1	0       day, then per tag the five D counts
+ *   F	20510	P1	4,4:1	10,10:1         day, * / P<n> / #tag, cycle and lead sketches
+ *   L	work-log.md	48213	1760693400000   log file, size, mtime
+ *   E	13	20511	created	OPEN	2	api    applied after the snapshot
+ *   L	work-log.md	48790	1760779800000
+ *
+ * Days are epoch days and "-" is absent. Only day rows and day sketches
+ * are stored; the week and month rows and the month sketches are summed
+ * from them on load and then kept up to date on every append, so a trend
+ * over N buckets costs N lookups however many events fall in them, and a
+ * percentile over a window merges one sketch per whole month plus one
+ * per day at its ragged ends. A snapshot that fails its
+ * checksum is rebuilt from the log; once the appended lines outnumber the
+ * snapshot, the file is rewritten as a new one. A process that has not
+ * loaded the totals checks only the file's last stamp before appending.
+ *
+ * With performance.sidecarIndexes=false nothing is written and the totals
+ * are rebuilt once per process.
+ */
+public final class InsightsAggregator {
+
+    public static final String CHECKPOINT_FILE = ".insights.ckpt";
+
+    /** A task not DONE whose last event is older than this many days is stagnant. */
+    public static final int STAGNANT_DAYS = 7;
+
+    private static final String MAGIC = "INSIGHTS_CHECKPOINT 4";
+
+    /** Appended lines tolerated before a rewrite, on top of one per snapshot line. */
+    private static final int COMPACT_SLACK = 64;
+
+    /** How much of the checkpoint's end is read to find its last stamp. */
+    private static final int TAIL = 4096;
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    // Rollup row columns: every event, then one per tracked action
+    private static final int EVENTS = 0, CREATED = 1, STARTED = 2, COMPLETED = 3, REOPENED = 4, COLUMNS = 5;
+
+    // Flow sketch dimension keys: every completion, P<n>, #tag
+    private static final String ALL = "*";
+
+    private static final Map<Path, InsightsAggregator> AGGREGATORS = new ConcurrentHashMap<>();
+
+    private static final class TaskState {
+        int created = NONE, completed = NONE, last = NONE, started = NONE;
+        int priority;   // 0 until an event records it
+        String status;
+        int statusDay = NONE, statusRank;   // event the status came from
+    }
+
+    private final Path notesDir;
+    private final Path checkpoint;
+    private final boolean persistent;
+
+    // Guarded by this ------------------------------------------------
+
+    private final Map<Integer, TaskState> tasks = new HashMap<>();
+    private final TreeMap<Integer, int[]> days   = new TreeMap<>();               // day → rollup row
+    private final TreeMap<Integer, int[]> weeks  = new TreeMap<>();               // Monday → rollup row
+    private final TreeMap<Integer, int[]> months = new TreeMap<>();               // 1st of month → rollup row
+    private final Map<String, Integer> tags = new LinkedHashMap<>();
+    private final TreeMap<Integer, Map<String, int[]>> dayTags   = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, int[]>> weekTags  = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, int[]>> monthTags = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, FlowTimes>> dayFlow   = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, FlowTimes>> monthFlow = new TreeMap<>();
+    private final Map<String, long[]> stamps = new LinkedHashMap<>();             // log file → {size, mtime}
+    private int created, completed;
+
+    private boolean loaded;
+    private long fileSize = -1, fileModified = -1;
+    private int snapshotLines, appendedLines;
+    private int monthDay = NONE, monthStart;   // last monthOf() lookup
+
+    private InsightsAggregator(Path notesDir, boolean persistent) {
+        this.notesDir   = notesDir;
+        this.checkpoint = notesDir.resolve(CHECKPOINT_FILE);
+        this.persistent = persistent;
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    public static InsightsAggregator forProject(Path workspace, String project) {
+        return forNotes(workspace.resolve("01_Projects").resolve(project).resolve("notes"));
+    }
+
+    private static InsightsAggregator forNotes(Path notesDir) {
+        return AGGREGATORS.computeIfAbsent(notesDir.toAbsolutePath().normalize(),
+                k -> new InsightsAggregator(k, ConfigManager.performance().isSidecarIndexes()));
+    }
+
+    /**
+     * Brings the totals up to date with the log: from memory when nothing
+     * changed, else from the checkpoint, else by a rebuild.
+     */
+    public InsightsAggregator current() throws IOException {
+        synchronized (this) {
+            if (loaded && stampsEqual(stamps, logStamps())) return this;
+        }
+
+        // A rebuild writes the checkpoint: ProjectLock first, as on the append path
+        ProjectLock.with(notesDir, () -> {
+            synchronized (this) {
+                Map<String, long[]> now = logStamps();
+                if (loaded && stampsEqual(stamps, now)) return;
+
+                if (persistent && readCheckpoint() && stampsEqual(stamps, now)) {
+                    if (appendedLines > snapshotLines + COMPACT_SLACK) writeSnapshot();
+                    return;
+                }
+                rebuild();
+            }
+        });
+        return this;
+    }
+
+    // ================================================================
+    // QUERIES (after current())
+    // ================================================================
+
+    public synchronized int createdEvents() {
+        return created;
+    }
+
+    public synchronized int completedEvents() {
+        return completed;
+    }
+
+    /** "completed" events dated on or after {@code from}. */
+    public synchronized int completedSince(LocalDate from) {
+        int count = 0;
+        for (int[] d : days.tailMap((int) from.toEpochDay(), true).values()) count += d[COMPLETED];
+        return count;
+    }
+
+    /** "completed" events dated within [from, to]. */
+    public synchronized int completedBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int[] d : range(days, from, to).values()) count += d[COMPLETED];
+        return count;
+    }
+
+    /** Ids of tasks whose latest "created" event falls within [from, to]. */
+    public synchronized Set<Integer> createdIn(LocalDate from, LocalDate to) {
+        return idsWithin(from, to, true);
+    }
+
+    /** Ids of tasks whose latest "completed" event falls within [from, to]. */
+    public synchronized Set<Integer> completedIn(LocalDate from, LocalDate to) {
+        return idsWithin(from, to, false);
+    }
+
+    /** Day of the task's last event, or null if it has none. */
+    public synchronized LocalDate lastChange(int taskId) {
+        TaskState t = tasks.get(taskId);
+        return t == null || t.last == NONE ? null : LocalDate.ofEpochDay(t.last);
+    }
+
+    /** Tasks per latest logged status. */
+    public synchronized Map<String, Integer> statusCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (TaskState t : tasks.values()) {
+            if (t.status != null) counts.merge(t.status, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /** Events per day. */
+    public synchronized Map<LocalDate, Integer> dailyActivity() {
+        Map<LocalDate, Integer> activity = new HashMap<>();
+        days.forEach((day, d) -> activity.put(LocalDate.ofEpochDay(day), d[EVENTS]));
+        return activity;
+    }
+
+    /** All-time tag counts, in the order tags first appeared. */
+    public synchronized Map<String, Integer> tagFrequency() {
+        return new LinkedHashMap<>(tags);
+    }
+
+    /** Tag counts over events dated within [from, to], in order of first appearance. */
+    public synchronized Map<String, Integer> tagFrequency(LocalDate from, LocalDate to) {
+        Map<String, Integer> freq = new LinkedHashMap<>();
+        for (Map<String, int[]> day : range(dayTags, from, to).values()) {
+            day.forEach((tag, row) -> freq.merge(tag, row[EVENTS], Integer::sum));
+        }
+        return freq;
+    }
+
+    /**
+     * Counts for every bucket from the one holding {@code from} through
+     * the one holding {@code to}, empty buckets included. With a tag, only
+     * events carrying it are counted. One lookup per bucket.
+     */
+    public synchronized List<ActivityBucket> activity(ActivityBucket.Period period,
+                                                      LocalDate from, LocalDate to, String tag) {
+        TreeMap<Integer, int[]> rows = switch (period) {
+            case DAY -> days;
+            case WEEK -> weeks;
+            case MONTH -> months;
+        };
+        TreeMap<Integer, Map<String, int[]>> tagRows = switch (period) {
+            case DAY -> dayTags;
+            case WEEK -> weekTags;
+            case MONTH -> monthTags;
+        };
+
+        List<ActivityBucket> buckets = new ArrayList<>();
+        for (LocalDate start = period.floor(from); !start.isAfter(to); start = period.next(start)) {
+            int key = (int) start.toEpochDay();
+            int[] row;
+            if (tag == null) {
+                row = rows.get(key);
+            } else {
+                Map<String, int[]> forBucket = tagRows.get(key);
+                row = forBucket == null ? null : forBucket.get(tag);
+            }
+            buckets.add(row == null
+                    ? new ActivityBucket(start, 0, 0, 0, 0, 0)
+                    : new ActivityBucket(start, row[EVENTS], row[CREATED], row[STARTED], row[COMPLETED], row[REOPENED]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Cycle and lead times of the completions dated within [from, to];
+     * with a priority or a tag, only completions of tasks carrying it.
+     * Merges one sketch per whole month in the window and one per day at
+     * its ends, so the cost does not grow with the number of completions.
+     */
+    public synchronized FlowTimes flowTimes(LocalDate from, LocalDate to, Integer priority, String tag) {
+        if (priority != null && tag != null) {
+            throw new IllegalArgumentException("Filter by priority or by tag, not both");
+        }
+        String key = priority != null ? "P" + priority : tag != null ? "#" + tag : ALL;
+
+        FlowTimes merged = FlowTimes.empty();
+        if (dayFlow.isEmpty()) return merged;
+
+        // Clamp open-ended windows to the days that have completions
+        long lo = Math.max(from.toEpochDay(), dayFlow.firstKey());
+        long hi = Math.min(to.toEpochDay(), dayFlow.lastKey());
+        if (lo > hi) return merged;
+
+        for (long month = monthOf((int) lo); month <= hi; ) {
+            long next = LocalDate.ofEpochDay(month).plusMonths(1).toEpochDay();
+            if (month >= lo && next - 1 <= hi) {
+                mergeInto(merged, monthFlow.get((int) month), key);
+            } else {
+                long start = Math.max(month, lo), end = Math.min(next - 1, hi);
+                for (Map<String, FlowTimes> day : dayFlow.subMap((int) start, true, (int) end, true).values()) {
+                    mergeInto(merged, day, key);
+                }
+            }
+            month = next;
+        }
+        return merged;
+    }
+
+    private static void mergeInto(FlowTimes target, Map<String, FlowTimes> bucket, String key) {
+        if (bucket == null) return;
+        FlowTimes times = bucket.get(key);
+        if (times != null) target.merge(times);
+    }
+
+    /** The most frequent tag (earliest on a tie), or "None". */
+    public static String topTag(Map<String, Integer> freq) {
+        String best = "None";
+        int max = 0;
+        for (Map.Entry<String, Integer> e : freq.entrySet()) {
+            if (e.getValue() > max) {
+                best = e.getKey();
+                max  = e.getValue();
+            }
+        }
+        return best;
+    }
+
+    // ================================================================
+    // SHARED SCORING
+    // ================================================================
+
+    /** Days since the task's last event, or since it was created if it has none. */
+    public long idleDays(Task task, LocalDate today) {
+        LocalDate last = lastChange(task.getId());
+        if (last == null) last = task.getCreatedDate() != null ? task.getCreatedDate() : today;
+        return ChronoUnit.DAYS.between(last, today);
+    }
+
+    public static boolean isStagnant(Task task, long idleDays) {
+        return task.getStatus() != TaskStatus.DONE && idleDays > STAGNANT_DAYS;
+    }
+
+    /** Tasks not DONE with no event for more than {@link #STAGNANT_DAYS} days. */
+    public long stagnant(Collection<Task> tasks, LocalDate today) {
+        long count = 0;
+        for (Task task : tasks) {
+            if (isStagnant(task, idleDays(task, today))) count++;
+        }
+        return count;
+    }
+
+    public static double completionRate(int done, int total) {
+        return total == 0 ? 0 : done * 100.0 / total;
+    }
+
+    /** Half completion rate, plus 4 points per task closed in the week (max 40), minus 5 per stagnant task. */
+    public static double productivityScore(double completionRate, int completedInWeek, long stagnant) {
+        double velocity = Math.min(completedInWeek * 10.0, 100);
+        double score = completionRate * 0.5 + velocity * 0.4 - stagnant * 5.0;
+        return Math.max(0, Math.min(100, score));
+    }
+
+    // ================================================================
+    // APPEND PATH
+    // ================================================================
+
+    /**
+     * Called by WorkLogAppender, under the ProjectLock, after an entry was
+     * written to {@code logFile}. Applies its events and advances the
+     * file's stamp — but only if the totals were current for the state
+     * before the write.
+     */
+    static void recordAppend(Path logFile, long sizeBefore, long modifiedBefore, List<TaskEvent> events) {
+        Path key = logFile.toAbsolutePath().normalize();
+        forNotes(WorkLogReader.notesDir(key)).append(key, sizeBefore, modifiedBefore, events);
+    }
+
+    private synchronized void append(Path logFile, long sizeBefore, long modifiedBefore, List<TaskEvent> events) {
+        try {
+            String name = nameOf(logFile);
+            BasicFileAttributes after = Files.readAttributes(logFile, BasicFileAttributes.class);
+            long[] stamp = {after.size(), after.lastModifiedTime().toMillis()};
+
+            StringBuilder lines = new StringBuilder();
+            for (TaskEvent event : events) appendEvent(lines, event);
+            appendStamp(lines, name, stamp);
+
+            boolean inMemory = loaded && (!persistent || checkpointUnchanged());
+            if (inMemory) {
+                long[] before = stamps.get(name);
+                if (before == null || before[0] != sizeBefore || before[1] != modifiedBefore) return;
+
+                for (TaskEvent event : events) apply(event);
+                stamps.put(name, stamp);
+                if (!persistent) return;
+
+                appendedLines += events.size() + 1;
+                if (appendedLines > snapshotLines + COMPACT_SLACK) {
+                    writeSnapshot();
+                } else {
+                    Files.writeString(checkpoint, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                    stampCheckpoint();
+                }
+                return;
+            }
+
+            // Not loaded here (or another process wrote since): the file's last stamp decides
+            if (!persistent || !lastStampIs(name, sizeBefore, modifiedBefore)) return;
+            Files.writeString(checkpoint, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        } catch (IOException | RuntimeException e) {
+            // Derived data — a missed update is repaired by the next rebuild
+        }
+    }
+
+    /** Whether the checkpoint's last L line records {@code name} at this size + mtime. */
+    private boolean lastStampIs(String name, long size, long modified) throws IOException {
+        if (!Files.exists(checkpoint)) return false;
+
+        try (FileChannel ch = FileChannel.open(checkpoint, StandardOpenOption.READ)) {
+            long length = ch.size();
+            int n = (int) Math.min(length, TAIL);
+            ByteBuffer buf = ByteBuffer.allocate(n);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, length - n + buf.position()) < 0) return false;
+            }
+            String tail = new String(buf.array(), StandardCharsets.UTF_8);
+            if (!tail.endsWith("\n")) return false;   // torn append
+
+            int end   = tail.length() - 1;
+            int start = tail.lastIndexOf('\n', end - 1) + 1;
+            if (start == 0 && n < length) return false;
+            String[] cols = tail.substring(start, end).split("\t", -1);
+            return cols.length == 4 && cols[0].equals("L") && cols[1].equals(name)
+                    && Long.parseLong(cols[2]) == size && Long.parseLong(cols[3]) == modified;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // ================================================================
+    // AGGREGATION
+    // ================================================================
+
+    private void apply(TaskEvent event) {
+        List<String> eventTags = event.tags();
+        apply(event.taskId(), (int) event.date().toEpochDay(), event.action(), event.status(),
+                event.priority() == null ? 0 : event.priority(), eventTags.toArray(new String[0]));
+    }
+
+    /**
+     * Folds one event into the totals. Everything here must come out the
+     * same whatever order a day's events arrive in: appends apply them as
+     * they happen, but a rebuild reads the log, where each day's section
+     * lists its entries newest first. So a task's status (and priority)
+     * is taken from its latest event by day, then by lifecycle rank —
+     * created, reopened, started, completed — then by status. A task
+     * that went through DONE and back within one day reads as its
+     * furthest stage that day; the next day's event settles it.
+     */
+    private void apply(int taskId, int day, String action, String status, int priority, String[] eventTags) {
+        if (taskId < 0) return;
+
+        TaskState t = tasks.computeIfAbsent(taskId, k -> new TaskState());
+        t.last = Math.max(t.last, day);
+        if (status != null) {
+            int rank = lifecycleRank(action);
+            if (day > t.statusDay || day == t.statusDay
+                    && (rank > t.statusRank || rank == t.statusRank && statusOrder(status) >= statusOrder(t.status))) {
+                t.status     = status;
+                t.statusDay  = day;
+                t.statusRank = rank;
+                if (priority != 0) t.priority = priority;
+            }
+        } else if (priority != 0 && t.priority == 0) {
+            t.priority = priority;
+        }
+
+        int column = -1;
+        if (action != null) {
+            switch (action) {
+                case "created" -> {
+                    created++;
+                    t.created = Math.max(t.created, day);
+                    column = CREATED;
+                }
+                case "completed" -> {
+                    completed++;
+                    recordFlow(t, day, eventTags);
+                    t.completed = Math.max(t.completed, day);
+                    column = COMPLETED;
+                }
+                case "started" -> {
+                    t.started = Math.max(t.started, day);
+                    column = STARTED;
+                }
+                case "reopened" -> {
+                    // Reopened straight into progress restarts the cycle clock;
+                    // reopened to OPEN stops it, unless it was restarted that day
+                    if ("IN_PROGRESS".equals(status)) t.started = Math.max(t.started, day);
+                    else if (t.started < day) t.started = NONE;
+                    column = REOPENED;
+                }
+                default -> { }
+            }
+        }
+
+        int week = weekOf(day), month = monthOf(day);
+        count(row(days, day), column);
+        count(row(weeks, week), column);
+        count(row(months, month), column);
+
+        for (String tag : eventTags) {
+            tags.merge(tag, 1, Integer::sum);
+            count(row(dayTags, day, tag), column);
+            count(row(weekTags, week, tag), column);
+            count(row(monthTags, month, tag), column);
+        }
+    }
+
+    private static int lifecycleRank(String action) {
+        if (action == null) return 0;
+        return switch (action) {
+            case "reopened" -> 1;
+            case "started" -> 2;
+            case "completed" -> 3;
+            default -> 0;
+        };
+    }
+
+    private static int statusOrder(String status) {
+        if (status == null) return -1;
+        try {
+            return TaskStatus.valueOf(status).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /** Adds the task's cycle and lead time, ending on {@code day}, to its sketches. */
+    private void recordFlow(TaskState t, int day, String[] eventTags) {
+        int cycle = t.started != NONE && t.started <= day ? day - t.started : -1;
+        int lead  = t.created != NONE && t.created <= day ? day - t.created : -1;
+        if (cycle < 0 && lead < 0) return;
+
+        int month = monthOf(day);
+        recordFlow(day, month, ALL, cycle, lead);
+        if (t.priority != 0) recordFlow(day, month, "P" + t.priority, cycle, lead);
+        for (String tag : eventTags) recordFlow(day, month, "#" + tag, cycle, lead);
+    }
+
+    private void recordFlow(int day, int month, String key, int cycle, int lead) {
+        for (FlowTimes times : new FlowTimes[]{flow(dayFlow, day, key), flow(monthFlow, month, key)}) {
+            if (cycle >= 0) times.cycle().add(cycle);
+            if (lead >= 0) times.lead().add(lead);
+        }
+    }
+
+    private static FlowTimes flow(TreeMap<Integer, Map<String, FlowTimes>> sketches, int key, String dimension) {
+        return sketches.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                       .computeIfAbsent(dimension, k -> FlowTimes.empty());
+    }
+
+    private static void count(int[] row, int column) {
+        row[EVENTS]++;
+        if (column >= 0) row[column]++;
+    }
+
+    private static int[] row(TreeMap<Integer, int[]> rows, int key) {
+        return rows.computeIfAbsent(key, k -> new int[COLUMNS]);
+    }
+
+    private static int[] row(TreeMap<Integer, Map<String, int[]>> rows, int key, String tag) {
+        return rows.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                   .computeIfAbsent(tag, k -> new int[COLUMNS]);
+    }
+
+    /** Adds a stored day row into its week and month rows. */
+    private static void addInto(int[] target, int[] row) {
+        for (int i = 0; i < COLUMNS; i++) target[i] += row[i];
+    }
+
+    /** The Monday of the day's ISO week; epoch day 0 was a Thursday. */
+    private static int weekOf(int day) {
+        return day - Math.floorMod(day + 3, 7);
+    }
+
+    private int monthOf(int day) {
+        if (day != monthDay) {
+            monthStart = (int) LocalDate.ofEpochDay(day).withDayOfMonth(1).toEpochDay();
+            monthDay   = day;
+        }
+        return monthStart;
+    }
+
+    private Set<Integer> idsWithin(LocalDate from, LocalDate to, boolean byCreated) {
+        long lo = from.toEpochDay(), hi = to.toEpochDay();
+        Set<Integer> ids = new HashSet<>();
+        tasks.forEach((id, t) -> {
+            int day = byCreated ? t.created : t.completed;
+            if (day != NONE && day >= lo && day <= hi) ids.add(id);
+        });
+        return ids;
+    }
+
+    private static <V> SortedMap<Integer, V> range(TreeMap<Integer, V> map, LocalDate from, LocalDate to) {
+        long lo = Math.max(from.toEpochDay(), Integer.MIN_VALUE + 1L);
+        long hi = Math.min(to.toEpochDay(), Integer.MAX_VALUE);
+        if (lo > hi) return Collections.emptySortedMap();
+        return map.subMap((int) lo, true, (int) hi, true);
+    }
+
+    private void clear() {
+        tasks.clear();
+        days.clear();
+        weeks.clear();
+        months.clear();
+        tags.clear();
+        dayTags.clear();
+        weekTags.clear();
+        monthTags.clear();
+        dayFlow.clear();
+        monthFlow.clear();
+        stamps.clear();
+        created = completed = 0;
+        loaded = false;
+    }
+
+    /**
+     * Re-derives the totals from TaskEventStore's table. If the log
+     * changes while it is being read, the stamps are left unmatched so the
+     * next call rebuilds again.
+     */
+    private void rebuild() throws IOException {
+        clear();
+
+        WorkLogReader log = WorkLogReader.of(notesDir.resolve(WorkLogReader.LOG_FILE));
+        Map<String, long[]> before = logStamps();
+
+        if (log.exists()) {
+            TaskEventTable events = log.events();
+            byte createdCode   = events.actionCode("created");
+            byte startedCode   = events.actionCode("started");
+            byte completedCode = events.actionCode("completed");
+            byte reopenedCode  = events.actionCode("reopened");
+
+            for (int i = 0; i < events.size(); i++) {
+                byte action = events.action(i);
+                int[] ids = events.tagIds(i);
+                String[] names = new String[ids.length];
+                for (int k = 0; k < ids.length; k++) names[k] = events.tagName(ids[k]);
+
+                String name = action == createdCode ? "created"
+                        : action == startedCode ? "started"
+                        : action == completedCode ? "completed"
+                        : action == reopenedCode ? "reopened"
+                        : null;
+                apply(events.taskId(i), events.epochDay(i), name, events.statusName(events.status(i)),
+                        events.priority(i), names);
+            }
+        }
+
+        stamps.putAll(before);
+        if (!stampsEqual(before, logStamps())) stamps.put("", new long[]{-1, -1});
+        loaded = true;
+
+        if (persistent) writeSnapshot();
+    }
+
+    // ================================================================
+    // LOG STAMPS
+    // ================================================================
+
+    /** Size + mtime of every file of the log, oldest first. */
+    private Map<String, long[]> logStamps() throws IOException {
+        Map<String, long[]> now = new LinkedHashMap<>();
+        for (Path file : WorkLogReader.of(notesDir.resolve(WorkLogReader.LOG_FILE)).files()) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                now.put(nameOf(file), new long[]{attrs.size(), attrs.lastModifiedTime().toMillis()});
+            } catch (NoSuchFileException e) {
+                now.put(nameOf(file), new long[]{-1, -1});
+            }
+        }
+        return now;
+    }
+
+    private String nameOf(Path logFile) {
+        return notesDir.relativize(logFile.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    private static boolean stampsEqual(Map<String, long[]> a, Map<String, long[]> b) {
+        if (a.size() != b.size()) return false;
+        for (Map.Entry<String, long[]> e : a.entrySet()) {
+            if (!Arrays.equals(e.getValue(), b.get(e.getKey()))) return false;
+        }
+        return true;
+    }
+
+    // ================================================================
+    // CHECKPOINT FILE
+    // ================================================================
+
+    private boolean checkpointUnchanged() throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(checkpoint, BasicFileAttributes.class);
+            return attrs.size() == fileSize && attrs.lastModifiedTime().toMillis() == fileModified;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /** Loads the snapshot and replays the lines after it; false if missing or corrupt. */
+    private boolean readCheckpoint() {
+        try {
+            if (loaded && checkpointUnchanged()) return true;
+            clear();
+            if (!Files.exists(checkpoint)) return false;
+
+            BasicFileAttributes attrs = Files.readAttributes(checkpoint, BasicFileAttributes.class);
+            byte[] bytes = Files.readAllBytes(checkpoint);
+
+            int headerEnd = 0;
+            while (headerEnd < bytes.length && bytes[headerEnd] != '\n') headerEnd++;
+            String first = new String(bytes, 0, headerEnd, StandardCharsets.UTF_8);
+            String[] header = first.split(" ");
+            if (header.length != 5 || !first.startsWith(MAGIC + " ")) return false;
+            int count  = Integer.parseInt(header[2]);
+            int length = Integer.parseInt(header[3]);
+            if (headerEnd + 1 + length > bytes.length) return false;
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes, headerEnd + 1, length);
+            if (crc.getValue() != Long.parseLong(header[4], 16)) return false;
+
+            String text = new String(bytes, headerEnd + 1, bytes.length - headerEnd - 1, StandardCharsets.UTF_8);
+            int lines = 0;
+            for (int from = 0, to; from < text.length(); from = to + 1, lines++) {
+                to = text.indexOf('\n', from);
+                if (to < 0) return false;   // torn append
+                readLine(new Fields(text, from, to));
+            }
+            if (lines < count) return false;
+
+            snapshotLines = count;
+            appendedLines = lines - count;
+            fileSize      = attrs.size();
+            fileModified  = attrs.lastModifiedTime().toMillis();
+            loaded = true;
+            return true;
+
+        } catch (Exception e) {
+            clear();
+            return false; // corrupt checkpoint → rebuild from the log
+        }
+    }
+
+    private void readLine(Fields f) {
+        char kind = f.kind();
+        switch (kind) {
+            case 'C' -> {
+                created   = f.nextInt();
+                completed = f.nextInt();
+            }
+            case 'K' -> {
+                TaskState t = new TaskState();
+                int id      = f.nextInt();
+                t.created   = f.nextDay();
+                t.completed = f.nextDay();
+                t.last      = f.nextDay();
+                t.started   = f.nextDay();
+                t.priority  = f.nextInt();
+                t.status    = f.nextOrNull();
+                t.statusDay  = f.nextDay();
+                t.statusRank = f.nextInt();
+                tasks.put(id, t);
+            }
+            case 'D' -> {
+                int day = f.nextInt();
+                int[] row = f.nextRow();
+                days.put(day, row);
+                addInto(row(weeks, weekOf(day)), row);
+                addInto(row(months, monthOf(day)), row);
+            }
+            case 'T' -> tags.put(f.next(), f.nextInt());
+            case 'G' -> {
+                int day = f.nextInt();
+                int week = weekOf(day), month = monthOf(day);
+                while (f.hasNext()) {
+                    String tag = f.next();
+                    int[] row = f.nextRow();
+                    dayTags.computeIfAbsent(day, k -> new LinkedHashMap<>()).put(tag, row);
+                    addInto(row(weekTags, week, tag), row);
+                    addInto(row(monthTags, month, tag), row);
+                }
+            }
+            case 'F' -> {
+                int day = f.nextInt();
+                String key = f.next();
+                FlowTimes times = new FlowTimes(DurationSketch.decode(f.next()), DurationSketch.decode(f.next()));
+                dayFlow.computeIfAbsent(day, k -> new LinkedHashMap<>()).put(key, times);
+                flow(monthFlow, monthOf(day), key).merge(times);
+            }
+            case 'L' -> stamps.put(f.next(), new long[]{f.nextLong(), f.nextLong()});
+            case 'E' -> {
+                int id = f.nextInt(), day = f.nextInt();
+                String action = f.nextOrNull(), status = f.nextOrNull();
+                int priority = f.nextInt();
+                String list = f.next();
+                apply(id, day, action, status, priority, list.isEmpty() ? new String[0] : list.split(","));
+            }
+            default -> throw new IllegalArgumentException("Unknown line: " + kind);
+        }
+        if (f.hasNext()) throw new IllegalArgumentException("Extra fields on " + kind + " line");
+    }
+
+    /**
+     * Tab-separated fields of one line, read in order without splitting
+     * it: a checkpoint is thousands of short lines, and on a cold JVM
+     * String.split per line costs more than reading the file.
+     */
+    private static final class Fields {
+        private final String text;
+        private final int end;
+        private int pos;
+
+        Fields(String text, int start, int end) {
+            this.text = text;
+            this.end  = end;
+            this.pos  = start;
+        }
+
+        char kind() {
+            if (end - pos < 2 || text.charAt(pos + 1) != '\t') throw new IllegalArgumentException("Bad line");
+            char kind = text.charAt(pos);
+            pos += 2;
+            return kind;
+        }
+
+        boolean hasNext() {
+            return pos <= end;
+        }
+
+        private int fieldEnd() {
+            if (pos > end) throw new IllegalArgumentException("Missing field");
+            int tab = text.indexOf('\t', pos);
+            return tab < 0 || tab > end ? end : tab;
+        }
+
+        String next() {
+            int to = fieldEnd();
+            String field = text.substring(pos, to);
+            pos = to + 1;
+            return field;
+        }
+
+        String nextOrNull() {
+            String field = next();
+            return field.equals("-") ? null : field;
+        }
+
+        long nextLong() {
+            int to = fieldEnd();
+            long value = Long.parseLong(text, pos, to, 10);
+            pos = to + 1;
+            return value;
+        }
+
+        int nextInt() {
+            return Math.toIntExact(nextLong());
+        }
+
+        int[] nextRow() {
+            int[] row = new int[COLUMNS];
+            for (int i = 0; i < COLUMNS; i++) row[i] = nextInt();
+            return row;
+        }
+
+        int nextDay() {
+            if (text.startsWith("-", pos) && fieldEnd() == pos + 1) {
+                pos += 2;
+                return NONE;
+            }
+            return nextInt();
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        StringBuilder body = new StringBuilder();
+        body.append("C\t").append(created).append('\t').append(completed).append('\n');
+        for (Map.Entry<Integer, TaskState> e : new TreeMap<>(tasks).entrySet()) {
+            TaskState t = e.getValue();
+            body.append("K\t").append(e.getKey())
+                .append('\t').append(t.created == NONE ? "-" : String.valueOf(t.created))
+                .append('\t').append(t.completed == NONE ? "-" : String.valueOf(t.completed))
+                .append('\t').append(t.last == NONE ? "-" : String.valueOf(t.last))
+                .append('\t').append(t.started == NONE ? "-" : String.valueOf(t.started))
+                .append('\t').append(t.priority)
+                .append('\t').append(t.status == null ? "-" : t.status)
+                .append('\t').append(t.statusDay == NONE ? "-" : String.valueOf(t.statusDay))
+                .append('\t').append(t.statusRank).append('\n');
+        }
+        days.forEach((day, row) -> {
+            body.append("D\t").append(day);
+            appendRow(body, row);
+            body.append('\n');
+        });
+        tags.forEach((tag, n) -> body.append("T\t").append(tag).append('\t').append(n).append('\n'));
+        dayTags.forEach((day, forDay) -> {
+            body.append("G\t").append(day);
+            forDay.forEach((tag, row) -> appendRow(body.append('\t').append(tag), row));
+            body.append('\n');
+        });
+        int[] flowLines = {0};
+        dayFlow.forEach((day, forDay) -> forDay.forEach((key, times) -> {
+            body.append("F\t").append(day).append('\t').append(key)
+                .append('\t').append(times.cycle().encode())
+                .append('\t').append(times.lead().encode()).append('\n');
+            flowLines[0]++;
+        }));
+        // Stamps last: an appender in another process only reads the final line
+        stamps.forEach((name, stamp) -> appendStamp(body, name, stamp));
+
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        int count = 1 + tasks.size() + days.size() + tags.size() + dayTags.size() + flowLines[0] + stamps.size();
+
+        Files.createDirectories(notesDir);
+        Path tmp = checkpoint.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            out.write((MAGIC + " " + count + " " + bytes.length + " " + Long.toHexString(crc.getValue()) + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.write(bytes);
+        }
+        try {
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        snapshotLines = count;
+        appendedLines = 0;
+        stampCheckpoint();
+    }
+
+    private void stampCheckpoint() throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(checkpoint, BasicFileAttributes.class);
+        fileSize     = attrs.size();
+        fileModified = attrs.lastModifiedTime().toMillis();
+    }
+
+    private static void appendEvent(StringBuilder sb, TaskEvent event) {
+        sb.append("E\t").append(event.taskId())
+          .append('\t').append(event.date().toEpochDay())
+          .append('\t').append(event.action() == null ? "-" : event.action())
+          .append('\t').append(event.status() == null ? "-" : event.status())
+          .append('\t').append(event.priority() == null ? 0 : event.priority())
+          .append('\t').append(String.join(",", event.tags())).append('\n');
+    }
+
+    private static void appendRow(StringBuilder sb, int[] row) {
+        for (int n : row) sb.append('\t').append(n);
+    }
+
+    private static void appendStamp(StringBuilder sb, String name, long[] stamp) {
+        sb.append("L\t").append(name).append('\t').append(stamp[0]).append('\t').append(stamp[1]).append('\n');
+    }
+}
@@ -0,0 +1,506 @@
+package com.workctl.core.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Line-at-a-time lexer for the Markdown files workctl writes: tasks.md,
+ * meetings, interviews, workflows, command and prep-topic lists.
+ *
+ * Each call to {@link #next} moves to the next line and classifies it as a
+ * {@link Token}. The lexer never copies a line: positions are offsets into
+ * the text it was given, and the helpers compare, search and parse numbers
+ * and dates in place. A parser only allocates the strings it keeps
+ * (titles, ids, description lines).
+ *
+ * Lines split the way {@link String#lines} splits them (\n, \r\n or \r; no
+ * empty line after a final terminator), so porting a parser from
+ * {@code lines()} or {@code Files.readAllLines} does not change which lines
+ * it sees. Trimming follows {@link String#trim}.
+ *
+ * Key=value searches match the regex finds the parsers used before: the
+ * first occurrence of {@code key=} whose value is non-empty under the
+ * given {@link Chars} class, with no word boundary before the key.
+ *
+ * Code fences are reported, not enforced: lines between two ``` lines are
+ * classified as usual and flagged by {@link #inFence}. The existing
+ * formats never relied on fences to hide structure, and a fence left open
+ * by a hand edit must not swallow the rest of the file.
+ */
+public final class MarkdownLexer {
+
+    public enum Token {
+        /** Empty or whitespace-only line. */
+        BLANK,
+        /** "#" to "######" at column 0 followed by a space; see {@link #level}. */
+        HEADING,
+        /** "- [c]" or "N. [c]" after leading whitespace; see {@link #mark}, {@link #number}. */
+        CHECKBOX,
+        /** A line whose trimmed text starts with "<!--". */
+        METADATA,
+        /** A line indented by four or more spaces that is none of the above. */
+        CONTINUATION,
+        /** A line starting with ```. */
+        FENCE,
+        /** Anything else. */
+        TEXT
+    }
+
+    /** Value classes, named after the regex they replace. */
+    public enum Chars {
+        /** \d */
+        DIGIT,
+        /** \s */
+        SPACE,
+        /** [\w-] */
+        WORD_OR_DASH,
+        /** \w */
+        WORD,
+        /** \S */
+        NON_SPACE,
+        /** [^\s>] */
+        ATTRIBUTE,
+        /** [A-Z] */
+        UPPER,
+        /** [A-Z_] */
+        UPPER_OR_UNDERSCORE;
+
+        boolean accepts(char c) {
+            return switch (this) {
+                case DIGIT               -> isDigit(c);
+                case SPACE               -> isSpace(c);
+                case WORD_OR_DASH        -> isWord(c) || c == '-';
+                case WORD                -> isWord(c);
+                case NON_SPACE           -> !isSpace(c);
+                case ATTRIBUTE           -> !isSpace(c) && c != '>';
+                case UPPER               -> c >= 'A' && c <= 'Z';
+                case UPPER_OR_UNDERSCORE -> (c >= 'A' && c <= 'Z') || c == '_';
+            };
+        }
+    }
+
+    private final CharSequence text;
+    private int pos;
+
+    private int start, end;            // current line, without its terminator
+    private int textStart, textEnd;    // current line, trimmed
+    private Token token;
+    private int level;                 // HEADING
+    private char mark;                 // CHECKBOX
+    private int number;                // CHECKBOX, -1 for "- [c]"
+    private int contentStart;          // after "# " of a HEADING, after "]" of a CHECKBOX
+    private boolean inFence;
+
+    public MarkdownLexer(CharSequence text) {
+        this.text = text;
+    }
+
+    // ================================================================
+    // CURSOR
+    // ================================================================
+
+    /** Advances to the next line; false at the end of the text. */
+    public boolean next() {
+        int n = text.length();
+        if (pos >= n) return false;
+
+        start = pos;
+        int i = pos;
+        while (i < n) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') break;
+            i++;
+        }
+        end = i;
+        if (i < n && text.charAt(i) == '\r' && i + 1 < n && text.charAt(i + 1) == '\n') i++;
+        pos = i < n ? i + 1 : n;
+
+        textStart = start;
+        while (textStart < end && text.charAt(textStart) <= ' ') textStart++;
+        textEnd = end;
+        while (textEnd > textStart && text.charAt(textEnd - 1) <= ' ') textEnd--;
+
+        classify();
+        return true;
+    }
+
+    private void classify() {
+        level = 0;
+        mark = 0;
+        number = -1;
+        contentStart = textStart;
+
+        if (textStart == textEnd) {
+            token = Token.BLANK;
+            return;
+        }
+        if (startsWith("```")) {
+            inFence = !inFence;
+            token = Token.FENCE;
+            return;
+        }
+
+        int hashes = 0;
+        while (start + hashes < end && text.charAt(start + hashes) == '#') hashes++;
+        if (hashes >= 1 && hashes <= 6 && start + hashes < end && text.charAt(start + hashes) == ' ') {
+            token = Token.HEADING;
+            level = hashes;
+            contentStart = start + hashes + 1;
+            return;
+        }
+
+        if (startsWithAt(textStart, "<!--")) {
+            token = Token.METADATA;
+            return;
+        }
+
+        int box = -1;
+        if (startsWithAt(textStart, "- [")) {
+            box = textStart + 2;
+        } else {
+            int d = textStart;
+            while (d < textEnd && isDigit(text.charAt(d))) d++;
+            if (d > textStart && startsWithAt(d, ". [")) box = d + 2;
+        }
+        if (box >= 0 && box + 2 < textEnd && text.charAt(box + 2) == ']') {
+            token = Token.CHECKBOX;
+            mark = text.charAt(box + 1);
+            if (text.charAt(textStart) != '-') {
+                try {
+                    number = Integer.parseInt(text, textStart, box - 2, 10);
+                } catch (NumberFormatException e) {
+                    number = Integer.MAX_VALUE;
+                }
+            }
+            contentStart = box + 3;
+            return;
+        }
+
+        token = startsWith("    ") ? Token.CONTINUATION : Token.TEXT;
+    }
+
+    public Token token() {
+        return token;
+    }
+
+    /** Heading level, 1 to 6. */
+    public int level() {
+        return level;
+    }
+
+    /** The character between the checkbox brackets. */
+    public char mark() {
+        return mark;
+    }
+
+    /** The item number of an "N. [c]" checkbox, -1 for "- [c]". */
+    public int number() {
+        return number;
+    }
+
+    /** Whether the current line lies between two code fences. */
+    public boolean inFence() {
+        return inFence && token != Token.FENCE;
+    }
+
+    /** Start of the current line. */
+    public int start() {
+        return start;
+    }
+
+    /** End of the current line, before its terminator. */
+    public int end() {
+        return end;
+    }
+
+    /** First character after leading whitespace. */
+    public int textStart() {
+        return textStart;
+    }
+
+    /** End of the line without trailing whitespace. */
+    public int textEnd() {
+        return textEnd;
+    }
+
+    /** Start of a heading's title or a checkbox's text; {@link #textStart} for other tokens. */
+    public int contentStart() {
+        return contentStart;
+    }
+
+    /** Number of leading whitespace characters. */
+    public int indent() {
+        return textStart - start;
+    }
+
+    // ================================================================
+    // IN-PLACE HELPERS
+    // ================================================================
+
+    public char charAt(int i) {
+        return text.charAt(i);
+    }
+
+    /** Whether the raw line starts with {@code prefix}. */
+    public boolean startsWith(String prefix) {
+        return prefix.length() <= end - start && startsWithAt(start, prefix);
+    }
+
+    /** Whether the trimmed line starts with {@code prefix}. */
+    public boolean textStartsWith(String prefix) {
+        return prefix.length() <= textEnd - textStart && startsWithAt(textStart, prefix);
+    }
+
+    /** Whether {@code s} occurs at {@code at} without running past the current line. */
+    public boolean startsWithAt(int at, String s) {
+        if (at < 0 || at + s.length() > end) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (text.charAt(at + i) != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** Whether the trimmed line ends with {@code suffix}. */
+    public boolean textEndsWith(String suffix) {
+        int at = textEnd - suffix.length();
+        return at >= textStart && startsWithAt(at, suffix);
+    }
+
+    /** Whether the trimmed content of a heading equals {@code title}. */
+    public boolean titleEquals(String title) {
+        int s = trimStart(contentStart, textEnd);
+        return textEnd - s == title.length() && startsWithAt(s, title);
+    }
+
+    /** First index of {@code s} in [from, to), or -1. */
+    public int indexOf(String s, int from, int to) {
+        int last = to - s.length();
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < s.length(); j++) {
+                if (text.charAt(i + j) != s.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /** First index of {@code s} on the current line, or -1. */
+    public int indexOf(String s) {
+        return indexOf(s, start, end);
+    }
+
+    /** First non-whitespace index in [from, to), or {@code to}. */
+    public int trimStart(int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') from++;
+        return from;
+    }
+
+    /** End of [from, to) without trailing whitespace. */
+    public int trimEnd(int from, int to) {
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+        return to;
+    }
+
+    /** End of the run of {@code chars} starting at {@code from}, within the current line. */
+    public int runEnd(int from, Chars chars) {
+        int i = from;
+        while (i < end && chars.accepts(text.charAt(i))) i++;
+        return i;
+    }
+
+    /** [from, to) as a String — the one copy a parser makes of text it keeps. */
+    public String string(int from, int to) {
+        return text.subSequence(from, to).toString();
+    }
+
+    /** [from, to) trimmed, as a String. */
+    public String trimmed(int from, int to) {
+        if (from >= to) return "";
+        int s = trimStart(from, to);
+        return string(s, trimEnd(s, to));
+    }
+
+    /** The current line as a String. */
+    public String line() {
+        return string(start, end);
+    }
+
+    /** The trimmed current line as a String. */
+    public String text() {
+        return string(textStart, textEnd);
+    }
+
+    /** Heading title or checkbox text, trimmed, as a String. */
+    public String content() {
+        return trimmed(contentStart, textEnd);
+    }
+
+    /** Appends [from, to) to {@code sb} without an intermediate String. */
+    public StringBuilder appendTo(StringBuilder sb, int from, int to) {
+        return sb.append(text, from, to);
+    }
+
+    // ================================================================
+    // KEY=VALUE
+    // ================================================================
+
+    /**
+     * Start of the value after the first {@code prefix} in [from, to) that
+     * is followed by at least one character of {@code chars}, or -1. The
+     * value runs to {@link #runEnd}. Prefixes carry their "=" ("id=").
+     */
+    public int find(String prefix, Chars chars, int from, int to) {
+        int i = from;
+        while ((i = indexOf(prefix, i, to)) >= 0) {
+            int v = i + prefix.length();
+            if (v < to && chars.accepts(text.charAt(v))) return v;
+            i++;
+        }
+        return -1;
+    }
+
+    /** The value after {@code prefix} on the current line as a String, or null. */
+    public String value(String prefix, Chars chars) {
+        return value(prefix, chars, start, end);
+    }
+
+    /** The value after {@code prefix} in [from, to) as a String, or null. */
+    public String value(String prefix, Chars chars, int from, int to) {
+        int v = find(prefix, chars, from, to);
+        if (v < 0) return null;
+        int e = v;
+        while (e < to && chars.accepts(text.charAt(e))) e++;
+        return string(v, e);
+    }
+
+    /**
+     * Start of the date after the first {@code prefix} in [from, to) that
+     * is followed by yyyy-MM-dd, or -1 — the regex
+     * {@code prefix(\d{4}-\d{2}-\d{2})}.
+     */
+    public int findDate(String prefix, int from, int to) {
+        int i = from;
+        while ((i = indexOf(prefix, i, to)) >= 0) {
+            int v = i + prefix.length();
+            if (isDateShape(v, to)) return v;
+            i++;
+        }
+        return -1;
+    }
+
+    /** Start of the time after the first {@code prefix} in [from, to) followed by HH:mm, or -1. */
+    public int findTime(String prefix, int from, int to) {
+        int i = from;
+        while ((i = indexOf(prefix, i, to)) >= 0) {
+            int v = i + prefix.length();
+            if (isTimeShape(v, to)) return v;
+            i++;
+        }
+        return -1;
+    }
+
+    /** Start of the first {@code prefix} + yyyy-MM-ddTHH:mm:ss in [from, to), or -1. */
+    public int findDateTime(String prefix, int from, int to) {
+        int i = from;
+        while ((i = indexOf(prefix, i, to)) >= 0) {
+            int v = i + prefix.length();
+            if (isDateShape(v, to) && v + 19 <= to && text.charAt(v + 10) == 'T'
+                    && isTimeShape(v + 11, to) && text.charAt(v + 16) == ':'
+                    && isDigit(text.charAt(v + 17)) && isDigit(text.charAt(v + 18))) {
+                return v;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Start of the body of the first {@code open ... -->} comment in
+     * [from, to) whose body is non-empty and has no '>', or -1 — the regex
+     * {@code open([^>]+)-->}. The body ends at {@link #commentEnd}.
+     */
+    public int findComment(String open, int from, int to) {
+        int i = from;
+        while ((i = indexOf(open, i, to)) >= 0) {
+            int b = i + open.length();
+            int e = commentEnd(b, to);
+            if (e > b) return b;
+            i++;
+        }
+        return -1;
+    }
+
+    /** End of a comment body starting at {@code body}: the "-->" at the first '>', or -1. */
+    public int commentEnd(int body, int to) {
+        int gt = body;
+        while (gt < to && text.charAt(gt) != '>') gt++;
+        if (gt == to || gt - 2 < body || text.charAt(gt - 1) != '-' || text.charAt(gt - 2) != '-') return -1;
+        return gt - 2;
+    }
+
+    /**
+     * The yyyy-MM-dd at {@code at}. Assumes a position found by {@link #findDate}; throws
+     * DateTimeException for an impossible date, as LocalDate.parse would.
+     */
+    public LocalDate date(int at) {
+        return LocalDate.of(digits(at, 4), digits(at + 5, 2), digits(at + 8, 2));
+    }
+
+    /** The date after {@code prefix} in [from, to), or null if there is none. */
+    public LocalDate date(String prefix, int from, int to) {
+        int v = findDate(prefix, from, to);
+        return v < 0 ? null : date(v);
+    }
+
+    /** The yyyy-MM-ddTHH:mm:ss at {@code at}, checked by {@link #findDateTime}. */
+    public LocalDateTime dateTime(int at) {
+        return date(at).atTime(digits(at + 11, 2), digits(at + 14, 2), digits(at + 17, 2));
+    }
+
+    /** Whether [at, at + 10) within {@code to} reads dddd-dd-dd. */
+    private boolean isDateShape(int at, int to) {
+        if (at + 10 > to) return false;
+        for (int i = 0; i < 10; i++) {
+            char c = text.charAt(at + i);
+            if (i == 4 || i == 7 ? c != '-' : !isDigit(c)) return false;
+        }
+        return true;
+    }
+
+    /** Whether [at, at + 5) within {@code to} reads dd:dd. */
+    private boolean isTimeShape(int at, int to) {
+        return at + 5 <= to && isDigit(text.charAt(at)) && isDigit(text.charAt(at + 1))
+                && text.charAt(at + 2) == ':' && isDigit(text.charAt(at + 3)) && isDigit(text.charAt(at + 4));
+    }
+
+    /** The non-negative decimal in [at, at + count); digits are not checked. */
+    public int digits(int at, int count) {
+        int v = 0;
+        for (int i = at; i < at + count; i++) v = v * 10 + (text.charAt(i) - '0');
+        return v;
+    }
+
+    /** Integer.parseInt of [from, to), without copying. */
+    public int parseInt(int from, int to) {
+        return Integer.parseInt(text, from, to, 10);
+    }
+
+    // ================================================================
+    // CHARACTER CLASSES
+    // ================================================================
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** \w in Java's default (ASCII) mode. */
+    static boolean isWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    /** \s in Java's default mode. */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,128 @@
+package com.workctl.core.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive write lock for one project's notes/ directory, shared by every
+ * workctl process (CLI, GUI, agent) on the machine.
+ *
+ * Two layers:
+ *   1. a ReentrantLock per directory — serializes threads in this JVM
+ *      (FileChannel locks are per-process and cannot do that)
+ *   2. a FileChannel lock on notes/.lock — serializes processes
+ *
+ * Re-entrant: a thread already holding the lock (e.g. a task update that
+ * then appends to the work log) just bumps the hold count. Locks for
+ * different projects are independent. Workspace-wide sidecars under
+ * .workctl/ (facets.idx) take the same lock on that directory.
+ *
+ *   ProjectLock.with(notesDir, () -> {
+ *       ... read, modify, write ...
+ *   });
+ *
+ * The lock guards files, not an object the body uses, so it is only
+ * reachable through with(): no caller holds a handle that could leak or
+ * be released twice.
+ */
+public final class ProjectLock {
+
+    public static final String LOCK_FILE = ".lock";
+
+    private static final class Holder {
+        final ReentrantLock threads = new ReentrantLock();
+        FileChannel channel;
+        FileLock fileLock;
+    }
+
+    /** Work done while holding the lock; returns its result. */
+    @FunctionalInterface
+    public interface Body<T> {
+        T run() throws IOException;
+    }
+
+    /** {@link Body} without a result. */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws IOException;
+    }
+
+    private static final ConcurrentMap<Path, Holder> HOLDERS = new ConcurrentHashMap<>();
+
+    private final Holder holder;
+    private boolean released;
+
+    private ProjectLock(Holder holder) {
+        this.holder = holder;
+    }
+
+    /** Runs {@code body} holding the lock for {@code notesDir} and returns its result. */
+    public static <T> T with(Path notesDir, Body<T> body) throws IOException {
+        ProjectLock lock = acquire(notesDir);
+        try {
+            return body.run();
+        } finally {
+            lock.release();
+        }
+    }
+
+    /** Runs {@code body} holding the lock for {@code notesDir}. */
+    public static void with(Path notesDir, Action body) throws IOException {
+        with(notesDir, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /** Blocks until this thread owns the lock for {@code notesDir}. */
+    private static ProjectLock acquire(Path notesDir) throws IOException {
+        Path key = notesDir.toAbsolutePath().normalize();
+        Holder h = HOLDERS.computeIfAbsent(key, k -> new Holder());
+
+        h.threads.lock();
+        if (h.threads.getHoldCount() == 1) {
+            try {
+                Files.createDirectories(key);
+                h.channel  = FileChannel.open(key.resolve(LOCK_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                h.fileLock = h.channel.lock();
+            } catch (IOException | RuntimeException e) {
+                closeChannel(h);
+                h.threads.unlock();
+                throw e;
+            }
+        }
+        return new ProjectLock(h);
+    }
+
+    private void release() {
+        if (released) return;
+        released = true;
+        try {
+            if (holder.threads.getHoldCount() == 1) closeChannel(holder);
+        } finally {
+            holder.threads.unlock();
+        }
+    }
+
+    private static void closeChannel(Holder h) {
+        try {
+            if (h.fileLock != null) h.fileLock.release();
+        } catch (IOException ignored) {
+            // Closing the channel below releases it anyway
+        }
+        try {
+            if (h.channel != null) h.channel.close();
+        } catch (IOException ignored) {
+        }
+        h.fileLock = null;
+        h.channel  = null;
+    }
+}
@@ -0,0 +1,635 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Workspace-wide inverted index over every Markdown file workctl writes.
+ *
+ * Documents are the units a user searches for:
+ *
+ *   log        one "## yyyy-MM-dd" block of a project's work log (work-log.md
+ *              or one of its notes/work-log/ month segments)
+ *   task       one task line (plus its subtasks) in tasks.md
+ *   command    one "## title" entry in a 02_Commands/ category file
+ *   meeting, interview, template, run — one whole file each
+ *
+ * Each source file becomes one {@link SearchSegment}: a sorted term
+ * dictionary with positional postings (which document, and where in it),
+ * kept as bytes and decoded only for the terms a query names. A tag such as
+ * "#backend" is indexed twice at the same position, as "backend" and
+ * "#backend". Text inside <!-- ... --> comments is not indexed.
+ *
+ * Segments are kept per source directory in .workctl/search/, one .seg
+ * file per directory, e.g. a project's notes/ or 03_Meetings/. Before
+ * each query every source file is stat'ed. Only files whose size or mtime
+ * changed are read and tokenized again, and only their directory's .seg
+ * file is rewritten.
+ *
+ * Queries are ANDs of clauses. A clause is one term, a prefix ("redi*")
+ * or a phrase (consecutive positions). Results are ranked with BM25 over
+ * the whole workspace.
+ *
+ * With performance.sidecarIndexes=false the segments stay in memory.
+ */
+public final class SearchIndex {
+
+    /** A searchable unit, located by byte range inside its source file. */
+    public record Doc(String kind, String project, String title, String ref,
+                      Path file, long offset, int length) {}
+
+    public record Hit(Doc doc, double score) {}
+
+    /**
+     * One AND-ed part of a query: a single term, a phrase (several terms
+     * at consecutive positions) or, with {@code prefix}, every term that
+     * starts with the single term given.
+     */
+    public record Clause(List<String> terms, boolean prefix) {
+        public Clause {
+            terms = List.copyOf(terms);
+        }
+    }
+
+    private static final int MAGIC   = 0x57435358;   // "WCSX"
+    private static final int VERSION = 2;
+
+    private static final String INDEX_DIR = ".workctl/search";
+
+    private static final double K1 = 1.2;
+    private static final double B  = 0.75;
+
+    private static final int MAX_TOKEN = 64;
+    private static final int MAX_TITLE = 200;
+
+    private static final Pattern LOG_DATE  = Pattern.compile("^## (\\d{4}-\\d{2}-\\d{2})\\s*$");
+    private static final Pattern TASK_LINE = Pattern.compile("^(\\d+)\\. \\[.] (.*)$");
+    private static final Pattern META_ID   = Pattern.compile("<!-- [A-Z_]+: id=([\\w-]+)");
+
+    /** How the files of one source directory are split into documents. */
+    private enum Role { NOTES, COMMANDS, MEETINGS, INTERVIEWS, TEMPLATES, RUNS, SEGMENTS }
+
+    private record Source(Path dir, String project, Role role) {}
+
+    private static final class Group {
+        final Source source;
+        final Map<String, SearchSegment> files = new HashMap<>();
+
+        Group(Source source) {
+            this.source = source;
+        }
+    }
+
+    interface TokenSink {
+        void accept(String token, boolean tag);
+    }
+
+    private static final Map<Path, SearchIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path workspace;
+    private final Path indexDir;
+    private final boolean persistent;
+
+    // Guarded by this
+    private final Map<Path, Group> groups = new HashMap<>();
+    private boolean loaded;
+
+    private SearchIndex(Path workspace, boolean persistent) {
+        this.workspace  = workspace;
+        this.indexDir   = workspace.resolve(INDEX_DIR);
+        this.persistent = persistent;
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    public static SearchIndex forWorkspace(Path workspace) {
+        Path key = workspace.toAbsolutePath().normalize();
+        return INDEXES.computeIfAbsent(key,
+                k -> new SearchIndex(k, ConfigManager.performance().isSidecarIndexes()));
+    }
+
+    /**
+     * Brings the index up to date with the workspace, then returns the
+     * best {@code limit} documents matching every clause. {@code project}
+     * and {@code kinds} narrow the result when non-null.
+     */
+    public synchronized List<Hit> search(List<Clause> clauses, String project,
+                                         Set<String> kinds, int limit) throws IOException {
+        refresh();
+        if (clauses.isEmpty() || limit <= 0) return List.of();
+
+        // Collection statistics come from the whole workspace, so scores
+        // don't shift with the filter
+        long docCount = 0, totalLength = 0;
+        Map<String, Integer> df = new HashMap<>();
+        for (Group g : groups.values()) {
+            for (SearchSegment seg : g.files.values()) {
+                docCount    += seg.docCount();
+                totalLength += seg.totalLength();
+                for (Clause c : clauses) {
+                    expand(seg, c).forEach((term, i) -> df.merge(term, seg.docFreq(i), Integer::sum));
+                }
+            }
+        }
+        if (docCount == 0) return List.of();
+        double avgLength = Math.max(1.0, (double) totalLength / docCount);
+
+        List<Hit> hits = new ArrayList<>();
+        for (Group g : groups.values()) {
+            if (project != null && !project.equals(g.source.project())) continue;
+            for (SearchSegment seg : g.files.values()) {
+                collect(g.source, seg, clauses, kinds, df, docCount, avgLength, hits);
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(h -> h.doc().ref(), Comparator.reverseOrder()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /** Reads a document's text back from its source file. */
+    public static String readText(Doc doc) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(doc.file().toFile(), "r")) {
+            if (doc.offset() + doc.length() > raf.length()) return "";
+            byte[] buf = new byte[doc.length()];
+            raf.seek(doc.offset());
+            raf.readFully(buf);
+            return new String(buf, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Splits text into lower-case letter/digit tokens. Queries use the
+     * same rules as documents, so what was indexed can be found.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        tokenize(text, (token, tag) -> {
+            if (!tag) out.add(token);
+        });
+        return out;
+    }
+
+    // ================================================================
+    // QUERY
+    // ================================================================
+
+    /** The dictionary entries a clause touches in one segment: term → index. */
+    private static Map<String, Integer> expand(SearchSegment seg, Clause c) {
+        Map<String, Integer> out = new HashMap<>();
+        if (c.prefix() && c.terms().size() == 1) {
+            for (int i : seg.findPrefix(c.terms().get(0))) out.put(seg.term(i), i);
+            return out;
+        }
+        for (String t : c.terms()) {
+            int i = seg.find(t);
+            if (i >= 0) out.put(t, i);
+        }
+        return out;
+    }
+
+    private static void collect(Source source, SearchSegment seg, List<Clause> clauses, Set<String> kinds,
+                                Map<String, Integer> df, long docCount, double avgLength,
+                                List<Hit> hits) {
+
+        // Dictionary lookups first: a segment missing any clause is skipped
+        // before a single posting list is decoded
+        List<Map<String, Integer>> expanded = new ArrayList<>(clauses.size());
+        for (Clause c : clauses) {
+            Map<String, Integer> terms = expand(seg, c);
+            boolean phrase = !c.prefix() && c.terms().size() > 1;
+            if (terms.isEmpty() || (phrase && terms.size() < new HashSet<>(c.terms()).size())) return;
+            expanded.add(terms);
+        }
+
+        int n = seg.docCount();
+        double[] scores = new double[n];
+        boolean[] alive = null;
+
+        for (int ci = 0; ci < clauses.size(); ci++) {
+            Clause c = clauses.get(ci);
+            boolean phrase = !c.prefix() && c.terms().size() > 1;
+
+            Map<String, SearchSegment.Postings> postings = new HashMap<>();
+            expanded.get(ci).forEach((term, i) -> postings.put(term, seg.postings(i)));
+
+            boolean[] matched = new boolean[n];
+            if (phrase) markPhrase(c.terms(), postings, matched);
+
+            for (Map.Entry<String, SearchSegment.Postings> e : postings.entrySet()) {
+                double idf = idf(df.getOrDefault(e.getKey(), 0), docCount);
+                SearchSegment.Postings pl = e.getValue();
+                for (int i = 0; i < pl.docs().length; i++) {
+                    int d = pl.docs()[i];
+                    if (phrase && !matched[d]) continue;
+                    matched[d] = true;
+                    int tf = pl.positions()[i].length;
+                    double norm = K1 * (1 - B + B * seg.docLength(d) / avgLength);
+                    scores[d] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            if (alive == null) {
+                alive = matched;
+            } else {
+                boolean any = false;
+                for (int d = 0; d < n; d++) {
+                    alive[d] &= matched[d];
+                    any |= alive[d];
+                }
+                if (!any) return;
+            }
+        }
+
+        if (alive == null) return;
+        Path file = source.dir().resolve(seg.name());
+        for (int d = 0; d < n; d++) {
+            if (!alive[d]) continue;
+            Doc doc = seg.doc(d, file, source.project());
+            if (kinds != null && !kinds.contains(doc.kind())) continue;
+            hits.add(new Hit(doc, scores[d]));
+        }
+    }
+
+    /** Sets matched[d] for documents holding the terms at consecutive positions. */
+    private static void markPhrase(List<String> terms, Map<String, SearchSegment.Postings> postings,
+                                   boolean[] matched) {
+        SearchSegment.Postings first = postings.get(terms.get(0));
+        for (int i = 0; i < first.docs().length; i++) {
+            int d = first.docs()[i];
+            for (int start : first.positions()[i]) {
+                if (phraseAt(terms, postings, d, start)) {
+                    matched[d] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean phraseAt(List<String> terms, Map<String, SearchSegment.Postings> postings,
+                                    int doc, int start) {
+        for (int k = 1; k < terms.size(); k++) {
+            SearchSegment.Postings pl = postings.get(terms.get(k));
+            int idx = Arrays.binarySearch(pl.docs(), doc);
+            if (idx < 0 || Arrays.binarySearch(pl.positions()[idx], start + k) < 0) return false;
+        }
+        return true;
+    }
+
+    private static double idf(int df, long docCount) {
+        return Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+    }
+
+    // ================================================================
+    // REFRESH
+    // ================================================================
+
+    private void refresh() throws IOException {
+        if (!loaded) {
+            loaded = true;
+            loadAll();
+        }
+
+        Set<Path> live = new HashSet<>();
+        for (Source source : sources()) {
+            live.add(source.dir());
+            Group g = groups.computeIfAbsent(source.dir(), d -> new Group(source));
+            if (update(g)) save(g);
+        }
+
+        Iterator<Map.Entry<Path, Group>> it = groups.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Group> e = it.next();
+            if (live.contains(e.getKey())) continue;
+            it.remove();
+            deleteSegmentFile(e.getKey());
+        }
+    }
+
+    /** Re-indexes the group's changed files. Returns true if anything changed. */
+    private boolean update(Group g) throws IOException {
+        Source source = g.source;
+        boolean changed = false;
+        Set<String> present = new HashSet<>();
+
+        try (var stream = Files.list(source.dir())) {
+            for (Path file : stream.toList()) {
+                String name = file.getFileName().toString();
+                if (!accepts(source.role(), name)) continue;
+
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (!attrs.isRegularFile()) continue;
+                present.add(name);
+
+                SearchSegment seg = g.files.get(name);
+                long modified = attrs.lastModifiedTime().toMillis();
+                if (seg != null && seg.size() == attrs.size() && seg.modified() == modified) continue;
+
+                try {
+                    g.files.put(name, build(source.role(), file, name, modified));
+                } catch (NoSuchFileException e) {
+                    g.files.remove(name);
+                }
+                changed = true;
+            }
+        } catch (NoSuchFileException e) {
+            // directory vanished between listing and reading
+        }
+
+        changed |= g.files.keySet().retainAll(present);
+        return changed;
+    }
+
+    /** The directories whose files are indexed, and how to read each. */
+    private List<Source> sources() throws IOException {
+        List<Source> out = new ArrayList<>();
+
+        Path projects = workspace.resolve("01_Projects");
+        if (Files.isDirectory(projects)) {
+            try (var stream = Files.list(projects)) {
+                for (Path p : stream.filter(Files::isDirectory).sorted().toList()) {
+                    String name = p.getFileName().toString();
+                    addIfDir(out, p.resolve("notes"), name, Role.NOTES);
+                    addIfDir(out, p.resolve("notes").resolve(WorkLogReader.SEGMENT_DIR), name, Role.SEGMENTS);
+                    addIfDir(out, p.resolve("workflows"), name, Role.RUNS);
+                }
+            }
+        }
+        addIfDir(out, workspace.resolve("02_Commands"), null, Role.COMMANDS);
+        addIfDir(out, workspace.resolve("03_Meetings"), null, Role.MEETINGS);
+        addIfDir(out, workspace.resolve("05_Interviews"), null, Role.INTERVIEWS);
+        addIfDir(out, workspace.resolve("06_Workflows").resolve("templates"), null, Role.TEMPLATES);
+        addIfDir(out, workspace.resolve("06_Workflows").resolve("runs"), null, Role.RUNS);
+        return out;
+    }
+
+    private static void addIfDir(List<Source> out, Path dir, String project, Role role) {
+        if (Files.isDirectory(dir)) out.add(new Source(dir.toAbsolutePath().normalize(), project, role));
+    }
+
+    private static boolean accepts(Role role, String name) {
+        if (role == Role.NOTES) return name.equals("tasks.md") || name.equals("work-log.md");
+        return name.endsWith(".md") && !name.startsWith(".");
+    }
+
+    // ================================================================
+    // DOCUMENTS
+    // ================================================================
+
+    private static SearchSegment build(Role role, Path file, String name, long modified) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+
+        String kind = switch (role) {
+            case NOTES      -> name.equals("tasks.md") ? "task" : "log";
+            case COMMANDS   -> "command";
+            case MEETINGS   -> "meeting";
+            case INTERVIEWS -> "interview";
+            case TEMPLATES  -> "template";
+            case RUNS       -> "run";
+            case SEGMENTS   -> "log";
+        };
+
+        SearchSegment.Builder b = new SearchSegment.Builder();
+        boolean inComment = false;
+
+        boolean wholeFile = !kind.equals("log") && !kind.equals("task") && !kind.equals("command");
+        boolean titled = false, identified = false;
+        if (wholeFile) {
+            String base = name.replaceFirst("\\.md$", "");
+            b.begin(kind, base, base, 0);
+        }
+
+        StringBuilder text = new StringBuilder();
+        int start = 0;
+        while (start < bytes.length) {
+            int nl = start;
+            while (nl < bytes.length && bytes[nl] != '\n') nl++;
+            int lineEnd = nl < bytes.length ? nl + 1 : nl;
+            String line = new String(bytes, start, nl - start, StandardCharsets.UTF_8);
+            if (line.endsWith("\r")) line = line.substring(0, line.length() - 1);
+
+            if (wholeFile) {
+                // Title and id come from the header: "# Title" and the meta comment
+                if (!titled && line.startsWith("# ")) {
+                    b.retitle(clip(line.substring(2).trim()));
+                    titled = true;
+                }
+                Matcher m = identified ? null : META_ID.matcher(line);
+                if (m != null && m.find()) {
+                    b.reref(m.group(1));
+                    identified = true;
+                }
+            } else {
+                split(kind, line, start, b);
+            }
+
+            text.setLength(0);
+            inComment = stripComments(line, inComment, text);
+            if (b.open()) b.add(text.toString());
+            start = lineEnd;
+        }
+        b.end(bytes.length);
+
+        return b.build(name, bytes.length, modified);
+    }
+
+    /** Ends the open document and/or begins a new one where {@code line} says so. */
+    private static void split(String kind, String line, long offset, SearchSegment.Builder b) {
+        switch (kind) {
+            case "log" -> {
+                Matcher m = LOG_DATE.matcher(line);
+                if (m.matches()) {
+                    b.end(offset);
+                    b.begin(kind, "work log " + m.group(1), m.group(1), offset);
+                }
+            }
+            case "task" -> {
+                Matcher m = TASK_LINE.matcher(line);
+                if (m.matches()) {
+                    String desc = m.group(2).replaceAll("<!--.*?-->", "")
+                            .replaceFirst("^\\(P\\d\\)\\s*", "").trim();
+                    b.end(offset);
+                    b.begin(kind, clip("#" + m.group(1) + " " + desc), m.group(1), offset);
+                } else if (line.isEmpty() || !Character.isWhitespace(line.charAt(0))) {
+                    // Subtasks and notes are indented; anything else ends the task
+                    b.end(offset);
+                }
+            }
+            case "command" -> {
+                if (line.startsWith("## ")) {
+                    String title = clip(line.substring(3).trim());
+                    b.end(offset);
+                    b.begin(kind, title, title, offset);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private static String clip(String title) {
+        return title.length() > MAX_TITLE ? title.substring(0, MAX_TITLE) : title;
+    }
+
+    /** Appends the parts of {@code line} outside <!-- --> to {@code out}; returns whether a comment is still open. */
+    private static boolean stripComments(String line, boolean inComment, StringBuilder out) {
+        int i = 0;
+        while (i < line.length()) {
+            if (inComment) {
+                int close = line.indexOf("-->", i);
+                if (close < 0) return true;
+                i = close + 3;
+                inComment = false;
+            } else {
+                int open = line.indexOf("<!--", i);
+                if (open < 0) {
+                    out.append(line, i, line.length());
+                    return false;
+                }
+                out.append(line, i, open).append(' ');
+                i = open + 4;
+                inComment = true;
+            }
+        }
+        return inComment;
+    }
+
+    static void tokenize(String text, TokenSink sink) {
+        int i = 0, n = text.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i == start || i - start > MAX_TOKEN) continue;
+
+            String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+            sink.accept(token, false);
+            if (start > 0 && text.charAt(start - 1) == '#') sink.accept("#" + token, true);
+        }
+    }
+
+    // ================================================================
+    // PERSISTENCE
+    // ================================================================
+
+    private void loadAll() {
+        if (!persistent || !Files.isDirectory(indexDir)) return;
+        try (var stream = Files.list(indexDir)) {
+            for (Path seg : stream.filter(p -> p.toString().endsWith(".seg")).toList()) {
+                try {
+                    Group g = read(seg);
+                    if (g != null) groups.put(g.source.dir(), g);
+                } catch (IOException | RuntimeException e) {
+                    // unreadable — the refresh re-indexes that directory
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * .seg file: int magic | int version | UTF dir | UTF project | int role
+     * | int files, then per file: UTF name | long size | long modified
+     * | int length | {@link SearchSegment} bytes.
+     */
+    private Group read(Path seg) throws IOException {
+        byte[] all = Files.readAllBytes(seg);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(all));
+
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+
+        Path dir = workspace.resolve(in.readUTF()).normalize();
+        String project = in.readUTF();
+        Role role = Role.values()[in.readInt()];
+        Group g = new Group(new Source(dir, project.isEmpty() ? null : project, role));
+
+        int files = in.readInt();
+        for (int f = 0; f < files; f++) {
+            String name = in.readUTF();
+            long size = in.readLong();
+            long modified = in.readLong();
+            int length = in.readInt();
+
+            // The segment is used in place — nothing is decoded until a query needs it
+            int at = all.length - in.available();
+            ByteBuffer bytes = ByteBuffer.wrap(all, at, length).slice();
+            in.skipNBytes(length);
+
+            g.files.put(name, new SearchSegment(name, size, modified, bytes));
+        }
+        return g;
+    }
+
+    private void save(Group g) {
+        if (!persistent) return;
+        try {
+            Files.createDirectories(indexDir);
+            Path seg = segmentFile(g.source.dir());
+            Path tmp = seg.resolveSibling(seg.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(relative(g.source.dir()));
+                out.writeUTF(g.source.project() == null ? "" : g.source.project());
+                out.writeInt(g.source.role().ordinal());
+
+                out.writeInt(g.files.size());
+                for (SearchSegment s : g.files.values()) {
+                    out.writeUTF(s.name());
+                    out.writeLong(s.size());
+                    out.writeLong(s.modified());
+
+                    ByteBuffer bytes = s.bytes();
+                    out.writeInt(bytes.remaining());
+                    out.write(bytes.array(), bytes.arrayOffset(), bytes.remaining());
+                }
+            }
+
+            try {
+                Files.move(tmp, seg, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, seg, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ignored) {
+            // best-effort — the in-memory segment is still current
+        }
+    }
+
+    private void deleteSegmentFile(Path dir) {
+        if (!persistent) return;
+        try {
+            Files.deleteIfExists(segmentFile(dir));
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** .workctl/search/<crc of the directory's relative path>.seg */
+    private Path segmentFile(Path dir) {
+        CRC32 crc = new CRC32();
+        byte[] rel = relative(dir).getBytes(StandardCharsets.UTF_8);
+        crc.update(rel);
+        return indexDir.resolve(String.format("%08x-%08x.seg", crc.getValue(), Arrays.hashCode(rel)));
+    }
+
+    private String relative(Path abs) {
+        return workspace.relativize(abs).toString().replace('\\', '/');
+    }
+}
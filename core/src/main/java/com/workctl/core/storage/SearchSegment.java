@@ -0,0 +1,355 @@
+package com.workctl.core.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The indexed form of one source file for {@link SearchIndex}: its
+ * documents plus a sorted term dictionary with positional postings, all
+ * in one byte array that is searched in place.
+ *
+ *   int docCount | long totalLength | int termCount
+ *   int[docCount]     token count per document
+ *   int[docCount+1]   offsets into the document table
+ *   document table    per doc: kind, title, ref (u16 length + UTF-8),
+ *                     long offset, int length (byte range in the source)
+ *   int[termCount+1]  offsets into the term bytes
+ *   term bytes        UTF-8, sorted as unsigned bytes
+ *   int[termCount+1]  offsets into the postings
+ *   postings          per term: varint docs, then per doc: varint doc
+ *                     delta, varint freq, varint position deltas
+ *
+ * Loading a segment is just reading the bytes. Only the terms a query
+ * names are looked up (binary search) and decoded, so a process that
+ * runs one search never builds the whole dictionary in memory.
+ */
+final class SearchSegment {
+
+    record Postings(int[] docs, int[][] positions) {}
+
+    private static final int HEADER = 16;
+
+    private final String name;
+    private final long size;
+    private final long modified;
+    private final ByteBuffer buf;
+
+    private final int docCount;
+    private final long totalLength;
+    private final int termCount;
+
+    private final int lengthsAt, docOffsetsAt, docsAt, termOffsetsAt, termsAt, postOffsetsAt, postingsAt;
+
+    SearchSegment(String name, long size, long modified, ByteBuffer buf) {
+        this.name     = name;
+        this.size     = size;
+        this.modified = modified;
+        this.buf      = buf;
+
+        docCount    = buf.getInt(0);
+        totalLength = buf.getLong(4);
+        termCount   = buf.getInt(12);
+
+        lengthsAt     = HEADER;
+        docOffsetsAt  = lengthsAt + 4 * docCount;
+        docsAt        = docOffsetsAt + 4 * (docCount + 1);
+        termOffsetsAt = docsAt + buf.getInt(docOffsetsAt + 4 * docCount);
+        termsAt       = termOffsetsAt + 4 * (termCount + 1);
+        postOffsetsAt = termsAt + buf.getInt(termOffsetsAt + 4 * termCount);
+        postingsAt    = postOffsetsAt + 4 * (termCount + 1);
+    }
+
+    String name()       { return name; }
+    long size()         { return size; }
+    long modified()     { return modified; }
+    int docCount()      { return docCount; }
+    long totalLength()  { return totalLength; }
+
+    /** The encoded segment, as stored in the .seg file. */
+    ByteBuffer bytes() {
+        return buf.duplicate().clear();
+    }
+
+    int docLength(int doc) {
+        return buf.getInt(lengthsAt + 4 * doc);
+    }
+
+    SearchIndex.Doc doc(int doc, Path file, String project) {
+        int[] at = { docsAt + buf.getInt(docOffsetsAt + 4 * doc) };
+        String kind  = readString(at);
+        String title = readString(at);
+        String ref   = readString(at);
+        long offset  = buf.getLong(at[0]);
+        int length   = buf.getInt(at[0] + 8);
+        return new SearchIndex.Doc(kind, project, title, ref, file, offset, length);
+    }
+
+    // ================================================================
+    // DICTIONARY
+    // ================================================================
+
+    /** Index of {@code term}, or -1. */
+    int find(String term) {
+        byte[] key = term.getBytes(StandardCharsets.UTF_8);
+        int i = lowerBound(key);
+        return i < termCount && compare(i, key) == 0 ? i : -1;
+    }
+
+    /** Indexes of every term starting with {@code prefix}, in order. */
+    List<Integer> findPrefix(String prefix) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        List<Integer> out = new ArrayList<>();
+        for (int i = lowerBound(key); i < termCount && startsWith(i, key); i++) out.add(i);
+        return out;
+    }
+
+    String term(int i) {
+        int start = buf.getInt(termOffsetsAt + 4 * i);
+        int end   = buf.getInt(termOffsetsAt + 4 * (i + 1));
+        byte[] b = new byte[end - start];
+        buf.get(termsAt + start, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Number of documents containing term {@code i}, without decoding them. */
+    int docFreq(int i) {
+        return readVarInt(new int[] { postingsAt + buf.getInt(postOffsetsAt + 4 * i) });
+    }
+
+    Postings postings(int i) {
+        int[] at = { postingsAt + buf.getInt(postOffsetsAt + 4 * i) };
+        int n = readVarInt(at);
+        int[] docs = new int[n];
+        int[][] positions = new int[n][];
+        int doc = 0;
+        for (int k = 0; k < n; k++) {
+            docs[k] = doc += readVarInt(at);
+            int[] pos = new int[readVarInt(at)];
+            int p = 0;
+            for (int j = 0; j < pos.length; j++) pos[j] = p += readVarInt(at);
+            positions[k] = pos;
+        }
+        return new Postings(docs, positions);
+    }
+
+    private int lowerBound(byte[] key) {
+        int lo = 0, hi = termCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(mid, key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private int compare(int i, byte[] key) {
+        int start = termsAt + buf.getInt(termOffsetsAt + 4 * i);
+        int len   = termsAt + buf.getInt(termOffsetsAt + 4 * (i + 1)) - start;
+        int n = Math.min(len, key.length);
+        for (int k = 0; k < n; k++) {
+            int c = Integer.compare(buf.get(start + k) & 0xFF, key[k] & 0xFF);
+            if (c != 0) return c;
+        }
+        return Integer.compare(len, key.length);
+    }
+
+    private boolean startsWith(int i, byte[] key) {
+        int start = termsAt + buf.getInt(termOffsetsAt + 4 * i);
+        int len   = termsAt + buf.getInt(termOffsetsAt + 4 * (i + 1)) - start;
+        if (len < key.length) return false;
+        for (int k = 0; k < key.length; k++) {
+            if (buf.get(start + k) != key[k]) return false;
+        }
+        return true;
+    }
+
+    private String readString(int[] at) {
+        int len = buf.getShort(at[0]) & 0xFFFF;
+        byte[] b = new byte[len];
+        buf.get(at[0] + 2, b);
+        at[0] += 2 + len;
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt(int[] at) {
+        int v = 0, shift = 0, b;
+        do {
+            b = buf.get(at[0]++) & 0xFF;
+            v |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+
+    // ================================================================
+    // BUILDING
+    // ================================================================
+
+    /**
+     * Collects documents in source order. Call {@link #begin}, feed the
+     * document's text with {@link #add}, then {@link #end} with the byte
+     * offset where it stops.
+     */
+    static final class Builder {
+
+        private record DocMeta(String kind, String title, String ref, long offset, long end, int length) {}
+
+        /** Growable int list: (doc, position) pairs for one term. */
+        private static final class Occurrences {
+            int[] data = new int[8];
+            int size;
+
+            void add(int doc, int pos) {
+                if (size + 2 > data.length) data = Arrays.copyOf(data, data.length * 2);
+                data[size++] = doc;
+                data[size++] = pos;
+            }
+        }
+
+        private final List<DocMeta> docs = new ArrayList<>();
+        private final Map<String, Occurrences> terms = new HashMap<>();
+
+        private String kind, title, ref;
+        private long offset = -1;
+        private int position;
+
+        void begin(String kind, String title, String ref, long offset) {
+            this.kind     = kind;
+            this.title    = title;
+            this.ref      = ref;
+            this.offset   = offset;
+            this.position = 0;
+        }
+
+        boolean open() {
+            return offset >= 0;
+        }
+
+        void retitle(String title) { this.title = title; }
+        void reref(String ref)     { this.ref = ref; }
+
+        void add(String text) {
+            int doc = docs.size();
+            SearchIndex.tokenize(text, (token, tag) -> {
+                if (!tag) position++;   // a tag shares its word's position
+                terms.computeIfAbsent(token, k -> new Occurrences()).add(doc, position - 1);
+            });
+        }
+
+        void end(long endOffset) {
+            if (offset < 0) return;
+            docs.add(new DocMeta(kind, title, ref, offset, endOffset, position));
+            offset = -1;
+        }
+
+        SearchSegment build(String name, long size, long modified) {
+            try {
+                // Document table
+                ByteArrayOutputStream docBytes = new ByteArrayOutputStream();
+                DataOutputStream docOut = new DataOutputStream(docBytes);
+                int[] docOffsets = new int[docs.size() + 1];
+                long total = 0;
+                for (int d = 0; d < docs.size(); d++) {
+                    DocMeta m = docs.get(d);
+                    docOffsets[d] = docOut.size();
+                    writeString(docOut, m.kind());
+                    writeString(docOut, m.title());
+                    writeString(docOut, m.ref());
+                    docOut.writeLong(m.offset());
+                    docOut.writeInt((int) (m.end() - m.offset()));
+                    total += m.length();
+                }
+                docOffsets[docs.size()] = docOut.size();
+
+                // Terms, sorted as unsigned UTF-8 so lookups can binary-search bytes
+                List<byte[]> keys = new ArrayList<>(terms.size());
+                Map<byte[], Occurrences> byKey = new IdentityHashMap<>();
+                terms.forEach((t, occ) -> {
+                    byte[] k = t.getBytes(StandardCharsets.UTF_8);
+                    keys.add(k);
+                    byKey.put(k, occ);
+                });
+                keys.sort(Arrays::compareUnsigned);
+
+                ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+                ByteArrayOutputStream postBytes = new ByteArrayOutputStream();
+                int[] termOffsets = new int[keys.size() + 1];
+                int[] postOffsets = new int[keys.size() + 1];
+                for (int i = 0; i < keys.size(); i++) {
+                    termOffsets[i] = termBytes.size();
+                    termBytes.write(keys.get(i));
+                    postOffsets[i] = postBytes.size();
+                    writePostings(postBytes, byKey.get(keys.get(i)));
+                }
+                termOffsets[keys.size()] = termBytes.size();
+                postOffsets[keys.size()] = postBytes.size();
+
+                int length = HEADER + 4 * docs.size() + 4 * docOffsets.length + docBytes.size()
+                        + 4 * termOffsets.length + termBytes.size()
+                        + 4 * postOffsets.length + postBytes.size();
+                ByteBuffer buf = ByteBuffer.allocate(length);
+                buf.putInt(docs.size()).putLong(total).putInt(keys.size());
+                for (DocMeta m : docs) buf.putInt(m.length());
+                for (int o : docOffsets) buf.putInt(o);
+                buf.put(docBytes.toByteArray());
+                for (int o : termOffsets) buf.putInt(o);
+                buf.put(termBytes.toByteArray());
+                for (int o : postOffsets) buf.putInt(o);
+                buf.put(postBytes.toByteArray());
+                buf.flip();
+
+                return new SearchSegment(name, size, modified, buf);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);   // in-memory streams don't throw
+            }
+        }
+
+        private static void writePostings(ByteArrayOutputStream out, Occurrences occ) {
+            // Count distinct docs; pairs are already in (doc, position) order
+            int docCount = 0;
+            for (int i = 0; i < occ.size; i += 2) {
+                if (i == 0 || occ.data[i] != occ.data[i - 2]) docCount++;
+            }
+            writeVarInt(out, docCount);
+
+            int prevDoc = 0;
+            int i = 0;
+            while (i < occ.size) {
+                int doc = occ.data[i];
+                int j = i;
+                while (j < occ.size && occ.data[j] == doc) j += 2;
+
+                writeVarInt(out, doc - prevDoc);
+                writeVarInt(out, (j - i) / 2);
+                int prev = 0;
+                for (int k = i; k < j; k += 2) {
+                    writeVarInt(out, occ.data[k + 1] - prev);
+                    prev = occ.data[k + 1];
+                }
+                prevDoc = doc;
+                i = j;
+            }
+        }
+
+        private static void writeString(DataOutputStream out, String s) throws IOException {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            int len = Math.min(b.length, 0xFFFF);
+            out.writeShort(len);
+            out.write(b, 0, len);
+        }
+
+        private static void writeVarInt(ByteArrayOutputStream out, int v) {
+            while ((v & ~0x7F) != 0) {
+                out.write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.write(v);
+        }
+    }
+}
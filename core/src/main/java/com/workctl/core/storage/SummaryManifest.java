@@ -0,0 +1,353 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached list-row summaries of the entity files in one folder — meetings,
+ * interviews, workflow templates or workflow runs.
+ *
+ * Each .md file's summary is remembered together with the size and mtime
+ * it was parsed at. {@link #list} stats every file and re-parses only the
+ * ones that were added or changed, so refreshing a list view costs one
+ * parse per changed file rather than one per file.
+ *
+ * Stored next to the files as .summaries.idx: a header, then one
+ * tab-separated line per file (escaped fields; "-" marks a file that is
+ * not an entity, a bare name one that was removed). Each refresh appends
+ * the lines it changed; later lines win, and the file is rewritten once
+ * most of its lines are superseded.
+ *
+ *   SUMMARY_MANIFEST 1 meeting
+ *   2026-10-17-0930-standup.md	812	1760693400000	1760693460000	+	6f1c2a	...
+ *   notes.md	120	1760693000000	1760693460000	-
+ *   2026-09-02-1400-retro.md
+ *
+ * A file whose mtime is within {@link #RACY_MILLIS} of the moment it was
+ * checked is re-parsed once more on the next refresh: a second write in
+ * the same clock tick could otherwise go unnoticed.
+ *
+ * With performance.sidecarIndexes=false the manifest is kept in memory only.
+ */
+public final class SummaryManifest<S> {
+
+    /** How a kind's files are summarized and how a summary is stored. */
+    public interface Format<S> {
+
+        /** The manifest header names the kind, so a mismatched file is ignored. */
+        String kind();
+
+        /** Whether a file in the folder belongs to this kind at all. */
+        default boolean accepts(String fileName) {
+            return fileName.endsWith(".md");
+        }
+
+        /** The file's summary, or null if it is not an entity of this kind. */
+        S parse(CharSequence text);
+
+        /** The summary as strings (nulls allowed). */
+        List<String> fields(S summary);
+
+        /** Inverse of {@link #fields}; may throw on a corrupt line. */
+        S read(List<String> fields);
+    }
+
+    public static final String MANIFEST_FILE = ".summaries.idx";
+
+    private static final String MAGIC = "SUMMARY_MANIFEST 1";
+
+    private static final long RACY_MILLIS = 2000;
+
+    /** Appended lines tolerated before a rewrite, on top of two per file. */
+    private static final int COMPACT_SLACK = 64;
+
+    private static final Map<Path, SummaryManifest<?>> MANIFESTS = new ConcurrentHashMap<>();
+
+    private static final class Entry<S> {
+        final long size, modified, checked;
+        final S summary;   // null: not an entity
+
+        Entry(long size, long modified, long checked, S summary) {
+            this.size     = size;
+            this.modified = modified;
+            this.checked  = checked;
+            this.summary  = summary;
+        }
+
+        boolean current(BasicFileAttributes attrs) {
+            return attrs.size() == size
+                    && attrs.lastModifiedTime().toMillis() == modified
+                    && checked - modified > RACY_MILLIS;
+        }
+    }
+
+    private final Path dir;
+    private final Path manifestFile;
+    private final Format<S> format;
+    private final boolean persistent;
+
+    // Guarded by this
+    private final Map<String, Entry<S>> entries = new TreeMap<>();   // by file name
+    private boolean loaded;
+    private int lines;            // lines in the manifest file, to know when to compact
+
+    private SummaryManifest(Path dir, Format<S> format, boolean persistent) {
+        this.dir          = dir;
+        this.manifestFile = dir.resolve(MANIFEST_FILE);
+        this.format       = format;
+        this.persistent   = persistent;
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    @SuppressWarnings("unchecked")
+    public static <S> SummaryManifest<S> forFolder(Path dir, Format<S> format) {
+        Path key = dir.toAbsolutePath().normalize();
+        SummaryManifest<?> manifest = MANIFESTS.computeIfAbsent(key,
+                k -> new SummaryManifest<>(k, format, ConfigManager.performance().isSidecarIndexes()));
+        if (!manifest.format.kind().equals(format.kind())) {
+            throw new IllegalStateException(key + " is already summarized as " + manifest.format.kind());
+        }
+        return (SummaryManifest<S>) manifest;
+    }
+
+    /**
+     * Summaries of the folder's current files, in file name order.
+     * Files that cannot be read are skipped, as the full listings skip them.
+     */
+    public synchronized List<S> list() throws IOException {
+        if (!loaded) {
+            loaded = true;
+            load();
+        }
+
+        if (!Files.isDirectory(dir)) {
+            entries.clear();
+            return List.of();
+        }
+
+        StringBuilder changes = new StringBuilder();
+        int changed = 0;
+        Set<String> seen = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (!format.accepts(name)) continue;
+
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    continue;
+                }
+                if (!attrs.isRegularFile()) continue;
+                seen.add(name);
+
+                Entry<S> entry = entries.get(name);
+                if (entry != null && entry.current(attrs)) continue;
+
+                long checked = System.currentTimeMillis();
+                S summary;
+                try {
+                    summary = format.parse(Files.readString(file));
+                } catch (CharacterCodingException | RuntimeException e) {
+                    summary = null; // never listed, as the full listings skip it
+                } catch (IOException e) {
+                    seen.remove(name);
+                    continue;       // unreadable right now — try again next time
+                }
+                Entry<S> fresh = new Entry<>(attrs.size(), attrs.lastModifiedTime().toMillis(), checked, summary);
+                entries.put(name, fresh);
+
+                // A racy re-parse that found nothing new is only worth writing once it can be trusted
+                if (entry == null || entry.size != fresh.size || entry.modified != fresh.modified
+                        || !Objects.equals(entry.summary, summary) || fresh.current(attrs)) {
+                    appendLine(changes, name, fresh);
+                    changed++;
+                }
+            }
+        }
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext(); ) {
+            String name = it.next();
+            if (seen.contains(name)) continue;
+            it.remove();
+            escape(changes, name);
+            changes.append('\n');
+            changed++;
+        }
+
+        if (changed > 0) save(changes, changed);
+
+        List<S> result = new ArrayList<>(entries.size());
+        for (Entry<S> entry : entries.values()) {
+            if (entry.summary != null) result.add(entry.summary);
+        }
+        return result;
+    }
+
+    // ================================================================
+    // PERSISTENCE
+    // ================================================================
+
+    private void load() {
+        if (!persistent) return;
+        try {
+            if (!Files.exists(manifestFile)) return;
+
+            List<String> all = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+            if (all.isEmpty() || !all.get(0).equals(MAGIC + " " + format.kind())) return;
+
+            for (int i = 1; i < all.size(); i++) {
+                List<String> cols = split(all.get(i));
+                if (cols.size() == 1) {
+                    entries.remove(cols.get(0));
+                    continue;
+                }
+                if (cols.size() < 5) continue;
+                try {
+                    S summary = cols.get(4).equals("+") ? format.read(cols.subList(5, cols.size())) : null;
+                    entries.put(cols.get(0), new Entry<>(Long.parseLong(cols.get(1)),
+                            Long.parseLong(cols.get(2)), Long.parseLong(cols.get(3)), summary));
+                } catch (Exception ignored) {
+                    entries.remove(cols.get(0)); // corrupt line — the file is parsed again
+                }
+            }
+            lines = all.size() - 1;
+        } catch (IOException ignored) {
+            // unreadable manifest — every file is parsed again
+        }
+    }
+
+    /** Appends the changed lines, or rewrites the file once most of its lines are superseded. */
+    private void save(CharSequence changes, int count) {
+        if (!persistent) return;
+        try {
+            if (Files.exists(manifestFile) && lines + count <= 2 * entries.size() + COMPACT_SLACK) {
+                Files.writeString(manifestFile, changes, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                lines += count;
+                return;
+            }
+
+            StringBuilder sb = new StringBuilder(MAGIC).append(' ').append(format.kind()).append('\n');
+            for (Map.Entry<String, Entry<S>> e : entries.entrySet()) {
+                appendLine(sb, e.getKey(), e.getValue());
+            }
+
+            Path tmp = manifestFile.resolveSibling(MANIFEST_FILE + ".tmp");
+            Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+            try {
+                Files.move(tmp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            lines = entries.size();
+        } catch (IOException ignored) {
+            // best-effort — the files themselves are the source of truth
+        }
+    }
+
+    private void appendLine(StringBuilder sb, String name, Entry<S> entry) {
+        escape(sb, name);
+        sb.append('\t').append(entry.size)
+          .append('\t').append(entry.modified)
+          .append('\t').append(entry.checked);
+        if (entry.summary == null) {
+            sb.append("\t-");
+        } else {
+            sb.append("\t+");
+            for (String field : format.fields(entry.summary)) {
+                sb.append('\t');
+                escape(sb, field);
+            }
+        }
+        sb.append('\n');
+    }
+
+    // ================================================================
+    // FIELD ENCODING
+    // ================================================================
+
+    /** A summary field as stored: its toString, or null. */
+    public static String field(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    public static LocalDate date(String field) {
+        if (field == null) return null;
+        // Plain yyyy-MM-dd: cheaper than LocalDate.parse on a cold JVM
+        if (field.length() == 10 && field.charAt(4) == '-' && field.charAt(7) == '-') {
+            return LocalDate.of(Integer.parseInt(field, 0, 4, 10),
+                    Integer.parseInt(field, 5, 7, 10), Integer.parseInt(field, 8, 10, 10));
+        }
+        return LocalDate.parse(field);
+    }
+
+    public static LocalDateTime dateTime(String field) {
+        if (field == null) return null;
+        // yyyy-MM-ddTHH:mm as the meta lines write it; anything else through the parser
+        if (field.length() == 16 && field.charAt(10) == 'T' && field.charAt(13) == ':') {
+            return date(field.substring(0, 10)).atTime(
+                    Integer.parseInt(field, 11, 13, 10), Integer.parseInt(field, 14, 16, 10));
+        }
+        return LocalDateTime.parse(field);
+    }
+
+    public static <E extends Enum<E>> E constant(Class<E> type, String field) {
+        return field == null ? null : Enum.valueOf(type, field);
+    }
+
+    /** Backslash escapes for \ tab CR LF; null is written as \N. */
+    private static void escape(StringBuilder sb, String field) {
+        if (field == null) {
+            sb.append("\\N");
+            return;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default   -> sb.append(c);
+            }
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> cols = new ArrayList<>();
+        StringBuilder col = new StringBuilder();
+        boolean isNull = false;
+        for (int i = 0; i <= line.length(); i++) {
+            char c = i < line.length() ? line.charAt(i) : '\t';
+            if (c == '\t') {
+                cols.add(isNull ? null : col.toString());
+                col.setLength(0);
+                isNull = false;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char n = line.charAt(++i);
+                switch (n) {
+                    case 't' -> col.append('\t');
+                    case 'n' -> col.append('\n');
+                    case 'r' -> col.append('\r');
+                    case 'N' -> isNull = true;
+                    default  -> col.append(n);
+                }
+            } else {
+                col.append(c);
+            }
+        }
+        return cols;
+    }
+}
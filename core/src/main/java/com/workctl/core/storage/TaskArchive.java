@@ -0,0 +1,401 @@
+package com.workctl.core.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold storage for a project's finished tasks:
+ * 99_Archive/<project>/tasks/*.seg.
+ *
+ * TaskService moves old DONE tasks here so tasks.md only holds live work.
+ * Each archival run writes one immutable segment:
+ *
+ *   blocks   up to 64 entries each, DEFLATE-compressed on their own;
+ *            an entry is int id | int epochDay | int length | UTF-8 text
+ *   index    per block: int firstId | int lastId | int count
+ *            | long offset | int length
+ *   footer   int magic "WCTA" | int version | int count | int minId
+ *            | int maxId | int firstDay | int lastDay | int blocks
+ *            | long indexOffset                            (40 bytes)
+ *
+ * The entry text is the task exactly as tasks.md wrote it; the day is the
+ * date it was archived under (completion date, if known). Readers start
+ * from the footer — one positioned read per segment, cached — so finding
+ * task #812 or "everything completed in March" only inflates the blocks
+ * whose id or date range can match.
+ *
+ * A segment's name carries its id range and a CRC of its content, so a
+ * run that is retried writes the same file again instead of a second copy.
+ * Any id that does end up in two segments resolves to the newer one.
+ */
+public final class TaskArchive {
+
+    public record Entry(int id, LocalDate date, String text) {}
+
+    public record Segment(Path file, int count, int minId, int maxId,
+                          LocalDate firstDate, LocalDate lastDate) {
+
+        boolean covers(int id) {
+            return id >= minId && id <= maxId;
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return !lastDate.isBefore(from) && !firstDate.isAfter(to);
+        }
+    }
+
+    private static final int MAGIC   = 0x57435441;   // "WCTA"
+    private static final int VERSION = 1;
+    private static final int FOOTER  = 40;
+    private static final int INDEX_ENTRY = 24;
+    private static final int BLOCK_ENTRIES = 64;
+
+    private static final String SUFFIX = ".seg";
+
+    private record Block(int firstId, int lastId, int count, long offset, int length) {}
+
+    private record Loaded(long size, long modified, Segment segment) {}
+
+    private static final Map<Path, TaskArchive> ARCHIVES = new ConcurrentHashMap<>();
+
+    private final Path dir;
+    private final Map<Path, Loaded> footers = new ConcurrentHashMap<>();
+
+    private TaskArchive(Path dir) {
+        this.dir = dir;
+    }
+
+    public static TaskArchive forProject(Path workspace, String projectName) {
+        Path dir = workspace.resolve("99_Archive").resolve(projectName).resolve("tasks")
+                .toAbsolutePath().normalize();
+        return ARCHIVES.computeIfAbsent(dir, TaskArchive::new);
+    }
+
+    // ================================================================
+    // READ
+    // ================================================================
+
+    /** Segments in write order (oldest first), from their footers only. */
+    public List<Segment> segments() throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+
+        List<Segment> result = new ArrayList<>();
+        Set<Path> live = new HashSet<>();
+        for (Path file : files) {
+            live.add(file);
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+
+            Loaded loaded = footers.get(file);
+            long modified = attrs.lastModifiedTime().toMillis();
+            if (loaded == null || loaded.size() != attrs.size() || loaded.modified() != modified) {
+                Segment segment = readFooter(file, attrs.size());
+                if (segment == null) continue;   // torn or foreign file
+                loaded = new Loaded(attrs.size(), modified, segment);
+                footers.put(file, loaded);
+            }
+            result.add(loaded.segment());
+        }
+        footers.keySet().retainAll(live);
+
+        // Names start with a zero-padded sequence number
+        result.sort(Comparator.comparing(s -> s.file().getFileName().toString()));
+        return result;
+    }
+
+    /** Number of archived tasks, from the footers. */
+    public int count() throws IOException {
+        int total = 0;
+        Set<Integer> seen = new HashSet<>();
+        List<Segment> segments = segments();
+        // Interleaved id ranges are normal across runs; only those segments are
+        // read, so a task a retried run archived twice is still counted once
+        for (int i = 0; i < segments.size(); i++) {
+            Segment s = segments.get(i);
+            boolean overlaps = false;
+            for (int j = 0; j < segments.size(); j++) {
+                if (j != i && s.minId() <= segments.get(j).maxId() && segments.get(j).minId() <= s.maxId()) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (!overlaps) {
+                total += s.count();
+            } else {
+                for (Entry e : readSegment(s, null, null)) seen.add(e.id());
+            }
+        }
+        return total + seen.size();
+    }
+
+    /** The archived entry for task {@code id}, inflating at most one block per candidate segment. */
+    public Optional<Entry> find(int id) throws IOException {
+        List<Segment> segments = segments();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment s = segments.get(i);
+            if (!s.covers(id)) continue;
+
+            try (FileChannel ch = FileChannel.open(s.file(), StandardOpenOption.READ)) {
+                for (Block b : readIndex(ch)) {
+                    if (id < b.firstId() || id > b.lastId()) continue;
+                    for (Entry e : inflate(ch, b)) {
+                        if (e.id() == id) return Optional.of(e);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Entries archived under a date in [from, to], by id; segments outside the range are never opened. */
+    public List<Entry> read(LocalDate from, LocalDate to) throws IOException {
+        Map<Integer, Entry> byId = new TreeMap<>();
+        for (Segment s : segments()) {
+            if (!s.overlaps(from, to)) continue;
+            for (Entry e : readSegment(s, from, to)) byId.put(e.id(), e);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    public List<Entry> readAll() throws IOException {
+        return read(LocalDate.MIN, LocalDate.MAX);
+    }
+
+    private List<Entry> readSegment(Segment s, LocalDate from, LocalDate to) throws IOException {
+        List<Entry> out = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(s.file(), StandardOpenOption.READ)) {
+            for (Block b : readIndex(ch)) {
+                for (Entry e : inflate(ch, b)) {
+                    if (from != null && (e.date().isBefore(from) || e.date().isAfter(to))) continue;
+                    out.add(e);
+                }
+            }
+        }
+        return out;
+    }
+
+    // ================================================================
+    // WRITE
+    // ================================================================
+
+    /**
+     * Writes {@code entries} as a new segment and returns it. The file
+     * appears atomically; callers remove the tasks from tasks.md only
+     * after this returns.
+     */
+    public Segment write(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) throw new IllegalArgumentException("Nothing to archive");
+
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt(Entry::id));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        List<Block> blocks = new ArrayList<>();
+        int firstDay = Integer.MAX_VALUE, lastDay = Integer.MIN_VALUE;
+
+        for (int start = 0; start < sorted.size(); start += BLOCK_ENTRIES) {
+            List<Entry> chunk = sorted.subList(start, Math.min(sorted.size(), start + BLOCK_ENTRIES));
+
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(raw);
+            for (Entry e : chunk) {
+                byte[] text = e.text().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(e.id());
+                out.writeInt((int) e.date().toEpochDay());
+                out.writeInt(text.length);
+                out.write(text);
+                firstDay = Math.min(firstDay, (int) e.date().toEpochDay());
+                lastDay  = Math.max(lastDay, (int) e.date().toEpochDay());
+            }
+
+            byte[] packed = deflate(raw.toByteArray());
+            blocks.add(new Block(chunk.get(0).id(), chunk.get(chunk.size() - 1).id(),
+                    chunk.size(), file.size(), packed.length));
+            file.write(packed);
+        }
+
+        long indexOffset = file.size();
+        DataOutputStream out = new DataOutputStream(file);
+        for (Block b : blocks) {
+            out.writeInt(b.firstId());
+            out.writeInt(b.lastId());
+            out.writeInt(b.count());
+            out.writeLong(b.offset());
+            out.writeInt(b.length());
+        }
+        int minId = sorted.get(0).id();
+        int maxId = sorted.get(sorted.size() - 1).id();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(sorted.size());
+        out.writeInt(minId);
+        out.writeInt(maxId);
+        out.writeInt(firstDay);
+        out.writeInt(lastDay);
+        out.writeInt(blocks.size());
+        out.writeLong(indexOffset);
+
+        byte[] content = file.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(content);
+
+        Files.createDirectories(dir);
+        Path target = dir.resolve(String.format("%06d-%d-%d-%08x%s",
+                nextSequence(crc.getValue()), minId, maxId, crc.getValue(), SUFFIX));
+        if (!Files.exists(target)) {
+            Path tmp = dir.resolve("." + target.getFileName() + ".tmp");
+            Files.write(tmp, content);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target);
+            }
+        }
+
+        return new Segment(target, sorted.size(), minId, maxId,
+                LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(lastDay));
+    }
+
+    /** One past the highest sequence in use — or the existing one, if this exact content is already there. */
+    private int nextSequence(long crc) throws IOException {
+        int next = 1;
+        String tail = String.format("-%08x%s", crc, SUFFIX);
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Path p : s.toList()) {
+                String name = p.getFileName().toString();
+                if (!name.endsWith(SUFFIX) || name.startsWith(".")) continue;
+                int seq;
+                try {
+                    seq = Integer.parseInt(name.substring(0, name.indexOf('-')));
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                if (name.endsWith(tail)) return seq;
+                next = Math.max(next, seq + 1);
+            }
+        }
+        return next;
+    }
+
+    // ================================================================
+    // FILE FORMAT
+    // ================================================================
+
+    private static Segment readFooter(Path file, long size) {
+        if (size < FOOTER) return null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer f = readAt(ch, size - FOOTER, FOOTER);
+            if (f.getInt() != MAGIC || f.getInt() != VERSION) return null;
+            int count    = f.getInt();
+            int minId    = f.getInt();
+            int maxId    = f.getInt();
+            int firstDay = f.getInt();
+            int lastDay  = f.getInt();
+            int blocks   = f.getInt();
+            long index   = f.getLong();
+            if (index + (long) blocks * INDEX_ENTRY + FOOTER != size) return null;
+            return new Segment(file, count, minId, maxId,
+                    LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(lastDay));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<Block> readIndex(FileChannel ch) throws IOException {
+        long size = ch.size();
+        ByteBuffer f = readAt(ch, size - FOOTER, FOOTER);
+        f.position(28);
+        int blocks = f.getInt();
+        long index = f.getLong();
+
+        ByteBuffer buf = readAt(ch, index, blocks * INDEX_ENTRY);
+        List<Block> result = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            result.add(new Block(buf.getInt(), buf.getInt(), buf.getInt(), buf.getLong(), buf.getInt()));
+        }
+        return result;
+    }
+
+    private static List<Entry> inflate(FileChannel ch, Block b) throws IOException {
+        ByteBuffer packed = readAt(ch, b.offset(), b.length());
+
+        Inflater inflater = new Inflater();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(b.length() * 4);
+        try {
+            inflater.setInput(packed.array(), 0, b.length());
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                raw.write(buf, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw.toByteArray()));
+        List<Entry> entries = new ArrayList<>(b.count());
+        for (int i = 0; i < b.count(); i++) {
+            int id  = in.readInt();
+            int day = in.readInt();
+            byte[] text = new byte[in.readInt()];
+            in.readFully(text);
+            entries.add(new Entry(id, LocalDate.ofEpochDay(day), new String(text, StandardCharsets.UTF_8)));
+        }
+        return entries;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 64);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer readAt(FileChannel ch, long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, position + buf.position()) < 0) throw new IOException("Truncated archive segment");
+        }
+        buf.flip();
+        return buf;
+    }
+}
@@ -0,0 +1,304 @@
+package com.workctl.core.storage;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints (task row numbers) for
+ * {@link TaskFacetIndex}, laid out like a Roaring bitmap.
+ *
+ * Values are split by their high 16 bits into chunks of 65536. A chunk
+ * holding up to 4096 values is a sorted char[] (2 bytes per value), a
+ * denser one is a 1024-word bit set (8 KB flat). A facet value such as
+ * "tag:backend" covering a handful of tasks therefore costs a few bytes,
+ * while "status:DONE" covering most of them costs one bit per row.
+ *
+ * and/or/andNot return new bitmaps; add/remove mutate in place.
+ */
+public final class TaskBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS     = 1024;
+
+    private char[]   keys       = new char[0];
+    private Object[] containers = new Object[0];   // char[] (array) or long[] (bits)
+    private int[]    sizes      = new int[0];
+    private int      count;                        // chunks in use
+
+    public TaskBitmap() {}
+
+    public static TaskBitmap of(int... values) {
+        TaskBitmap b = new TaskBitmap();
+        for (int v : values) b.add(v);
+        return b;
+    }
+
+    /** Every value in [0, end). */
+    public static TaskBitmap range(int end) {
+        TaskBitmap b = new TaskBitmap();
+        for (int v = 0; v < end; v++) b.add(v);
+        return b;
+    }
+
+    // ================================================================
+    // MUTATION
+    // ================================================================
+
+    public void add(int value) {
+        char hi = (char) (value >>> 16);
+        char lo = (char) value;
+        int i = chunk(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, hi, new char[4], 0);
+        }
+
+        if (containers[i] instanceof long[] bits) {
+            long before = bits[lo >>> 6];
+            bits[lo >>> 6] |= 1L << lo;
+            if (bits[lo >>> 6] != before) sizes[i]++;
+            return;
+        }
+
+        char[] arr = (char[]) containers[i];
+        int n = sizes[i];
+        int at = Arrays.binarySearch(arr, 0, n, lo);
+        if (at >= 0) return;
+        at = -at - 1;
+
+        if (n == ARRAY_MAX) {
+            long[] bits = toBits(arr, n);
+            bits[lo >>> 6] |= 1L << lo;
+            containers[i] = bits;
+            sizes[i] = n + 1;
+            return;
+        }
+        if (n == arr.length) arr = Arrays.copyOf(arr, Math.min(ARRAY_MAX, n * 2));
+        System.arraycopy(arr, at, arr, at + 1, n - at);
+        arr[at] = lo;
+        containers[i] = arr;
+        sizes[i] = n + 1;
+    }
+
+    public void remove(int value) {
+        int i = chunk((char) (value >>> 16));
+        if (i < 0) return;
+        char lo = (char) value;
+
+        if (containers[i] instanceof long[] bits) {
+            long before = bits[lo >>> 6];
+            bits[lo >>> 6] &= ~(1L << lo);
+            if (bits[lo >>> 6] == before) return;
+            if (--sizes[i] <= ARRAY_MAX) containers[i] = toArray(bits, sizes[i]);
+        } else {
+            char[] arr = (char[]) containers[i];
+            int n = sizes[i];
+            int at = Arrays.binarySearch(arr, 0, n, lo);
+            if (at < 0) return;
+            System.arraycopy(arr, at + 1, arr, at, n - at - 1);
+            sizes[i] = n - 1;
+        }
+        if (sizes[i] == 0) removeChunk(i);
+    }
+
+    // ================================================================
+    // QUERIES
+    // ================================================================
+
+    public boolean contains(int value) {
+        int i = chunk((char) (value >>> 16));
+        if (i < 0) return false;
+        char lo = (char) value;
+        if (containers[i] instanceof long[] bits) return (bits[lo >>> 6] & (1L << lo)) != 0;
+        return Arrays.binarySearch((char[]) containers[i], 0, sizes[i], lo) >= 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < count; i++) total += sizes[i];
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** Visits every value in ascending order. */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < count; i++) {
+            int base = keys[i] << 16;
+            if (containers[i] instanceof long[] bits) {
+                for (int w = 0; w < WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] arr = (char[]) containers[i];
+                for (int k = 0; k < sizes[i]; k++) action.accept(base | arr[k]);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] at = {0};
+        forEach(v -> out[at[0]++] = v);
+        return out;
+    }
+
+    // ================================================================
+    // SET OPERATIONS
+    // ================================================================
+
+    public TaskBitmap and(TaskBitmap other) {
+        TaskBitmap out = new TaskBitmap();
+        int i = 0, j = 0;
+        while (i < count && j < other.count) {
+            if (keys[i] < other.keys[j]) i++;
+            else if (keys[i] > other.keys[j]) j++;
+            else {
+                out.appendChunk(keys[i], op(containers[i], sizes[i],
+                        other.containers[j], other.sizes[j], Op.AND));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    public TaskBitmap or(TaskBitmap other) {
+        TaskBitmap out = new TaskBitmap();
+        int i = 0, j = 0;
+        while (i < count || j < other.count) {
+            if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+                out.appendChunk(keys[i], copy(containers[i], sizes[i]));
+                i++;
+            } else if (i == count || keys[i] > other.keys[j]) {
+                out.appendChunk(other.keys[j], copy(other.containers[j], other.sizes[j]));
+                j++;
+            } else {
+                out.appendChunk(keys[i], op(containers[i], sizes[i],
+                        other.containers[j], other.sizes[j], Op.OR));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /** Values in this bitmap but not in {@code other}. */
+    public TaskBitmap andNot(TaskBitmap other) {
+        TaskBitmap out = new TaskBitmap();
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < other.count && other.keys[j] < keys[i]) j++;
+            if (j < other.count && other.keys[j] == keys[i]) {
+                out.appendChunk(keys[i], op(containers[i], sizes[i],
+                        other.containers[j], other.sizes[j], Op.AND_NOT));
+            } else {
+                out.appendChunk(keys[i], copy(containers[i], sizes[i]));
+            }
+        }
+        return out;
+    }
+
+    // ================================================================
+    // CONTAINERS
+    // ================================================================
+
+    private enum Op { AND, OR, AND_NOT }
+
+    /** A chunk result: the container plus its cardinality. */
+    private record Chunk(Object container, int size) {}
+
+    private static Chunk op(Object a, int na, Object b, int nb, Op op) {
+        // Two sorted arrays: merge without touching a bit set
+        if (a instanceof char[] x && b instanceof char[] y && op != Op.OR) {
+            char[] out = new char[op == Op.AND ? Math.min(na, nb) : na];
+            int n = 0, i = 0, j = 0;
+            while (i < na) {
+                while (j < nb && y[j] < x[i]) j++;
+                boolean inB = j < nb && y[j] == x[i];
+                if (inB == (op == Op.AND)) out[n++] = x[i];
+                i++;
+            }
+            return new Chunk(out, n);
+        }
+
+        long[] bits = a instanceof long[] la ? la.clone() : toBits((char[]) a, na);
+        long[] other = b instanceof long[] lb ? lb : toBits((char[]) b, nb);
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            bits[w] = switch (op) {
+                case AND     -> bits[w] & other[w];
+                case OR      -> bits[w] | other[w];
+                case AND_NOT -> bits[w] & ~other[w];
+            };
+            n += Long.bitCount(bits[w]);
+        }
+        return new Chunk(n <= ARRAY_MAX ? toArray(bits, n) : bits, n);
+    }
+
+    private static Chunk copy(Object c, int n) {
+        return new Chunk(c instanceof long[] bits ? bits.clone() : Arrays.copyOf((char[]) c, n), n);
+    }
+
+    private static long[] toBits(char[] arr, int n) {
+        long[] bits = new long[WORDS];
+        for (int k = 0; k < n; k++) bits[arr[k] >>> 6] |= 1L << arr[k];
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int n) {
+        char[] arr = new char[n];
+        int k = 0;
+        for (int w = 0; w < WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                arr[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return arr;
+    }
+
+    // ================================================================
+    // CHUNK TABLE
+    // ================================================================
+
+    private int chunk(char hi) {
+        return Arrays.binarySearch(keys, 0, count, hi);
+    }
+
+    private void appendChunk(char hi, Chunk c) {
+        if (c.size() == 0) return;
+        insertChunk(count, hi, c.container(), c.size());
+    }
+
+    private void insertChunk(int at, char hi, Object container, int size) {
+        if (count == keys.length) {
+            int cap = Math.max(4, count * 2);
+            keys       = Arrays.copyOf(keys, cap);
+            containers = Arrays.copyOf(containers, cap);
+            sizes      = Arrays.copyOf(sizes, cap);
+        }
+        System.arraycopy(keys, at, keys, at + 1, count - at);
+        System.arraycopy(containers, at, containers, at + 1, count - at);
+        System.arraycopy(sizes, at, sizes, at + 1, count - at);
+        keys[at]       = hi;
+        containers[at] = container;
+        sizes[at]      = size;
+        count++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(keys, at + 1, keys, at, count - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, count - at - 1);
+        System.arraycopy(sizes, at + 1, sizes, at, count - at - 1);
+        count--;
+        containers[count] = null;
+    }
+}
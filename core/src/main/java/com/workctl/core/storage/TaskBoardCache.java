@@ -0,0 +1,232 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.TaskBoard;
+import com.workctl.core.model.TaskSummary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of parsed tasks.md boards, one entry per file.
+ *
+ * Validation on every get():
+ *   1. size + mtime unchanged       → hit, no read at all
+ *   2. bytes differ only in mtime   → CRC matches, stamp refreshed, no re-parse
+ *   3. content changed externally   → re-parse
+ *
+ * Writers call markDirty() before touching the file and put() after, so
+ * our own writes never trigger a re-parse. A dirty entry (write failed or
+ * in flight) is always re-validated from disk.
+ *
+ * Least-recently-used projects are evicted once the cache holds more than
+ * {@code capacity} boards (performance.taskBoardCacheSize in config.yaml).
+ *
+ * snapshot() also returns the board's FileStamp so TaskService can
+ * compare-and-swap: a write commits only if tasks.md still has that stamp.
+ *
+ * summaries() serves header-only TaskSummary lists for boards and
+ * listings. A cached board that is still current is projected (once per
+ * entry); otherwise the summaries come from their own header-only parse,
+ * kept in a second LRU keyed by size + mtime and dropped whenever the
+ * board entry for the file changes.
+ */
+public final class TaskBoardCache {
+
+    /** Turns raw tasks.md bytes into a board. */
+    @FunctionalInterface
+    public interface Parser {
+        TaskBoard parse(byte[] content) throws IOException;
+    }
+
+    private static final TaskBoardCache SHARED = new TaskBoardCache(
+            Math.max(1, ConfigManager.performance().getTaskBoardCacheSize()));
+
+    public static TaskBoardCache shared() {
+        return SHARED;
+    }
+
+    /** Turns raw tasks.md bytes into header-only summaries. */
+    @FunctionalInterface
+    public interface SummaryParser {
+        List<TaskSummary> parse(byte[] content) throws IOException;
+    }
+
+    private static final class Entry {
+        final TaskBoard board;
+        FileStamp stamp;
+        boolean dirty;
+        List<TaskSummary> summaries;   // projection of board, built on first use
+
+        Entry(TaskBoard board, FileStamp stamp) {
+            this.board = board;
+            this.stamp = stamp;
+        }
+    }
+
+    private record Summaries(List<TaskSummary> list, long size, long modified) {}
+
+    private final int capacity;
+    private final Map<Path, Entry> entries;
+    private final Map<Path, Summaries> summaries;
+
+    TaskBoardCache(int capacity) {
+        this.capacity = capacity;
+        this.entries  = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+                return size() > TaskBoardCache.this.capacity && !eldest.getValue().dirty;
+            }
+        };
+        this.summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Summaries> eldest) {
+                return size() > TaskBoardCache.this.capacity;
+            }
+        };
+    }
+
+    /** A private copy of a board together with the stamp of the bytes it came from. */
+    public record Snapshot(TaskBoard board, FileStamp stamp) {}
+
+    /**
+     * Returns a private copy of the board stored in {@code file}, parsing
+     * only when the file changed since it was last seen.
+     */
+    public TaskBoard get(Path file, Parser parser) throws IOException {
+        return snapshot(file, parser).board();
+    }
+
+    /**
+     * Like {@link #get}, plus the stamp writers compare against before
+     * committing. Parsing runs outside the cache lock so a slow parse of one
+     * project never blocks lookups for another.
+     */
+    public Snapshot snapshot(Path file, Parser parser) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long size  = attrs.size();
+        long mtime = attrs.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.dirty
+                    && entry.stamp.size() == size && entry.stamp.lastModified() == mtime) {
+                return new Snapshot(entry.board.copy(), entry.stamp);
+            }
+        }
+
+        byte[] content = Files.readAllBytes(key);
+        long crc = FileStamp.checksum(content);
+        FileStamp stamp = new FileStamp(content.length, mtime, crc);
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.stamp.size() == content.length && entry.stamp.checksum() == crc) {
+                entry.stamp = stamp;
+                entry.dirty = false;
+                return new Snapshot(entry.board.copy(), stamp);
+            }
+        }
+
+        TaskBoard parsed = parser.parse(content);
+
+        synchronized (this) {
+            entries.put(key, new Entry(parsed, stamp));
+        }
+        return new Snapshot(parsed.copy(), stamp);
+    }
+
+    /**
+     * Header-only summaries of the tasks in {@code file}, parsed with
+     * {@code parser} only when neither a current board nor current
+     * summaries are cached. The list is shared and unmodifiable.
+     */
+    public List<TaskSummary> summaries(Path file, SummaryParser parser) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long size  = attrs.size();
+        long mtime = attrs.lastModifiedTime().toMillis();
+
+        Entry board = null;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.dirty
+                    && entry.stamp.size() == size && entry.stamp.lastModified() == mtime) {
+                if (entry.summaries != null) return entry.summaries;
+                board = entry;
+            } else {
+                Summaries cached = summaries.get(key);
+                if (cached != null && cached.size() == size && cached.modified() == mtime) return cached.list();
+            }
+        }
+
+        // Cached boards are never mutated, so projecting needs no lock
+        if (board != null) {
+            List<TaskSummary> projected = board.board.getTasks().stream().map(TaskSummary::of).toList();
+            synchronized (this) {
+                board.summaries = projected;
+            }
+            return projected;
+        }
+
+        byte[] content = Files.readAllBytes(key);
+        List<TaskSummary> parsed = List.copyOf(parser.parse(content));
+
+        synchronized (this) {
+            summaries.put(key, new Summaries(parsed, content.length, mtime));
+        }
+        return parsed;
+    }
+
+    /**
+     * The cached board for {@code file} itself, not a copy, if it still
+     * matches the file on disk — for writers that compare against it.
+     * Callers must not modify it.
+     */
+    public Snapshot peek(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null || entry.dirty || !entry.stamp.sameAttributes(key)) return null;
+        return new Snapshot(entry.board, entry.stamp);
+    }
+
+    /** Flags the entry as about to be rewritten so readers go back to disk. */
+    public synchronized void markDirty(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        Entry entry = entries.get(key);
+        if (entry != null) entry.dirty = true;
+        summaries.remove(key);
+    }
+
+    /**
+     * Records a board we just wrote ourselves. {@code content} must be the
+     * exact bytes written so the stamp's checksum matches the file.
+     */
+    public synchronized void put(Path file, TaskBoard board, byte[] content) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        entries.put(key, new Entry(board.copy(), FileStamp.of(key, content)));
+        summaries.remove(key);
+    }
+
+    public synchronized void invalidate(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        entries.remove(key);
+        summaries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        summaries.clear();
+    }
+}
@@ -0,0 +1,341 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskEvent;
+import com.workctl.core.model.TaskSummary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What a project's work log knows about each task that tasks.md does not
+ * carry: the earliest "created" date and the tags on its TASK_EVENT blocks.
+ *
+ * notes/.task-created.idx — a header, then one tab-separated line per
+ * recorded event, merged on read (earliest date wins, tags are unioned):
+ *
+ *   TASK_CREATED_IDX 1
+ *   12	2026-02-19	backend,api
+ *   12	-	backend,api,urgent
+ *
+ * The file is built once per project from the log's event history, after
+ * which the project is listed in the workspace's .workctl/migrations
+ * marker. From then on TaskService records every event it commits here
+ * (under the ProjectLock, before the journal appends it to the log) and
+ * loading tasks never opens work-log.md. Once the appended lines outnumber
+ * the tasks, the file is rewritten with one line per task.
+ *
+ * Only record() — the write path, under the ProjectLock — writes the
+ * index or the marker. Loads never take the lock, because they run inside
+ * board loads that other monitors may be held across: a project that is
+ * not migrated yet, or whose index has gone missing, is built from the log
+ * in memory once per process, and the next record() writes it to disk.
+ * TASK_EVENT blocks written into the log by hand after the migration are
+ * not picked up.
+ *
+ * With performance.sidecarIndexes=false nothing is written: the log is
+ * read once per process and the index kept in memory.
+ */
+public final class TaskCreatedIndex {
+
+    public static final String INDEX_FILE = ".task-created.idx";
+
+    /** Workspace-level list of finished migrations, one "name version project" per line. */
+    public static final String MIGRATIONS_FILE = ".workctl/migrations";
+
+    private static final String MAGIC     = "TASK_CREATED_IDX 1";
+    private static final String MIGRATION = "task-created-index 1";
+
+    /** Appended lines tolerated before a rewrite, on top of one per task. */
+    private static final int COMPACT_SLACK = 64;
+
+    private static final Map<Path, TaskCreatedIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        LocalDate created;
+        final Set<String> tags = new LinkedHashSet<>();
+    }
+
+    private final Path workspace;
+    private final String project;
+    private final Path notesDir;
+    private final Path indexFile;
+    private final boolean persistent;
+
+    // Guarded by this ------------------------------------------------
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private boolean loaded;
+    private boolean builtFromLog;  // entries came from the log, not yet written to disk
+    private boolean migrated;
+    private long fileSize = -1, fileModified = -1;
+    private int lines;
+
+    private TaskCreatedIndex(Path workspace, String project, boolean persistent) {
+        this.workspace  = workspace;
+        this.project    = project;
+        this.notesDir   = workspace.resolve("01_Projects").resolve(project).resolve("notes");
+        this.indexFile  = notesDir.resolve(INDEX_FILE);
+        this.persistent = persistent;
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    public static TaskCreatedIndex forProject(Path workspace, String project) {
+        Path ws = workspace.toAbsolutePath().normalize();
+        return INDEXES.computeIfAbsent(ws.resolve("01_Projects").resolve(project),
+                k -> new TaskCreatedIndex(ws, project, ConfigManager.performance().isSidecarIndexes()));
+    }
+
+    /**
+     * Repairs {@code tasks} from the index: a recorded created date that is
+     * earlier than the stored one wins, and tasks without tags get the
+     * recorded ones. Builds the index from the log in memory on first use.
+     */
+    public void apply(List<Task> tasks) throws IOException {
+        ensureLoaded();
+
+        synchronized (this) {
+            for (Task task : tasks) {
+                Entry e = entries.get(task.getId());
+                if (e == null) continue;
+
+                LocalDate stored = task.getCreatedDate();
+                if (e.created != null && (stored == null || e.created.isBefore(stored))) {
+                    task.setCreatedDate(e.created);
+                }
+                if (!e.tags.isEmpty() && task.getTags().isEmpty()) {
+                    task.getTags().addAll(e.tags);
+                }
+            }
+        }
+    }
+
+    /** {@link #apply} for header-only summaries; returns the repaired list. */
+    public List<TaskSummary> applySummaries(List<TaskSummary> summaries) throws IOException {
+        ensureLoaded();
+
+        synchronized (this) {
+            List<TaskSummary> repaired = new ArrayList<>(summaries.size());
+            for (TaskSummary s : summaries) {
+                Entry e = entries.get(s.id());
+                if (e != null) {
+                    if (e.created != null && (s.createdDate() == null || e.created.isBefore(s.createdDate()))) {
+                        s = s.withCreatedDate(e.created);
+                    }
+                    if (!e.tags.isEmpty() && s.tags().isEmpty()) {
+                        s = s.withTags(new ArrayList<>(e.tags));
+                    }
+                }
+                repaired.add(s);
+            }
+            return repaired;
+        }
+    }
+
+    /**
+     * Adds committed events that are about to be appended to the log.
+     * Only "created" dates and tags are kept; other events are skipped.
+     */
+    public void record(List<TaskEvent> events) throws IOException {
+        if (events.isEmpty()) return;
+
+        ProjectLock.with(notesDir, () -> {
+            synchronized (this) {
+                if (!refresh()) migrate();
+
+                StringBuilder added = new StringBuilder();
+                int count = 0;
+                for (TaskEvent event : events) {
+                    LocalDate created = event.is("created") ? event.date() : null;
+                    if (created == null && event.tags().isEmpty()) continue;
+
+                    merge(event.taskId(), created, event.tags());
+                    appendLine(added, event.taskId(), created, event.tags());
+                    count++;
+                }
+                if (!persistent || count == 0) return;
+
+                if (lines + count > entries.size() + COMPACT_SLACK) {
+                    writeCompacted();
+                } else {
+                    Files.writeString(indexFile, added, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                    lines += count;
+                    stamp(Files.readAttributes(indexFile, BasicFileAttributes.class));
+                }
+            }
+        });
+    }
+
+    // ================================================================
+    // LOADING AND MIGRATION
+    // ================================================================
+
+    /** Read path: no ProjectLock, and nothing written — see the class comment. */
+    private synchronized void ensureLoaded() throws IOException {
+        if (refresh() || builtFromLog) return;
+        build();
+        loaded       = !persistent;
+        builtFromLog = persistent;
+    }
+
+    /**
+     * Brings the in-memory entries up to date with the index file.
+     *
+     * @return false if the project still needs (re)building from the log
+     */
+    private boolean refresh() throws IOException {
+        if (!persistent) return loaded;
+        if (!isMigrated()) return false;
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(indexFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (loaded && attrs.size() == fileSize && attrs.lastModifiedTime().toMillis() == fileModified) {
+            return true;
+        }
+        return read(attrs);
+    }
+
+    /** Builds the index from the log and writes it. Callers hold the ProjectLock. */
+    private void migrate() throws IOException {
+        build();
+        loaded       = true;
+        builtFromLog = false;
+
+        if (persistent) {
+            Files.createDirectories(notesDir);
+            writeCompacted();
+            markMigrated();
+        }
+    }
+
+    /**
+     * One pass over the log's event history. Parses the files directly
+     * rather than through TaskEventStore, whose sidecar rebuild takes the
+     * ProjectLock.
+     */
+    private void build() throws IOException {
+        entries.clear();
+
+        WorkLogReader log = WorkLogReader.of(notesDir.resolve("work-log.md"));
+        for (Path file : log.files()) {
+            for (TaskEvent event : WorkLogParser.events(file)) {
+                merge(event.taskId(), event.is("created") ? event.date() : null, event.tags());
+            }
+        }
+    }
+
+    private void merge(int taskId, LocalDate created, Collection<String> tags) {
+        if (created == null && tags.isEmpty()) return;
+
+        Entry e = entries.computeIfAbsent(taskId, k -> new Entry());
+        if (created != null && (e.created == null || created.isBefore(e.created))) {
+            e.created = created;
+        }
+        e.tags.addAll(tags);
+    }
+
+    // ================================================================
+    // MIGRATION MARKER
+    // ================================================================
+
+    private boolean isMigrated() throws IOException {
+        if (migrated) return true;
+
+        Path marker = workspace.resolve(MIGRATIONS_FILE);
+        if (!Files.exists(marker)) return false;
+
+        migrated = Files.readAllLines(marker, StandardCharsets.UTF_8)
+                .contains(MIGRATION + " " + project);
+        return migrated;
+    }
+
+    private void markMigrated() throws IOException {
+        if (isMigrated()) return;
+
+        // One short O_APPEND write per project, so concurrent migrations don't clobber each other
+        Path marker = workspace.resolve(MIGRATIONS_FILE);
+        Files.createDirectories(marker.getParent());
+        Files.writeString(marker, MIGRATION + " " + project + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        migrated = true;
+    }
+
+    // ================================================================
+    // FILE I/O
+    // ================================================================
+
+    private boolean read(BasicFileAttributes attrs) {
+        try {
+            List<String> all = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            if (all.isEmpty() || !all.get(0).equals(MAGIC)) return false;
+
+            entries.clear();
+            for (int i = 1; i < all.size(); i++) {
+                String line = all.get(i);
+                int tab1 = line.indexOf('\t');
+                int tab2 = tab1 < 0 ? -1 : line.indexOf('\t', tab1 + 1);
+                if (tab2 < 0) continue;
+
+                // Plain yyyy-MM-dd: cheaper than LocalDate.parse on a cold JVM
+                LocalDate created = tab2 - tab1 != 11 ? null : LocalDate.of(
+                        Integer.parseInt(line, tab1 + 1, tab1 + 5, 10),
+                        Integer.parseInt(line, tab1 + 6, tab1 + 8, 10),
+                        Integer.parseInt(line, tab1 + 9, tab2, 10));
+                List<String> tags = tab2 + 1 == line.length()
+                        ? List.of() : Arrays.asList(line.substring(tab2 + 1).split(","));
+                merge(Integer.parseInt(line, 0, tab1, 10), created, tags);
+            }
+
+            lines        = all.size() - 1;
+            loaded       = true;
+            builtFromLog = false;
+            stamp(attrs);
+            return true;
+
+        } catch (Exception e) {
+            return false; // corrupt index → rebuild from the log
+        }
+    }
+
+    private void writeCompacted() throws IOException {
+        StringBuilder sb = new StringBuilder(MAGIC).append("\n");
+        for (Map.Entry<Integer, Entry> e : new TreeMap<>(entries).entrySet()) {
+            appendLine(sb, e.getKey(), e.getValue().created, e.getValue().tags);
+        }
+
+        Path tmp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+        try {
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        lines = entries.size();
+        stamp(Files.readAttributes(indexFile, BasicFileAttributes.class));
+    }
+
+    private static void appendLine(StringBuilder sb, int taskId, LocalDate created, Collection<String> tags) {
+        sb.append(taskId).append('\t')
+          .append(created == null ? "-" : created.toString()).append('\t')
+          .append(String.join(",", tags)).append('\n');
+    }
+
+    private void stamp(BasicFileAttributes attrs) {
+        fileSize     = attrs.size();
+        fileModified = attrs.lastModifiedTime().toMillis();
+    }
+}
@@ -0,0 +1,424 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.TaskEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary mirror of the TASK_EVENT blocks in a project's work-log.md (or in
+ * one month segment of it — see WorkLogReader).
+ *
+ * notes/.events.bin — 32-byte header, then one 16-byte record per event:
+ *
+ *   header:  int magic "WCEV" | int version | long logSize | long logModified
+ *            | int count | int reserved
+ *   record:  int taskId | int epochDay | byte action | byte previousStatus
+ *            | byte status | byte priority | int tagSet
+ *
+ * Priority is 1-3, or 0 for events logged before it was recorded.
+ *
+ * notes/.events.dict — append-only text dictionary for the codes:
+ *
+ *   A 1 created        action code
+ *   S 1 OPEN           status code
+ *   T 1 backend        tag id
+ *   G 1 1,3            tag-set id → tag ids
+ *
+ * The header stamps the log's size + mtime the store reflects. Every
+ * WorkLogAppender write calls {@link #recordAppend}, which appends the
+ * entry's events (if any) and advances the stamp, so autoLog output lands
+ * here without a second code path. Any other change to the log leaves the
+ * stamp stale and the next {@link #load} rebuilds both files from the
+ * Markdown — the log stays the source of truth.
+ *
+ * With performance.sidecarIndexes=false no files are written; load()
+ * parses the Markdown and keeps the table in memory only.
+ */
+public final class TaskEventStore {
+
+    private static final int MAGIC   = 0x57434556;   // "WCEV"
+    private static final int VERSION = 2;
+    private static final int HEADER  = 32;
+    private static final int RECORD  = 16;
+
+    private record Header(long logSize, long logModified, int count) {}
+
+    private record Loaded(long logSize, long logModified, TaskEventTable table) {
+        boolean matches(BasicFileAttributes attrs) {
+            return attrs.size() == logSize && attrs.lastModifiedTime().toMillis() == logModified;
+        }
+    }
+
+    private static final Map<Path, Loaded> LOADED = new ConcurrentHashMap<>();
+
+    /** Per-log monitors: one project's rebuild never stalls another project. */
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private TaskEventStore() {}
+
+    public static Path binFor(Path logFile) {
+        return logFile.resolveSibling(prefix(logFile) + "events.bin");
+    }
+
+    public static Path dictFor(Path logFile) {
+        return logFile.resolveSibling(prefix(logFile) + "events.dict");
+    }
+
+    /** Segments share a directory, so each gets its own pair: .2026-10.events.bin */
+    private static String prefix(Path logFile) {
+        if (!WorkLogReader.isSegment(logFile)) return ".";
+        String name = logFile.getFileName().toString();
+        return "." + name.substring(0, name.length() - 3) + ".";
+    }
+
+    // ================================================================
+    // READ
+    // ================================================================
+
+    /** Events for {@code logFile}, rebuilding the store first if the log changed. */
+    public static TaskEventTable load(Path logFile) throws IOException {
+        Path key = logFile.toAbsolutePath().normalize();
+
+        Loaded loaded = LOADED.get(key);
+        if (loaded != null && loaded.matches(Files.readAttributes(key, BasicFileAttributes.class))) {
+            return loaded.table();
+        }
+
+        // Project lock first, as on the append path, so a rebuild and another
+        // process's recordAppend never write the store at the same time.
+        return ProjectLock.with(WorkLogReader.notesDir(key), () -> {
+            synchronized (lockFor(key)) {
+                BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+                long size     = attrs.size();
+                long modified = attrs.lastModifiedTime().toMillis();
+
+                Loaded cached = LOADED.get(key);
+                if (cached != null && cached.matches(attrs)) return cached.table();
+
+                if (!ConfigManager.performance().isSidecarIndexes()) {
+                    TaskEventTable table = parseInMemory(key);
+                    LOADED.put(key, new Loaded(size, modified, table));
+                    return table;
+                }
+
+                Header header = readHeader(binFor(key));
+                if (header == null || header.logSize() != size || header.logModified() != modified) {
+                    header = rebuild(key);
+                }
+
+                TaskEventTable table = readTable(key, header.count());
+                LOADED.put(key, new Loaded(header.logSize(), header.logModified(), table));
+                return table;
+            }
+        });
+    }
+
+    private static Object lockFor(Path key) {
+        return LOCKS.computeIfAbsent(key, k -> new Object());
+    }
+
+    private static TaskEventTable readTable(Path logFile, int count) throws IOException {
+        Dictionary dict = Dictionary.read(dictFor(logFile));
+
+        ByteBuffer buf = ByteBuffer.allocate(count * RECORD);
+        try (FileChannel ch = FileChannel.open(binFor(logFile), StandardOpenOption.READ)) {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, HEADER + buf.position()) < 0) {
+                    throw new IOException("Truncated event store: " + binFor(logFile));
+                }
+            }
+        }
+        buf.flip();
+        return decode(buf, count, dict);
+    }
+
+    /** sidecarIndexes=false: same table, built from the Markdown and kept only in memory. */
+    private static TaskEventTable parseInMemory(Path logFile) throws IOException {
+        List<TaskEvent> events = WorkLogParser.events(logFile);
+
+        Dictionary dict = new Dictionary();
+        ByteBuffer buf = ByteBuffer.allocate(events.size() * RECORD);
+        for (TaskEvent event : events) encode(dict, event, buf);
+        buf.flip();
+        return decode(buf, events.size(), dict);
+    }
+
+    private static TaskEventTable decode(ByteBuffer buf, int count, Dictionary dict) {
+
+        int[]  taskIds   = new int[count];
+        int[]  epochDays = new int[count];
+        byte[] actions   = new byte[count];
+        byte[] previous  = new byte[count];
+        byte[] statuses  = new byte[count];
+        byte[] priority  = new byte[count];
+        int[]  tagSets   = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            taskIds[i]   = buf.getInt();
+            epochDays[i] = buf.getInt();
+            actions[i]   = buf.get();
+            previous[i]  = buf.get();
+            statuses[i]  = buf.get();
+            priority[i]  = buf.get();
+            tagSets[i]   = buf.getInt();
+        }
+
+        return new TaskEventTable(count, taskIds, epochDays, actions, previous, statuses, priority, tagSets,
+                dict.names('A'), dict.names('S'), dict.names('T'), dict.tagSets());
+    }
+
+    // ================================================================
+    // WRITE
+    // ================================================================
+
+    /**
+     * Called after an entry was written to the log, with the TASK_EVENT
+     * blocks it contains. Appends them and advances the stamp — but only if
+     * the store was current for the log's state before the write.
+     */
+    static void recordAppend(Path logFile,
+                             long sizeBefore,
+                             long modifiedBefore,
+                             List<TaskEvent> events) {
+        Path key = logFile.toAbsolutePath().normalize();
+        synchronized (lockFor(key)) {
+            LOADED.remove(key);
+            if (ConfigManager.performance().isSidecarIndexes()) {
+                appendRecords(key, sizeBefore, modifiedBefore, events);
+            }
+        }
+    }
+
+    private static void appendRecords(Path key,
+                                      long sizeBefore,
+                                      long modifiedBefore,
+                                      List<TaskEvent> events) {
+
+        try {
+            Path bin = binFor(key);
+            Header header = readHeader(bin);
+            if (header == null
+                    || header.logSize() != sizeBefore
+                    || header.logModified() != modifiedBefore) {
+                return; // stale already — the next load() rebuilds
+            }
+
+            BasicFileAttributes after = Files.readAttributes(key, BasicFileAttributes.class);
+
+            Dictionary dict = Dictionary.read(dictFor(key));
+            ByteBuffer records = ByteBuffer.allocate(events.size() * RECORD);
+            for (TaskEvent event : events) encode(dict, event, records);
+            records.flip();
+            dict.appendNew(dictFor(key));
+
+            try (FileChannel ch = FileChannel.open(bin, StandardOpenOption.WRITE)) {
+                writeFully(ch, records, HEADER + (long) header.count() * RECORD);
+                writeFully(ch, header(after.size(), after.lastModifiedTime().toMillis(),
+                        header.count() + events.size()), 0);
+            }
+
+        } catch (IOException e) {
+            // Store is derived data; a failed update is repaired by the next rebuild
+        }
+    }
+
+    /**
+     * Re-derives both files from the Markdown log. If the log changes while
+     * it is being parsed, the parse is retried: a stamp older than the parsed
+     * content would let recordAppend() add the same event twice.
+     */
+    private static Header rebuild(Path logFile) throws IOException {
+        List<TaskEvent> events;
+        long logSize, logModified;
+        int attempts = 0;
+
+        while (true) {
+            BasicFileAttributes before = Files.readAttributes(logFile, BasicFileAttributes.class);
+            events = WorkLogParser.events(logFile);
+            BasicFileAttributes after = Files.readAttributes(logFile, BasicFileAttributes.class);
+
+            logSize     = before.size();
+            logModified = before.lastModifiedTime().toMillis();
+            if (after.size() == logSize && after.lastModifiedTime().toMillis() == logModified) break;
+
+            if (++attempts == 3) {
+                // Still moving: store the events but leave the stamp stale
+                logSize = logModified = -1;
+                break;
+            }
+        }
+
+        Dictionary dict = new Dictionary();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + events.size() * RECORD);
+        buf.put(header(logSize, logModified, events.size()));
+        for (TaskEvent event : events) encode(dict, event, buf);
+        buf.flip();
+
+        replace(dictFor(logFile), dict.render().getBytes(StandardCharsets.UTF_8));
+        replace(binFor(logFile), Arrays.copyOf(buf.array(), buf.limit()));
+
+        return new Header(logSize, logModified, events.size());
+    }
+
+    private static void encode(Dictionary dict, TaskEvent event, ByteBuffer out) throws IOException {
+        out.putInt(event.taskId());
+        out.putInt((int) event.date().toEpochDay());
+        out.put(dict.byteCode('A', event.action()));
+        out.put(dict.byteCode('S', event.previousStatus()));
+        out.put(dict.byteCode('S', event.status()));
+        out.put(event.priority() == null ? 0 : event.priority().byteValue());
+        out.putInt(dict.tagSet(event.tags()));
+    }
+
+    // ================================================================
+    // FILE HELPERS
+    // ================================================================
+
+    private static ByteBuffer header(long logSize, long logModified, int count) {
+        ByteBuffer h = ByteBuffer.allocate(HEADER);
+        h.putInt(MAGIC).putInt(VERSION).putLong(logSize).putLong(logModified).putInt(count).putInt(0);
+        h.flip();
+        return h;
+    }
+
+    private static Header readHeader(Path bin) {
+        if (!Files.exists(bin)) return null;
+        try (FileChannel ch = FileChannel.open(bin, StandardOpenOption.READ)) {
+            ByteBuffer h = ByteBuffer.allocate(HEADER);
+            while (h.hasRemaining()) {
+                if (ch.read(h, h.position()) < 0) return null;
+            }
+            h.flip();
+            if (h.getInt() != MAGIC || h.getInt() != VERSION) return null;
+            long size     = h.getLong();
+            long modified = h.getLong();
+            int count     = h.getInt();
+            if (ch.size() < HEADER + (long) count * RECORD) return null;
+            return new Header(size, modified, count);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void replace(Path target, byte[] content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, content);
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            position += ch.write(buf, position);
+        }
+    }
+
+    // ================================================================
+    // DICTIONARY
+    // ================================================================
+
+    /** Code tables for .events.dict; index 0 is always "absent". */
+    private static final class Dictionary {
+
+        private final Map<Character, List<String>> names = new HashMap<>();
+        private final Map<Character, Map<String, Integer>> codes = new HashMap<>();
+        private final List<int[]> tagSets = new ArrayList<>();
+        private final Map<String, Integer> tagSetCodes = new HashMap<>();
+        private final StringBuilder pending = new StringBuilder();
+
+        Dictionary() {
+            for (char kind : new char[]{'A', 'S', 'T'}) {
+                List<String> list = new ArrayList<>();
+                list.add(null);
+                names.put(kind, list);
+                codes.put(kind, new HashMap<>());
+            }
+            tagSets.add(new int[0]);
+            tagSetCodes.put("", 0);
+        }
+
+        static Dictionary read(Path file) throws IOException {
+            Dictionary dict = new Dictionary();
+            if (!Files.exists(file)) return dict;
+
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ", 3);
+                if (parts.length < 3 || parts[0].length() != 1) continue;
+                char kind = parts[0].charAt(0);
+
+                if (kind == 'G') {
+                    int[] members = Arrays.stream(parts[2].split(","))
+                            .mapToInt(Integer::parseInt).toArray();
+                    dict.tagSetCodes.put(parts[2], dict.tagSets.size());
+                    dict.tagSets.add(members);
+                } else if (dict.names.containsKey(kind)) {
+                    dict.codes.get(kind).put(parts[2], dict.names.get(kind).size());
+                    dict.names.get(kind).add(parts[2]);
+                }
+            }
+            return dict;
+        }
+
+        List<String> names(char kind) { return names.get(kind); }
+        List<int[]> tagSets()         { return tagSets; }
+
+        int code(char kind, String name) {
+            if (name == null) return 0;
+            Integer code = codes.get(kind).get(name);
+            if (code != null) return code;
+
+            List<String> list = names.get(kind);
+            code = list.size();
+            list.add(name);
+            codes.get(kind).put(name, code);
+            pending.append(kind).append(' ').append(code).append(' ').append(name).append('\n');
+            return code;
+        }
+
+        byte byteCode(char kind, String name) throws IOException {
+            int code = code(kind, name);
+            // Codes stay positive so TaskEventTable can use -1 for "not present"
+            if (code > Byte.MAX_VALUE) throw new IOException("More than 127 distinct values for " + kind);
+            return (byte) code;
+        }
+
+        int tagSet(List<String> tags) {
+            if (tags.isEmpty()) return 0;
+            StringJoiner key = new StringJoiner(",");
+            for (String tag : tags) key.add(String.valueOf(code('T', tag)));
+
+            Integer id = tagSetCodes.get(key.toString());
+            if (id != null) return id;
+
+            id = tagSets.size();
+            tagSets.add(Arrays.stream(key.toString().split(",")).mapToInt(Integer::parseInt).toArray());
+            tagSetCodes.put(key.toString(), id);
+            pending.append("G ").append(id).append(' ').append(key).append('\n');
+            return id;
+        }
+
+        /** Whole dictionary, for a rebuild. */
+        String render() {
+            return pending.toString();
+        }
+
+        /** Persists codes added since read(). */
+        void appendNew(Path file) throws IOException {
+            if (pending.isEmpty()) return;
+            Files.writeString(file, pending, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            pending.setLength(0);
+        }
+    }
+}
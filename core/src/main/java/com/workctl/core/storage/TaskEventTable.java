@@ -0,0 +1,211 @@
+package com.workctl.core.storage;
+
+import com.workctl.core.model.TaskEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column view of a project's TASK_EVENT history, as loaded from
+ * TaskEventStore.
+ *
+ * Each event is a row across parallel primitive arrays. Actions and
+ * statuses are byte codes and tags are dictionary ids, so analytics can
+ * scan with int/byte comparisons, e.g.:
+ *
+ *   byte completed = table.actionCode("completed");
+ *   for (int i = 0; i < table.size(); i++)
+ *       if (table.action(i) == completed && table.epochDay(i) >= weekStart) ...
+ *
+ * Code 0 means "absent" for action/status/priority; tag-set 0 is the
+ * empty set.
+ */
+public final class TaskEventTable {
+
+    private final int size;
+    private final int[] taskIds;
+    private final int[] epochDays;
+    private final byte[] actions;
+    private final byte[] previousStatuses;
+    private final byte[] statuses;
+    private final byte[] priorities;
+    private final int[] tagSets;
+
+    private final List<String> actionNames;
+    private final List<String> statusNames;
+    private final List<String> tagNames;
+    private final List<int[]> tagSetMembers;
+
+    TaskEventTable(int size,
+                   int[] taskIds,
+                   int[] epochDays,
+                   byte[] actions,
+                   byte[] previousStatuses,
+                   byte[] statuses,
+                   byte[] priorities,
+                   int[] tagSets,
+                   List<String> actionNames,
+                   List<String> statusNames,
+                   List<String> tagNames,
+                   List<int[]> tagSetMembers) {
+        this.size             = size;
+        this.taskIds          = taskIds;
+        this.epochDays        = epochDays;
+        this.actions          = actions;
+        this.previousStatuses = previousStatuses;
+        this.statuses         = statuses;
+        this.priorities       = priorities;
+        this.tagSets          = tagSets;
+        this.actionNames      = actionNames;
+        this.statusNames      = statusNames;
+        this.tagNames         = tagNames;
+        this.tagSetMembers    = tagSetMembers;
+    }
+
+    /**
+     * Rows of {@code tables} in order, as one table. Each segment of a
+     * segmented work log has its own code dictionary, so codes and tag
+     * sets are remapped onto a merged one.
+     */
+    static TaskEventTable concat(List<TaskEventTable> tables) {
+        if (tables.size() == 1) return tables.get(0);
+
+        int total = 0;
+        for (TaskEventTable t : tables) total += t.size;
+
+        int[]  taskIds   = new int[total];
+        int[]  epochDays = new int[total];
+        byte[] actions   = new byte[total];
+        byte[] previous  = new byte[total];
+        byte[] statuses  = new byte[total];
+        byte[] priority  = new byte[total];
+        int[]  tagSets   = new int[total];
+
+        List<String> actionNames = new ArrayList<>();
+        List<String> statusNames = new ArrayList<>();
+        List<String> tagNames    = new ArrayList<>();
+        List<int[]>  members     = new ArrayList<>();
+        actionNames.add(null);
+        statusNames.add(null);
+        members.add(new int[0]);
+        Map<String, Integer> setCodes = new HashMap<>();
+        setCodes.put("", 0);
+
+        int row = 0;
+        for (TaskEventTable t : tables) {
+            byte[] actionMap = remap(t.actionNames, actionNames);
+            byte[] statusMap = remap(t.statusNames, statusNames);
+
+            int[] tagMap = new int[t.tagNames.size()];
+            for (int id = 0; id < tagMap.length; id++) {
+                int at = tagNames.indexOf(t.tagNames.get(id));
+                if (at < 0) {
+                    at = tagNames.size();
+                    tagNames.add(t.tagNames.get(id));
+                }
+                tagMap[id] = at;
+            }
+
+            int[] setMap = new int[t.tagSetMembers.size()];
+            for (int set = 0; set < setMap.length; set++) {
+                int[] ids = t.tagSetMembers.get(set).clone();
+                for (int k = 0; k < ids.length; k++) ids[k] = tagMap[ids[k]];
+                String key = Arrays.toString(ids);
+                Integer code = set == 0 ? Integer.valueOf(0) : setCodes.get(key);
+                if (code == null) {
+                    code = members.size();
+                    members.add(ids);
+                    setCodes.put(key, code);
+                }
+                setMap[set] = code;
+            }
+
+            for (int i = 0; i < t.size; i++, row++) {
+                taskIds[row]   = t.taskIds[i];
+                epochDays[row] = t.epochDays[i];
+                actions[row]   = actionMap[t.actions[i]];
+                previous[row]  = statusMap[t.previousStatuses[i]];
+                statuses[row]  = statusMap[t.statuses[i]];
+                priority[row]  = t.priorities[i];
+                tagSets[row]   = setMap[t.tagSets[i]];
+            }
+        }
+
+        return new TaskEventTable(total, taskIds, epochDays, actions, previous, statuses, priority, tagSets,
+                actionNames, statusNames, tagNames, members);
+    }
+
+    /** Old code → merged code; names missing from {@code merged} are appended to it. */
+    private static byte[] remap(List<String> names, List<String> merged) {
+        byte[] map = new byte[names.size()];
+        for (int code = 1; code < map.length; code++) {
+            int at = merged.indexOf(names.get(code));
+            if (at < 0) {
+                at = merged.size();
+                merged.add(names.get(code));
+            }
+            map[code] = (byte) at;
+        }
+        return map;
+    }
+
+    public int size() { return size; }
+
+    public int taskId(int row)          { return taskIds[row]; }
+    public int epochDay(int row)        { return epochDays[row]; }
+    public byte action(int row)         { return actions[row]; }
+    public byte previousStatus(int row) { return previousStatuses[row]; }
+    public byte status(int row)         { return statuses[row]; }
+    public byte priority(int row)       { return priorities[row]; }
+
+    public LocalDate date(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    /** Tag dictionary ids for the row (shared array — do not modify). */
+    public int[] tagIds(int row) {
+        return tagSetMembers.get(tagSets[row]);
+    }
+
+    public String tagName(int tagId) {
+        return tagNames.get(tagId);
+    }
+
+    public int tagCount() {
+        return tagNames.size();
+    }
+
+    /** Byte code for an action name, or -1 if no event in the table uses it. */
+    public byte actionCode(String action) {
+        int code = actionNames.indexOf(action);
+        return code <= 0 ? -1 : (byte) code;
+    }
+
+    public String actionName(byte code)  { return actionNames.get(code); }
+    public String statusName(byte code)  { return statusNames.get(code); }
+
+    public TaskEvent event(int row) {
+        int[] ids = tagIds(row);
+        List<String> tags = new ArrayList<>(ids.length);
+        for (int id : ids) tags.add(tagNames.get(id));
+
+        return new TaskEvent(
+                taskIds[row],
+                actionName(actions[row]),
+                statusName(previousStatuses[row]),
+                statusName(statuses[row]),
+                date(row),
+                List.copyOf(tags),
+                priorities[row] == 0 ? null : (int) priorities[row]);
+    }
+
+    public List<TaskEvent> toEvents() {
+        List<TaskEvent> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) events.add(event(i));
+        return events;
+    }
+}
@@ -0,0 +1,628 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskStatus;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bitmap index over every task in the workspace, for filters like
+ * "P1 and in progress and tagged backend, in any project".
+ *
+ * Every task gets a row number. For each facet value the index keeps a
+ * {@link TaskBitmap} of the rows that have it:
+ *
+ *   project     project name
+ *   status      OPEN / IN_PROGRESS / DONE
+ *   priority    1..n
+ *   tag         tag name, case-insensitive
+ *   created, updated, completed   ISO week of the date
+ *
+ * A {@link Filter} is evaluated as bitmap AND / OR / AND-NOT, so counts
+ * and matches never look at a task that doesn't match. Date ranges OR
+ * the whole weeks inside the range and check the two edge weeks day by
+ * day, so they are exact.
+ *
+ * Before each query the tasks.md of every project the filter can match
+ * is stat'ed — all of them, unless it is limited by {@link #project}.
+ * Only projects whose size or mtime changed are reloaded and diffed row
+ * by row. A project that fails to load keeps its previous rows and is
+ * retried on the next query; it never fails the query for the others.
+ * TaskService also hands over each board it writes, so this process's own
+ * changes never cause a reload. The per-row values are kept in
+ * .workctl/facets.idx, so a new process rebuilds the bitmaps without
+ * parsing any tasks.md. With performance.sidecarIndexes=false the index
+ * is kept in memory only.
+ */
+public final class TaskFacetIndex {
+
+    /** Loads a project's current tasks. Only called for projects that have a tasks.md. */
+    @FunctionalInterface
+    public interface Loader {
+        List<Task> load(String project) throws IOException;
+    }
+
+    /** A matching task: its project and id. */
+    public record Ref(String project, int id) {}
+
+    /**
+     * A condition on facets, combined with and/or/not. Build one from
+     * the static factories on {@link TaskFacetIndex}:
+     *
+     *   priority(1).and(status(IN_PROGRESS)).and(tag("backend"))
+     */
+    public static final class Filter {
+        private final Function<TaskFacetIndex, TaskBitmap> eval;
+        private final Set<String> projects;   // the only projects it can match; null = any
+
+        private Filter(Function<TaskFacetIndex, TaskBitmap> eval) {
+            this(eval, null);
+        }
+
+        private Filter(Function<TaskFacetIndex, TaskBitmap> eval, Set<String> projects) {
+            this.eval     = eval;
+            this.projects = projects;
+        }
+
+        public Filter and(Filter other) {
+            Set<String> scope = projects == null ? other.projects : projects;
+            if (projects != null && other.projects != null) {
+                scope = new HashSet<>(projects);
+                scope.retainAll(other.projects);
+            }
+            return new Filter(ix -> eval.apply(ix).and(other.eval.apply(ix)), scope);
+        }
+
+        public Filter or(Filter other) {
+            Set<String> scope = null;
+            if (projects != null && other.projects != null) {
+                scope = new HashSet<>(projects);
+                scope.addAll(other.projects);
+            }
+            return new Filter(ix -> eval.apply(ix).or(other.eval.apply(ix)), scope);
+        }
+
+        public Filter not() {
+            return new Filter(ix -> ix.live.andNot(eval.apply(ix)));
+        }
+    }
+
+    private static final int MAGIC   = 0x57434658;   // "WCFX"
+    private static final int VERSION = 1;
+
+    private static final String INDEX_FILE = ".workctl/facets.idx";
+
+    private static final int NO_DATE  = Integer.MIN_VALUE;
+    private static final int OPEN_END = Integer.MAX_VALUE / 2;   // epoch day bound for open ranges
+
+    /** The three date facets; index into rowDates / weeks. */
+    private static final int CREATED = 0, UPDATED = 1, COMPLETED = 2;
+
+    private static final Map<Path, TaskFacetIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path workspace;
+    private final Path indexFile;
+    private final boolean persistent;
+
+    // Guarded by this ------------------------------------------------
+
+    /** Per-project rows plus the tasks.md attributes they were built from. */
+    private static final class ProjectRows {
+        long size, modified;
+        final Map<Integer, Integer> rows = new HashMap<>();   // task id → row
+    }
+
+    private final Map<String, ProjectRows> projects = new HashMap<>();
+
+    // Row table; a free row has rowProject == null
+    private String[]   rowProject = new String[64];
+    private int[]      rowId      = new int[64];
+    private TaskStatus[] rowStatus = new TaskStatus[64];
+    private int[]      rowPriority = new int[64];
+    private int[][]    rowDates   = new int[3][64];
+    private String[][] rowTags    = new String[64][];
+    private int        rowCount;
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+
+    private final TaskBitmap live = new TaskBitmap();
+    private final Map<String, TaskBitmap> byProject = new HashMap<>();
+    private final Map<TaskStatus, TaskBitmap> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<Integer, TaskBitmap> byPriority = new HashMap<>();
+    private final Map<String, TaskBitmap> byTag = new HashMap<>();
+    private final List<TreeMap<Integer, TaskBitmap>> weeks =
+            List.of(new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+
+    private boolean loaded;
+    private boolean dirty;
+
+    private TaskFacetIndex(Path workspace, boolean persistent) {
+        this.workspace  = workspace;
+        this.indexFile  = workspace.resolve(INDEX_FILE);
+        this.persistent = persistent;
+    }
+
+    public static TaskFacetIndex forWorkspace(Path workspace) {
+        Path key = workspace.toAbsolutePath().normalize();
+        return INDEXES.computeIfAbsent(key,
+                k -> new TaskFacetIndex(k, ConfigManager.performance().isSidecarIndexes()));
+    }
+
+    // ================================================================
+    // FILTERS
+    // ================================================================
+
+    public static Filter all() {
+        return new Filter(ix -> ix.live);
+    }
+
+    public static Filter project(String... names) {
+        return new Filter(anyOf(ix -> ix.byProject, List.of(names)).eval, Set.copyOf(Arrays.asList(names)));
+    }
+
+    public static Filter status(TaskStatus... statuses) {
+        return anyOf(ix -> ix.byStatus, List.of(statuses));
+    }
+
+    public static Filter priority(int... priorities) {
+        return anyOf(ix -> ix.byPriority, Arrays.stream(priorities).boxed().toList());
+    }
+
+    /** Any of the tags, with or without the leading '#'. */
+    public static Filter tag(String... tags) {
+        return anyOf(ix -> ix.byTag, Arrays.stream(tags).map(TaskFacetIndex::tagKey).toList());
+    }
+
+    /** Created within [from, to]; either end may be null for open-ended. */
+    public static Filter created(LocalDate from, LocalDate to) {
+        return dateRange(CREATED, from, to);
+    }
+
+    public static Filter updated(LocalDate from, LocalDate to) {
+        return dateRange(UPDATED, from, to);
+    }
+
+    public static Filter completed(LocalDate from, LocalDate to) {
+        return dateRange(COMPLETED, from, to);
+    }
+
+    private static <K> Filter anyOf(Function<TaskFacetIndex, Map<K, TaskBitmap>> facet, List<K> keys) {
+        return new Filter(ix -> {
+            Map<K, TaskBitmap> byValue = facet.apply(ix);
+            TaskBitmap out = new TaskBitmap();
+            for (K k : keys) {
+                TaskBitmap b = byValue.get(k);
+                if (b != null) out = out.or(b);
+            }
+            return out;
+        });
+    }
+
+    private static Filter dateRange(int facet, LocalDate from, LocalDate to) {
+        int lo = from == null ? -OPEN_END : (int) from.toEpochDay();
+        int hi = to   == null ?  OPEN_END : (int) to.toEpochDay();
+        return new Filter(ix -> ix.evalRange(facet, lo, hi));
+    }
+
+    // ================================================================
+    // QUERIES
+    // ================================================================
+
+    /** Tasks matching {@code filter}, ordered by project then id. */
+    public List<Ref> find(Filter filter, Loader loader) throws IOException {
+        refresh(loader, filter.projects);
+        List<Ref> out = new ArrayList<>();
+        synchronized (this) {
+            filter.eval.apply(this).forEach(row -> out.add(new Ref(rowProject[row], rowId[row])));
+        }
+        out.sort(Comparator.comparing(Ref::project).thenComparingInt(Ref::id));
+        return out;
+    }
+
+    public int count(Filter filter, Loader loader) throws IOException {
+        refresh(loader, filter.projects);
+        synchronized (this) {
+            return filter.eval.apply(this).cardinality();
+        }
+    }
+
+    /**
+     * Records the board TaskService just wrote. A no-op until the index
+     * has been loaded in this process; the next refresh picks the change
+     * up from tasks.md's attributes instead.
+     */
+    public synchronized void update(String project, Path tasksFile, List<Task> tasks) {
+        if (!loaded) return;
+        try {
+            long[] stamp = stamp(tasksFile);
+            reindex(project, tasks, stamp[0], stamp[1]);
+        } catch (IOException e) {
+            // the refresh will notice the attributes differ and reload
+        }
+    }
+
+    private TaskBitmap evalRange(int facet, int lo, int hi) {
+        if (lo > hi) return new TaskBitmap();
+        int wLo = week(lo), wHi = week(hi);
+        TreeMap<Integer, TaskBitmap> byWeek = weeks.get(facet);
+
+        TaskBitmap out = new TaskBitmap();
+        for (Map.Entry<Integer, TaskBitmap> e : byWeek.subMap(wLo, true, wHi, true).entrySet()) {
+            int w = e.getKey();
+            if (w > wLo && w < wHi) {
+                out = out.or(e.getValue());
+                continue;
+            }
+            // Edge week: only the days inside the range
+            TaskBitmap exact = new TaskBitmap();
+            int[] days = rowDates[facet];
+            e.getValue().forEach(row -> {
+                if (days[row] >= lo && days[row] <= hi) exact.add(row);
+            });
+            out = out.or(exact);
+        }
+        return out;
+    }
+
+    // ================================================================
+    // REFRESH
+    // ================================================================
+
+    /**
+     * Reloads the projects in {@code scope} (every project if null) whose
+     * tasks.md changed, and drops those that are gone.
+     *
+     * The loader runs outside this index's monitor: loading a board can
+     * take that project's ProjectLock, and writers call {@link #update}
+     * while holding it. A project whose rows changed while its board was
+     * loading (an update, or another refresh) keeps the newer rows.
+     */
+    private void refresh(Loader loader, Set<String> scope) throws IOException {
+        Map<String, long[]> stale = new LinkedHashMap<>();    // name → tasks.md stamp to record
+        Map<String, long[]> seen  = new HashMap<>();          // name → rows' stamp when found stale
+
+        synchronized (this) {
+            if (!loaded) {
+                loaded = true;
+                load();
+            }
+
+            Path root = workspace.resolve("01_Projects");
+            List<Path> dirs = new ArrayList<>();
+            if (scope != null) {
+                for (String name : scope) {
+                    Path dir = root.resolve(name).normalize();
+                    if (root.equals(dir.getParent())) dirs.add(dir);
+                }
+            } else if (Files.isDirectory(root)) {
+                try (var stream = Files.list(root)) {
+                    dirs.addAll(stream.filter(Files::isDirectory).toList());
+                }
+            }
+
+            Set<String> present = new HashSet<>();
+            for (Path dir : dirs) {
+                Path tasksFile = dir.resolve("notes").resolve("tasks.md");
+                long[] stamp;
+                try {
+                    stamp = stamp(tasksFile);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+
+                String name = dir.getFileName().toString();
+                present.add(name);
+                ProjectRows p = projects.get(name);
+                if (p != null && p.size == stamp[0] && p.modified == stamp[1]) continue;
+
+                stale.put(name, stamp);
+                seen.put(name, p == null ? null : new long[]{p.size, p.modified});
+            }
+
+            for (String name : new ArrayList<>(projects.keySet())) {
+                if (scope != null && !scope.contains(name)) continue;
+                if (!present.contains(name)) {
+                    reindex(name, List.of(), -1, -1);
+                    projects.remove(name);
+                }
+            }
+
+            if (stale.isEmpty()) {
+                if (dirty) save();
+                return;
+            }
+        }
+
+        Map<String, List<Task>> loadedTasks = new HashMap<>();
+        for (String name : stale.keySet()) {
+            try {
+                loadedTasks.put(name, loader.load(name));
+            } catch (IOException | RuntimeException e) {
+                // Keep its last rows and stamp; the next query tries again
+            }
+        }
+
+        synchronized (this) {
+            for (Map.Entry<String, List<Task>> e : loadedTasks.entrySet()) {
+                String name = e.getKey();
+                ProjectRows p = projects.get(name);
+                long[] now = p == null ? null : new long[]{p.size, p.modified};
+                if (!Arrays.equals(now, seen.get(name))) continue;
+
+                long[] stamp = stale.get(name);
+                reindex(name, e.getValue(), stamp[0], stamp[1]);
+            }
+            if (dirty) save();
+        }
+    }
+
+    /**
+     * Size and mtime of tasks.md, folded with its .tasks.wal if there is
+     * one — with the WAL on, most commits only touch the log.
+     */
+    private static long[] stamp(Path tasksFile) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(tasksFile, BasicFileAttributes.class);
+        long size     = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+        try {
+            BasicFileAttributes wal = Files.readAttributes(
+                    tasksFile.resolveSibling(TaskWal.FILE), BasicFileAttributes.class);
+            size    += wal.size();
+            modified = Math.max(modified, wal.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            // No log — tasks.md alone
+        }
+        return new long[]{size, modified};
+    }
+
+    /** Brings one project's rows in line with {@code tasks}, touching only what changed. */
+    private void reindex(String project, List<Task> tasks, long size, long modified) {
+        ProjectRows p = projects.computeIfAbsent(project, k -> new ProjectRows());
+        p.size     = size;
+        p.modified = modified;
+        dirty = true;
+
+        Set<Integer> seen = new HashSet<>();
+        for (Task t : tasks) {
+            seen.add(t.getId());
+            int[] dates = { day(t.getCreatedDate()), day(t.getUpdatedDate()), day(t.getCompletedDate()) };
+            String[] tags = tagsOf(t);
+
+            Integer row = p.rows.get(t.getId());
+            if (row != null) {
+                if (rowStatus[row] == t.getStatus() && rowPriority[row] == t.getPriority()
+                        && rowDates[CREATED][row] == dates[CREATED]
+                        && rowDates[UPDATED][row] == dates[UPDATED]
+                        && rowDates[COMPLETED][row] == dates[COMPLETED]
+                        && Arrays.equals(rowTags[row], tags)) continue;
+                unindex(row);
+            } else {
+                row = allocateRow();
+                p.rows.put(t.getId(), row);
+            }
+            index(row, project, t.getId(), t.getStatus(), t.getPriority(), dates, tags);
+        }
+
+        Iterator<Map.Entry<Integer, Integer>> it = p.rows.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Integer> e = it.next();
+            if (seen.contains(e.getKey())) continue;
+            unindex(e.getValue());
+            rowProject[e.getValue()] = null;
+            freeRows.push(e.getValue());
+            it.remove();
+        }
+    }
+
+    private void index(int row, String project, int id, TaskStatus status, int priority,
+                       int[] dates, String[] tags) {
+        rowProject[row]  = project;
+        rowId[row]       = id;
+        rowStatus[row]   = status;
+        rowPriority[row] = priority;
+        rowTags[row]     = tags;
+
+        live.add(row);
+        byProject.computeIfAbsent(project, k -> new TaskBitmap()).add(row);
+        if (status != null) byStatus.computeIfAbsent(status, k -> new TaskBitmap()).add(row);
+        byPriority.computeIfAbsent(priority, k -> new TaskBitmap()).add(row);
+        for (String tag : tags) byTag.computeIfAbsent(tag, k -> new TaskBitmap()).add(row);
+        for (int f = 0; f < 3; f++) {
+            rowDates[f][row] = dates[f];
+            if (dates[f] != NO_DATE) weeks.get(f).computeIfAbsent(week(dates[f]), k -> new TaskBitmap()).add(row);
+        }
+    }
+
+    private void unindex(int row) {
+        live.remove(row);
+        clear(byProject, rowProject[row], row);
+        if (rowStatus[row] != null) clear(byStatus, rowStatus[row], row);
+        clear(byPriority, rowPriority[row], row);
+        for (String tag : rowTags[row]) clear(byTag, tag, row);
+        for (int f = 0; f < 3; f++) {
+            int d = rowDates[f][row];
+            if (d == NO_DATE) continue;
+            TaskBitmap b = weeks.get(f).get(week(d));
+            if (b == null) continue;
+            b.remove(row);
+            if (b.isEmpty()) weeks.get(f).remove(week(d));
+        }
+    }
+
+    private static <K> void clear(Map<K, TaskBitmap> byValue, K key, int row) {
+        TaskBitmap b = byValue.get(key);
+        if (b == null) return;
+        b.remove(row);
+        if (b.isEmpty()) byValue.remove(key);
+    }
+
+    private int allocateRow() {
+        if (!freeRows.isEmpty()) return freeRows.pop();
+        if (rowCount == rowId.length) {
+            int cap = rowCount * 2;
+            rowProject  = Arrays.copyOf(rowProject, cap);
+            rowId       = Arrays.copyOf(rowId, cap);
+            rowStatus   = Arrays.copyOf(rowStatus, cap);
+            rowPriority = Arrays.copyOf(rowPriority, cap);
+            rowTags     = Arrays.copyOf(rowTags, cap);
+            for (int f = 0; f < 3; f++) rowDates[f] = Arrays.copyOf(rowDates[f], cap);
+        }
+        return rowCount++;
+    }
+
+    private static String[] tagsOf(Task t) {
+        if (t.getTags() == null || t.getTags().isEmpty()) return new String[0];
+        return t.getTags().stream()
+                .map(TaskFacetIndex::tagKey)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    private static String tagKey(String tag) {
+        String t = tag.trim();
+        if (t.startsWith("#")) t = t.substring(1);
+        return t.toLowerCase(Locale.ROOT);
+    }
+
+    private static int day(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    /** ISO week number counted from 1969-12-29 (the Monday before the epoch). */
+    private static int week(int epochDay) {
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    // ================================================================
+    // PERSISTENCE
+    // ================================================================
+
+    /**
+     * facets.idx: int magic | int version | int tags | UTF tag... | int projects,
+     * then per project: UTF name | long size | long modified | int tasks,
+     * then per task: int id | byte status | int priority | int created
+     * | int updated | int completed | short tags | int tag number...
+     */
+    private void load() {
+        if (!persistent || !Files.exists(indexFile)) return;
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Files.readAllBytes(indexFile)))) {
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return;
+
+            String[] tagNames = new String[in.readInt()];
+            for (int j = 0; j < tagNames.length; j++) tagNames[j] = in.readUTF();
+
+            TaskStatus[] statuses = TaskStatus.values();
+            int projectCount = in.readInt();
+            for (int i = 0; i < projectCount; i++) {
+                String name = in.readUTF();
+                ProjectRows p = new ProjectRows();
+                p.size     = in.readLong();
+                p.modified = in.readLong();
+                projects.put(name, p);
+
+                int tasks = in.readInt();
+                for (int k = 0; k < tasks; k++) {
+                    int id = in.readInt();
+                    int s = in.readByte();
+                    int priority = in.readInt();
+                    int[] dates = { in.readInt(), in.readInt(), in.readInt() };
+                    String[] tags = new String[in.readShort()];
+                    for (int j = 0; j < tags.length; j++) tags[j] = tagNames[in.readInt()];
+
+                    int row = allocateRow();
+                    p.rows.put(id, row);
+                    index(row, name, id, s < 0 ? null : statuses[s], priority, dates, tags);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // unreadable — start empty and let the refresh reload every project
+            reset();
+        }
+    }
+
+    /**
+     * Replaces facets.idx via a temp file of its own and an atomic move,
+     * under the ProjectLock of the workspace's .workctl/ directory, so
+     * processes saving at once never write into each other's file.
+     */
+    private void save() {
+        dirty = false;
+        if (!persistent) return;
+        try {
+            ProjectLock.with(indexFile.getParent(), () -> {
+                Path tmp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+                try {
+                    write(tmp);
+                    try {
+                        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    tmp.toFile().delete();
+                    throw e;
+                }
+            });
+        } catch (IOException e) {
+            // best-effort — the in-memory index is still current
+        }
+    }
+
+    private void write(Path file) throws IOException {
+        Map<String, Integer> tagNumbers = new HashMap<>();
+        for (String tag : byTag.keySet()) tagNumbers.put(tag, tagNumbers.size());
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            String[] tagNames = new String[tagNumbers.size()];
+            tagNumbers.forEach((tag, n) -> tagNames[n] = tag);
+            out.writeInt(tagNames.length);
+            for (String tag : tagNames) out.writeUTF(tag);
+
+            out.writeInt(projects.size());
+            for (Map.Entry<String, ProjectRows> e : projects.entrySet()) {
+                ProjectRows p = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(p.size);
+                out.writeLong(p.modified);
+                out.writeInt(p.rows.size());
+                for (int row : p.rows.values()) {
+                    out.writeInt(rowId[row]);
+                    out.writeByte(rowStatus[row] == null ? -1 : rowStatus[row].ordinal());
+                    out.writeInt(rowPriority[row]);
+                    for (int f = 0; f < 3; f++) out.writeInt(rowDates[f][row]);
+                    out.writeShort(rowTags[row].length);
+                    for (String tag : rowTags[row]) out.writeInt(tagNumbers.get(tag));
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        projects.clear();
+        byProject.clear();
+        byStatus.clear();
+        byPriority.clear();
+        byTag.clear();
+        weeks.forEach(Map::clear);
+        freeRows.clear();
+        for (int row = 0; row < rowCount; row++) {
+            live.remove(row);
+            rowProject[row] = null;
+        }
+        rowCount = 0;
+    }
+}
@@ -0,0 +1,299 @@
+package com.workctl.core.storage;
+
+import com.workctl.core.model.Task;
+import com.workctl.core.model.TaskBoard;
+import com.workctl.core.model.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Byte layout of a tasks.md: where each task's block sits, which section
+ * it is under, and where the NEXT_ID number is.
+ *
+ * TaskService uses it to write only what changed. Given the board the
+ * file holds and the board to write, {@link #splice} replaces the blocks
+ * of edited tasks, cuts deleted ones, moves a block between ## Open,
+ * ## In Progress and ## Done when its status changed, inserts new tasks in
+ * id order and patches NEXT_ID. Every other byte is copied as is, so a
+ * subtask toggle shows up in git, editors and file watchers as a one-line
+ * change and hand-made formatting elsewhere survives.
+ *
+ * A block is a task line plus the 4-space-indented lines right under it —
+ * the same lines TaskService's parser reads as that task. Files the
+ * parser would read differently from that (a stray indented line after a
+ * gap, an unknown or repeated ## section, a missing NEXT_ID, CRLF line
+ * endings) get no layout, and the caller regenerates the file.
+ *
+ * The layout of the last file written is kept per path and carried over
+ * to the spliced content, so consecutive writes never rescan the file.
+ */
+public final class TaskFileLayout {
+
+    private static final Pattern TASK    = Pattern.compile("(\\d+)\\. \\[(.)\\](?: \\(P(\\d)\\))? (.+)");
+    private static final Pattern NEXT_ID = Pattern.compile("NEXT_ID: (\\d+)");
+
+    private record Block(int id, TaskStatus section, int start, int end) {}
+
+    /** Replace [start, end) with bytes; start == end inserts. Block edits carry the task they write. */
+    private record Edit(int start, int end, byte[] bytes, int id, TaskStatus section) {
+
+        boolean isInsert() {
+            return start == end;
+        }
+    }
+
+    private static final Comparator<Edit> ORDER = Comparator
+            .comparingInt(Edit::start)
+            .thenComparing(e -> !e.isInsert())      // inserts go before a block that starts there
+            .thenComparingInt(Edit::id);
+
+    private static final Map<Path, TaskFileLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final byte[] content;
+    private final long checksum;
+    private final Map<Integer, Block> blocks;
+    private final Map<TaskStatus, Integer> bodies;   // first byte after each "## " line
+    private final int nextIdStart, nextIdEnd;        // the NEXT_ID digits
+
+    private TaskFileLayout(byte[] content, Map<Integer, Block> blocks,
+                           Map<TaskStatus, Integer> bodies, int nextIdStart, int nextIdEnd) {
+        this.content     = content;
+        this.checksum    = FileStamp.checksum(content);
+        this.blocks      = blocks;
+        this.bodies      = bodies;
+        this.nextIdStart = nextIdStart;
+        this.nextIdEnd   = nextIdEnd;
+    }
+
+    // ================================================================
+    // SPLICE
+    // ================================================================
+
+    /**
+     * The bytes of {@code file} rewritten to hold {@code after}, or null if
+     * the file has no usable layout and must be regenerated.
+     *
+     * @param current the board parsed from the file and the file's stamp
+     * @param format  renders one task block, without the trailing newline
+     */
+    public static byte[] splice(Path file, TaskBoardCache.Snapshot current,
+                                TaskBoard after, Function<Task, String> format) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        FileStamp stamp = current.stamp();
+
+        TaskFileLayout layout = LAYOUTS.get(key);
+        if (layout == null || layout.content.length != stamp.size() || layout.checksum != stamp.checksum()) {
+            byte[] bytes = Files.readAllBytes(key);
+            if (!stamp.sameContent(bytes)) return null;
+            layout = scan(bytes);
+            if (layout == null) {
+                LAYOUTS.remove(key);
+                return null;
+            }
+        }
+
+        TaskFileLayout next = layout.apply(current.board(), after, format);
+        if (next == null) {
+            LAYOUTS.remove(key);
+            return null;
+        }
+        LAYOUTS.put(key, next);
+        return next.content;
+    }
+
+    private TaskFileLayout apply(TaskBoard before, TaskBoard after, Function<Task, String> format) {
+        Map<Integer, Task> old = new HashMap<>();
+        for (Task t : before.getTasks()) old.put(t.getId(), t);
+        if (!blocks.keySet().equals(old.keySet())) return null;
+
+        // Per section, blocks by id — a new or moved task goes in front of the next higher id
+        Map<TaskStatus, TreeMap<Integer, Block>> sections = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Integer> sectionEnds = new EnumMap<>(bodies);
+        for (Block b : blocks.values()) {
+            sections.computeIfAbsent(b.section(), s -> new TreeMap<>()).put(b.id(), b);
+            sectionEnds.merge(b.section(), b.end(), Math::max);
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        for (Task t : after.getTasks()) {
+            Task prev  = old.remove(t.getId());
+            Block b    = blocks.get(t.getId());
+            if (prev != null && b.section() == t.getStatus() && TaskWal.same(prev, t)) continue;
+
+            byte[] text = (format.apply(t) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (b != null && b.section() == t.getStatus()) {
+                edits.add(new Edit(b.start(), b.end(), text, t.getId(), t.getStatus()));
+                continue;
+            }
+            if (b != null) edits.add(new Edit(b.start(), b.end(), new byte[0], -1, null));
+
+            Integer end = sectionEnds.get(t.getStatus());
+            if (end == null) return null;
+            Map.Entry<Integer, Block> higher = sections
+                    .getOrDefault(t.getStatus(), new TreeMap<>()).higherEntry(t.getId());
+            int at = higher != null ? higher.getValue().start() : end;
+            edits.add(new Edit(at, at, text, t.getId(), t.getStatus()));
+        }
+        for (int id : old.keySet()) {
+            Block b = blocks.get(id);
+            edits.add(new Edit(b.start(), b.end(), new byte[0], -1, null));
+        }
+        if (after.getNextId() != before.getNextId()) {
+            edits.add(new Edit(nextIdStart, nextIdEnd,
+                    String.valueOf(after.getNextId()).getBytes(StandardCharsets.UTF_8), -1, null));
+        }
+        if (edits.isEmpty()) return this;
+        edits.sort(ORDER);
+
+        // Copy the untouched bytes between edits, noting where each edit landed
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length + 256);
+        int[] starts = new int[edits.size()];
+        long[] shift = new long[edits.size() + 1];
+        int[] landed = new int[edits.size()];
+        int pos = 0;
+        for (int i = 0; i < edits.size(); i++) {
+            Edit e = edits.get(i);
+            out.write(content, pos, e.start() - pos);
+            landed[i] = out.size();
+            out.write(e.bytes(), 0, e.bytes().length);
+            pos = e.end();
+            starts[i] = e.start();
+            shift[i + 1] = shift[i] + e.bytes().length - (e.end() - e.start());
+        }
+        out.write(content, pos, content.length - pos);
+
+        Map<Integer, Block> moved = new HashMap<>(blocks.size() + 16);
+        Set<Integer> rewritten = new HashSet<>();
+        int newNextStart = nextIdStart, newNextEnd = nextIdEnd;
+        for (int i = 0; i < edits.size(); i++) {
+            Edit e = edits.get(i);
+            if (e.id() >= 0) {
+                moved.put(e.id(), new Block(e.id(), e.section(), landed[i], landed[i] + e.bytes().length));
+                rewritten.add(e.id());
+            } else if (e.start() == nextIdStart && e.end() == nextIdEnd) {
+                newNextStart = landed[i];
+                newNextEnd   = landed[i] + e.bytes().length;
+            }
+        }
+        // old now holds only the deleted tasks
+        for (Block b : blocks.values()) {
+            if (rewritten.contains(b.id()) || old.containsKey(b.id())) continue;
+            // Untouched block: every edit at or before its start moved it
+            int d = (int) shift[upperBound(starts, b.start())];
+            moved.put(b.id(), new Block(b.id(), b.section(), b.start() + d, b.end() + d));
+        }
+        if (newNextStart == nextIdStart) {
+            int d = (int) shift[lowerBound(starts, nextIdStart)];
+            newNextStart += d;
+            newNextEnd   += d;
+        }
+
+        Map<TaskStatus, Integer> newBodies = new EnumMap<>(TaskStatus.class);
+        for (Map.Entry<TaskStatus, Integer> s : bodies.entrySet()) {
+            // A body start stays in front of anything inserted there
+            newBodies.put(s.getKey(), s.getValue() + (int) shift[lowerBound(starts, s.getValue())]);
+        }
+
+        return new TaskFileLayout(out.toByteArray(), moved, newBodies, newNextStart, newNextEnd);
+    }
+
+    /** Number of starts <= p. */
+    private static int upperBound(int[] starts, int p) {
+        int lo = 0, hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= p) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Number of starts < p. */
+    private static int lowerBound(int[] starts, int p) {
+        int lo = 0, hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < p) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // ================================================================
+    // SCAN
+    // ================================================================
+
+    /** Mirrors TaskService's parser line for line; null where the two could disagree. */
+    static TaskFileLayout scan(byte[] content) {
+        if (content.length == 0 || content[content.length - 1] != '\n') return null;
+
+        Map<Integer, Block> blocks = new HashMap<>();
+        Map<TaskStatus, Integer> bodies = new EnumMap<>(TaskStatus.class);
+        int nextStart = -1, nextEnd = -1, nextCount = 0;
+
+        TaskStatus section = null;
+        int id = -1, start = 0, end = 0;
+        TaskStatus blockSection = null;
+        boolean detached = false;      // a non-indented line followed the current block
+
+        int pos = 0;
+        while (pos < content.length) {
+            int eol = pos;
+            while (content[eol] != '\n') {
+                if (content[eol] == '\r') return null;
+                eol++;
+            }
+            int next = eol + 1;
+            String line = new String(content, pos, eol - pos, StandardCharsets.UTF_8);
+
+            Matcher n = NEXT_ID.matcher(line);
+            if (n.find()) {
+                nextCount++;
+                nextStart = pos + line.substring(0, n.start(1)).getBytes(StandardCharsets.UTF_8).length;
+                nextEnd   = nextStart + n.group(1).length();
+                if (id >= 0) detached = true;
+
+            } else if (line.startsWith("## ")) {
+                if (id >= 0 && blocks.put(id, new Block(id, blockSection, start, end)) != null) return null;
+                id = -1;
+                section = switch (line.substring(3).trim()) {
+                    case "Open" -> TaskStatus.OPEN;
+                    case "In Progress" -> TaskStatus.IN_PROGRESS;
+                    case "Done" -> TaskStatus.DONE;
+                    default -> null;
+                };
+                if (section == null || bodies.put(section, next) != null) return null;
+
+            } else if (section != null && TASK.matcher(line.trim()).matches()) {
+                if (id >= 0 && blocks.put(id, new Block(id, blockSection, start, end)) != null) return null;
+                Matcher m = TASK.matcher(line.trim());
+                m.matches();
+                id = Integer.parseInt(m.group(1));
+                start = pos;
+                end = next;
+                blockSection = section;
+                detached = false;
+
+            } else if (id >= 0 && line.startsWith("    ")) {
+                // The parser would still attach this line to the task above
+                if (detached) return null;
+                end = next;
+
+            } else if (id >= 0) {
+                detached = true;
+            }
+            pos = next;
+        }
+        if (id >= 0 && blocks.put(id, new Block(id, blockSection, start, end)) != null) return null;
+
+        if (nextCount != 1) return null;
+        return new TaskFileLayout(content, blocks, bodies, nextStart, nextEnd);
+    }
+}
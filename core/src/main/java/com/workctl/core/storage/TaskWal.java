@@ -0,0 +1,422 @@
+package com.workctl.core.storage;
+
+import com.workctl.core.model.Task;
+import com.workctl.core.model.Task.SubTask;
+import com.workctl.core.model.TaskBoard;
+import com.workctl.core.model.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log for a project's task board: notes/.tasks.wal.
+ *
+ * With performance.taskWal enabled, TaskService no longer re-renders the
+ * whole of tasks.md on every change. It appends one frame holding only
+ * what changed — the full state of each added or edited task, the ids of
+ * removed ones, and NEXT_ID — and rewrites tasks.md (a checkpoint) once
+ * the log holds performance.taskWalCheckpoint operations, or on
+ * `workctl task compact`. Loading replays the log over tasks.md.
+ *
+ *   header   int magic "WCTW" | int version | long generation   (16 bytes)
+ *   frame    int length | int crc32 | payload
+ *   payload  int ops, then per op:
+ *              'P' task fields        add or replace the task with that id
+ *              'D' int id             remove the task
+ *              'N' int nextId         raise NEXT_ID
+ *
+ * Every operation carries full state, so replaying a frame twice changes
+ * nothing. That is what makes a checkpoint crash-safe: tasks.md is
+ * rewritten first and the log deleted after, and a log that survives a
+ * crash in between replays onto the new tasks.md without effect. A frame
+ * cut short by a crash fails its length or CRC check; readers stop there
+ * and the next append, made under the ProjectLock, truncates it.
+ *
+ * If tasks.md is edited outside workctl while a log exists, the edit is
+ * loaded and the log replayed on top — the logged tasks win, every other
+ * task keeps the edit.
+ *
+ * One instance per log file. It keeps the replayed board and how far into
+ * the log it got, so loads only read frames appended since the last one.
+ */
+public final class TaskWal {
+
+    public static final String FILE = ".tasks.wal";
+
+    private static final int MAGIC   = 0x57435457;   // "WCTW"
+    private static final int VERSION = 1;
+    private static final int HEADER  = 16;
+
+    private static final byte PUT     = 'P';
+    private static final byte DELETE  = 'D';
+    private static final byte NEXT_ID = 'N';
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Loads tasks.md itself; only called when it changed since the last replay. */
+    @FunctionalInterface
+    public interface Loader {
+        TaskBoardCache.Snapshot load() throws IOException;
+    }
+
+    private static final Map<Path, TaskWal> LOGS = new ConcurrentHashMap<>();
+
+    private final Path tasksFile;
+    private final Path file;
+
+    // Guarded by this
+    private TaskBoard board;       // tasks.md + every frame up to applied; never handed out
+    private FileStamp base;        // the tasks.md the board was built on
+    private long generation;       // header of the log we replayed; 0 = no log
+    private long applied;          // end of the last complete frame
+    private long scanned;          // log size when last read, torn tail included
+    private int ops;               // operations in the log
+
+    private TaskWal(Path tasksFile) {
+        this.tasksFile = tasksFile;
+        this.file      = tasksFile.resolveSibling(FILE);
+    }
+
+    public static TaskWal forTasks(Path tasksFile) {
+        Path key = tasksFile.toAbsolutePath().normalize();
+        return LOGS.computeIfAbsent(key, TaskWal::new);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    // ================================================================
+    // READ
+    // ================================================================
+
+    /**
+     * A private copy of the board — tasks.md with the log replayed over
+     * it — and the stamp of the tasks.md it was built on.
+     *
+     * The loader runs outside this log's monitor: loading tasks.md can take
+     * locks of its own, and writers append while holding the ProjectLock.
+     * If another thread rebuilt the board meanwhile, its board is used.
+     */
+    public TaskBoardCache.Snapshot snapshot(Loader loader) throws IOException {
+        synchronized (this) {
+            if (!needsBase()) return replayed();
+        }
+
+        TaskBoardCache.Snapshot md = loader.load();
+
+        synchronized (this) {
+            if (needsBase()) {
+                long size  = Files.exists(file) ? Files.size(file) : 0;
+                board      = md.board();
+                base       = md.stamp();
+                generation = size > 0 ? Math.max(0, readGeneration()) : 0;
+                applied    = generation > 0 ? HEADER : 0;
+                scanned    = applied;
+                ops        = 0;
+            }
+            return replayed();
+        }
+    }
+
+    /** True when tasks.md changed, or the log was replaced or cut, since the board was built. */
+    private boolean needsBase() throws IOException {
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        return board == null || !base.sameAttributes(tasksFile) || size < scanned
+                || (size > 0 && size != scanned && readGeneration() != generation);
+    }
+
+    /** The board with any frames appended since the last read applied, copied. */
+    private TaskBoardCache.Snapshot replayed() throws IOException {
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        if (generation > 0 && size > scanned) replay(size);
+        return new TaskBoardCache.Snapshot(board.copy(), base);
+    }
+
+    /** Operations waiting for the next checkpoint. */
+    public synchronized int pendingOps() {
+        return ops;
+    }
+
+    private long readGeneration() throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER) return -1;
+            ByteBuffer h = ByteBuffer.allocate(HEADER);
+            while (h.hasRemaining() && ch.read(h, h.position()) > 0) {}
+            h.flip();
+            if (h.getInt() != MAGIC || h.getInt() != VERSION) return -1;
+            return h.getLong();
+        }
+    }
+
+    /** Applies the complete frames in [applied, size); stops at the first torn one. */
+    private void replay(long size) throws IOException {
+        byte[] tail;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) (size - applied));
+            while (buf.hasRemaining() && ch.read(buf, applied + buf.position()) > 0) {}
+            tail = Arrays.copyOf(buf.array(), buf.position());
+        }
+        scanned = applied + tail.length;
+
+        Map<Integer, Integer> positions = new HashMap<>();
+        List<Task> tasks = board.getTasks();
+        for (int i = 0; i < tasks.size(); i++) positions.put(tasks.get(i).getId(), i);
+
+        ByteBuffer in = ByteBuffer.wrap(tail);
+        while (in.remaining() >= 8) {
+            int length = in.getInt();
+            int crc    = in.getInt();
+            if (length < 0 || length > in.remaining()) break;
+
+            byte[] payload = new byte[length];
+            in.get(payload);
+            if ((int) checksum(payload) != crc) break;
+
+            ops += apply(payload, positions);
+            applied += 8 + length;
+        }
+
+        tasks.removeIf(Objects::isNull);
+    }
+
+    private int apply(byte[] payload, Map<Integer, Integer> positions) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        List<Task> tasks = board.getTasks();
+
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            switch (in.readByte()) {
+                case PUT -> {
+                    Task t = readTask(in);
+                    Integer at = positions.get(t.getId());
+                    if (at != null) {
+                        tasks.set(at, t);
+                    } else {
+                        positions.put(t.getId(), tasks.size());
+                        tasks.add(t);
+                    }
+                }
+                case DELETE -> {
+                    // Left as a hole until the whole tail is applied, so positions stay valid
+                    Integer at = positions.remove(in.readInt());
+                    if (at != null) tasks.set(at, null);
+                }
+                case NEXT_ID -> board.setNextId(Math.max(board.getNextId(), in.readInt()));
+                default -> throw new IOException("Unknown operation in " + file);
+            }
+        }
+        return count;
+    }
+
+    // ================================================================
+    // WRITE
+    // ================================================================
+
+    /**
+     * Logs the difference between the last snapshot and {@code updated}.
+     * Callers hold the project's ProjectLock and took that snapshot under
+     * it, and must not change {@code updated} afterwards — the log keeps
+     * it as its replayed board instead of copying it.
+     *
+     * @return operations now in the log, for the checkpoint decision
+     */
+    public synchronized int append(TaskBoard updated) throws IOException {
+        if (board == null) throw new IllegalStateException("append() before snapshot()");
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        int count = diff(board, updated, out);
+        if (count == 0) return ops;
+
+        byte[] body = raw.toByteArray();
+        ByteBuffer frame = ByteBuffer.allocate(12 + body.length);
+        frame.putInt(4 + body.length);
+        frame.putInt((int) checksum(ByteBuffer.allocate(4).putInt(count).array(), body));
+        frame.putInt(count);
+        frame.put(body);
+        frame.flip();
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (generation == 0 || ch.size() < HEADER) {
+                generation = (new Random().nextLong() & Long.MAX_VALUE) | 1;
+                ByteBuffer h = ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION).putLong(generation);
+                h.flip();
+                ch.truncate(0);
+                writeFully(ch, h, 0);
+                applied = HEADER;
+            }
+            // Anything past the last good frame is a crash remnant
+            if (ch.size() > applied) ch.truncate(applied);
+            writeFully(ch, frame, applied);
+        }
+
+        applied += frame.limit();
+        scanned  = applied;
+        ops     += count;
+        board    = updated;
+        return ops;
+    }
+
+    /**
+     * Forgets the log once tasks.md holds everything in it. The next
+     * snapshot rebuilds from tasks.md (normally a TaskBoardCache hit).
+     */
+    public synchronized void reset() throws IOException {
+        Files.deleteIfExists(file);
+        board      = null;
+        generation = 0;
+        applied    = 0;
+        scanned    = 0;
+        ops        = 0;
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) position += ch.write(buf, position);
+    }
+
+    // ================================================================
+    // ENCODING
+    // ================================================================
+
+    private static int diff(TaskBoard before, TaskBoard after, DataOutputStream out) throws IOException {
+        List<Task> was = before.getTasks(), now = after.getTasks();
+        int count = 0;
+
+        // Modifiers rarely reorder the board: walk both lists in step until they diverge
+        int i = 0;
+        for (; i < Math.min(was.size(), now.size()) && was.get(i).getId() == now.get(i).getId(); i++) {
+            if (same(was.get(i), now.get(i))) continue;
+            out.writeByte(PUT);
+            writeTask(out, now.get(i));
+            count++;
+        }
+
+        Map<Integer, Task> old = new HashMap<>();
+        for (Task t : was.subList(i, was.size())) old.put(t.getId(), t);
+
+        for (Task t : now.subList(i, now.size())) {
+            Task prev = old.remove(t.getId());
+            if (prev != null && same(prev, t)) continue;
+            out.writeByte(PUT);
+            writeTask(out, t);
+            count++;
+        }
+        for (int id : old.keySet()) {
+            out.writeByte(DELETE);
+            out.writeInt(id);
+            count++;
+        }
+        if (after.getNextId() != before.getNextId()) {
+            out.writeByte(NEXT_ID);
+            out.writeInt(after.getNextId());
+            count++;
+        }
+        return count;
+    }
+
+    /** True when the two would be written identically (tags included). */
+    static boolean same(Task a, Task b) {
+        if (a.getStatus() != b.getStatus() || a.getPriority() != b.getPriority()
+                || !a.getDescription().equals(b.getDescription())
+                || !Objects.equals(a.getCreatedDate(), b.getCreatedDate())
+                || !Objects.equals(a.getUpdatedDate(), b.getUpdatedDate())
+                || !Objects.equals(a.getCompletedDate(), b.getCompletedDate())
+                || !Objects.equals(a.getTags(), b.getTags())) {
+            return false;
+        }
+        List<SubTask> x = a.getSubtasks(), y = b.getSubtasks();
+        if (x.size() != y.size()) return false;
+        for (int i = 0; i < x.size(); i++) {
+            if (x.get(i).isDone() != y.get(i).isDone()
+                    || !x.get(i).getTitle().equals(y.get(i).getTitle())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeTask(DataOutputStream out, Task t) throws IOException {
+        out.writeInt(t.getId());
+        out.writeByte(t.getStatus().ordinal());
+        out.writeByte(t.getPriority());
+        writeString(out, t.getDescription());
+        writeDate(out, t.getCreatedDate());
+        writeDate(out, t.getUpdatedDate());
+        writeDate(out, t.getCompletedDate());
+
+        List<String> tags = t.getTags() == null ? List.of() : t.getTags();
+        out.writeInt(tags.size());
+        for (String tag : tags) writeString(out, tag);
+
+        out.writeInt(t.getSubtasks().size());
+        for (SubTask st : t.getSubtasks()) {
+            writeString(out, st.getTitle());
+            out.writeBoolean(st.isDone());
+        }
+    }
+
+    private static Task readTask(DataInputStream in) throws IOException {
+        int id              = in.readInt();
+        TaskStatus status   = TaskStatus.values()[in.readByte()];
+        int priority        = in.readByte();
+        String description  = readString(in);
+        LocalDate created   = readDate(in);
+        LocalDate updated   = readDate(in);
+        LocalDate completed = readDate(in);
+
+        List<String> tags = new ArrayList<>();
+        for (int n = in.readInt(); n > 0; n--) tags.add(readString(in));
+
+        Task t = new Task(id, description, status, tags, priority, created);
+        t.setUpdatedDate(updated);
+        t.setCompletedDate(completed);
+        for (int n = in.readInt(); n > 0; n--) {
+            t.getSubtasks().add(new SubTask(readString(in), in.readBoolean()));
+        }
+        return t;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeInt(date == null ? NO_DATE : (int) date.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        int day = in.readInt();
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private static long checksum(byte[]... parts) {
+        CRC32 crc = new CRC32();
+        for (byte[] p : parts) crc.update(p);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,444 @@
+package com.workctl.core.storage;
+
+import com.workctl.core.model.TaskEvent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Structured writer for work-log.md.
+ *
+ * Every entry lands in the newest "## yyyy-MM-dd" block, which in a
+ * chronological log is always the tail of the file. Instead of reading and
+ * rewriting the whole log, the appender:
+ *
+ *   1. finds the byte offset where today's block starts — from a cached
+ *      tail index, or by scanning backwards from EOF on a cold start
+ *   2. reads only that block, inserts the entry into its section
+ *   3. writes the block back at the same offset with a positioned
+ *      FileChannel write
+ *
+ * Cost is O(size of today's block), independent of log history. A new day
+ * is a pure append at EOF.
+ *
+ * The whole-file rewrite is kept as a fallback for logs the tail scan cannot
+ * make sense of (no date header, newest header in the future, not a date).
+ *
+ * After each write the block's new extent is pushed to WorkLogIndex, and
+ * any TASK_EVENT blocks in the entry to TaskEventStore and
+ * InsightsAggregator, so the sidecars stay current without a rescan.
+ *
+ * Appends hold the project's ProjectLock, so concurrent writers — threads
+ * here or other workctl processes — take turns per log while different
+ * projects proceed in parallel.
+ *
+ * For a segmented log (see WorkLogReader) the entry goes to the segment
+ * for its month, which is created on the month's first write; callers
+ * still pass notes/work-log.md.
+ */
+public final class WorkLogAppender {
+
+    public static final List<String> SECTIONS = List.of(
+            "### Assigned",
+            "### Done",
+            "### Changes Suggested",
+            "### Commands Used",
+            "### Notes"
+    );
+
+    private static final WorkLogAppender SHARED = new WorkLogAppender();
+
+    public static WorkLogAppender shared() {
+        return SHARED;
+    }
+
+    private static final int SCAN_CHUNK = 8192;
+    private static final String SEP = System.lineSeparator();
+
+    /** One bullet to add under a "### Section" header of the day's block. */
+    public record Insert(String sectionHeader, String entry) {}
+
+    /** Where the newest block starts, valid while the file keeps this size + mtime. */
+    private record TailIndex(String date, long blockStart, long size, long lastModified) {}
+
+    private final Map<Path, TailIndex> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Ensures the block for {@code date} exists with all sections and, when
+     * {@code entry} is non-null, adds it under {@code sectionHeader}.
+     */
+    public void append(Path logFile,
+                       LocalDate date,
+                       String sectionHeader,
+                       String entry) throws IOException {
+        append(logFile, date, entry == null ? List.of() : List.of(new Insert(sectionHeader, entry)));
+    }
+
+    /**
+     * Adds several entries to the block for {@code date} with one read and
+     * one write of that block. Entries are inserted in list order.
+     */
+    public void append(Path logFile, LocalDate date, List<Insert> inserts) throws IOException {
+
+        Path key = logFile.toAbsolutePath().normalize();
+        ProjectLock.with(WorkLogReader.notesDir(key), () -> {
+            appendLocked(WorkLogReader.of(key).openTarget(date), date, inserts);
+        });
+    }
+
+    /**
+     * Flushes the file entries for {@code date} went to through to the
+     * storage device, so they survive a crash or power loss and not just
+     * a process exit.
+     */
+    public void force(Path logFile, LocalDate date) throws IOException {
+        Path target = WorkLogReader.of(logFile.toAbsolutePath().normalize()).target(date);
+        try (FileChannel ch = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+    }
+
+    private void appendLocked(Path key,
+                              LocalDate date,
+                              List<Insert> inserts) throws IOException {
+
+        String day = date.toString();
+
+        BasicFileAttributes before = Files.readAttributes(key, BasicFileAttributes.class);
+        long blockStart = locateTail(key, day, before);
+
+        long sizeBefore     = before.size();
+        long modifiedBefore = before.lastModifiedTime().toMillis();
+
+        if (blockStart == FALLBACK) {
+            rewriteWholeFile(key, day, inserts);
+            WorkLogIndex.invalidate(key);
+        } else {
+            if (blockStart == NEW_BLOCK) {
+                blockStart = appendNewBlock(key, day, inserts);
+            } else {
+                rewriteTail(key, day, blockStart, inserts);
+            }
+            WorkLogIndex.recordTail(key, sizeBefore, modifiedBefore, date, blockStart);
+        }
+
+        StringBuilder written = new StringBuilder();
+        for (Insert insert : inserts) written.append(insert.entry()).append('\n');
+        List<TaskEvent> events = inserts.isEmpty() ? List.of() : WorkLogParser.events(written.toString());
+        TaskEventStore.recordAppend(key, sizeBefore, modifiedBefore, events);
+        InsightsAggregator.recordAppend(key, sizeBefore, modifiedBefore, events);
+    }
+
+    /** Drops the cached tail for a file another writer replaced wholesale. */
+    public void invalidate(Path logFile) {
+        tails.remove(logFile.toAbsolutePath().normalize());
+    }
+
+    // ================================================================
+    // TAIL LOCATION
+    // ================================================================
+
+    private static final long NEW_BLOCK = -1;
+    private static final long FALLBACK  = -2;
+
+    private long locateTail(Path logFile, String day, BasicFileAttributes attrs) throws IOException {
+
+        TailIndex tail = tails.get(logFile);
+
+        if (tail != null
+                && tail.size() == attrs.size()
+                && tail.lastModified() == attrs.lastModifiedTime().toMillis()) {
+            return tail.date().equals(day) ? tail.blockStart() : NEW_BLOCK;
+        }
+
+        long headerOffset = findLastDateHeader(logFile, attrs.size());
+        if (headerOffset < 0) return FALLBACK;
+
+        String header = readLine(logFile, headerOffset).trim();
+        LocalDate newest;
+        try {
+            newest = LocalDate.parse(header.substring(3).trim());
+        } catch (Exception e) {
+            return FALLBACK;
+        }
+
+        int cmp = newest.compareTo(LocalDate.parse(day));
+        if (cmp == 0) return headerOffset;
+        if (cmp < 0)  return NEW_BLOCK;
+        return FALLBACK;
+    }
+
+    /**
+     * Scans backwards from EOF for the last line starting with "## ".
+     * Returns its byte offset, or -1 if the file has none.
+     */
+    private long findLastDateHeader(Path logFile, long size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(logFile.toFile(), "r")) {
+            byte[] buf = new byte[SCAN_CHUNK + 3];
+            long end = size;
+
+            while (end > 0) {
+                long start = Math.max(0, end - SCAN_CHUNK);
+                // One byte before (line-start check) and two after (chunk-straddling "## ")
+                long from = Math.max(0, start - 1);
+                long to   = Math.min(size, end + 2);
+                raf.seek(from);
+                raf.readFully(buf, 0, (int) (to - from));
+
+                for (long pos = end - 1; pos >= start; pos--) {
+                    if (pos + 2 >= size) continue;
+                    int i = (int) (pos - from);
+                    boolean lineStart = pos == 0 || buf[i - 1] == '\n';
+                    if (lineStart && buf[i] == '#' && buf[i + 1] == '#' && buf[i + 2] == ' ') {
+                        return pos;
+                    }
+                }
+                end = start;
+            }
+        }
+        return -1;
+    }
+
+    private String readLine(Path logFile, long offset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(logFile.toFile(), "r")) {
+            raf.seek(offset);
+            StringBuilder sb = new StringBuilder();
+            int b;
+            while ((b = raf.read()) != -1 && b != '\n') sb.append((char) b);
+            return sb.toString();
+        }
+    }
+
+    // ================================================================
+    // WRITE PATHS
+    // ================================================================
+
+    /** Today's block is the tail: rewrite just that block in place. */
+    private void rewriteTail(Path logFile, String day, long blockStart,
+                             List<Insert> inserts) throws IOException {
+
+        try (FileChannel ch = FileChannel.open(logFile,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            int blockLen = (int) (ch.size() - blockStart);
+            ByteBuffer in = ByteBuffer.allocate(blockLen);
+            while (in.hasRemaining()) {
+                if (ch.read(in, blockStart + in.position()) < 0) break;
+            }
+
+            List<String> lines = new ArrayList<>(
+                    new String(in.array(), 0, in.position(), StandardCharsets.UTF_8).lines().toList());
+
+            ensureAllSectionsExist(lines, 0);
+            insertAll(lines, 0, inserts);
+
+            byte[] out = join(lines).getBytes(StandardCharsets.UTF_8);
+            writeFully(ch, ByteBuffer.wrap(out), blockStart);
+            ch.truncate(blockStart + out.length);
+        }
+
+        remember(logFile, day, blockStart);
+    }
+
+    /** Newest block is an earlier day: the new block is a pure append. Returns its offset. */
+    private long appendNewBlock(Path logFile, String day,
+                                List<Insert> inserts) throws IOException {
+
+        List<String> lines = new ArrayList<>();
+        appendFullTemplate(lines, day);
+        insertAll(lines, 1, inserts);
+
+        try (FileChannel ch = FileChannel.open(logFile,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            long size = ch.size();
+            String prefix = "";
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                ch.read(last, size - 1);
+                if (last.get(0) != '\n') prefix = SEP;
+            }
+
+            // lines[0] is the blank separator line, lines[1] the "## date" header
+            byte[] head = (prefix + lines.get(0) + SEP).getBytes(StandardCharsets.UTF_8);
+            byte[] out  = (prefix + join(lines)).getBytes(StandardCharsets.UTF_8);
+
+            writeFully(ch, ByteBuffer.wrap(out), size);
+            remember(logFile, day, size + head.length);
+            return size + head.length;
+        }
+    }
+
+    /** Fallback: the original read-everything, rewrite-everything path. */
+    private void rewriteWholeFile(Path logFile, String day,
+                                  List<Insert> inserts) throws IOException {
+
+        List<String> lines = Files.readAllLines(logFile);
+
+        int todayIndex = findDateBlock(lines, day);
+        if (todayIndex == -1) {
+            appendFullTemplate(lines, day);
+            todayIndex = findDateBlock(lines, day);
+        }
+
+        ensureAllSectionsExist(lines, todayIndex);
+        insertAll(lines, todayIndex, inserts);
+
+        Files.write(logFile, lines);
+
+        // Only cache the tail if today's block really is the last one
+        boolean isTail = true;
+        for (int i = todayIndex + 1; i < lines.size(); i++) {
+            if (lines.get(i).startsWith("## ")) { isTail = false; break; }
+        }
+        if (isTail) {
+            long offset = 0;
+            for (int i = 0; i < todayIndex; i++) {
+                offset += lines.get(i).getBytes(StandardCharsets.UTF_8).length + SEP.length();
+            }
+            remember(logFile, day, offset);
+        } else {
+            tails.remove(logFile);
+        }
+    }
+
+    private void remember(Path logFile, String day, long blockStart) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(logFile, BasicFileAttributes.class);
+        tails.put(logFile, new TailIndex(day, blockStart,
+                attrs.size(), attrs.lastModifiedTime().toMillis()));
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            position += ch.write(buf, position);
+        }
+    }
+
+    private static String join(List<String> lines) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) sb.append(line).append(SEP);
+        return sb.toString();
+    }
+
+    // ================================================================
+    // BLOCK STRUCTURE
+    // ================================================================
+
+    private int findDateBlock(List<String> lines, String date) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).trim().equals("## " + date)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void appendFullTemplate(List<String> lines, String date) {
+
+        lines.add("");
+        lines.add("## " + date);
+        lines.add("");
+        lines.add("### Assigned");
+        lines.add("-");
+        lines.add("");
+        lines.add("### Done");
+        lines.add("-");
+        lines.add("");
+        lines.add("### Changes Suggested");
+        lines.add("-");
+        lines.add("");
+        lines.add("### Commands Used");
+        lines.add("-");
+        lines.add("");
+        lines.add("### Notes");
+        lines.add("-");
+        lines.add("");
+        lines.add("---");
+    }
+
+    private void insertAll(List<String> lines, int todayIndex, List<Insert> inserts) {
+        for (Insert insert : inserts) {
+            insertIntoSection(lines, todayIndex, insert.sectionHeader(), insert.entry());
+        }
+    }
+
+    private void insertIntoSection(List<String> lines,
+                                   int todayIndex,
+                                   String sectionHeader,
+                                   String entry) {
+
+        for (int i = todayIndex; i < lines.size(); i++) {
+
+            // Stop if next date begins
+            if (i > todayIndex && lines.get(i).startsWith("## ")) {
+                break;
+            }
+
+            if (lines.get(i).trim().equals(sectionHeader)) {
+
+                int insertIndex = i + 1;
+
+                // Skip empty line if present
+                if (insertIndex < lines.size() && lines.get(insertIndex).isBlank()) {
+                    insertIndex++;
+                }
+
+                // If placeholder dash exists → replace it
+                if (insertIndex < lines.size() && lines.get(insertIndex).trim().equals("-")) {
+                    lines.set(insertIndex, entry);
+                } else {
+                    lines.add(insertIndex, entry);
+                }
+
+                return;
+            }
+        }
+
+        throw new IllegalStateException("Section not found: " + sectionHeader);
+    }
+
+    private void ensureAllSectionsExist(List<String> lines, int todayIndex) {
+
+        int insertPos = todayIndex + 1;
+
+        // Move to first section under date
+        while (insertPos < lines.size() && !lines.get(insertPos).startsWith("###")) {
+            insertPos++;
+        }
+
+        Set<String> existingSections = new HashSet<>();
+
+        for (int i = todayIndex; i < lines.size(); i++) {
+
+            if (i > todayIndex && lines.get(i).startsWith("## ")) {
+                break;
+            }
+
+            if (lines.get(i).startsWith("### ")) {
+                existingSections.add(lines.get(i).trim());
+            }
+        }
+
+        for (String section : SECTIONS) {
+
+            if (!existingSections.contains(section)) {
+
+                lines.add(insertPos, "");
+                lines.add(insertPos + 1, section);
+                lines.add(insertPos + 2, "-");
+
+                insertPos += 3;
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sidecar index for a work log: one entry per "## yyyy-MM-dd" block with
+ * its byte offset and length.
+ *
+ * Stored next to the log as a dot-file (work-log.md → .work-log.idx):
+ *
+ *   WORKLOG_IDX 1 size=48213 modified=1760659200000
+ *   2026-10-01 31 1210
+ *   2026-10-02 1241 987
+ *
+ * The header records the log's size + mtime when the index was last
+ * brought up to date. WorkLogAppender keeps it current on every append;
+ * any other change to the log (editor, git, sync) leaves the stamp stale
+ * and the next reader rebuilds it with one streaming scan.
+ *
+ * With performance.sidecarIndexes=false the index is still built, but
+ * only kept in memory for the life of the process.
+ *
+ * Range readers use {@link #readLines(LocalDate, LocalDate)} to fetch only
+ * the blocks inside a date window, so "last 7 days" costs O(window) I/O
+ * regardless of how many years the log holds.
+ */
+public final class WorkLogIndex {
+
+    public record Block(LocalDate date, long offset, long length) {
+        public long end() { return offset + length; }
+    }
+
+    private static final String MAGIC = "WORKLOG_IDX 1";
+
+    /** Indexes already validated in this process, keyed by log path. */
+    private static final Map<Path, WorkLogIndex> LOADED = new ConcurrentHashMap<>();
+
+    /** One monitor per log, so rebuilding one project's index never blocks another's. */
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private final Path logFile;
+    private final long logSize;
+    private final long logModified;
+    private final List<Block> blocks;
+
+    private WorkLogIndex(Path logFile, long logSize, long logModified, List<Block> blocks) {
+        this.logFile     = logFile;
+        this.logSize     = logSize;
+        this.logModified = logModified;
+        this.blocks      = List.copyOf(blocks);
+    }
+
+    // ================================================================
+    // PUBLIC API
+    // ================================================================
+
+    /**
+     * Returns an index that matches the log as it is on disk now,
+     * loading the sidecar or rebuilding it if the log changed.
+     */
+    public static WorkLogIndex forLog(Path logFile) throws IOException {
+        Path key = logFile.toAbsolutePath().normalize();
+
+        WorkLogIndex current = LOADED.get(key);
+        if (current != null && current.matches(Files.readAttributes(key, BasicFileAttributes.class))) return current;
+
+        // Rebuilds write the sidecar, so take the project lock first — the
+        // same order as the append path — to stay clear of other processes.
+        return ProjectLock.with(WorkLogReader.notesDir(key), () -> {
+            synchronized (lockFor(key)) {
+                BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+
+                WorkLogIndex cached = LOADED.get(key);
+                if (cached != null && cached.matches(attrs)) return cached;
+
+                boolean sidecars = ConfigManager.performance().isSidecarIndexes();
+                WorkLogIndex idx = sidecars ? readSidecar(key) : null;
+                if (idx == null || !idx.matches(attrs)) {
+                    idx = new WorkLogIndex(key, attrs.size(),
+                            attrs.lastModifiedTime().toMillis(), scan(key));
+                    if (sidecars) idx.writeSidecar();
+                }
+
+                LOADED.put(key, idx);
+                return idx;
+            }
+        });
+    }
+
+    /** Path of the sidecar file for {@code logFile}. */
+    public static Path sidecarFor(Path logFile) {
+        String name = logFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return logFile.resolveSibling("." + base + ".idx");
+    }
+
+    public List<Block> blocks() {
+        return blocks;
+    }
+
+    /** Blocks whose date falls within [from, to], in file order. */
+    public List<Block> between(LocalDate from, LocalDate to) {
+        List<Block> result = new ArrayList<>();
+        for (Block b : blocks) {
+            if (!b.date().isBefore(from) && !b.date().isAfter(to)) result.add(b);
+        }
+        return result;
+    }
+
+    /**
+     * Lines of every block dated within [from, to], each block starting
+     * with its "## date" header. Adjacent blocks are read in one go.
+     */
+    public List<String> readLines(LocalDate from, LocalDate to) throws IOException {
+        List<Block> wanted = between(from, to);
+        List<String> lines = new ArrayList<>();
+        if (wanted.isEmpty()) return lines;
+
+        try (FileChannel ch = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            int i = 0;
+            while (i < wanted.size()) {
+                long start = wanted.get(i).offset();
+                long end   = wanted.get(i).end();
+                while (i + 1 < wanted.size() && wanted.get(i + 1).offset() == end) {
+                    end = wanted.get(++i).end();
+                }
+                i++;
+
+                ByteBuffer buf = ByteBuffer.allocate((int) (Math.min(end, ch.size()) - start));
+                while (buf.hasRemaining()) {
+                    if (ch.read(buf, start + buf.position()) < 0) break;
+                }
+                new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8)
+                        .lines().forEach(lines::add);
+            }
+        }
+        return lines;
+    }
+
+    // ================================================================
+    // INCREMENTAL MAINTENANCE (called by WorkLogAppender)
+    // ================================================================
+
+    /**
+     * Records that the block for {@code date} starting at {@code blockStart}
+     * now runs to EOF. {@code sizeBefore}/{@code modifiedBefore} are the log's
+     * attributes before the write; if the index wasn't current for them it
+     * is dropped and rebuilt lazily by the next reader.
+     */
+    static void recordTail(Path logFile,
+                           long sizeBefore,
+                           long modifiedBefore,
+                           LocalDate date,
+                           long blockStart) {
+        Path key = logFile.toAbsolutePath().normalize();
+        synchronized (lockFor(key)) {
+            recordTailLocked(key, sizeBefore, modifiedBefore, date, blockStart);
+        }
+    }
+
+    private static void recordTailLocked(Path key,
+                                         long sizeBefore,
+                                         long modifiedBefore,
+                                         LocalDate date,
+                                         long blockStart) {
+        try {
+            boolean sidecars = ConfigManager.performance().isSidecarIndexes();
+            WorkLogIndex idx = LOADED.get(key);
+            if (idx == null && sidecars) idx = readSidecar(key);
+            if (idx == null || idx.logSize != sizeBefore || idx.logModified != modifiedBefore) {
+                LOADED.remove(key);
+                return;
+            }
+
+            BasicFileAttributes after = Files.readAttributes(key, BasicFileAttributes.class);
+            List<Block> updated = new ArrayList<>(idx.blocks);
+            Block last = updated.isEmpty() ? null : updated.get(updated.size() - 1);
+
+            if (last != null && last.offset() == blockStart) {
+                updated.set(updated.size() - 1, new Block(date, blockStart, after.size() - blockStart));
+            } else {
+                if (last != null) {
+                    updated.set(updated.size() - 1,
+                            new Block(last.date(), last.offset(), blockStart - last.offset()));
+                }
+                updated.add(new Block(date, blockStart, after.size() - blockStart));
+            }
+
+            WorkLogIndex next = new WorkLogIndex(key, after.size(),
+                    after.lastModifiedTime().toMillis(), updated);
+            if (sidecars) next.writeSidecar();
+            LOADED.put(key, next);
+
+        } catch (IOException e) {
+            // The index is an accelerator — a failed update just means a rebuild later
+            LOADED.remove(key);
+        }
+    }
+
+    /** Forgets the in-memory index; the stale sidecar is rebuilt on next use. */
+    static void invalidate(Path logFile) {
+        LOADED.remove(logFile.toAbsolutePath().normalize());
+    }
+
+    private static Object lockFor(Path key) {
+        return LOCKS.computeIfAbsent(key, k -> new Object());
+    }
+
+    // ================================================================
+    // SIDECAR I/O
+    // ================================================================
+
+    private boolean matches(BasicFileAttributes attrs) {
+        return attrs.size() == logSize && attrs.lastModifiedTime().toMillis() == logModified;
+    }
+
+    private static WorkLogIndex readSidecar(Path logFile) {
+        Path sidecar = sidecarFor(logFile);
+        if (!Files.exists(sidecar)) return null;
+        try {
+            List<String> lines = Files.readAllLines(sidecar);
+            if (lines.isEmpty() || !lines.get(0).startsWith(MAGIC + " ")) return null;
+
+            long size = -1, modified = -1;
+            for (String field : lines.get(0).substring(MAGIC.length()).trim().split(" ")) {
+                if (field.startsWith("size="))     size     = Long.parseLong(field.substring(5));
+                if (field.startsWith("modified=")) modified = Long.parseLong(field.substring(9));
+            }
+
+            List<Block> blocks = new ArrayList<>();
+            for (int i = 1; i < lines.size(); i++) {
+                String[] parts = lines.get(i).split(" ");
+                if (parts.length != 3) continue;
+                blocks.add(new Block(LocalDate.parse(parts[0]),
+                        Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+            return new WorkLogIndex(logFile, size, modified, blocks);
+
+        } catch (Exception e) {
+            return null; // corrupt sidecar → rebuild
+        }
+    }
+
+    private void writeSidecar() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(MAGIC).append(" size=").append(logSize)
+          .append(" modified=").append(logModified).append("\n");
+        for (Block b : blocks) {
+            sb.append(b.date()).append(' ').append(b.offset()).append(' ').append(b.length()).append("\n");
+        }
+
+        Path sidecar = sidecarFor(logFile);
+        Path tmp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+        Files.writeString(tmp, sb.toString());
+        try {
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ================================================================
+    // FULL SCAN
+    // ================================================================
+
+    /**
+     * Streams the log once, recording every line that starts with
+     * "## yyyy-MM-dd". Non-date "## " headings stay inside the previous block.
+     */
+    static List<Block> scan(Path logFile) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        byte[] head = new byte[32];
+        byte[] buf  = new byte[1 << 16];
+
+        long offset = 0;
+        long lineStart = 0;
+        int headLen = 0;
+        LocalDate currentDate = null;
+        long currentStart = 0;
+
+        try (InputStream in = Files.newInputStream(logFile)) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                for (int i = 0; i < n; i++, offset++) {
+                    byte b = buf[i];
+                    if (b != '\n') {
+                        if (headLen < head.length) head[headLen++] = b;
+                        continue;
+                    }
+                    LocalDate date = parseHeader(head, headLen);
+                    if (date != null) {
+                        if (currentDate != null) {
+                            blocks.add(new Block(currentDate, currentStart, lineStart - currentStart));
+                        }
+                        currentDate  = date;
+                        currentStart = lineStart;
+                    }
+                    lineStart = offset + 1;
+                    headLen = 0;
+                }
+            }
+        }
+
+        // Last line without a trailing newline
+        LocalDate date = parseHeader(head, headLen);
+        if (date != null) {
+            if (currentDate != null) {
+                blocks.add(new Block(currentDate, currentStart, lineStart - currentStart));
+            }
+            currentDate  = date;
+            currentStart = lineStart;
+        }
+        if (currentDate != null) {
+            blocks.add(new Block(currentDate, currentStart, offset - currentStart));
+        }
+        return blocks;
+    }
+
+    private static LocalDate parseHeader(byte[] head, int len) {
+        // Readers trim lines before matching "## ", so allow leading indentation
+        int p = 0;
+        while (p < len && (head[p] == ' ' || head[p] == '\t')) p++;
+        if (len - p < 13 || head[p] != '#' || head[p + 1] != '#' || head[p + 2] != ' ') return null;
+        String text = new String(head, p + 3, len - p - 3, StandardCharsets.US_ASCII).trim();
+        if (text.length() != 10) return null;
+        try {
+            return LocalDate.parse(text);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
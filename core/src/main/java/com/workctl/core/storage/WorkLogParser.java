@@ -0,0 +1,411 @@
+package com.workctl.core.storage;
+
+import com.workctl.config.ConfigManager;
+import com.workctl.core.model.LogEntry;
+import com.workctl.core.model.TaskEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel, memory-mapped parser for work-log.md.
+ *
+ * The file is split into chunks that start on a "## yyyy-MM-dd" line, so
+ * every chunk is a run of whole date blocks and can be parsed with no
+ * context from its neighbours. Chunks are parsed on a fork-join pool
+ * (the common pool, or performance.parserThreads workers if set)
+ * straight from mapped pages — the log is never decoded into one String,
+ * and only bullet text and event fields are turned into Java objects.
+ *
+ * Heap use is the output records plus one mapping window (≤ 64 MB of
+ * page-cache-backed, off-heap memory) per worker, however large the log.
+ *
+ * Event fields follow the existing regex readers: the block runs from
+ * "TASK_EVENT:" to the next "-->", one key=value per line. Blocks without
+ * a numeric id or a valid date are skipped.
+ */
+public final class WorkLogParser {
+
+    public record Result(List<TaskEvent> events, List<LogEntry> entries) {}
+
+    /** Largest region mapped at once. */
+    private static final long MAX_MAP = 64L << 20;
+
+    /** Files below this size are parsed on the calling thread. */
+    private static final long MIN_CHUNK = 1L << 20;
+
+    private static final int BOUNDARY_WINDOW = 64 << 10;
+
+    private static ForkJoinPool dedicatedPool;
+
+    private WorkLogParser() {}
+
+    /** All TASK_EVENT blocks, in file order. */
+    public static List<TaskEvent> events(Path logFile) throws IOException {
+        return parse(logFile, false).events();
+    }
+
+    /** Events plus every bullet entry, in file order. */
+    public static Result parse(Path logFile) throws IOException {
+        return parse(logFile, true);
+    }
+
+    /** TASK_EVENT blocks inside a snippet of log text (e.g. one entry being appended). */
+    public static List<TaskEvent> events(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        ChunkParser parser = new ChunkParser(false);
+
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                parser.line(buf, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < bytes.length) parser.line(buf, lineStart, bytes.length);
+        return parser.result().events();
+    }
+
+    private static Result parse(Path logFile, boolean withEntries) throws IOException {
+        try (FileChannel ch = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return new Result(List.of(), List.of());
+
+            ForkJoinPool pool = pool();
+            List<long[]> chunks = split(ch, size, pool.getParallelism());
+            if (chunks.size() == 1) {
+                return parseRange(ch, 0, size, withEntries);
+            }
+
+            Result[] parts = new Result[chunks.size()];
+            try {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        List<RecursiveAction> tasks = new ArrayList<>();
+                        for (int i = 0; i < chunks.size(); i++) {
+                            int slot = i;
+                            tasks.add(new RecursiveAction() {
+                                @Override
+                                protected void compute() {
+                                    long[] c = chunks.get(slot);
+                                    try {
+                                        parts[slot] = parseRange(ch, c[0], c[1], withEntries);
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                }
+                            });
+                        }
+                        ForkJoinTask.invokeAll(tasks);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<TaskEvent> events = new ArrayList<>();
+            List<LogEntry> entries = new ArrayList<>();
+            for (Result part : parts) {
+                events.addAll(part.events());
+                entries.addAll(part.entries());
+            }
+            return new Result(events, entries);
+        }
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        int threads = ConfigManager.performance().getParserThreads();
+        if (threads <= 0) return ForkJoinPool.commonPool();
+
+        if (dedicatedPool == null || dedicatedPool.getParallelism() != threads) {
+            if (dedicatedPool != null) dedicatedPool.shutdown();
+            dedicatedPool = new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setDaemon(true);
+                t.setName("workctl-log-parser-" + t.getPoolIndex());
+                return t;
+            }, null, false);
+        }
+        return dedicatedPool;
+    }
+
+    // ================================================================
+    // CHUNKING
+    // ================================================================
+
+    /** [start, end) ranges, each beginning at a date header (or offset 0). */
+    private static List<long[]> split(FileChannel ch, long size, int parallelism) throws IOException {
+        long target = Math.max(MIN_CHUNK, Math.min(MAX_MAP, size / (parallelism * 4L)));
+
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + target >= size ? size : nextDateHeader(ch, start + target, size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /** Offset of the first "## <digit>" line starting at or after {@code from}, or {@code size}. */
+    private static long nextDateHeader(FileChannel ch, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BOUNDARY_WINDOW + 5);
+        long pos = from - 1;   // include the preceding byte for the line-start check
+
+        while (pos < size) {
+            buf.clear();
+            int n = 0;
+            while (buf.hasRemaining()) {
+                int r = ch.read(buf, pos + n);
+                if (r < 0) break;
+                n += r;
+            }
+            byte[] b = buf.array();
+            for (int i = 0; i + 4 < n; i++) {
+                if (b[i] == '\n' && b[i + 1] == '#' && b[i + 2] == '#' && b[i + 3] == ' '
+                        && b[i + 4] >= '0' && b[i + 4] <= '9') {
+                    return pos + i + 1;
+                }
+            }
+            if (n < buf.capacity()) break;
+            pos += n - 4;
+        }
+        return size;
+    }
+
+    private static Result parseRange(FileChannel ch, long start, long end, boolean withEntries)
+            throws IOException {
+
+        ChunkParser parser = new ChunkParser(withEntries);
+        long pos = start;
+
+        while (pos < end) {
+            long windowEnd = Math.min(end, pos + MAX_MAP);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, windowEnd - pos);
+            int len = buf.limit();
+
+            int lineStart = 0;
+            for (int i = 0; i < len; i++) {
+                if (buf.get(i) == '\n') {
+                    parser.line(buf, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+
+            if (windowEnd == end || lineStart == 0) {
+                // Last window, or a single line longer than the window
+                if (lineStart < len) parser.line(buf, lineStart, len);
+                pos = windowEnd;
+            } else {
+                // Re-map from the start of the unfinished line
+                pos += lineStart;
+            }
+        }
+
+        return parser.result();
+    }
+
+    // ================================================================
+    // LINE PARSER
+    // ================================================================
+
+    private static final byte[] EVENT_MARK = "TASK_EVENT:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_END  = "-->".getBytes(StandardCharsets.US_ASCII);
+
+    /** Per-chunk state machine; values are de-duplicated so repeated actions/tags share objects. */
+    private static final class ChunkParser {
+
+        private final boolean withEntries;
+        private final List<TaskEvent> events  = new ArrayList<>();
+        private final List<LogEntry>  entries = new ArrayList<>();
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<String, List<String>> tagLists = new HashMap<>();
+        private final Map<String, LocalDate> dates = new HashMap<>();
+
+        private LocalDate currentDate;
+        private String currentSection;
+
+        private boolean inEvent;
+        private String id, action, previousStatus, status, date, tags, priority;
+
+        ChunkParser(boolean withEntries) {
+            this.withEntries = withEntries;
+        }
+
+        Result result() {
+            return new Result(events, entries);
+        }
+
+        void line(ByteBuffer buf, int start, int end) {
+            if (end > start && buf.get(end - 1) == '\r') end--;
+            int p = start;
+            while (p < end && (buf.get(p) == ' ' || buf.get(p) == '\t')) p++;
+
+            if (inEvent) {
+                int close = indexOf(buf, p, end, EVENT_END);
+                field(buf, p, close < 0 ? end : close);
+                if (close >= 0) closeEvent();
+                return;
+            }
+
+            int mark = indexOf(buf, p, end, EVENT_MARK);
+            if (mark >= 0) {
+                inEvent = true;
+                id = action = previousStatus = status = date = tags = priority = null;
+                int rest = mark + EVENT_MARK.length;
+                int close = indexOf(buf, rest, end, EVENT_END);
+                field(buf, rest, close < 0 ? end : close);
+                if (close >= 0) closeEvent();
+                return;
+            }
+
+            if (startsWith(buf, p, end, "### ")) {
+                currentSection = decode(buf, p + 4, end).trim();
+                return;
+            }
+
+            if (startsWith(buf, p, end, "## ")) {
+                LocalDate d = parseDate(buf, p + 3, end);
+                if (d != null) {
+                    currentDate = d;
+                    currentSection = null;
+                }
+                return;
+            }
+
+            if (withEntries && currentDate != null && currentSection != null
+                    && startsWith(buf, p, end, "- ")) {
+                String text = decode(buf, p + 2, end).trim();
+                if (!text.isEmpty()) {
+                    entries.add(new LogEntry(currentDate, dedupe(currentSection), text));
+                }
+            }
+        }
+
+        /** Same as the FIELD_PATTERN "(\\w+)=(.+)" find: first key=value on the line. */
+        private void field(ByteBuffer buf, int start, int end) {
+            for (int j = start + 1; j < end; j++) {
+                if (buf.get(j) != '=' || !isWord(buf.get(j - 1))) continue;
+                if (j + 1 >= end) return;
+
+                int k = j - 1;
+                while (k > start && isWord(buf.get(k - 1))) k--;
+                String key   = decode(buf, k, j);
+                String value = decode(buf, j + 1, end).trim();
+
+                switch (key) {
+                    case "id"             -> id = value;
+                    case "action"         -> action = value;
+                    case "previousStatus" -> previousStatus = value;
+                    case "status"         -> status = value;
+                    case "date"           -> date = value;
+                    case "tags"           -> tags = value;
+                    case "priority"       -> priority = value;
+                    default -> { }
+                }
+                return;
+            }
+        }
+
+        private void closeEvent() {
+            inEvent = false;
+            if (id == null || date == null) return;
+
+            int taskId;
+            LocalDate eventDate;
+            try {
+                taskId = Integer.parseInt(id);
+                eventDate = dates.computeIfAbsent(date, LocalDate::parse);
+            } catch (Exception e) {
+                return; // malformed event
+            }
+
+            events.add(new TaskEvent(taskId,
+                    dedupe(action), dedupe(previousStatus), dedupe(status),
+                    eventDate, tagList(tags), priority(priority)));
+        }
+
+        /** 1-3, or null if absent or out of range. */
+        private static Integer priority(String raw) {
+            if (raw == null || raw.length() != 1) return null;
+            int p = raw.charAt(0) - '0';
+            return p >= 1 && p <= 3 ? p : null;
+        }
+
+        private String dedupe(String s) {
+            if (s == null) return null;
+            return strings.computeIfAbsent(s, k -> k);
+        }
+
+        private List<String> tagList(String raw) {
+            if (raw == null || raw.isBlank()) return List.of();
+            return tagLists.computeIfAbsent(raw, r -> {
+                List<String> list = new ArrayList<>();
+                for (String t : r.split(",")) {
+                    String tag = t.trim();
+                    if (!tag.isEmpty()) list.add(dedupe(tag));
+                }
+                return List.copyOf(list);
+            });
+        }
+    }
+
+    // ================================================================
+    // BYTE HELPERS
+    // ================================================================
+
+    private static boolean isWord(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+    }
+
+    private static boolean startsWith(ByteBuffer buf, int p, int end, String prefix) {
+        if (end - p < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf.get(p + i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buf, int from, int end, byte[] needle) {
+        outer:
+        for (int i = from; i + needle.length <= end; i++) {
+            for (int k = 0; k < needle.length; k++) {
+                if (buf.get(i + k) != needle[k]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** "yyyy-MM-dd" with optional surrounding whitespace, else null. */
+    private static LocalDate parseDate(ByteBuffer buf, int start, int end) {
+        while (start < end && Character.isWhitespace(buf.get(start))) start++;
+        while (end > start && Character.isWhitespace(buf.get(end - 1))) end--;
+        if (end - start != 10) return null;
+        try {
+            return LocalDate.parse(decode(buf, start, end));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.workctl.core.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * One project's work log, in either of its two layouts:
+ *
+ *   notes/work-log.md            monolithic — every day in one file
+ *   notes/work-log/2026-10.md    segmented — one file per calendar month
+ *
+ * Callers keep addressing the log as notes/work-log.md; {@link #of} looks
+ * beside it for a work-log/ directory and, if there is one, reads the
+ * segments instead. Once the directory exists a leftover work-log.md is
+ * ignored — moving the directory into place is the commit point of
+ * {@link #migrate}.
+ *
+ * In the segmented layout WorkLogAppender only ever writes the segment for
+ * the entry's month, so appends, sidecar updates, git diffs and watcher
+ * events stay confined to one small file and earlier months are never
+ * rewritten. Range reads skip segments whose month lies outside the range
+ * and use each remaining segment's own WorkLogIndex.
+ */
+public final class WorkLogReader {
+
+    public static final String LOG_FILE    = "work-log.md";
+    public static final String SEGMENT_DIR = "work-log";
+
+    private static final String STAGING = "work-log.migrating";
+
+    private final Path logFile;
+
+    private WorkLogReader(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /** The log for {@code logFile} — a project's notes/work-log.md or one of its segments. */
+    public static WorkLogReader of(Path logFile) {
+        Path key = logFile.toAbsolutePath().normalize();
+        if (isSegment(key)) key = notesDir(key).resolve(LOG_FILE);
+        return new WorkLogReader(key);
+    }
+
+    /** The notes/ directory a log or segment belongs to — the ProjectLock key for both. */
+    public static Path notesDir(Path file) {
+        Path parent = file.toAbsolutePath().normalize().getParent();
+        return isSegment(file) ? parent.getParent() : parent;
+    }
+
+    /** True for notes/work-log/yyyy-MM.md. */
+    public static boolean isSegment(Path file) {
+        Path parent = file.getParent();
+        return parent != null
+                && parent.getFileName() != null
+                && parent.getFileName().toString().equals(SEGMENT_DIR)
+                && month(file) != null;
+    }
+
+    /** The month a segment covers, or null if the name isn't yyyy-MM.md. */
+    static YearMonth month(Path segment) {
+        String name = segment.getFileName().toString();
+        if (!name.endsWith(".md")) return null;
+        try {
+            return YearMonth.parse(name.substring(0, name.length() - 3));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // ================================================================
+    // LAYOUT
+    // ================================================================
+
+    public Path logFile() {
+        return logFile;
+    }
+
+    public Path segmentDir() {
+        return logFile.resolveSibling(SEGMENT_DIR);
+    }
+
+    public boolean isSegmented() {
+        return Files.isDirectory(segmentDir());
+    }
+
+    public boolean exists() {
+        return isSegmented() || Files.exists(logFile);
+    }
+
+    /** Every file of the log, oldest first. */
+    public List<Path> files() throws IOException {
+        if (!isSegmented()) return Files.exists(logFile) ? List.of(logFile) : List.of();
+
+        try (Stream<Path> s = Files.list(segmentDir())) {
+            return s.filter(p -> month(p) != null)
+                    .sorted(Comparator.comparing(WorkLogReader::month))
+                    .toList();
+        }
+    }
+
+    /** Files that can hold days in [from, to]; segments for other months are skipped unopened. */
+    public List<Path> files(LocalDate from, LocalDate to) throws IOException {
+        if (!isSegmented()) return files();
+
+        List<Path> result = new ArrayList<>();
+        for (Path segment : files()) {
+            YearMonth month = month(segment);
+            if (month.atEndOfMonth().isBefore(from) || month.atDay(1).isAfter(to)) continue;
+            result.add(segment);
+        }
+        return result;
+    }
+
+    /** The file an entry dated {@code date} is written to. */
+    public Path target(LocalDate date) {
+        if (!isSegmented()) return logFile;
+        return segmentDir().resolve(YearMonth.from(date) + ".md");
+    }
+
+    /**
+     * {@link #target}, creating the segment with its title line if this is
+     * the month's first entry. Callers hold the project's ProjectLock.
+     */
+    Path openTarget(LocalDate date) throws IOException {
+        Path target = target(date);
+        if (!target.equals(logFile) && !Files.exists(target)) {
+            Files.writeString(target, header(defaultTitle(), YearMonth.from(date)));
+        }
+        return target;
+    }
+
+    // ================================================================
+    // READS
+    // ================================================================
+
+    /** Dates of the "## yyyy-MM-dd" blocks within [from, to], in log order. */
+    public List<LocalDate> dates(LocalDate from, LocalDate to) throws IOException {
+        List<LocalDate> dates = new ArrayList<>();
+        for (Path file : files(from, to)) {
+            for (WorkLogIndex.Block b : WorkLogIndex.forLog(file).between(from, to)) dates.add(b.date());
+        }
+        return dates;
+    }
+
+    /** Lines of every block dated within [from, to], as WorkLogIndex.readLines across segments. */
+    public List<String> readLines(LocalDate from, LocalDate to) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Path file : files(from, to)) {
+            lines.addAll(WorkLogIndex.forLog(file).readLines(from, to));
+        }
+        return lines;
+    }
+
+    /** The whole log as one Markdown document. */
+    public String readAll() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Path file : files()) {
+            String text = Files.readString(file);
+            sb.append(text);
+            if (!text.isEmpty() && !text.endsWith("\n")) sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** TASK_EVENT history across all files, oldest first. */
+    public TaskEventTable events() throws IOException {
+        List<TaskEventTable> tables = new ArrayList<>();
+        for (Path file : files()) tables.add(TaskEventStore.load(file));
+        return TaskEventTable.concat(tables);
+    }
+
+    // ================================================================
+    // MIGRATION
+    // ================================================================
+
+    /**
+     * Splits a monolithic work-log.md into month segments. Blocks are
+     * copied byte for byte; the text before the first date block stays at
+     * the top of the oldest segment and every later segment gets a title
+     * line. Segments are built in notes/work-log.migrating/ and renamed
+     * into place in one step, then the old file and its sidecars are
+     * removed.
+     *
+     * @return segments written, or 0 if the log is already segmented or absent
+     */
+    public int migrate() throws IOException {
+        Path notes = logFile.getParent();
+        return ProjectLock.with(notes, () -> {
+            if (isSegmented() || !Files.exists(logFile)) return 0;
+
+            byte[] all = Files.readAllBytes(logFile);
+            List<WorkLogIndex.Block> blocks = WorkLogIndex.scan(logFile);
+
+            long preambleEnd = blocks.isEmpty() ? all.length : blocks.get(0).offset();
+            long covered = preambleEnd;
+            for (WorkLogIndex.Block b : blocks) covered += b.length();
+            if (covered != all.length) {
+                throw new IllegalStateException("work-log.md changed while it was being split.");
+            }
+
+            String preamble = new String(all, 0, (int) preambleEnd, StandardCharsets.UTF_8);
+            String title = titleOf(preamble);
+
+            Map<YearMonth, ByteArrayOutputStream> months = new TreeMap<>();
+            for (WorkLogIndex.Block b : blocks) {
+                ByteArrayOutputStream out = months.computeIfAbsent(
+                        YearMonth.from(b.date()), m -> new ByteArrayOutputStream());
+                if (out.size() > 0 && all[(int) b.offset() - 1] != '\n') out.write('\n');
+                out.write(all, (int) b.offset(), (int) b.length());
+            }
+            if (months.isEmpty()) months.put(YearMonth.now(), new ByteArrayOutputStream());
+
+            Path staging = notes.resolve(STAGING);
+            deleteTree(staging);
+            Files.createDirectories(staging);
+
+            boolean first = true;
+            for (Map.Entry<YearMonth, ByteArrayOutputStream> e : months.entrySet()) {
+                String head = first && !preamble.isBlank() ? preamble : header(title, e.getKey());
+                first = false;
+
+                ByteArrayOutputStream file = new ByteArrayOutputStream();
+                file.write(head.getBytes(StandardCharsets.UTF_8));
+                e.getValue().writeTo(file);
+                Files.write(staging.resolve(e.getKey() + ".md"), file.toByteArray());
+            }
+
+            try {
+                Files.move(staging, segmentDir(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, segmentDir());
+            }
+
+            // Past the commit point: the monolith is ignored from here on
+            WorkLogAppender.shared().invalidate(logFile);
+            WorkLogIndex.invalidate(logFile);
+            for (Path old : List.of(logFile, WorkLogIndex.sidecarFor(logFile),
+                    TaskEventStore.binFor(logFile), TaskEventStore.dictFor(logFile))) {
+                try {
+                    Files.deleteIfExists(old);
+                } catch (IOException ignored) {
+                    // Leftovers are harmless next to work-log/
+                }
+            }
+            return months.size();
+        });
+    }
+
+    private String defaultTitle() {
+        return logFile.getParent().getParent().getFileName() + " – Work Log";
+    }
+
+    private String titleOf(String preamble) {
+        for (String line : preamble.lines().toList()) {
+            if (line.startsWith("# ")) return line.substring(2).trim();
+        }
+        return defaultTitle();
+    }
+
+    private static String header(String title, YearMonth month) {
+        return "# " + title + " (" + month + ")\n\n";
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> s = Files.walk(dir)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.workctl.gui;
 
+import com.workctl.core.storage.TaskWal;
+import com.workctl.core.storage.WorkLogReader;
 import javafx.application.Platform;
 
 import java.io.IOException;
@@ -90,6 +92,7 @@ public class ProjectContext {
             notesDir.register(watchService,
                     StandardWatchEventKinds.ENTRY_MODIFY,
                     StandardWatchEventKinds.ENTRY_CREATE);
+            watchSegments(notesDir.resolve(WorkLogReader.SEGMENT_DIR));
 
             watchExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
                 Thread t = new Thread(r, "workctl-file-watcher");
@@ -107,6 +110,14 @@ public class ProjectContext {
         }
     }
 
+    /** A segmented work log is written under notes/work-log/ — watch that too. */
+    private static void watchSegments(Path segmentDir) throws IOException {
+        if (!Files.isDirectory(segmentDir)) return;
+        segmentDir.register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE);
+    }
+
     /** Stop the current watcher (if any). */
     public static void stopWatcher() {
         if (watchExecutor != null) {
@@ -140,11 +151,21 @@ public class ProjectContext {
         }
 
         boolean relevant = false;
+        boolean inSegments = !key.watchable().equals(watchedDir);
         for (WatchEvent<?> event : key.pollEvents()) {
             Path changed = (Path) event.context();
             String name  = changed.getFileName().toString();
-            // Only react to the two files we care about
-            if (name.equals("tasks.md") || name.equals("work-log.md")) {
+            if (inSegments) {
+                // Month files only — not the dot-file sidecars next to them
+                if (name.endsWith(".md") && !name.startsWith(".")) relevant = true;
+            } else if (name.equals("tasks.md") || name.equals("work-log.md")
+                    || name.equals(TaskWal.FILE)) {
+                // Only react to the files we care about (task changes may only touch the WAL)
+                relevant = true;
+            } else if (name.equals(WorkLogReader.SEGMENT_DIR)
+                    && event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                // Log was just migrated to segments
+                try { watchSegments(watchedDir.resolve(name)); } catch (IOException ignored) {}
                 relevant = true;
             }
         }
@@ -3,6 +3,7 @@ package com.workctl.gui.controller;
 import com.workctl.core.domain.Interview;
 import com.workctl.core.domain.Interview.ExperienceLink;
 import com.workctl.core.domain.Interview.InterviewQuestion;
+import com.workctl.core.domain.InterviewSummary;
 import com.workctl.core.domain.PrepTopic;
 import com.workctl.core.model.InterviewResult;
 import com.workctl.core.model.InterviewRound;
@@ -96,12 +97,12 @@ public class InterviewController {
     @FXML
     public void refreshInterviews() {
         try {
-            List<Interview> interviews = interviewService.listAllInterviews();
+            List<InterviewSummary> interviews = interviewService.listInterviewSummaries();
 
             String roundFilter = roundFilterCombo.getValue();
             if (roundFilter != null && !roundFilter.equals("All Rounds")) {
                 interviews = interviews.stream()
-                        .filter(iv -> iv.getRound() != null && iv.getRound().label().equals(roundFilter))
+                        .filter(iv -> iv.round() != null && iv.round().label().equals(roundFilter))
                         .toList();
             }
 
@@ -112,7 +113,7 @@ public class InterviewController {
                     case "Rejected" -> InterviewResult.REJECTED;
                     default -> InterviewResult.PENDING;
                 };
-                interviews = interviews.stream().filter(iv -> iv.getResult() == wanted).toList();
+                interviews = interviews.stream().filter(iv -> iv.result() == wanted).toList();
             }
 
             interviewListVBox.getChildren().clear();
@@ -124,7 +125,7 @@ public class InterviewController {
                 return;
             }
 
-            for (Interview iv : interviews)
+            for (InterviewSummary iv : interviews)
                 interviewListVBox.getChildren().add(buildInterviewCard(iv));
         } catch (Exception e) {
             e.printStackTrace();
@@ -135,7 +136,7 @@ public class InterviewController {
     // INTERVIEW CARD
     // ─────────────────────────────────────────────────────────────────
 
-    private Node buildInterviewCard(Interview iv) {
+    private Node buildInterviewCard(InterviewSummary iv) {
         VBox card = new VBox(6);
         card.getStyleClass().add("interview-card");
 
@@ -143,13 +144,13 @@ public class InterviewController {
         HBox topRow = new HBox(6);
         topRow.setAlignment(Pos.CENTER_LEFT);
 
-        Label companyLabel = new Label(iv.getCompany());
+        Label companyLabel = new Label(iv.company());
         companyLabel.getStyleClass().add("interview-card-title");
 
         Label sep = new Label("\u00B7");
         sep.setStyle("-fx-text-fill: #718096;");
 
-        Label roleLabel = new Label(iv.getRole());
+        Label roleLabel = new Label(iv.role());
         roleLabel.getStyleClass().add("interview-card-role");
 
         Region spacer = new Region();
@@ -160,41 +161,43 @@ public class InterviewController {
         prepareBtn.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
         prepareBtn.setOnAction(e -> {
             e.consume();
-            selectedPrepInterview = iv;
-            interviewTabPane.getSelectionModel().select(prepTab);
-            refreshPreparationTab();
+            interviewService.loadInterview(iv.id()).ifPresent(full -> {
+                selectedPrepInterview = full;
+                interviewTabPane.getSelectionModel().select(prepTab);
+                refreshPreparationTab();
+            });
         });
 
-        topRow.getChildren().addAll(companyLabel, sep, roleLabel, prepareBtn, spacer, buildResultPill(iv.getResult()));
+        topRow.getChildren().addAll(companyLabel, sep, roleLabel, prepareBtn, spacer, buildResultPill(iv.result()));
 
         // ── Mid row: date + status + round badge + job URL icon ──
         HBox midRow = new HBox(8);
         midRow.setAlignment(Pos.CENTER_LEFT);
 
-        String dtStr = iv.getDateTime() != null
-                ? iv.getDateTime().format(java.time.format.DateTimeFormatter.ofPattern("MMM d, yyyy \u00B7 h:mm a"))
+        String dtStr = iv.dateTime() != null
+                ? iv.dateTime().format(java.time.format.DateTimeFormatter.ofPattern("MMM d, yyyy \u00B7 h:mm a"))
                 : "\u2014";
         Label dateLabel = new Label(dtStr);
         dateLabel.setStyle("-fx-text-fill: #718096; -fx-font-size: 11;");
         midRow.getChildren().add(dateLabel);
 
         Label statusPill = new Label(
-                iv.getStatus() == com.workctl.core.model.InterviewStatus.SCHEDULED ? "Scheduled" : "Completed");
+                iv.status() == com.workctl.core.model.InterviewStatus.SCHEDULED ? "Scheduled" : "Completed");
         statusPill.getStyleClass()
-                .add(iv.getStatus() == com.workctl.core.model.InterviewStatus.SCHEDULED ? "meeting-status-scheduled"
+                .add(iv.status() == com.workctl.core.model.InterviewStatus.SCHEDULED ? "meeting-status-scheduled"
                         : "meeting-status-done");
         midRow.getChildren().add(statusPill);
 
-        if (iv.getRound() != null) {
-            Label roundBadge = new Label(iv.getRound().label());
+        if (iv.round() != null) {
+            Label roundBadge = new Label(iv.round().label());
             roundBadge.getStyleClass().add("interview-round-badge");
             midRow.getChildren().add(roundBadge);
         }
 
-        if (iv.getJobUrl() != null) {
+        if (iv.jobUrl() != null) {
             Hyperlink jobLink = new Hyperlink("\uD83D\uDD17 Job Posting");
             jobLink.setStyle("-fx-font-size: 10;");
-            jobLink.setOnAction(e -> openUrl(iv.getJobUrl()));
+            jobLink.setOnAction(e -> openUrl(iv.jobUrl()));
             midRow.getChildren().add(jobLink);
         }
 
@@ -202,15 +205,15 @@ public class InterviewController {
         HBox bottomRow = new HBox(12);
         bottomRow.setAlignment(Pos.CENTER_LEFT);
 
-        int total = iv.getTotalQuestionCount();
+        int total = iv.questionCount();
         if (total > 0) {
-            int done = iv.getDoneQuestionCount();
+            int done = iv.doneQuestionCount();
             Label qLabel = new Label("\uD83D\uDCAC " + done + "/" + total);
             qLabel.setStyle("-fx-text-fill: " + (done == total ? "#27ae60" : "#718096")
                     + "; -fx-font-size: 10;");
             bottomRow.getChildren().add(qLabel);
 
-            int imp = iv.getImportantQuestionCount();
+            int imp = iv.importantQuestionCount();
             if (imp > 0) {
                 Label impLabel = new Label("\u2B50 " + imp + " important");
                 impLabel.setStyle("-fx-text-fill: #f59e0b; -fx-font-size: 10;");
@@ -218,7 +221,7 @@ public class InterviewController {
             }
         }
 
-        int links = iv.getExperienceLinks().size();
+        int links = iv.experienceLinkCount();
         if (links > 0) {
             Label linksLabel = new Label("\uD83D\uDD17 " + links + " link" + (links == 1 ? "" : "s"));
             linksLabel.setStyle("-fx-text-fill: #60a5fa; -fx-font-size: 10;");
@@ -228,7 +231,7 @@ public class InterviewController {
         card.getChildren().addAll(topRow, midRow);
         if (!bottomRow.getChildren().isEmpty())
             card.getChildren().add(bottomRow);
-        card.setOnMouseClicked(e -> showInterviewDetail(iv));
+        card.setOnMouseClicked(e -> interviewService.loadInterview(iv.id()).ifPresent(this::showInterviewDetail));
         return card;
     }
 
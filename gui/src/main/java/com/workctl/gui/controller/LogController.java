@@ -2,6 +2,9 @@ package com.workctl.gui.controller;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.core.model.SearchHit;
+import com.workctl.core.service.SearchService;
+import com.workctl.core.storage.WorkLogReader;
 import com.workctl.gui.ProjectContext;
 import com.workctl.gui.ThemeManager;
 import javafx.application.Platform;
@@ -12,17 +15,19 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.web.WebView;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * LogController — Logs tab (dark HTML preview with Raw toggle)
  *
  * Renders work-log.md as a dark-themed HTML preview.
  * A toolbar "Raw" toggle switches to the raw Markdown text.
+ * The toolbar search box runs a ranked search over the whole workspace
+ * (SearchService) and shows the hits in place of the log until cleared.
  */
 public class LogController {
 
@@ -32,11 +37,16 @@ public class LogController {
     private Label     statusLabel;
     private Label     lastRefreshLabel;
     private Button    rawToggleBtn;
+    private TextField searchField;
 
     private String  currentProject;
     private String  currentRawContent = "";
     private boolean showingRaw        = false;
 
+    private final SearchService searchService = new SearchService();
+    private String          searchQuery = "";   // non-empty while results are shown
+    private List<SearchHit> searchHits  = List.of();
+
     @FXML
     public void initialize() {
         buildUI();
@@ -89,7 +99,20 @@ public class LogController {
         refreshBtn.getStyleClass().add("panel-toolbar-btn");
         refreshBtn.setOnAction(e -> { if (currentProject != null) loadLog(currentProject); });
 
-        toolbar.getChildren().addAll(title, statusLabel, spacer, lastRefreshLabel, rawToggleBtn, refreshBtn);
+        searchField = new TextField();
+        searchField.setPromptText("Search workspace…");
+        searchField.setPrefWidth(220);
+        searchField.setOnAction(e -> runSearch(searchField.getText()));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+            if ((newVal == null || newVal.isBlank()) && !searchQuery.isEmpty()) {
+                searchQuery = "";
+                statusLabel.setText("");
+                rerender();
+            }
+        });
+
+        toolbar.getChildren().addAll(title, statusLabel, spacer, lastRefreshLabel,
+                searchField, rawToggleBtn, refreshBtn);
 
         // ── WebView ───────────────────────────────────────────────
         markdownView = new WebView();
@@ -114,7 +137,9 @@ public class LogController {
     }
 
     private void rerender() {
-        if (showingRaw) {
+        if (!searchQuery.isEmpty()) {
+            markdownView.getEngine().loadContent(buildResultsHtml(searchQuery, searchHits));
+        } else if (showingRaw) {
             markdownView.getEngine().loadContent(wrapRaw(currentRawContent));
         } else {
             renderMarkdown(currentRawContent);
@@ -134,15 +159,19 @@ public class LogController {
                     .resolve("notes")
                     .resolve("work-log.md");
 
-            if (Files.exists(logPath)) {
-                String content = Files.readString(logPath);
+            WorkLogReader log = WorkLogReader.of(logPath);
+            if (log.exists()) {
+                String content = log.readAll();
                 if (!content.equals(currentRawContent)) {
                     currentRawContent = content;
                     Platform.runLater(() -> {
-                        if (showingRaw) {
-                            markdownView.getEngine().loadContent(wrapRaw(content));
-                        } else {
-                            renderMarkdown(content);
+                        // While search results are up, the new log shows once the search is cleared
+                        if (searchQuery.isEmpty()) {
+                            if (showingRaw) {
+                                markdownView.getEngine().loadContent(wrapRaw(content));
+                            } else {
+                                renderMarkdown(content);
+                            }
                         }
                         updateRefreshLabel();
                     });
@@ -176,6 +205,62 @@ public class LogController {
         }
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // WORKSPACE SEARCH
+    // ════════════════════════════════════════════════════════════════
+
+    private void runSearch(String text) {
+        String query = text == null ? "" : text.trim();
+        if (query.isEmpty()) return;
+
+        statusLabel.setText("Searching…");
+        Thread thread = new Thread(() -> {
+            try {
+                List<SearchHit> hits = searchService.search(query, 50);
+                Platform.runLater(() -> {
+                    searchQuery = query;
+                    searchHits  = hits;
+                    statusLabel.setText(hits.size() + " result" + (hits.size() == 1 ? "" : "s"));
+                    rerender();
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    statusLabel.setText("");
+                    markdownView.getEngine().loadContent(buildErrorHtml(e.getMessage()));
+                });
+            }
+        }, "workctl-search");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private String buildResultsHtml(String query, List<SearchHit> hits) {
+        String muted = ThemeManager.htmlMuted();
+        StringBuilder body = new StringBuilder();
+        body.append("<h1>Search: ").append(escape(query)).append("</h1>");
+        if (hits.isEmpty()) {
+            body.append("<p style='color:").append(muted).append("'>No matches.</p>");
+        }
+        for (SearchHit hit : hits) {
+            body.append("<h3>");
+            if (hit.project() != null) body.append("[").append(escape(hit.project())).append("] ");
+            body.append(escape(hit.kind())).append(" · ").append(escape(hit.title())).append("</h3>");
+            if (!hit.lines().isEmpty()) {
+                body.append("<ul>");
+                for (String line : hit.lines()) {
+                    body.append("<li>").append(escape(line.replaceFirst("^[-*] ", ""))).append("</li>");
+                }
+                body.append("</ul>");
+            }
+        }
+        return wrapHtmlDark(body.toString());
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
     // ════════════════════════════════════════════════════════════════
     // HTML WRAPPERS
     // ════════════════════════════════════════════════════════════════
@@ -3,6 +3,7 @@ package com.workctl.gui.controller;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.Meeting;
+import com.workctl.core.domain.MeetingSummary;
 import com.workctl.core.domain.Meeting.ActionItem;
 import com.workctl.core.model.MeetingStatus;
 import com.workctl.core.service.MeetingService;
@@ -109,15 +110,15 @@ public class MeetingController {
             String projFilter = projectFilterCombo.getValue();
             String statusFilter = statusFilterCombo.getValue();
 
-            List<Meeting> meetings;
-            if (projFilter == null || projFilter.equals("All Projects")) {
-                meetings = meetingService.listAllMeetings();
-            } else if (projFilter.equals("General (No Project)")) {
-                meetings = meetingService.listAllMeetings().stream()
-                        .filter(m -> m.getProjectId() == null)
+            List<MeetingSummary> meetings = meetingService.listMeetingSummaries();
+            if (projFilter != null && projFilter.equals("General (No Project)")) {
+                meetings = meetings.stream()
+                        .filter(m -> m.projectId() == null)
+                        .toList();
+            } else if (projFilter != null && !projFilter.equals("All Projects") && !projFilter.isBlank()) {
+                meetings = meetings.stream()
+                        .filter(m -> projFilter.equals(m.projectId()))
                         .toList();
-            } else {
-                meetings = meetingService.listMeetingsByProject(projFilter);
             }
 
             if (statusFilter != null && !statusFilter.equals("All")) {
@@ -125,7 +126,7 @@ public class MeetingController {
                         ? MeetingStatus.SCHEDULED
                         : MeetingStatus.DONE;
                 meetings = meetings.stream()
-                        .filter(m -> m.getStatus() == wanted)
+                        .filter(m -> m.status() == wanted)
                         .toList();
             }
 
@@ -138,7 +139,7 @@ public class MeetingController {
                 return;
             }
 
-            for (Meeting m : meetings) {
+            for (MeetingSummary m : meetings) {
                 meetingListVBox.getChildren().add(buildMeetingCard(m));
             }
         } catch (Exception e) {
@@ -150,30 +151,30 @@ public class MeetingController {
     // MEETING CARD
     // ─────────────────────────────────────────────────────────────────
 
-    private Node buildMeetingCard(Meeting m) {
+    private Node buildMeetingCard(MeetingSummary m) {
         VBox card = new VBox(6);
         card.getStyleClass().add("meeting-card");
-        card.setUserData(m.getId());
+        card.setUserData(m.id());
 
         // ── Top row: date + status pill ──
         HBox topRow = new HBox(8);
         topRow.setAlignment(Pos.CENTER_LEFT);
 
         Label dateLabel = new Label(
-                m.getDateTime() != null ? m.getDateTime().format(CARD_DATE_FMT) : "—");
+                m.dateTime() != null ? m.dateTime().format(CARD_DATE_FMT) : "—");
         dateLabel.setStyle("-fx-text-fill: #718096; -fx-font-size: 11;");
 
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        boolean scheduled = m.getStatus() == MeetingStatus.SCHEDULED;
+        boolean scheduled = m.status() == MeetingStatus.SCHEDULED;
         Label statusPill = new Label(scheduled ? "Scheduled" : "Done");
         statusPill.getStyleClass().add(scheduled ? "meeting-status-scheduled" : "meeting-status-done");
 
         topRow.getChildren().addAll(dateLabel, spacer, statusPill);
 
         // ── Title ──
-        Label titleLabel = new Label(m.getTitle());
+        Label titleLabel = new Label(m.title());
         titleLabel.getStyleClass().add("meeting-card-title");
         titleLabel.setWrapText(true);
 
@@ -181,8 +182,8 @@ public class MeetingController {
         HBox bottomRow = new HBox(10);
         bottomRow.setAlignment(Pos.CENTER_LEFT);
 
-        if (m.getProjectId() != null) {
-            Label projBadge = new Label("\uD83D\uDCC1 " + m.getProjectId());
+        if (m.projectId() != null) {
+            Label projBadge = new Label("\uD83D\uDCC1 " + m.projectId());
             projBadge.setStyle("-fx-text-fill: #4a90d9; -fx-font-size: 10; -fx-font-weight: bold;");
             bottomRow.getChildren().add(projBadge);
         } else {
@@ -191,16 +192,15 @@ public class MeetingController {
             bottomRow.getChildren().add(generalBadge);
         }
 
-        if (m.getAttendees() != null && !m.getAttendees().isBlank()) {
-            long count = m.getAttendees().chars().filter(c -> c == ',').count() + 1;
-            Label attLabel = new Label("\uD83D\uDC65 " + count);
+        if (m.attendeeCount() > 0) {
+            Label attLabel = new Label("\uD83D\uDC65 " + m.attendeeCount());
             attLabel.setStyle("-fx-text-fill: #718096; -fx-font-size: 10;");
             bottomRow.getChildren().add(attLabel);
         }
 
-        int total = m.getTotalActionItemCount();
+        int total = m.actionItemCount();
         if (total > 0) {
-            int done = m.getDoneActionItemCount();
+            int done = m.doneActionItemCount();
             Label aiLabel = new Label("\u2705 " + done + "/" + total);
             aiLabel.setStyle("-fx-text-fill: " + (done == total ? "#27ae60" : "#718096")
                     + "; -fx-font-size: 10;");
@@ -211,7 +211,7 @@ public class MeetingController {
         if (!bottomRow.getChildren().isEmpty())
             card.getChildren().add(bottomRow);
 
-        card.setOnMouseClicked(e -> showMeetingDetail(m));
+        card.setOnMouseClicked(e -> meetingService.loadMeeting(m.id()).ifPresent(this::showMeetingDetail));
         return card;
     }
 
@@ -2,6 +2,7 @@ package com.workctl.gui.controller;
 
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
+import com.workctl.core.model.ActivityBucket;
 import com.workctl.core.model.ProjectInsights;
 import com.workctl.core.service.StatsService;
 import com.workctl.gui.ProjectContext;
@@ -14,7 +15,7 @@ import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
+import java.util.List;
 
 /**
  * StatsController — Stats tab (dark HTML WebView dashboard)
@@ -25,6 +26,9 @@ public class StatsController {
 
     @FXML private WebView statsWebView;
 
+    private static final int HEAT_DAYS   = 35;
+    private static final int TREND_WEEKS = 12;
+
     private final StatsService statsService = new StatsService();
     private String currentProject;
 
@@ -62,8 +66,16 @@ public class StatsController {
         Thread thread = new Thread(() -> {
             try {
                 ProjectInsights insights = statsService.generateInsights(projectName);
+
+                // Both read straight from the rollups: one lookup per cell or bar
+                LocalDate today = LocalDate.now();
+                List<ActivityBucket> days = statsService.activity(projectName,
+                        ActivityBucket.Period.DAY, today.minusDays(HEAT_DAYS - 1), today, null);
+                List<ActivityBucket> weeks = statsService.activity(projectName,
+                        ActivityBucket.Period.WEEK, today.minusWeeks(TREND_WEEKS - 1), today, null);
+
                 Platform.runLater(() -> statsWebView.getEngine()
-                        .loadContent(buildHtmlDashboard(insights)));
+                        .loadContent(buildHtmlDashboard(insights, days, weeks)));
             } catch (Exception e) {
                 e.printStackTrace();
                 Platform.runLater(() -> statsWebView.getEngine()
@@ -78,7 +90,9 @@ public class StatsController {
     // HTML DASHBOARD BUILDER
     // ════════════════════════════════════════════════════════════════
 
-    private String buildHtmlDashboard(ProjectInsights ins) {
+    private String buildHtmlDashboard(ProjectInsights ins,
+                                      List<ActivityBucket> days,
+                                      List<ActivityBucket> weeks) {
         String lastRefresh = LocalDateTime.now()
                 .format(DateTimeFormatter.ofPattern("HH:mm:ss"));
 
@@ -94,19 +108,32 @@ public class StatsController {
         // ── Heatmap ────────────────────────────────────────────────
         StringBuilder heat = new StringBuilder();
         heat.append("<div style='display:grid;grid-template-columns:repeat(7,18px);gap:3px;'>");
-        LocalDate today = LocalDate.now();
-        LocalDate heatStart = today.minusDays(34);
-        Map<LocalDate, Integer> activity = ins.getDailyActivity();
-        for (LocalDate d = heatStart; !d.isAfter(today); d = d.plusDays(1)) {
-            int cnt = activity.getOrDefault(d, 0);
+        for (ActivityBucket day : days) {
+            int cnt = day.events();
             String col   = heatColor(cnt);
-            String title = d + ": " + cnt + (cnt == 1 ? " event" : " events");
+            String title = day.start() + ": " + cnt + (cnt == 1 ? " event" : " events");
             heat.append("<div title='").append(title)
                 .append("' style='width:18px;height:18px;border-radius:3px;background:")
                 .append(col).append(";'></div>");
         }
         heat.append("</div>");
 
+        // ── Weekly trend ───────────────────────────────────────────
+        int peak = 1;
+        for (ActivityBucket w : weeks) peak = Math.max(peak, Math.max(w.created(), w.completed()));
+        StringBuilder trend = new StringBuilder();
+        trend.append("<div style='display:flex;align-items:flex-end;gap:6px;height:70px;'>");
+        for (ActivityBucket w : weeks) {
+            String title = "Week of " + w.start() + ": " + w.created() + " created, "
+                    + w.completed() + " completed";
+            trend.append("<div title='").append(title)
+                 .append("' style='display:flex;align-items:flex-end;gap:2px;height:100%;'>");
+            appendBar(trend, w.created(), peak, "#63b3ed");
+            appendBar(trend, w.completed(), peak, "#68d391");
+            trend.append("</div>");
+        }
+        trend.append("</div>");
+
         // ── Stagnation badge ───────────────────────────────────────
         String stagBadge = stag > 0
                 ? "<span class='badge br'>&#9888; " + stag + " task" + (stag > 1 ? "s" : "") + " idle for &gt;7 days</span>"
@@ -197,6 +224,15 @@ public class StatsController {
         sb.append(heat);
         sb.append("</div>");
 
+        // ── Weekly trend ───────────────────────────────────────────
+        sb.append("<div class='sec'><div class='st'>Created vs Completed — Last ")
+          .append(TREND_WEEKS).append(" Weeks</div>");
+        sb.append(trend);
+        sb.append("<div class='plbl' style='margin-top:6px'>")
+          .append("<span style='color:#63b3ed'>&#9632; created</span>")
+          .append("<span style='color:#68d391'>&#9632; completed</span></div>");
+        sb.append("</div>");
+
         sb.append("</body></html>");
         return sb.toString();
     }
@@ -207,6 +243,12 @@ public class StatsController {
           .append("</div><div class='cl'>").append(label).append("</div></div>");
     }
 
+    private void appendBar(StringBuilder sb, int value, int peak, String color) {
+        int height = value == 0 ? 2 : Math.max(4, value * 100 / peak);
+        sb.append("<div style='width:8px;height:").append(height)
+          .append("%;border-radius:2px;background:").append(color).append(";'></div>");
+    }
+
     private String heatColor(int count) {
         if (count == 0) return "#1a2535";
         if (count == 1) return "#1a4730";
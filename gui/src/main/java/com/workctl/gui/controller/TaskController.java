@@ -3,7 +3,9 @@ package com.workctl.gui.controller;
 import com.workctl.core.model.Task;
 import com.workctl.core.model.Task.SubTask;
 import com.workctl.core.model.TaskStatus;
+import com.workctl.core.model.TaskSummary;
 import com.workctl.core.service.TaskService;
+import com.workctl.core.storage.TaskFacetIndex;
 import com.workctl.gui.ProjectContext;
 import com.workctl.gui.ThemeManager;
 import javafx.application.Platform;
@@ -25,6 +27,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javafx.scene.web.WebView;
@@ -295,20 +298,13 @@ public class TaskController {
             int priority = priorityBox.getValue();
 
             if (!text.isBlank()) {
-                taskService.addTask(
-                        currentProject,
-                        text,
-                        List.of(),
-                        priority);
-
-                // Attach pending subtasks to the newly created task
-                if (!pendingSubtasks.isEmpty()) {
-                    List<Task> all = taskService.getTasks(currentProject);
-                    all.stream()
-                            .max(Comparator.comparingInt(Task::getId))
-                            .ifPresent(newest -> taskService.setSubtasks(currentProject,
-                                    newest.getId(), pendingSubtasks));
-                }
+                // Task + pending subtasks in one write
+                taskService.batch(currentProject, tx -> {
+                    int id = tx.addTask(text, List.of(), priority);
+                    if (!pendingSubtasks.isEmpty()) {
+                        tx.setSubtasks(id, pendingSubtasks);
+                    }
+                });
 
                 refreshBoard();
             }
@@ -329,21 +325,36 @@ public class TaskController {
             return;
         }
 
-        List<Task> tasks = taskService.getTasks(currentProject);
-
         // ── Apply search filter ───────────────────────────────────
-        if (!searchQuery.isBlank()) {
-            String q = searchQuery.toLowerCase();
-            tasks = tasks.stream()
+        // "#tag" and "p1" go to the facet index; the rest is free text
+        StringBuilder text = new StringBuilder();
+        TaskFacetIndex.Filter facets = facetFilter(searchQuery, text);
+
+        // Cards only need header fields; free text also searches descriptions
+        // and subtasks, so only then are full tasks loaded
+        List<TaskSummary> tasks;
+        if (text.isEmpty()) {
+            tasks = facets == null
+                    ? taskService.getTaskSummaries(currentProject)
+                    : taskService.findTaskSummaries(TaskFacetIndex.project(currentProject).and(facets))
+                            .getOrDefault(currentProject, List.of());
+        } else {
+            String q = text.toString().toLowerCase();
+            List<Task> full = facets == null
+                    ? taskService.getTasks(currentProject)
+                    : taskService.findTasks(TaskFacetIndex.project(currentProject).and(facets))
+                            .getOrDefault(currentProject, List.of());
+            tasks = full.stream()
                     .filter(t -> matchesSearch(t, q))
+                    .map(TaskSummary::of)
                     .collect(Collectors.toList());
         }
 
-        Comparator<Task> comparator = Comparator.comparingInt(Task::getPriority) // P1 first
-                .thenComparing(Task::getId, Comparator.reverseOrder());
+        Comparator<TaskSummary> comparator = Comparator.comparingInt(TaskSummary::priority) // P1 first
+                .thenComparing(TaskSummary::id, Comparator.reverseOrder());
 
-        Map<TaskStatus, List<Task>> grouped = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus));
+        Map<TaskStatus, List<TaskSummary>> grouped = tasks.stream()
+                .collect(Collectors.groupingBy(TaskSummary::status));
 
         openColumn.getChildren().setAll(
                 grouped.getOrDefault(TaskStatus.OPEN, List.of())
@@ -384,6 +395,39 @@ public class TaskController {
         }
     }
 
+    /**
+     * Splits the search box into facet terms and free text. "#backend"
+     * filters by tag and "p1" by priority; several of either kind are
+     * OR-ed, then the kinds are AND-ed. Everything else is appended to
+     * {@code text}. Returns null when there are no facet terms.
+     */
+    private TaskFacetIndex.Filter facetFilter(String query, StringBuilder text) {
+        List<String> tags = new ArrayList<>();
+        List<Integer> priorities = new ArrayList<>();
+
+        for (String word : query.split("\\s+")) {
+            if (word.length() > 1 && word.startsWith("#")) {
+                tags.add(word.substring(1));
+            } else if (word.matches("(?i)p\\d")) {
+                priorities.add(word.charAt(1) - '0');
+            } else if (!word.isEmpty()) {
+                if (!text.isEmpty()) text.append(' ');
+                text.append(word);
+            }
+        }
+
+        TaskFacetIndex.Filter filter = null;
+        if (!tags.isEmpty()) {
+            filter = TaskFacetIndex.tag(tags.toArray(String[]::new));
+        }
+        if (!priorities.isEmpty()) {
+            TaskFacetIndex.Filter p = TaskFacetIndex.priority(
+                    priorities.stream().mapToInt(Integer::intValue).toArray());
+            filter = filter == null ? p : filter.and(p);
+        }
+        return filter;
+    }
+
     /**
      * Returns true if the task matches the search query.
      * Checks: title, full description, tags, and subtask titles.
@@ -411,7 +455,7 @@ public class TaskController {
     // TASK CARD — original structure + subtask progress bar
     // ====================================================
 
-    private Node createTaskCard(Task task) {
+    private Node createTaskCard(TaskSummary task) {
 
         VBox card = new VBox();
         card.setSpacing(8);
@@ -427,7 +471,7 @@ public class TaskController {
         String borderColor;
         String badgeColor;
 
-        switch (task.getPriority()) {
+        switch (task.priority()) {
             case 1 -> {
                 borderColor = "#e53935";
                 badgeColor = "#e53935";
@@ -451,10 +495,10 @@ public class TaskController {
         // =========================
         // ID + Priority Badge
         // =========================
-        Label idLabel = new Label("#" + task.getId());
+        Label idLabel = new Label("#" + task.id());
         idLabel.getStyleClass().add("task-id-label");
 
-        Label priorityBadge = new Label("P" + task.getPriority());
+        Label priorityBadge = new Label("P" + task.priority());
         priorityBadge.setStyle("""
                 -fx-background-color: %s;
                 -fx-text-fill: white;
@@ -467,12 +511,12 @@ public class TaskController {
         // =========================
         // "X days old" age badge
         // =========================
-        long daysOld = task.getDaysOld();
+        long daysOld = task.daysOld();
         String ageText = daysOld + "d";
 
         // Color: muted for done tasks; amber/red for aging open/in-progress tasks
         String ageColor;
-        if (task.getStatus() == TaskStatus.DONE) {
+        if (task.status() == TaskStatus.DONE) {
             ageColor = ThemeManager.isDark() ? "#4a5568" : "#94a3b8";
         } else if (daysOld >= 14) {
             ageColor = "#dc2626"; // red — very overdue
@@ -498,7 +542,7 @@ public class TaskController {
         // =========================
         // Title
         // =========================
-        Label titleLabel = new Label(task.getTitle());
+        Label titleLabel = new Label(task.title());
         titleLabel.setWrapText(true);
         titleLabel.setMaxWidth(Double.MAX_VALUE);
         titleLabel.getStyleClass().add("task-title-label");
@@ -512,7 +556,7 @@ public class TaskController {
         infoBtn.setStyle("-fx-min-width: 26; -fx-min-height: 26; -fx-max-width: 26; -fx-max-height: 26;");
         infoBtn.setOnAction(e -> {
             e.consume();
-            showTaskDetails(task);
+            withTask(task, this::showTaskDetails);
         });
 
         Region spacer = new Region();
@@ -527,8 +571,8 @@ public class TaskController {
         card.getChildren().addAll(metaRow, titleRow);
 
         if (task.hasSubtasks()) {
-            int done = task.getDoneSubtaskCount();
-            int total = task.getTotalSubtaskCount();
+            int done = task.doneSubtaskCount();
+            int total = task.subtaskCount();
 
             ProgressBar pb = new ProgressBar((double) done / total);
             pb.setMaxWidth(Double.MAX_VALUE);
@@ -547,7 +591,7 @@ public class TaskController {
         // =========================
         // Overdue indicator (7+ days, non-done tasks)
         // =========================
-        if (task.getStatus() != TaskStatus.DONE && daysOld >= 7) {
+        if (task.status() != TaskStatus.DONE && daysOld >= 7) {
             boolean veryOverdue = daysOld >= 14;
             String overdueBg = veryOverdue ? "#dc2626" : "#d97706";
             String overdueMsg = (veryOverdue ? "⚠  " : "⏰  ") + daysOld + " days old";
@@ -576,7 +620,7 @@ public class TaskController {
                 highlightCard(card);
             }
             if (e.getClickCount() == 2) {
-                enableInlineEdit(card, task, titleLabel);
+                withTask(task, t -> enableInlineEdit(card, t, titleLabel));
             }
         });
 
@@ -607,10 +651,10 @@ public class TaskController {
 
         MenuItem addSubtaskItem = new MenuItem("➕  Add Subtask");
         MenuItem manageSubtaskItem = new MenuItem("📋  Manage Subtasks"
-                + (task.hasSubtasks() ? " (" + task.getTotalSubtaskCount() + ")" : ""));
+                + (task.hasSubtasks() ? " (" + task.subtaskCount() + ")" : ""));
 
         addSubtaskItem.setOnAction(e -> showQuickAddSubtaskDialog(task));
-        manageSubtaskItem.setOnAction(e -> showManageSubtasksDialog(task));
+        manageSubtaskItem.setOnAction(e -> withTask(task, this::showManageSubtasksDialog));
 
         menu.getItems().addAll(
                 moveOpen,
@@ -630,7 +674,7 @@ public class TaskController {
         card.setOnDragDetected(event -> {
             Dragboard db = card.startDragAndDrop(TransferMode.MOVE);
             ClipboardContent content = new ClipboardContent();
-            content.putString(String.valueOf(task.getId()));
+            content.putString(String.valueOf(task.id()));
             db.setContent(content);
             event.consume();
         });
@@ -638,14 +682,27 @@ public class TaskController {
         return card;
     }
 
+    /**
+     * Cards hold header-only summaries; dialogs that show or edit the
+     * description or subtasks fetch the full task first.
+     */
+    private void withTask(TaskSummary summary, Consumer<Task> action) {
+        Optional<Task> task = taskService.getTask(currentProject, summary.id());
+        if (task.isPresent()) {
+            action.accept(task.get());
+        } else {
+            refreshBoard(); // deleted or archived meanwhile
+        }
+    }
+
     // ====================================================
     // QUICK ADD SUBTASK (right-click → "➕ Add Subtask")
     // ====================================================
 
-    private void showQuickAddSubtaskDialog(Task task) {
+    private void showQuickAddSubtaskDialog(TaskSummary task) {
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("Add Subtask");
-        dialog.setHeaderText("Task #" + task.getId() + " – " + task.getTitle());
+        dialog.setHeaderText("Task #" + task.id() + " – " + task.title());
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
 
         TextField inputField = new TextField();
@@ -667,7 +724,7 @@ public class TaskController {
         if (result.isPresent() && result.get() == ButtonType.OK) {
             String t = inputField.getText().trim();
             if (!t.isBlank()) {
-                taskService.addSubtask(currentProject, task.getId(), t);
+                taskService.addSubtask(currentProject, task.id(), t);
                 refreshBoard();
             }
         }
@@ -784,11 +841,11 @@ public class TaskController {
     // HELPERS — ORIGINAL UNCHANGED
     // ====================================================
 
-    private void updatePriority(Task task, int newPriority) {
+    private void updatePriority(TaskSummary task, int newPriority) {
 
         taskService.updatePriority(
                 currentProject,
-                task.getId(),
+                task.id(),
                 newPriority);
 
         refreshBoard();
@@ -859,18 +916,16 @@ public class TaskController {
         });
     }
 
-    private void moveTask(Task task, TaskStatus newStatus) {
+    private void moveTask(TaskSummary task, TaskStatus newStatus) {
 
         // Check if moving to DONE and there are incomplete subtasks
         if (newStatus == TaskStatus.DONE && task.hasSubtasks()) {
-            long openSubtasks = task.getSubtasks().stream()
-                    .filter(st -> !st.isDone())
-                    .count();
+            long openSubtasks = task.openSubtaskCount();
 
             if (openSubtasks > 0) {
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
                 alert.setTitle("Incomplete Subtasks");
-                alert.setHeaderText("Task #" + task.getId() + " has " + openSubtasks + " open subtask(s).");
+                alert.setHeaderText("Task #" + task.id() + " has " + openSubtasks + " open subtask(s).");
                 alert.setContentText("Are you sure you want to move it to Done?");
 
                 ButtonType btnMove = new ButtonType("Move Anyway", ButtonBar.ButtonData.OK_DONE);
@@ -888,7 +943,7 @@ public class TaskController {
 
         taskService.updateStatus(
                 currentProject,
-                task.getId(),
+                task.id(),
                 newStatus);
 
         refreshBoard();
@@ -1221,19 +1276,22 @@ public class TaskController {
         if (result.isPresent() && result.get() == ButtonType.OK) {
 
             String newText = editor.getText().trim();
+            int newPriority = priorityBox.getValue();
 
-            if (!newText.isBlank()) {
-                taskService.updateDescription(currentProject, task.getId(), newText);
-            }
+            // Description, priority and subtasks in one write
+            taskService.batch(currentProject, tx -> {
+                if (!newText.isBlank()) {
+                    tx.updateDescription(task.getId(), newText);
+                }
 
-            // Update priority if changed
-            int newPriority = priorityBox.getValue();
-            if (newPriority != task.getPriority()) {
-                taskService.updatePriority(currentProject, task.getId(), newPriority);
-            }
+                // Update priority if changed
+                if (newPriority != task.getPriority()) {
+                    tx.updatePriority(task.getId(), newPriority);
+                }
 
-            // Save subtasks
-            taskService.setSubtasks(currentProject, task.getId(), workingSubtasks);
+                // Save subtasks
+                tx.setSubtasks(task.getId(), workingSubtasks);
+            });
 
             refreshBoard();
         }
@@ -135,7 +135,7 @@ public class WeeklyReportController {
         if (file == null) return;
 
         try {
-            Files.writeString(file.toPath(), buildPlainTextReport(currentReport));
+            Files.writeString(file.toPath(), reportService.toPlainText(currentReport));
             setStatus("Exported TXT → " + file.getName());
         } catch (IOException e) {
             showError("Export failed", e.getMessage());
@@ -334,109 +334,6 @@ public class WeeklyReportController {
         return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
     }
 
-    // ── Plain-text report ─────────────────────────────────────────
-
-    private String buildPlainTextReport(WeeklyReportData d) {
-        StringBuilder sb = new StringBuilder();
-        String divider = "═".repeat(56);
-        String thin    = "─".repeat(56);
-
-        sb.append(divider).append('\n');
-        sb.append("  WEEKLY REPORT\n");
-        sb.append(divider).append('\n');
-        sb.append("  Project  : ").append(d.getProjectName()).append('\n');
-        sb.append("  Week     : ")
-          .append(d.getWeekStart().format(DATE_FMT)).append(" – ")
-          .append(d.getWeekEnd().format(DATE_FMT)).append('\n');
-        sb.append("  Generated: ").append(d.getGeneratedDate().format(DATE_FMT)).append('\n');
-        sb.append(divider).append('\n').append('\n');
-
-        // Summary line
-        sb.append("  ").append(d.getHeadline()).append('\n').append('\n');
-
-        // Metrics table
-        sb.append("  METRICS\n").append("  ").append(thin).append('\n');
-        sb.append(String.format("  %-22s %d%n", "Completed this week:", d.getCompletedThisWeek()));
-        sb.append(String.format("  %-22s %d%n", "In Progress:",         d.getInProgressCount()));
-        sb.append(String.format("  %-22s %d%n", "Open:",                d.getOpenCount()));
-        sb.append(String.format("  %-22s %d%n", "Added this week:",     d.getNewTasksThisWeek()));
-        sb.append(String.format("  %-22s %.0f%%%n","Completion rate:",    d.getCompletionRate()));
-        sb.append(String.format("  %-22s %.0f / 100%n","Productivity score:", d.getProductivityScore()));
-        sb.append('\n');
-
-        // Insights
-        sb.append("  OBSERVATIONS\n").append("  ").append(thin).append('\n');
-        d.getInsights().forEach(i -> sb.append("  → ").append(i).append('\n'));
-        sb.append('\n');
-
-        // Completed tasks
-        sb.append("  COMPLETED THIS WEEK (").append(d.getCompletedThisWeek()).append(")\n");
-        sb.append("  ").append(thin).append('\n');
-        if (d.getCompletedTasks().isEmpty()) {
-            sb.append("  (none)\n");
-        } else {
-            d.getCompletedTasks().forEach(t ->
-                sb.append("  [x] [P").append(t.getPriority()).append("] ").append(t.getTitle()).append('\n'));
-        }
-        sb.append('\n');
-
-        // In Progress
-        sb.append("  IN PROGRESS (").append(d.getInProgressCount()).append(")\n");
-        sb.append("  ").append(thin).append('\n');
-        if (d.getInProgressTasks().isEmpty()) {
-            sb.append("  (none)\n");
-        } else {
-            d.getInProgressTasks().forEach(t -> {
-                sb.append("  [~] [P").append(t.getPriority()).append("] ").append(t.getTitle());
-                if (t.hasSubtasks())
-                    sb.append("  (").append(t.getDoneSubtaskCount()).append('/').append(t.getTotalSubtaskCount()).append(" subtasks)");
-                sb.append('\n');
-            });
-        }
-        sb.append('\n');
-
-        // Newly added
-        if (!d.getNewTasks().isEmpty()) {
-            sb.append("  NEWLY ADDED (").append(d.getNewTasksThisWeek()).append(")\n");
-            sb.append("  ").append(thin).append('\n');
-            d.getNewTasks().forEach(t ->
-                sb.append("  [ ] [P").append(t.getPriority()).append("] ").append(t.getTitle()).append('\n'));
-            sb.append('\n');
-        }
-
-        // Stagnant
-        if (!d.getStagnantTasks().isEmpty()) {
-            sb.append("  NEEDS ATTENTION — STAGNANT (").append(d.getStagnantTasks().size()).append(")\n");
-            sb.append("  ").append(thin).append('\n');
-            d.getStagnantTasks().forEach(e ->
-                sb.append("  [!] [P").append(e.task().getPriority()).append("] ")
-                  .append(e.task().getTitle())
-                  .append("  (").append(e.daysIdle()).append("d idle)\n"));
-            sb.append('\n');
-        }
-
-        // Tag activity
-        if (!d.getTagActivity().isEmpty()) {
-            sb.append("  TAG ACTIVITY\n").append("  ").append(thin).append('\n');
-            d.getTagActivity().forEach((tag, count) ->
-                sb.append(String.format("  #%-20s %d%n", tag, count)));
-            sb.append('\n');
-        }
-
-        // Log highlights
-        if (!d.getLogHighlights().isEmpty()) {
-            sb.append("  WORK LOG HIGHLIGHTS\n").append("  ").append(thin).append('\n');
-            d.getLogHighlights().forEach(line -> sb.append("  ").append(line).append('\n'));
-            sb.append('\n');
-        }
-
-        sb.append(divider).append('\n');
-        sb.append("  Generated by workctl\n");
-        sb.append(divider).append('\n');
-
-        return sb.toString();
-    }
-
     // ── PDF export (Apache PDFBox) ────────────────────────────────
 
     private static final float A4_W  = PDRectangle.A4.getWidth();   // 595
@@ -3,7 +3,9 @@ package com.workctl.gui.controller;
 import com.workctl.config.AppConfig;
 import com.workctl.config.ConfigManager;
 import com.workctl.core.domain.WorkflowRun;
+import com.workctl.core.domain.WorkflowRunSummary;
 import com.workctl.core.domain.WorkflowTemplate;
+import com.workctl.core.domain.WorkflowTemplateSummary;
 import com.workctl.core.model.RunStatus;
 import com.workctl.core.model.StepStatus;
 import com.workctl.core.service.ProjectService;
@@ -22,7 +24,9 @@ import javafx.scene.layout.*;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,7 +37,7 @@ public class WorkflowController {
     @FXML private ComboBox<String> scopeFilterCombo;
     @FXML private ComboBox<String> templateFilterCombo;
     @FXML private Button newRunBtn;
-    @FXML private ListView<WorkflowRun> runListView;
+    @FXML private ListView<WorkflowRunSummary> runListView;
 
     @FXML private VBox   runHeaderBox;
     @FXML private Label  runNameLabel;
@@ -52,7 +56,8 @@ public class WorkflowController {
     // ── State ─────────────────────────────────────────────────────────
 
     private WorkflowRun  selectedRun;
-    private List<WorkflowRun> allRuns = new ArrayList<>();
+    private List<WorkflowRunSummary> allRuns = new ArrayList<>();
+    private Map<String, String> templateNames = new HashMap<>();   // template id → name
 
     private static final String ALL_SCOPE     = "All";
     private static final String GLOBAL_SCOPE  = "Global";
@@ -116,7 +121,12 @@ public class WorkflowController {
         try {
             List<String> items = new ArrayList<>();
             items.add(ALL_TEMPLATES);
-            workflowService.listTemplates().forEach(t -> items.add(t.getName()));
+            Map<String, String> names = new HashMap<>();
+            for (WorkflowTemplateSummary t : workflowService.listTemplateSummaries()) {
+                items.add(t.name());
+                names.put(t.id(), t.name());
+            }
+            templateNames = names;
             String current = templateFilterCombo.getValue();
             templateFilterCombo.setItems(FXCollections.observableArrayList(items));
             if (current != null && items.contains(current)) {
@@ -134,7 +144,7 @@ public class WorkflowController {
 
     private void loadRuns() {
         try {
-            allRuns = workflowService.listAllRuns();
+            allRuns = workflowService.listAllRunSummaries();
         } catch (Exception e) {
             allRuns = new ArrayList<>();
         }
@@ -146,19 +156,17 @@ public class WorkflowController {
         String scope    = scopeFilterCombo.getValue();
         String tplName  = templateFilterCombo.getValue();
 
-        List<WorkflowRun> filtered = allRuns.stream()
+        List<WorkflowRunSummary> filtered = allRuns.stream()
                 .filter(r -> {
                     if (scope == null || scope.equals(ALL_SCOPE)) return true;
-                    if (scope.equals(GLOBAL_SCOPE)) return r.getProjectId() == null;
-                    return scope.equals(r.getProjectId());
+                    if (scope.equals(GLOBAL_SCOPE)) return r.projectId() == null;
+                    return scope.equals(r.projectId());
                 })
                 .filter(r -> {
                     if (tplName == null || tplName.equals(ALL_TEMPLATES)) return true;
-                    if (r.getTemplateId() == null) return false;
+                    if (r.templateId() == null) return false;
                     // Match template by name
-                    return workflowService.loadTemplate(r.getTemplateId())
-                            .map(t -> t.getName().equals(tplName))
-                            .orElse(false);
+                    return tplName.equals(templateNames.get(r.templateId()));
                 })
                 .collect(Collectors.toList());
 
@@ -167,7 +175,7 @@ public class WorkflowController {
         // Re-select previously selected run if still present
         if (selectedRun != null) {
             filtered.stream()
-                    .filter(r -> r.getId().equals(selectedRun.getId()))
+                    .filter(r -> r.id().equals(selectedRun.getId()))
                     .findFirst()
                     .ifPresentOrElse(
                             r -> runListView.getSelectionModel().select(r),
@@ -181,7 +189,7 @@ public class WorkflowController {
     private void setupRunListView() {
         runListView.setCellFactory(lv -> new ListCell<>() {
             @Override
-            protected void updateItem(WorkflowRun run, boolean empty) {
+            protected void updateItem(WorkflowRunSummary run, boolean empty) {
                 super.updateItem(run, empty);
                 if (empty || run == null) {
                     setGraphic(null);
@@ -190,21 +198,21 @@ public class WorkflowController {
                 VBox cell = new VBox(3);
                 cell.setPadding(new Insets(6, 8, 6, 8));
 
-                Label name = new Label(run.getName());
+                Label name = new Label(run.name());
                 name.setStyle("-fx-font-weight: bold; -fx-font-size: 12px;");
                 name.setWrapText(true);
 
                 HBox meta = new HBox(8);
                 meta.setAlignment(Pos.CENTER_LEFT);
 
-                Label statusLbl = new Label(statusText(run.getStatus()));
-                statusLbl.setStyle(statusStyle(run.getStatus()) + " -fx-font-size: 10px;");
+                Label statusLbl = new Label(statusText(run.status()));
+                statusLbl.setStyle(statusStyle(run.status()) + " -fx-font-size: 10px;");
 
-                Label projLbl = new Label(run.getProjectId() != null ? run.getProjectId() : "global");
+                Label projLbl = new Label(run.projectId() != null ? run.projectId() : "global");
                 projLbl.setStyle("-fx-text-fill: #787c99; -fx-font-size: 10px;");
 
-                int done  = run.getDoneStepCount();
-                int total = run.getSteps().size();
+                int done  = run.doneStepCount();
+                int total = run.stepCount();
                 Label progress = new Label(done + "/" + total + " steps");
                 progress.setStyle("-fx-text-fill: #787c99; -fx-font-size: 10px;");
 
@@ -219,8 +227,12 @@ public class WorkflowController {
 
         runListView.getSelectionModel().selectedItemProperty().addListener(
                 (obs, old, run) -> {
-                    if (run != null) showRunDetail(run);
-                    else clearRunDetail();
+                    if (run != null) {
+                        workflowService.loadRun(run.id())
+                                .ifPresentOrElse(this::showRunDetail, this::clearRunDetail);
+                    } else {
+                        clearRunDetail();
+                    }
                 });
     }
 
@@ -600,9 +612,12 @@ public class WorkflowController {
         workflowService.loadRun(selectedRun.getId()).ifPresent(fresh -> {
             selectedRun = fresh;
             // Update list item in place
-            int idx = runListView.getItems().indexOf(fresh);
+            int idx = -1;
+            for (int i = 0; i < runListView.getItems().size(); i++) {
+                if (runListView.getItems().get(i).id().equals(fresh.getId())) idx = i;
+            }
             if (idx >= 0) {
-                runListView.getItems().set(idx, fresh);
+                runListView.getItems().set(idx, WorkflowRunSummary.of(fresh));
                 runListView.getSelectionModel().select(idx);
             }
             showRunDetail(fresh);
@@ -613,10 +628,10 @@ public class WorkflowController {
 
     @FXML
     public void handleNewRun() {
-        List<WorkflowTemplate> templates;
-        try { templates = workflowService.listTemplates(); }
+        List<WorkflowTemplateSummary> templates;
+        try { templates = workflowService.listTemplateSummaries(); }
         catch (Exception e) { templates = List.of(); }
-        final List<WorkflowTemplate> templateList = templates;
+        final List<WorkflowTemplateSummary> templateList = templates;
 
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("New Workflow Run");
@@ -635,7 +650,7 @@ public class WorkflowController {
 
         ComboBox<String> templateCombo = new ComboBox<>();
         templateCombo.getItems().add("(none — blank run)");
-        templateList.forEach(t -> templateCombo.getItems().add(t.getName()));
+        templateList.forEach(t -> templateCombo.getItems().add(t.name()));
         templateCombo.getSelectionModel().select(0);
 
         ComboBox<String> projectCombo = new ComboBox<>();
@@ -675,8 +690,8 @@ public class WorkflowController {
                 String templateId  = null;
                 if (templateSel != null && !templateSel.startsWith("(none")) {
                     templateId = templateList.stream()
-                            .filter(t -> t.getName().equals(templateSel))
-                            .map(WorkflowTemplate::getId)
+                            .filter(t -> t.name().equals(templateSel))
+                            .map(WorkflowTemplateSummary::id)
                             .findFirst().orElse(null);
                 }
                 String projectSel = projectCombo.getValue();
@@ -686,7 +701,7 @@ public class WorkflowController {
                 loadRuns();
                 // Select the new run
                 runListView.getItems().stream()
-                        .filter(r -> r.getId().equals(run.getId()))
+                        .filter(r -> r.id().equals(run.getId()))
                         .findFirst()
                         .ifPresent(r -> {
                             runListView.getSelectionModel().select(r);